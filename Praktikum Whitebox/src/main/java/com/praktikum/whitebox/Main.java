@@ -1,17 +1,22 @@
 package com.praktikum.whitebox;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.server.ServerInventaris;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+
+import java.io.IOException;
+
+// Menjalankan server HTTP inventaris: java com.praktikum.whitebox.Main [port]
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+    private static final int PORT_DEFAULT = 8080;
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
-        }
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : PORT_DEFAULT;
+        ServiceInventaris service = new ServiceInventaris(new RepositoryProdukMemori());
+        ServerInventaris server = new ServerInventaris(service, new KalkulatorDiskon(), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::berhenti));
+        server.mulai();
+        System.out.println("Server inventaris berjalan di port " + server.getPort());
     }
-}
\ No newline at end of file
+}
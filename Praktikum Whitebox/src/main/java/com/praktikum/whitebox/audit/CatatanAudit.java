@@ -0,0 +1,68 @@
+package com.praktikum.whitebox.audit;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+/**
+ * Satu catatan audit. Format biner ringkas, little-endian:
+ * [long waktuMs][byte jenis][byte berhasil][int nilai][byte n][n byte kode UTF-8].
+ * Di berkas setiap catatan dibingkai [byte panjang][isi][int crc32c isi].
+ * Nilai adalah stok baru untuk updateStok/tambahProduk dan jumlah untuk
+ * masukStok/keluarStok. Kode dipotong sampai MAKS_KODE byte.
+ */
+public final class CatatanAudit {
+    public static final int MAKS_KODE = 40;
+    static final int UKURAN_TETAP = 15;
+    static final int MAKS_ISI = UKURAN_TETAP + MAKS_KODE;
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private final long waktuMs;
+    private final JenisAudit jenis;
+    private final String kode;
+    private final int nilai;
+    private final boolean berhasil;
+    public CatatanAudit(long waktuMs, JenisAudit jenis, String kode, int nilai, boolean berhasil) {
+        this.waktuMs = waktuMs;
+        this.jenis = jenis;
+        this.kode = kode;
+        this.nilai = nilai;
+        this.berhasil = berhasil;
+    }
+    public long getWaktuMs() { return waktuMs; }
+    public JenisAudit getJenis() { return jenis; }
+    public String getKode() { return kode; }
+    public int getNilai() { return nilai; }
+    public boolean isBerhasil() { return berhasil; }
+    static byte[] kodeBiner(String kode) {
+        byte[] b = (kode == null ? "" : kode).getBytes(StandardCharsets.UTF_8);
+        if (b.length <= MAKS_KODE) {
+            return b;
+        }
+        byte[] potong = new byte[MAKS_KODE];
+        System.arraycopy(b, 0, potong, 0, MAKS_KODE);
+        return potong;
+    }
+    // Tulis isi catatan ke larik mulai off, kembalikan panjangnya
+    static int tulis(byte[] tujuan, int off, long waktuMs, JenisAudit jenis, boolean berhasil, int nilai, byte[] kode) {
+        LONG.set(tujuan, off, waktuMs);
+        tujuan[off + 8] = (byte) jenis.ordinal();
+        tujuan[off + 9] = (byte) (berhasil ? 1 : 0);
+        INT.set(tujuan, off + 10, nilai);
+        tujuan[off + 14] = (byte) kode.length;
+        System.arraycopy(kode, 0, tujuan, off + UKURAN_TETAP, kode.length);
+        return UKURAN_TETAP + kode.length;
+    }
+    static CatatanAudit baca(byte[] isi, int off, int panjang) {
+        int n = isi[off + 14] & 0xff;
+        if (panjang != UKURAN_TETAP + n || n > MAKS_KODE) {
+            throw new IllegalArgumentException("Panjang catatan audit tidak cocok");
+        }
+        return new CatatanAudit((long) LONG.get(isi, off), JenisAudit.dariKode(isi[off + 8]),
+                new String(isi, off + UKURAN_TETAP, n, StandardCharsets.UTF_8), (int) INT.get(isi, off + 10),
+                isi[off + 9] != 0);
+    }
+    @Override
+    public String toString() {
+        return waktuMs + " " + jenis + " " + kode + " " + nilai + (berhasil ? " OK" : " GAGAL");
+    }
+}
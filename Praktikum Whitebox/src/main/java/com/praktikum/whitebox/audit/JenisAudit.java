@@ -0,0 +1,16 @@
+package com.praktikum.whitebox.audit;
+// Operasi ServiceInventaris yang wajib tercatat di jejak audit
+public enum JenisAudit {
+    TAMBAH_PRODUK,
+    HAPUS_PRODUK,
+    UPDATE_STOK,
+    MASUK_STOK,
+    KELUAR_STOK;
+    private static final JenisAudit[] SEMUA = values();
+    public static JenisAudit dariKode(int kode) {
+        if (kode < 0 || kode >= SEMUA.length) {
+            throw new IllegalArgumentException("Jenis audit tidak dikenal: " + kode);
+        }
+        return SEMUA[kode];
+    }
+}
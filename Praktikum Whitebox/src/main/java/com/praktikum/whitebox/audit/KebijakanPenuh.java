@@ -0,0 +1,10 @@
+package com.praktikum.whitebox.audit;
+// Perilaku catat ketika ring penuh karena penulis tertinggal
+public enum KebijakanPenuh {
+    // tunggu sampai ada slot kosong
+    BLOK,
+    // buang catatan dan naikkan penghitung jumlahDibuang
+    BUANG,
+    // tulis langsung ke berkas tumpahan sesi oleh thread pemanggil; pembaca menggabungkannya menurut urutan ring
+    TUMPAH
+}
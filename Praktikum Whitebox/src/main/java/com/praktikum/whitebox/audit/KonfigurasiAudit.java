@@ -0,0 +1,29 @@
+package com.praktikum.whitebox.audit;
+/**
+ * Konfigurasi LogAudit. Kapasitas ring dibulatkan ke pangkat dua; berkas
+ * segmen diganti setelah melewati ukuranMaksBerkas.
+ */
+public class KonfigurasiAudit {
+    private int kapasitasRing = 1 << 16;
+    private long ukuranMaksBerkas = 64L << 20;
+    private long intervalFsyncMs = 10;
+    private ModeDurabilitas mode = ModeDurabilitas.ASINKRON;
+    private KebijakanPenuh kebijakanPenuh = KebijakanPenuh.BLOK;
+    // Getters and Setters
+    public int getKapasitasRing() { return kapasitasRing; }
+    public void setKapasitasRing(int kapasitasRing) { this.kapasitasRing = kapasitasRing; }
+    public long getUkuranMaksBerkas() { return ukuranMaksBerkas; }
+    public void setUkuranMaksBerkas(long ukuranMaksBerkas) { this.ukuranMaksBerkas = ukuranMaksBerkas; }
+    public long getIntervalFsyncMs() { return intervalFsyncMs; }
+    public void setIntervalFsyncMs(long intervalFsyncMs) { this.intervalFsyncMs = intervalFsyncMs; }
+    public ModeDurabilitas getMode() { return mode; }
+    public void setMode(ModeDurabilitas mode) { this.mode = mode; }
+    public KebijakanPenuh getKebijakanPenuh() { return kebijakanPenuh; }
+    public void setKebijakanPenuh(KebijakanPenuh kebijakanPenuh) { this.kebijakanPenuh = kebijakanPenuh; }
+    public void validasi() {
+        if (kapasitasRing <= 0 || kapasitasRing > (1 << 24) || ukuranMaksBerkas <= 0 || intervalFsyncMs < 0
+                || mode == null || kebijakanPenuh == null) {
+            throw new IllegalArgumentException("Konfigurasi audit tidak valid");
+        }
+    }
+}
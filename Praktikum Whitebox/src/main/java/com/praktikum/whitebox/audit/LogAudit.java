@@ -0,0 +1,357 @@
+package com.praktikum.whitebox.audit;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+/**
+ * Jejak audit asinkron. Pemanggil hanya menulis catatan biner ke RingAudit;
+ * satu thread penulis menguras ring per batch ke berkas segmen
+ * audit-NNNNNN.log yang diganti setelah ukuranMaksBerkas, lalu fsync secara
+ * group commit: setiap intervalFsyncMs pada mode ASINKRON, atau setelah setiap
+ * batch pada mode SINKRON sehingga pemanggil yang menunggu bersamaan
+ * berbagi satu fsync. Perilaku saat ring penuh ditentukan KebijakanPenuh.
+ *
+ * <p>Setiap pembukaan LogAudit adalah satu sesi bernomor segmen pertamanya.
+ * Segmen diawali header [int sesi][long posisi ring catatan pertama] sehingga
+ * posisi ring setiap catatan bisa dihitung ulang. Catatan tumpahan ditulis ke
+ * audit-tumpah-NNNNNN.log milik sesinya beserta ekor ring saat itu;
+ * PembacaAudit menyisipkannya sebelum catatan ring pertama dengan posisi
+ * sebesar itu, jadi urutan per kode tetap terjaga walau ring penuh.
+ */
+public class LogAudit implements AutoCloseable {
+    static final String AWALAN = "audit-";
+    static final String AKHIRAN = ".log";
+    static final String AWALAN_TUMPAH = "audit-tumpah-";
+    // [int sesi][long posisi ring catatan pertama segmen]
+    static final int UKURAN_HEADER = 12;
+    // Hasil antrekan untuk catatan yang dibuang kebijakan BUANG
+    public static final long DIBUANG = -1;
+    // Hasil antrekan untuk catatan yang langsung ditulis ke berkas tumpahan
+    public static final long TERTUMPAH = -2;
+    private static final int UKURAN_BATCH = 256 * 1024;
+    private static final int BINGKAI_MAKS = 1 + CatatanAudit.MAKS_ISI + 4;
+    private static final long TIDUR_MAKS_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private final Path direktori;
+    private final ModeDurabilitas mode;
+    private final KebijakanPenuh kebijakanPenuh;
+    private final long ukuranMaksBerkas;
+    private final long intervalFsyncNanos;
+    private final RingAudit ring;
+    private final int sesi;
+    private final Thread penulis;
+    private final AtomicInteger produsenAktif = new AtomicInteger();
+    private final LongAdder jumlahDibuang = new LongAdder();
+    private final LongAdder jumlahTumpah = new LongAdder();
+    private final ReentrantLock kunciTumpah = new ReentrantLock();
+    private final Object kunciTahanLama = new Object();
+    private FileChannel tumpah;
+    private volatile boolean tumpahKotor;
+    // Hanya disentuh thread penulis
+    private FileChannel segmen;
+    private int nomorSegmen;
+    private long ukuranSegmen;
+    // Posisi ring yang sudah tertulis ke segmen tetapi belum di-fsync
+    private long tahanLamaTertunda;
+    private volatile long jumlahDitulis;
+    private volatile long jumlahFsync;
+    // Catatan ring dengan posisi < tahanLama sudah di-fsync
+    private volatile long tahanLama;
+    private volatile boolean tertutup;
+    private volatile boolean tidur;
+    private volatile IOException galat;
+    public LogAudit(Path direktori, KonfigurasiAudit konfigurasi) throws IOException {
+        konfigurasi.validasi();
+        this.direktori = direktori;
+        this.mode = konfigurasi.getMode();
+        this.kebijakanPenuh = konfigurasi.getKebijakanPenuh();
+        this.ukuranMaksBerkas = konfigurasi.getUkuranMaksBerkas();
+        this.intervalFsyncNanos = TimeUnit.MILLISECONDS.toNanos(konfigurasi.getIntervalFsyncMs());
+        this.ring = new RingAudit(konfigurasi.getKapasitasRing());
+        Files.createDirectories(direktori);
+        // Segmen lama mungkin berekor sobek; selalu mulai di segmen baru
+        List<Path> lama = PembacaAudit.daftarSegmen(direktori);
+        this.nomorSegmen = lama.isEmpty() ? 0 : PembacaAudit.nomorSegmen(lama.get(lama.size() - 1));
+        this.sesi = nomorSegmen + 1;
+        bukaSegmenBerikut(0);
+        this.penulis = new Thread(this::jalankanPenulis, "penulis-audit");
+        penulis.setDaemon(true);
+        penulis.start();
+    }
+    /**
+     * Catat satu operasi. Kembalikan false hanya jika catatan dibuang karena
+     * ring penuh dengan kebijakan BUANG. Pada mode SINKRON baru kembali
+     * setelah catatan di-fsync.
+     */
+    public boolean catat(JenisAudit jenis, String kode, int nilai, boolean berhasil) {
+        long pos = antrekan(jenis, kode, nilai, berhasil);
+        if (pos == DIBUANG) {
+            return false;
+        }
+        tunggu(pos);
+        return true;
+    }
+    /**
+     * Taruh catatan di ring tanpa menunggu fsync dan kembalikan posisinya untuk
+     * {@link #tunggu(long)}, atau DIBUANG / TERTUMPAH. Pemanggil yang butuh urutan
+     * catatan sama dengan urutan perubahannya memanggil ini di dalam kuncinya lalu
+     * menunggu setelah kunci dilepas.
+     */
+    public long antrekan(JenisAudit jenis, String kode, int nilai, boolean berhasil) {
+        byte[] kodeBiner = CatatanAudit.kodeBiner(kode);
+        long waktu = System.currentTimeMillis();
+        long pos;
+        produsenAktif.incrementAndGet();
+        try {
+            if (tertutup) {
+                throw new IllegalStateException("Log audit sudah ditutup");
+            }
+            periksaGalat();
+            pos = ring.tawarkan(waktu, jenis, berhasil, nilai, kodeBiner);
+            if (pos < 0) {
+                switch (kebijakanPenuh) {
+                    case BUANG:
+                        jumlahDibuang.increment();
+                        return DIBUANG;
+                    case TUMPAH:
+                        tulisTumpah(waktu, jenis, berhasil, nilai, kodeBiner);
+                        return TERTUMPAH;
+                    default:
+                        pos = tungguSlot(waktu, jenis, berhasil, nilai, kodeBiner);
+                }
+            }
+        } finally {
+            produsenAktif.decrementAndGet();
+        }
+        if (tidur) {
+            LockSupport.unpark(penulis);
+        }
+        return pos;
+    }
+    // Pada mode SINKRON tunggu sampai catatan hasil antrekan di-fsync; tumpahan SINKRON sudah di-fsync
+    public void tunggu(long pos) {
+        if (pos >= 0 && mode == ModeDurabilitas.SINKRON) {
+            tungguTahanLama(pos);
+        }
+    }
+    private long tungguSlot(long waktu, JenisAudit jenis, boolean berhasil, int nilai, byte[] kode) {
+        while (true) {
+            LockSupport.unpark(penulis);
+            LockSupport.parkNanos(20_000);
+            periksaGalat();
+            long pos = ring.tawarkan(waktu, jenis, berhasil, nilai, kode);
+            if (pos >= 0) {
+                return pos;
+            }
+        }
+    }
+    private void tungguTahanLama(long pos) {
+        synchronized (kunciTahanLama) {
+            while (tahanLama <= pos) {
+                periksaGalat();
+                try {
+                    kunciTahanLama.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Diinterupsi sebelum catatan audit di-fsync", e);
+                }
+            }
+        }
+    }
+    /**
+     * Jalur lambat kebijakan TUMPAH: pemanggil menulis sendiri ke berkas
+     * tumpahan, dengan isi bingkai [long ekor ring][catatan]. Catatan ring yang
+     * diantrekan sebelumnya punya posisi di bawah ekor itu, yang sesudahnya di
+     * atasnya, sehingga ekor menjadi kunci penggabungan saat dibaca.
+     */
+    private void tulisTumpah(long waktu, JenisAudit jenis, boolean berhasil, int nilai, byte[] kode) {
+        byte[] bingkai = new byte[BINGKAI_MAKS + Long.BYTES];
+        ByteBuffer buf = ByteBuffer.wrap(bingkai).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putLong(1, ring.getEkor());
+        int n = Long.BYTES + CatatanAudit.tulis(bingkai, 1 + Long.BYTES, waktu, jenis, berhasil, nilai, kode);
+        bingkai[0] = (byte) n;
+        CRC32C crc = new CRC32C();
+        crc.update(bingkai, 1, n);
+        buf.putInt(n + 1, (int) crc.getValue());
+        buf.limit(n + 5);
+        kunciTumpah.lock();
+        try {
+            if (tumpah == null) {
+                tumpah = FileChannel.open(direktori.resolve(PembacaAudit.namaTumpah(sesi)),
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            }
+            while (buf.hasRemaining()) {
+                tumpah.write(buf);
+            }
+            if (mode == ModeDurabilitas.SINKRON) {
+                tumpah.force(false);
+            } else {
+                tumpahKotor = true;
+            }
+            jumlahTumpah.increment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            kunciTumpah.unlock();
+        }
+    }
+    private void jalankanPenulis() {
+        ByteBuffer batch = ByteBuffer.allocateDirect(UKURAN_BATCH).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        long terakhirFsync = System.nanoTime();
+        boolean kotor = false;
+        try {
+            while (true) {
+                long awal = ring.getKepala();
+                int n = kuras(batch, crc);
+                if (n > 0) {
+                    long posisi = ring.getKepala();
+                    tulisBatch(batch, awal);
+                    jumlahDitulis += n;
+                    kotor = true;
+                    tahanLamaTertunda = posisi;
+                }
+                boolean selesai = n == 0 && tertutup && produsenAktif.get() == 0
+                        && ring.getEkor() == ring.getKepala();
+                long sekarang = System.nanoTime();
+                if ((kotor || tumpahKotor) && (mode == ModeDurabilitas.SINKRON || selesai
+                        || sekarang - terakhirFsync >= intervalFsyncNanos)) {
+                    fsync(kotor);
+                    kotor = false;
+                    terakhirFsync = sekarang;
+                }
+                if (selesai) {
+                    return;
+                }
+                if (n == 0) {
+                    tidur = true;
+                    if (ring.siap() < 0 && !tertutup) {
+                        LockSupport.parkNanos(TIDUR_MAKS_NANOS);
+                    }
+                    tidur = false;
+                }
+            }
+        } catch (IOException e) {
+            galat = e;
+            synchronized (kunciTahanLama) {
+                kunciTahanLama.notifyAll();
+            }
+        }
+    }
+    private int kuras(ByteBuffer batch, CRC32C crc) {
+        batch.clear();
+        byte[] arena = ring.arena();
+        int n = 0;
+        while (batch.remaining() >= BINGKAI_MAKS) {
+            int off = ring.siap();
+            if (off < 0) {
+                break;
+            }
+            int panjang = arena[off] & 0xff;
+            batch.put((byte) panjang);
+            batch.put(arena, off + 1, panjang);
+            crc.reset();
+            crc.update(arena, off + 1, panjang);
+            batch.putInt((int) crc.getValue());
+            ring.lepas();
+            n++;
+        }
+        batch.flip();
+        return n;
+    }
+    // posisiAwal: posisi ring catatan pertama di batch
+    private void tulisBatch(ByteBuffer batch, long posisiAwal) throws IOException {
+        if (ukuranSegmen > 0 && ukuranSegmen + batch.remaining() > ukuranMaksBerkas) {
+            segmen.force(false);
+            segmen.close();
+            bukaSegmenBerikut(posisiAwal);
+        }
+        ukuranSegmen += batch.remaining();
+        while (batch.hasRemaining()) {
+            segmen.write(batch);
+        }
+    }
+    private void bukaSegmenBerikut(long posisiAwal) throws IOException {
+        nomorSegmen++;
+        segmen = FileChannel.open(direktori.resolve(PembacaAudit.namaSegmen(nomorSegmen)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(UKURAN_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(sesi).putLong(posisiAwal).flip();
+        while (header.hasRemaining()) {
+            segmen.write(header);
+        }
+        ukuranSegmen = 0;
+    }
+    private void fsync(boolean segmenKotor) throws IOException {
+        if (segmenKotor) {
+            segmen.force(false);
+        }
+        if (tumpahKotor) {
+            kunciTumpah.lock();
+            try {
+                tumpahKotor = false;
+                tumpah.force(false);
+            } finally {
+                kunciTumpah.unlock();
+            }
+        }
+        jumlahFsync++;
+        synchronized (kunciTahanLama) {
+            tahanLama = tahanLamaTertunda;
+            kunciTahanLama.notifyAll();
+        }
+    }
+    private void periksaGalat() {
+        IOException e = galat;
+        if (e != null) {
+            throw new UncheckedIOException("Penulis audit berhenti", e);
+        }
+    }
+    public long getJumlahDibuang() { return jumlahDibuang.sum(); }
+    public long getJumlahTumpah() { return jumlahTumpah.sum(); }
+    public long getJumlahDitulis() { return jumlahDitulis; }
+    public long getJumlahFsync() { return jumlahFsync; }
+    public int kapasitasRing() { return ring.kapasitas(); }
+    // Menolak catatan baru, menguras ring, fsync terakhir lalu menutup berkas
+    @Override
+    public void close() throws IOException {
+        if (tertutup) {
+            return;
+        }
+        tertutup = true;
+        LockSupport.unpark(penulis);
+        boolean diinterupsi = false;
+        while (penulis.isAlive()) {
+            try {
+                penulis.join();
+            } catch (InterruptedException e) {
+                diinterupsi = true;
+            }
+        }
+        if (diinterupsi) {
+            Thread.currentThread().interrupt();
+        }
+        segmen.close();
+        kunciTumpah.lock();
+        try {
+            if (tumpah != null) {
+                tumpah.close();
+            }
+        } finally {
+            kunciTumpah.unlock();
+        }
+        if (galat != null) {
+            throw galat;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.praktikum.whitebox.audit;
+public enum ModeDurabilitas {
+    // catat kembali begitu catatan masuk ring; fsync menurut jadwal group commit
+    ASINKRON,
+    // catat menunggu sampai catatannya sudah di-fsync bersama satu kelompok commit
+    SINKRON
+}
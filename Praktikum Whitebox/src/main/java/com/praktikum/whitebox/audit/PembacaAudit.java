@@ -0,0 +1,135 @@
+package com.praktikum.whitebox.audit;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+/**
+ * Membaca kembali jejak audit sesi demi sesi. Catatan segmen diberi posisi
+ * ring dari header segmennya; catatan tumpahan sesi itu disisipkan sebelum
+ * catatan ring pertama yang posisinya tidak kurang dari kunci tumpahannya.
+ * Setiap berkas dibaca sampai bingkai utuh terakhir; ekor yang sobek karena
+ * crash sebelum fsync diabaikan.
+ */
+public final class PembacaAudit {
+    private static final class Sesi {
+        final List<CatatanAudit> ring = new ArrayList<>();
+        final List<Long> posisiRing = new ArrayList<>();
+        final List<CatatanAudit> tumpahan = new ArrayList<>();
+        final List<Long> kunciTumpahan = new ArrayList<>();
+    }
+    private PembacaAudit() {
+    }
+    static String namaSegmen(int nomor) {
+        return String.format("%s%06d%s", LogAudit.AWALAN, nomor, LogAudit.AKHIRAN);
+    }
+    static String namaTumpah(int sesi) {
+        return String.format("%s%06d%s", LogAudit.AWALAN_TUMPAH, sesi, LogAudit.AKHIRAN);
+    }
+    static int nomorSegmen(Path berkas) {
+        String nama = berkas.getFileName().toString();
+        return Integer.parseInt(nama.substring(LogAudit.AWALAN.length(), nama.length() - LogAudit.AKHIRAN.length()));
+    }
+    public static List<Path> daftarSegmen(Path direktori) throws IOException {
+        return daftar(direktori, "audit-\\d{6}\\.log");
+    }
+    public static List<Path> daftarTumpahan(Path direktori) throws IOException {
+        return daftar(direktori, "audit-tumpah-\\d{6}\\.log");
+    }
+    private static List<Path> daftar(Path direktori, String pola) throws IOException {
+        if (!Files.isDirectory(direktori)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> isi = Files.list(direktori)) {
+            return isi.filter(p -> p.getFileName().toString().matches(pola)).sorted().toList();
+        }
+    }
+    public static List<CatatanAudit> baca(Path direktori) throws IOException {
+        Map<Integer, Sesi> daftarSesi = new TreeMap<>();
+        for (Path segmen : daftarSegmen(direktori)) {
+            byte[] isi = Files.readAllBytes(segmen);
+            // Crash tepat setelah segmen dibuat bisa menyisakan header sobek
+            if (isi.length < LogAudit.UKURAN_HEADER) {
+                continue;
+            }
+            ByteBuffer header = ByteBuffer.wrap(isi).order(ByteOrder.LITTLE_ENDIAN);
+            Sesi sesi = daftarSesi.computeIfAbsent(header.getInt(0), k -> new Sesi());
+            long posisiAwal = header.getLong(4);
+            int sebelum = sesi.ring.size();
+            bacaBingkai(isi, LogAudit.UKURAN_HEADER, false, sesi.ring, null);
+            for (int i = sebelum; i < sesi.ring.size(); i++) {
+                sesi.posisiRing.add(posisiAwal + i - sebelum);
+            }
+        }
+        for (Path tumpah : daftarTumpahan(direktori)) {
+            String nama = tumpah.getFileName().toString();
+            int nomor = Integer.parseInt(nama.substring(LogAudit.AWALAN_TUMPAH.length(),
+                    nama.length() - LogAudit.AKHIRAN.length()));
+            Sesi sesi = daftarSesi.computeIfAbsent(nomor, k -> new Sesi());
+            bacaBingkai(Files.readAllBytes(tumpah), 0, true, sesi.tumpahan, sesi.kunciTumpahan);
+        }
+        List<CatatanAudit> hasil = new ArrayList<>();
+        for (Sesi sesi : daftarSesi.values()) {
+            gabung(sesi, hasil);
+        }
+        return hasil;
+    }
+    // Sisipkan tumpahan ke catatan ring menurut kunci; urutan berkas dipertahankan untuk kunci sama
+    private static void gabung(Sesi sesi, List<CatatanAudit> hasil) {
+        List<Integer> urut = new ArrayList<>();
+        for (int i = 0; i < sesi.tumpahan.size(); i++) {
+            urut.add(i);
+        }
+        // List.sort stabil
+        urut.sort(Comparator.comparing(sesi.kunciTumpahan::get));
+        int t = 0;
+        for (int i = 0; i < sesi.ring.size(); i++) {
+            long posisi = sesi.posisiRing.get(i);
+            while (t < urut.size() && sesi.kunciTumpahan.get(urut.get(t)) <= posisi) {
+                hasil.add(sesi.tumpahan.get(urut.get(t++)));
+            }
+            hasil.add(sesi.ring.get(i));
+        }
+        while (t < urut.size()) {
+            hasil.add(sesi.tumpahan.get(urut.get(t++)));
+        }
+    }
+    // berkunci: isi bingkai diawali long kunci tumpahan
+    private static void bacaBingkai(byte[] isi, int mulai, boolean berkunci, List<CatatanAudit> hasil,
+            List<Long> kunci) {
+        ByteBuffer buf = ByteBuffer.wrap(isi).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        int lewati = berkunci ? Long.BYTES : 0;
+        int pos = mulai;
+        while (pos < isi.length) {
+            int panjang = isi[pos] & 0xff;
+            if (pos + 1 + panjang + 4 > isi.length) {
+                return;
+            }
+            crc.reset();
+            crc.update(isi, pos + 1, panjang);
+            if ((int) crc.getValue() != buf.getInt(pos + 1 + panjang)) {
+                return;
+            }
+            try {
+                if (panjang < lewati) {
+                    return;
+                }
+                hasil.add(CatatanAudit.baca(isi, pos + 1 + lewati, panjang - lewati));
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+            if (berkunci) {
+                kunci.add(buf.getLong(pos + 1));
+            }
+            pos += 1 + panjang + 4;
+        }
+    }
+}
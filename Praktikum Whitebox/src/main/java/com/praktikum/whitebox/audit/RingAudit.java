@@ -0,0 +1,78 @@
+package com.praktikum.whitebox.audit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+/**
+ * Ring buffer banyak-produsen satu-konsumen (skema antrean terbatas Vyukov)
+ * atas satu arena byte bersekat tetap, tanpa alokasi per catatan. Produsen
+ * merebut posisi dengan CAS pada ekor, menulis slotnya, lalu menerbitkan
+ * dengan menaikkan nomor urut slot; konsumen membaca slot hanya setelah
+ * nomor urutnya terbit. Slot i berisi [byte panjang][isi CatatanAudit].
+ */
+final class RingAudit {
+    static final int UKURAN_SLOT = 64;
+    private final byte[] arena;
+    // urutan[i] == pos: slot kosong untuk pos; pos + 1: terisi untuk pos
+    private final AtomicLongArray urutan;
+    private final int mask;
+    private final AtomicLong ekor = new AtomicLong();
+    // Hanya ditulis konsumen
+    private volatile long kepala;
+    RingAudit(int kapasitas) {
+        int k = 1;
+        while (k < kapasitas) {
+            k <<= 1;
+        }
+        this.mask = k - 1;
+        this.arena = new byte[k * UKURAN_SLOT];
+        this.urutan = new AtomicLongArray(k);
+        for (int i = 0; i < k; i++) {
+            urutan.set(i, i);
+        }
+    }
+    // Posisi catatan di ring, atau -1 jika ring penuh
+    long tawarkan(long waktuMs, JenisAudit jenis, boolean berhasil, int nilai, byte[] kode) {
+        long pos;
+        int i;
+        while (true) {
+            pos = ekor.get();
+            i = (int) pos & mask;
+            long selisih = urutan.getAcquire(i) - pos;
+            if (selisih == 0) {
+                if (ekor.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (selisih < 0) {
+                // Slot masih berisi catatan satu putaran sebelumnya
+                return -1;
+            }
+        }
+        int off = i * UKURAN_SLOT;
+        arena[off] = (byte) CatatanAudit.tulis(arena, off + 1, waktuMs, jenis, berhasil, nilai, kode);
+        urutan.setRelease(i, pos + 1);
+        return pos;
+    }
+    // Offset slot di kepala jika sudah terbit, -1 jika belum ada catatan
+    int siap() {
+        long pos = kepala;
+        int i = (int) pos & mask;
+        return urutan.getAcquire(i) == pos + 1 ? i * UKURAN_SLOT : -1;
+    }
+    byte[] arena() {
+        return arena;
+    }
+    // Kembalikan slot di kepala ke produsen
+    void lepas() {
+        long pos = kepala;
+        urutan.setRelease((int) pos & mask, pos + mask + 1);
+        kepala = pos + 1;
+    }
+    long getKepala() {
+        return kepala;
+    }
+    long getEkor() {
+        return ekor.get();
+    }
+    int kapasitas() {
+        return mask + 1;
+    }
+}
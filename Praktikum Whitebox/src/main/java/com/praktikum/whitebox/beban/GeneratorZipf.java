@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.beban;
+import java.util.concurrent.ThreadLocalRandom;
+/**
+ * Pembangkit peringkat 0..n-1 berdistribusi Zipf: P(i) sebanding 1/(i+1)^s.
+ * CDF dihitung sekali; setiap sampel cukup satu binary search, aman antar thread.
+ */
+public class GeneratorZipf {
+    private final double[] cdf;
+    public GeneratorZipf(int n, double eksponen) {
+        if (n <= 0 || eksponen < 0) {
+            throw new IllegalArgumentException("n harus positif dan eksponen tidak negatif");
+        }
+        cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, eksponen);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+    }
+    public int berikutnya() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    public int ukuran() {
+        return cdf.length;
+    }
+}
@@ -0,0 +1,183 @@
+package com.praktikum.whitebox.beban;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.repository.RepositoryProdukShard;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+/**
+ * Harness uji beban untuk ServiceInventaris dan KalkulatorDiskon.
+ * Setiap thread pekerja mendapat jadwal tetap (laju / jumlahThread). Latensi
+ * dihitung dari waktu yang dijadwalkan, bukan dari waktu operasi benar-benar
+ * dimulai, sehingga antrean akibat sistem yang lambat tetap terlihat
+ * (koreksi coordinated omission).
+ */
+public class HarnessBeban {
+    private static final String[] TIPE_PELANGGAN = {"PREMIUM", "REGULER", "BARU", "UMUM"};
+    private final KonfigurasiBeban konfigurasi;
+    private final ServiceInventaris serviceInventaris;
+    private final KalkulatorDiskon kalkulatorDiskon;
+    private final String[] kodeProduk;
+    private final GeneratorZipf zipf;
+    private final JenisOperasi[] jenisByPorsi;
+    public HarnessBeban(KonfigurasiBeban konfigurasi) {
+        this(konfigurasi, new RepositoryProdukMemori());
+    }
+    // Repository diisi dengan produk SKU0..SKU(n-1) sebelum uji dimulai
+    public HarnessBeban(KonfigurasiBeban konfigurasi, RepositoryProduk repository) {
+        konfigurasi.validasi();
+        this.konfigurasi = konfigurasi;
+        this.serviceInventaris = new ServiceInventaris(repository);
+        this.kalkulatorDiskon = new KalkulatorDiskon();
+        this.kodeProduk = new String[konfigurasi.getJumlahProduk()];
+        for (int i = 0; i < kodeProduk.length; i++) {
+            kodeProduk[i] = "SKU" + i;
+            repository.simpan(new Produk(kodeProduk[i], "Produk " + i, "Kategori " + (i % 100),
+                    1000 + (i % 1000), 1_000_000, 10));
+        }
+        this.zipf = new GeneratorZipf(kodeProduk.length, konfigurasi.getEksponenZipf());
+        List<JenisOperasi> daftar = new ArrayList<>();
+        for (JenisOperasi jenis : JenisOperasi.values()) {
+            for (int i = 0; i < konfigurasi.getPorsi(jenis); i++) {
+                daftar.add(jenis);
+            }
+        }
+        this.jenisByPorsi = daftar.toArray(new JenisOperasi[0]);
+    }
+    public LaporanBeban jalankan() throws InterruptedException {
+        int jumlahThread = konfigurasi.getJumlahThread();
+        long durasiNano = (long) (konfigurasi.getDurasiDetik() * 1e9);
+        long intervalNano = konfigurasi.getLajuPerDetik() > 0
+                ? (long) (1e9 * jumlahThread / konfigurasi.getLajuPerDetik()) : 0;
+        Pekerja[] pekerja = new Pekerja[jumlahThread];
+        Thread[] thread = new Thread[jumlahThread];
+        long mulai = System.nanoTime() + 10_000_000L;
+        for (int i = 0; i < jumlahThread; i++) {
+            // Geser jadwal awal tiap pekerja agar permintaan tersebar merata
+            long awal = mulai + (intervalNano * i) / jumlahThread;
+            pekerja[i] = new Pekerja(awal, mulai + durasiNano, intervalNano);
+            thread[i] = konfigurasi.isVirtualThread()
+                    ? Thread.ofVirtual().name("beban-", i).start(pekerja[i])
+                    : Thread.ofPlatform().name("beban-", i).start(pekerja[i]);
+        }
+        for (Thread t : thread) {
+            t.join();
+        }
+        // Durasi nyata bisa lebih panjang dari rencana jika sistem tertinggal dari jadwal
+        double durasiNyata = Math.max(durasiNano, System.nanoTime() - mulai) / 1e9;
+        Map<JenisOperasi, HistogramLatensi> latensi = new EnumMap<>(JenisOperasi.class);
+        Map<JenisOperasi, HistogramLatensi> layanan = new EnumMap<>(JenisOperasi.class);
+        for (JenisOperasi jenis : JenisOperasi.values()) {
+            HistogramLatensi l = new HistogramLatensi();
+            HistogramLatensi s = new HistogramLatensi();
+            for (Pekerja p : pekerja) {
+                l.gabung(p.latensi[jenis.ordinal()]);
+                s.gabung(p.layanan[jenis.ordinal()]);
+            }
+            latensi.put(jenis, l);
+            layanan.put(jenis, s);
+        }
+        return new LaporanBeban(durasiNyata, latensi, layanan);
+    }
+    private void eksekusi(JenisOperasi jenis, ThreadLocalRandom acak) {
+        String kode = kodeProduk[zipf.berikutnya()];
+        switch (jenis) {
+            case LOOKUP:
+                serviceInventaris.cariProdukByKode(kode);
+                break;
+            case MASUK:
+                serviceInventaris.masukStok(kode, 1 + acak.nextInt(5));
+                break;
+            case KELUAR:
+                serviceInventaris.keluarStok(kode, 1 + acak.nextInt(5));
+                break;
+            case AGREGAT:
+                serviceInventaris.hitungTotalStok();
+                break;
+            case QUOTE:
+                kalkulatorDiskon.hitungHargaSetelahDiskon(1000 + acak.nextInt(100_000),
+                        1 + acak.nextInt(150), TIPE_PELANGGAN[acak.nextInt(TIPE_PELANGGAN.length)]);
+                break;
+            default:
+                throw new IllegalStateException("Jenis operasi tidak dikenal: " + jenis);
+        }
+    }
+    private final class Pekerja implements Runnable {
+        private final long awal;
+        private final long selesai;
+        private final long interval;
+        final HistogramLatensi[] latensi = new HistogramLatensi[JenisOperasi.values().length];
+        final HistogramLatensi[] layanan = new HistogramLatensi[JenisOperasi.values().length];
+        Pekerja(long awal, long selesai, long interval) {
+            this.awal = awal;
+            this.selesai = selesai;
+            this.interval = interval;
+            for (int i = 0; i < latensi.length; i++) {
+                latensi[i] = new HistogramLatensi();
+                layanan[i] = new HistogramLatensi();
+            }
+        }
+        @Override
+        public void run() {
+            ThreadLocalRandom acak = ThreadLocalRandom.current();
+            long jadwal = awal;
+            while (jadwal < selesai) {
+                long sekarang = System.nanoTime();
+                while (sekarang < jadwal) {
+                    LockSupport.parkNanos(jadwal - sekarang);
+                    sekarang = System.nanoTime();
+                }
+                if (interval == 0) {
+                    // Mode tanpa pembatasan laju: jadwal = saat ini
+                    jadwal = sekarang;
+                    if (jadwal >= selesai) {
+                        break;
+                    }
+                }
+                JenisOperasi jenis = jenisByPorsi[acak.nextInt(jenisByPorsi.length)];
+                eksekusi(jenis, acak);
+                long akhir = System.nanoTime();
+                latensi[jenis.ordinal()].catat(akhir - jadwal);
+                layanan[jenis.ordinal()].catat(akhir - sekarang);
+                jadwal += interval;
+            }
+        }
+    }
+    /**
+     * Contoh: java ... HarnessBeban produk=1000000 thread=16 virtual=true laju=50000 durasi=30
+     *         zipf=0.99 lookup=60 masuk=15 keluar=15 agregat=1 quote=9 shard=8
+     */
+    public static void main(String[] args) throws InterruptedException {
+        KonfigurasiBeban k = new KonfigurasiBeban();
+        int jumlahShard = 0;
+        for (String arg : args) {
+            int sama = arg.indexOf('=');
+            if (sama <= 0) {
+                throw new IllegalArgumentException("Argumen harus berbentuk kunci=nilai: " + arg);
+            }
+            String kunci = arg.substring(0, sama);
+            String nilai = arg.substring(sama + 1);
+            switch (kunci) {
+                case "produk": k.setJumlahProduk(Integer.parseInt(nilai)); break;
+                case "thread": k.setJumlahThread(Integer.parseInt(nilai)); break;
+                case "virtual": k.setVirtualThread(Boolean.parseBoolean(nilai)); break;
+                case "laju": k.setLajuPerDetik(Double.parseDouble(nilai)); break;
+                case "durasi": k.setDurasiDetik(Double.parseDouble(nilai)); break;
+                case "zipf": k.setEksponenZipf(Double.parseDouble(nilai)); break;
+                case "shard": jumlahShard = Integer.parseInt(nilai); break;
+                default:
+                    k.setPorsi(JenisOperasi.valueOf(kunci.toUpperCase(Locale.ROOT)), Integer.parseInt(nilai));
+            }
+        }
+        RepositoryProduk repository = jumlahShard > 0
+                ? new RepositoryProdukShard(jumlahShard) : new RepositoryProdukMemori();
+        System.out.print(new HarnessBeban(k, repository).jalankan());
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.beban;
+/**
+ * Histogram latensi (nanodetik) dengan bucket logaritmik: nilai di bawah 128
+ * dicatat persis, selebihnya dengan presisi relatif sekitar 1,6%.
+ * Tidak thread-safe; setiap thread pekerja memakai histogramnya sendiri lalu
+ * digabung dengan {@link #gabung(HistogramLatensi)} di akhir.
+ */
+public class HistogramLatensi {
+    private static final int LINEAR = 128;
+    private static final int SUB = 64;
+    private static final int UKURAN = LINEAR + (63 - 7) * SUB;
+    private final long[] hitungan = new long[UKURAN];
+    private long total;
+    private long maks;
+    private long min = Long.MAX_VALUE;
+    private double jumlah;
+    public void catat(long nilai) {
+        long v = Math.max(0, nilai);
+        hitungan[indeks(v)]++;
+        total++;
+        jumlah += v;
+        if (v > maks) {
+            maks = v;
+        }
+        if (v < min) {
+            min = v;
+        }
+    }
+    public void gabung(HistogramLatensi lain) {
+        for (int i = 0; i < UKURAN; i++) {
+            hitungan[i] += lain.hitungan[i];
+        }
+        total += lain.total;
+        jumlah += lain.jumlah;
+        maks = Math.max(maks, lain.maks);
+        min = Math.min(min, lain.min);
+    }
+    // Persentil dalam rentang 0-100, dibulatkan ke batas atas bucket
+    public long persentil(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long kumulatif = 0;
+        for (int i = 0; i < UKURAN; i++) {
+            kumulatif += hitungan[i];
+            if (kumulatif >= target) {
+                return Math.min(batasAtas(i), maks);
+            }
+        }
+        return maks;
+    }
+    public long getTotal() { return total; }
+    public long getMaks() { return maks; }
+    public long getMin() { return total == 0 ? 0 : min; }
+    public double getRataRata() { return total == 0 ? 0 : jumlah / total; }
+    static int indeks(long v) {
+        if (v < LINEAR) {
+            return (int) v;
+        }
+        int eksponen = 63 - Long.numberOfLeadingZeros(v);
+        int geser = eksponen - 6;
+        int mantissa = (int) (v >>> geser);
+        return LINEAR + (eksponen - 7) * SUB + (mantissa - SUB);
+    }
+    static long batasAtas(int indeks) {
+        if (indeks < LINEAR) {
+            return indeks;
+        }
+        int k = indeks - LINEAR;
+        int eksponen = k / SUB + 7;
+        long mantissa = k % SUB + SUB;
+        int geser = eksponen - 6;
+        long atas = ((mantissa + 1) << geser) - 1;
+        return atas < 0 ? Long.MAX_VALUE : atas;
+    }
+}
@@ -0,0 +1,9 @@
+package com.praktikum.whitebox.beban;
+// Jenis operasi yang dibangkitkan oleh harness beban
+public enum JenisOperasi {
+    LOOKUP,
+    MASUK,
+    KELUAR,
+    AGREGAT,
+    QUOTE
+}
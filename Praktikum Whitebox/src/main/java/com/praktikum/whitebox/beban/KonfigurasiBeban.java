@@ -0,0 +1,55 @@
+package com.praktikum.whitebox.beban;
+import java.util.EnumMap;
+import java.util.Map;
+/**
+ * Konfigurasi uji beban. lajuPerDetik = 0 berarti tanpa pembatasan laju
+ * (setiap thread langsung menjalankan operasi berikutnya).
+ */
+public class KonfigurasiBeban {
+    private int jumlahProduk = 100_000;
+    private double eksponenZipf = 0.99;
+    private int jumlahThread = 8;
+    private boolean virtualThread;
+    private double lajuPerDetik;
+    private double durasiDetik = 10;
+    private final Map<JenisOperasi, Integer> porsi = new EnumMap<>(JenisOperasi.class);
+    public KonfigurasiBeban() {
+        porsi.put(JenisOperasi.LOOKUP, 60);
+        porsi.put(JenisOperasi.MASUK, 15);
+        porsi.put(JenisOperasi.KELUAR, 15);
+        porsi.put(JenisOperasi.AGREGAT, 1);
+        porsi.put(JenisOperasi.QUOTE, 9);
+    }
+    // Getters and Setters
+    public int getJumlahProduk() { return jumlahProduk; }
+    public void setJumlahProduk(int jumlahProduk) { this.jumlahProduk = jumlahProduk; }
+    public double getEksponenZipf() { return eksponenZipf; }
+    public void setEksponenZipf(double eksponenZipf) { this.eksponenZipf = eksponenZipf; }
+    public int getJumlahThread() { return jumlahThread; }
+    public void setJumlahThread(int jumlahThread) { this.jumlahThread = jumlahThread; }
+    public boolean isVirtualThread() { return virtualThread; }
+    public void setVirtualThread(boolean virtualThread) { this.virtualThread = virtualThread; }
+    public double getLajuPerDetik() { return lajuPerDetik; }
+    public void setLajuPerDetik(double lajuPerDetik) { this.lajuPerDetik = lajuPerDetik; }
+    public double getDurasiDetik() { return durasiDetik; }
+    public void setDurasiDetik(double durasiDetik) { this.durasiDetik = durasiDetik; }
+    public int getPorsi(JenisOperasi jenis) { return porsi.getOrDefault(jenis, 0); }
+    public void setPorsi(JenisOperasi jenis, int nilai) {
+        if (nilai < 0) {
+            throw new IllegalArgumentException("Porsi tidak boleh negatif");
+        }
+        porsi.put(jenis, nilai);
+    }
+    public void validasi() {
+        if (jumlahProduk <= 0 || jumlahThread <= 0 || durasiDetik <= 0 || lajuPerDetik < 0) {
+            throw new IllegalArgumentException("Konfigurasi beban tidak valid");
+        }
+        int total = 0;
+        for (int p : porsi.values()) {
+            total += p;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Minimal satu jenis operasi harus punya porsi");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.praktikum.whitebox.beban;
+import java.util.EnumMap;
+import java.util.Map;
+/**
+ * Hasil uji beban per jenis operasi. Latensi diukur dari waktu mulai yang
+ * dijadwalkan (terkoreksi coordinated omission), waktu layanan diukur dari
+ * saat operasi benar-benar dimulai.
+ */
+public class LaporanBeban {
+    private final double durasiDetik;
+    private final Map<JenisOperasi, HistogramLatensi> latensi;
+    private final Map<JenisOperasi, HistogramLatensi> layanan;
+    public LaporanBeban(double durasiDetik, Map<JenisOperasi, HistogramLatensi> latensi,
+                        Map<JenisOperasi, HistogramLatensi> layanan) {
+        this.durasiDetik = durasiDetik;
+        this.latensi = new EnumMap<>(latensi);
+        this.layanan = new EnumMap<>(layanan);
+    }
+    public double getDurasiDetik() { return durasiDetik; }
+    public HistogramLatensi getLatensi(JenisOperasi jenis) {
+        return latensi.getOrDefault(jenis, new HistogramLatensi());
+    }
+    public HistogramLatensi getLayanan(JenisOperasi jenis) {
+        return layanan.getOrDefault(jenis, new HistogramLatensi());
+    }
+    public long getTotalOperasi() {
+        long total = 0;
+        for (HistogramLatensi h : latensi.values()) {
+            total += h.getTotal();
+        }
+        return total;
+    }
+    public double getThroughput(JenisOperasi jenis) {
+        return getLatensi(jenis).getTotal() / durasiDetik;
+    }
+    public double getThroughputTotal() {
+        return getTotalOperasi() / durasiDetik;
+    }
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Durasi %.2f s, total %d operasi, %.0f op/s%n",
+                durasiDetik, getTotalOperasi(), getThroughputTotal()));
+        sb.append(String.format("%-8s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operasi", "jumlah", "op/s", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "maks(us)"));
+        for (JenisOperasi jenis : JenisOperasi.values()) {
+            HistogramLatensi h = getLatensi(jenis);
+            if (h.getTotal() == 0) {
+                continue;
+            }
+            sb.append(String.format("%-8s %10d %10.0f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    jenis, h.getTotal(), getThroughput(jenis), mikro(h.persentil(50)),
+                    mikro(h.persentil(90)), mikro(h.persentil(99)), mikro(h.persentil(99.9)),
+                    mikro(h.getMaks())));
+        }
+        return sb.toString();
+    }
+    private static double mikro(long nano) {
+        return nano / 1000.0;
+    }
+}
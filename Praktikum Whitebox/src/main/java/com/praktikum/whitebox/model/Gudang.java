@@ -0,0 +1,37 @@
+package com.praktikum.whitebox.model;
+import java.util.Objects;
+// Lokasi penyimpanan stok; koordinat dipakai kebijakan alokasi terdekat
+public final class Gudang {
+    private final String kode;
+    private final String nama;
+    private final double x;
+    private final double y;
+    public Gudang(String kode, String nama, double x, double y) {
+        if (kode == null || kode.isBlank()) {
+            throw new IllegalArgumentException("Kode gudang wajib diisi");
+        }
+        this.kode = kode;
+        this.nama = nama;
+        this.x = x;
+        this.y = y;
+    }
+    public String getKode() { return kode; }
+    public String getNama() { return nama; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double jarakKe(double tujuanX, double tujuanY) {
+        return Math.hypot(x - tujuanX, y - tujuanY);
+    }
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Gudang g && kode.equals(g.kode);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(kode);
+    }
+    @Override
+    public String toString() {
+        return "Gudang{" + kode + "}";
+    }
+}
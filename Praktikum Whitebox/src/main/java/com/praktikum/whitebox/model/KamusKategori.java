@@ -0,0 +1,37 @@
+package com.praktikum.whitebox.model;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+/**
+ * Kamus bersama untuk kategori. Setiap nama kategori (teks pada Produk.kategori)
+ * dipetakan ke satu instance Kategori, sehingga produk cukup berbagi referensi.
+ */
+public class KamusKategori {
+    private final ConcurrentMap<String, Kategori> kategoriByNama = new ConcurrentHashMap<>();
+    // Daftarkan kategori yang sudah dikenal; jika nama sudah ada, instance lama dipakai
+    public Kategori daftarkan(Kategori kategori) {
+        if (kategori == null || kategori.getNama() == null) {
+            throw new IllegalArgumentException("Kategori tidak valid");
+        }
+        Kategori terdaftar = kategoriByNama.putIfAbsent(kategori.getNama(), kategori);
+        return terdaftar != null ? terdaftar : kategori;
+    }
+    // Ambil instance bersama untuk nama kategori, buat baru jika belum ada
+    public Kategori intern(String nama) {
+        if (nama == null) {
+            return null;
+        }
+        Kategori kategori = kategoriByNama.get(nama);
+        if (kategori != null) {
+            return kategori;
+        }
+        return kategoriByNama.computeIfAbsent(nama, n -> new Kategori(n, n, null));
+    }
+    public int jumlah() {
+        return kategoriByNama.size();
+    }
+    public Collection<Kategori> semua() {
+        return Collections.unmodifiableCollection(kategoriByNama.values());
+    }
+}
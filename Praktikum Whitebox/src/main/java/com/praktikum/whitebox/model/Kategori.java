@@ -5,6 +5,7 @@ public class Kategori {
     private String nama;
     private String deskripsi;
     private boolean aktif;
+    private String kodeInduk;
 
     public Kategori() {
     }
@@ -50,6 +51,15 @@ public class Kategori {
         this.aktif = aktif;
     }
 
+    // Kode kategori induk, null untuk kategori tingkat atas
+    public String getKodeInduk() {
+        return kodeInduk;
+    }
+
+    public void setKodeInduk(String kodeInduk) {
+        this.kodeInduk = kodeInduk;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -60,7 +70,7 @@ public class Kategori {
 
     @Override
     public int hashCode() {
-        return Objects.hash(kode);
+        return 31 + Objects.hashCode(kode);
     }
 
     @Override
@@ -76,7 +76,8 @@ public class Produk {
     }
     @Override
     public int hashCode() {
-        return Objects.hash(kode);
+        // Sama dengan Objects.hash(kode), tanpa alokasi array varargs
+        return 31 + Objects.hashCode(kode);
     }
     @Override
     public String toString() {
@@ -0,0 +1,118 @@
+package com.praktikum.whitebox.model;
+import java.util.Objects;
+/**
+ * Representasi produk yang immutable dan hemat memori.
+ * Kategori disimpan sebagai referensi bersama dari {@link KamusKategori},
+ * hash dihitung sekali saat konstruksi, dan perubahan stok menghasilkan
+ * instance baru (copy-on-write) sehingga aman dipakai di ConcurrentMap.
+ * Karena equals hanya membandingkan kode, gunakan compute/computeIfPresent
+ * untuk update atomik, bukan replace(kode, lama, baru).
+ */
+public final class ProdukRingkas {
+    private final String kode;
+    private final String nama;
+    private final Kategori kategori;
+    private final double harga;
+    private final int stok;
+    private final int stokMinimum;
+    private final boolean aktif;
+    private final int hash;
+    public ProdukRingkas(String kode, String nama, Kategori kategori, double harga,
+                         int stok, int stokMinimum, boolean aktif) {
+        this.kode = kode;
+        this.nama = nama;
+        this.kategori = kategori;
+        this.harga = harga;
+        this.stok = stok;
+        this.stokMinimum = stokMinimum;
+        this.aktif = aktif;
+        // Sama dengan Produk.hashCode() agar konsisten antar representasi
+        this.hash = 31 + Objects.hashCode(kode);
+    }
+    public static ProdukRingkas dari(Produk produk, KamusKategori kamus) {
+        return new ProdukRingkas(produk.getKode(), produk.getNama(),
+                kamus.intern(produk.getKategori()), produk.getHarga(),
+                produk.getStok(), produk.getStokMinimum(), produk.isAktif());
+    }
+    public Produk keProduk() {
+        Produk produk = new Produk(kode, nama, getNamaKategori(), harga, stok, stokMinimum);
+        produk.setAktif(aktif);
+        return produk;
+    }
+    // Getters
+    public String getKode() { return kode; }
+    public String getNama() { return nama; }
+    public Kategori getKategori() { return kategori; }
+    public String getNamaKategori() { return kategori == null ? null : kategori.getNama(); }
+    public double getHarga() { return harga; }
+    public int getStok() { return stok; }
+    public int getStokMinimum() { return stokMinimum; }
+    public boolean isAktif() { return aktif; }
+    // Copy-on-write
+    public ProdukRingkas denganStok(int stokBaru) {
+        if (stokBaru == stok) {
+            return this;
+        }
+        return new ProdukRingkas(kode, nama, kategori, harga, stokBaru, stokMinimum, aktif);
+    }
+    public ProdukRingkas denganAktif(boolean aktifBaru) {
+        if (aktifBaru == aktif) {
+            return this;
+        }
+        return new ProdukRingkas(kode, nama, kategori, harga, stok, stokMinimum, aktifBaru);
+    }
+    public ProdukRingkas kurangiStok(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        if (jumlah > stok) {
+            throw new IllegalArgumentException("Stok tidak mencukupi");
+        }
+        return denganStok(stok - jumlah);
+    }
+    public ProdukRingkas tambahStok(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        if (jumlah > Integer.MAX_VALUE - stok) {
+            throw new IllegalArgumentException("Stok melebihi batas maksimum");
+        }
+        return denganStok(stok + jumlah);
+    }
+    // Business Logic Methods
+    public boolean isStokHabis() {
+        return stok == 0;
+    }
+    public boolean isStokMenipis() {
+        return stok > 0 && stok <= stokMinimum;
+    }
+    public boolean isStokAman() {
+        return stok > stokMinimum;
+    }
+    public double hitungNilaiInventaris() {
+        return harga * stok;
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProdukRingkas lain = (ProdukRingkas) o;
+        return hash == lain.hash && Objects.equals(kode, lain.kode);
+    }
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+    @Override
+    public String toString() {
+        return "ProdukRingkas{" +
+                "kode='" + kode + '\'' +
+                ", nama='" + nama + '\'' +
+                ", kategori='" + getNamaKategori() + '\'' +
+                ", harga=" + harga +
+                ", stok=" + stok +
+                ", stokMinimum=" + stokMinimum +
+                ", aktif=" + aktif +
+                '}';
+    }
+}
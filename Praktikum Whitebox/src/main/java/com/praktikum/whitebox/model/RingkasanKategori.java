@@ -0,0 +1,27 @@
+package com.praktikum.whitebox.model;
+/**
+ * Rekap per kategori (termasuk sub-kategori yang aktif): jumlah produk aktif,
+ * total stok dan nilai inventaris (harga x stok).
+ */
+public final class RingkasanKategori {
+    public static final RingkasanKategori KOSONG = new RingkasanKategori(0, 0, 0.0);
+    private final long jumlahProduk;
+    private final long totalStok;
+    private final double nilaiInventaris;
+    public RingkasanKategori(long jumlahProduk, long totalStok, double nilaiInventaris) {
+        this.jumlahProduk = jumlahProduk;
+        this.totalStok = totalStok;
+        this.nilaiInventaris = nilaiInventaris;
+    }
+    public long getJumlahProduk() { return jumlahProduk; }
+    public long getTotalStok() { return totalStok; }
+    public double getNilaiInventaris() { return nilaiInventaris; }
+    @Override
+    public String toString() {
+        return "RingkasanKategori{" +
+                "jumlahProduk=" + jumlahProduk +
+                ", totalStok=" + totalStok +
+                ", nilaiInventaris=" + nilaiInventaris +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.praktikum.whitebox.model;
+// Status stok, aturan sama dengan Produk.isStokHabis/isStokMenipis/isStokAman
+public enum StatusStok {
+    HABIS,
+    MENIPIS,
+    AMAN;
+    // null untuk stok negatif yang tidak masuk status mana pun
+    public static StatusStok dari(int stok, int stokMinimum) {
+        if (stok == 0) {
+            return HABIS;
+        }
+        if (stok > stokMinimum) {
+            return AMAN;
+        }
+        return stok > 0 ? MENIPIS : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.praktikum.whitebox.persistensi;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+/**
+ * Mengukur waktu tulis dan muat snapshot katalog sintetis.
+ * Argumen opsional: [jumlahProduk] [berkas]
+ */
+public class BenchmarkSnapshot {
+    public static void main(String[] args) throws IOException {
+        int jumlahProduk = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path berkas = args.length > 1 ? Path.of(args[1]) : Files.createTempFile("katalog", ".snap");
+        String[] kategori = {"Elektronik", "Pakaian", "Makanan", "Mainan", "Perkakas", "Buku"};
+        List<Kategori> daftarKategori = new ArrayList<>();
+        for (int i = 0; i < kategori.length; i++) {
+            daftarKategori.add(new Kategori("K" + i, kategori[i], "Kategori " + kategori[i]));
+        }
+        Random acak = new Random(1);
+        List<Produk> daftarProduk = new ArrayList<>(jumlahProduk);
+        for (int i = 0; i < jumlahProduk; i++) {
+            daftarProduk.add(new Produk(String.format("SKU%08d", i), "Produk " + i,
+                    kategori[acak.nextInt(kategori.length)], 1 + acak.nextInt(100_000), acak.nextInt(500), 10));
+        }
+        long mulai = System.nanoTime();
+        new PenulisSnapshot().tulis(berkas, daftarProduk, daftarKategori);
+        double detikTulis = (System.nanoTime() - mulai) / 1e9;
+        daftarProduk = null;
+        mulai = System.nanoTime();
+        IsiSnapshot isi = new PemuatSnapshot().muat(berkas);
+        double detikMuat = (System.nanoTime() - mulai) / 1e9;
+        long ukuran = Files.size(berkas);
+        System.out.printf("%d produk, %.1f MB (%.1f byte/produk): tulis %.2f s, muat %.2f s%n",
+                isi.getProduk().size(), ukuran / 1e6, (double) ukuran / jumlahProduk, detikTulis, detikMuat);
+        if (args.length < 2) {
+            Files.delete(berkas);
+        }
+    }
+}
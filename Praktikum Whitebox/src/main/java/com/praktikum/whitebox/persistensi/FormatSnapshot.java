@@ -0,0 +1,75 @@
+package com.praktikum.whitebox.persistensi;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+/**
+ * Format snapshot biner katalog, versi 1 (semua angka tetap little-endian):
+ * <pre>
+ * header  : [int MAGIC][short VERSI][short 0]
+ * chunk*  : [int jumlahProduk] lalu record produk, kode di-front-code terhadap
+ *           kode sebelumnya di chunk yang sama (kode pertama ditulis utuh)
+ * footer  : [varint n] kamus nama kategori
+ *           [varint n] record Kategori
+ *           [varint n] direktori chunk: [long posisi][int panjang][int jumlahProduk][int crc32c]
+ *           [int crc32c footer]
+ * trailer : [long posisiFooter][int MAGIC]
+ * record produk: [varint prefiks][varint panjangSufiks][sufiks kode][byte flag]
+ *                [varint panjang][nama] jika ada, [varint indeksKategori+1 atau 0],
+ *                [double harga][varint zigzag stok][varint zigzag stokMinimum]
+ * </pre>
+ * Tiap chunk berdiri sendiri sehingga bisa didekode paralel dan diverifikasi
+ * checksum-nya secara terpisah.
+ */
+public final class FormatSnapshot {
+    public static final int MAGIC = 0x4E534257;
+    public static final short VERSI = 1;
+    public static final int UKURAN_HEADER = 8;
+    public static final int UKURAN_TRAILER = 12;
+    public static final int PRODUK_PER_CHUNK = 16_384;
+    static final int FLAG_AKTIF = 1;
+    static final int FLAG_ADA_NAMA = 2;
+    private FormatSnapshot() {
+    }
+    static void tulisVarint(ByteBuffer buf, long nilai) {
+        while ((nilai & ~0x7FL) != 0) {
+            buf.put((byte) ((nilai & 0x7F) | 0x80));
+            nilai >>>= 7;
+        }
+        buf.put((byte) nilai);
+    }
+    static long bacaVarint(ByteBuffer buf) {
+        long hasil = 0;
+        for (int geser = 0; geser < 64; geser += 7) {
+            byte b = buf.get();
+            hasil |= (long) (b & 0x7F) << geser;
+            if (b >= 0) {
+                return hasil;
+            }
+        }
+        throw new IllegalStateException("Varint terlalu panjang");
+    }
+    static long zigzag(long nilai) {
+        return (nilai << 1) ^ (nilai >> 63);
+    }
+    static long unzigzag(long nilai) {
+        return (nilai >>> 1) ^ -(nilai & 1);
+    }
+    // Teks nullable: varint 0 = null, selain itu panjang+1 diikuti byte UTF-8
+    static void tulisTeks(ByteBuffer buf, String teks) {
+        if (teks == null) {
+            tulisVarint(buf, 0);
+            return;
+        }
+        byte[] b = teks.getBytes(StandardCharsets.UTF_8);
+        tulisVarint(buf, b.length + 1L);
+        buf.put(b);
+    }
+    static String bacaTeks(ByteBuffer buf) {
+        int panjang = (int) bacaVarint(buf);
+        if (panjang == 0) {
+            return null;
+        }
+        byte[] b = new byte[panjang - 1];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
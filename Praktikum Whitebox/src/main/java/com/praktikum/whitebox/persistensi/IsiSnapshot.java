@@ -0,0 +1,15 @@
+package com.praktikum.whitebox.persistensi;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import java.util.List;
+// Hasil memuat snapshot: produk terurut menurut kode dan daftar kategori
+public final class IsiSnapshot {
+    private final List<Produk> produk;
+    private final List<Kategori> kategori;
+    public IsiSnapshot(List<Produk> produk, List<Kategori> kategori) {
+        this.produk = produk;
+        this.kategori = kategori;
+    }
+    public List<Produk> getProduk() { return produk; }
+    public List<Kategori> getKategori() { return kategori; }
+}
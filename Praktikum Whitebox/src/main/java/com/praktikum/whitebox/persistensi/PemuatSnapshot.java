@@ -0,0 +1,183 @@
+package com.praktikum.whitebox.persistensi;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32C;
+/**
+ * Memuat snapshot {@link FormatSnapshot}. Footer dibaca lebih dulu untuk
+ * mendapatkan kamus kategori dan direktori chunk; setiap chunk lalu
+ * di-memory-map, diverifikasi checksum-nya dan didekode paralel di
+ * ForkJoinPool. Berkas rusak atau versi yang tidak dikenal menghasilkan
+ * IOException.
+ */
+public class PemuatSnapshot {
+    private final ForkJoinPool pool;
+    public PemuatSnapshot() {
+        this(ForkJoinPool.commonPool());
+    }
+    public PemuatSnapshot(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    public IsiSnapshot muat(Path sumber) throws IOException {
+        try (FileChannel channel = FileChannel.open(sumber, StandardOpenOption.READ)) {
+            long ukuran = channel.size();
+            if (ukuran < FormatSnapshot.UKURAN_HEADER + FormatSnapshot.UKURAN_TRAILER) {
+                throw new IOException("Berkas snapshot terlalu kecil");
+            }
+            ByteBuffer header = peta(channel, 0, FormatSnapshot.UKURAN_HEADER);
+            if (header.getInt() != FormatSnapshot.MAGIC) {
+                throw new IOException("Bukan berkas snapshot katalog");
+            }
+            short versi = header.getShort();
+            if (versi != FormatSnapshot.VERSI) {
+                throw new IOException("Versi snapshot tidak didukung: " + versi);
+            }
+            ByteBuffer trailer = peta(channel, ukuran - FormatSnapshot.UKURAN_TRAILER, FormatSnapshot.UKURAN_TRAILER);
+            long posisiFooter = trailer.getLong();
+            if (trailer.getInt() != FormatSnapshot.MAGIC || posisiFooter < FormatSnapshot.UKURAN_HEADER
+                    || posisiFooter > ukuran - FormatSnapshot.UKURAN_TRAILER - 4) {
+                throw new IOException("Trailer snapshot rusak");
+            }
+            ByteBuffer footer = peta(channel, posisiFooter, ukuran - FormatSnapshot.UKURAN_TRAILER - posisiFooter);
+            CRC32C crc = new CRC32C();
+            crc.update(footer.duplicate().limit(footer.limit() - 4));
+            if ((int) crc.getValue() != footer.getInt(footer.limit() - 4)) {
+                throw new IOException("Checksum footer tidak cocok");
+            }
+            try {
+                return muatIsi(channel, footer, posisiFooter);
+            } catch (BufferUnderflowException | IllegalStateException | IndexOutOfBoundsException
+                     | NegativeArraySizeException e) {
+                throw new IOException("Snapshot rusak: " + e, e);
+            }
+        }
+    }
+    private IsiSnapshot muatIsi(FileChannel channel, ByteBuffer footer, long posisiFooter) throws IOException {
+        String[] kamus = new String[(int) FormatSnapshot.bacaVarint(footer)];
+        for (int i = 0; i < kamus.length; i++) {
+            kamus[i] = FormatSnapshot.bacaTeks(footer);
+        }
+        int jumlahKategori = (int) FormatSnapshot.bacaVarint(footer);
+        List<Kategori> daftarKategori = new ArrayList<>(jumlahKategori);
+        for (int i = 0; i < jumlahKategori; i++) {
+            Kategori k = new Kategori(FormatSnapshot.bacaTeks(footer), FormatSnapshot.bacaTeks(footer),
+                    FormatSnapshot.bacaTeks(footer));
+            k.setKodeInduk(FormatSnapshot.bacaTeks(footer));
+            k.setAktif(footer.get() != 0);
+            daftarKategori.add(k);
+        }
+        int jumlahChunk = (int) FormatSnapshot.bacaVarint(footer);
+        List<ForkJoinTask<Produk[]>> tugas = new ArrayList<>(jumlahChunk);
+        int total = 0;
+        for (int c = 0; c < jumlahChunk; c++) {
+            long posisi = footer.getLong();
+            int panjang = footer.getInt();
+            int jumlah = footer.getInt();
+            int crc = footer.getInt();
+            if (posisi < FormatSnapshot.UKURAN_HEADER || panjang < 4 || posisi + panjang > posisiFooter) {
+                throw new IOException("Direktori chunk " + c + " rusak");
+            }
+            ByteBuffer chunk = peta(channel, posisi, panjang);
+            int nomor = c;
+            tugas.add(pool.submit(() -> dekodeChunk(nomor, chunk, jumlah, crc, kamus)));
+            total += jumlah;
+        }
+        Produk[] semua = new Produk[total];
+        int posisi = 0;
+        SnapshotRusakException gagal = null;
+        // Semua tugas ditunggu walau ada yang gagal: mapping tidak boleh dibaca setelah muat() kembali
+        for (ForkJoinTask<Produk[]> t : tugas) {
+            try {
+                Produk[] bagian = t.join();
+                System.arraycopy(bagian, 0, semua, posisi, bagian.length);
+                posisi += bagian.length;
+            } catch (SnapshotRusakException e) {
+                if (gagal == null) {
+                    gagal = e;
+                }
+            }
+        }
+        if (gagal != null) {
+            throw new IOException(gagal.getMessage(), gagal);
+        }
+        return new IsiSnapshot(Arrays.asList(semua), daftarKategori);
+    }
+    // Muat snapshot lalu simpan semua produk ke repository secara paralel
+    public int muatKe(Path sumber, RepositoryProduk repository) throws IOException {
+        List<Produk> produk = muat(sumber).getProduk();
+        pool.submit(() -> produk.parallelStream().forEach(repository::simpan)).join();
+        return produk.size();
+    }
+    private static Produk[] dekodeChunk(int nomor, ByteBuffer chunk, int jumlah, int crcDiharapkan, String[] kamus) {
+        CRC32C crc = new CRC32C();
+        crc.update(chunk.duplicate());
+        if ((int) crc.getValue() != crcDiharapkan) {
+            throw new SnapshotRusakException("Checksum chunk " + nomor + " tidak cocok");
+        }
+        try {
+            if (chunk.getInt() != jumlah) {
+                throw new SnapshotRusakException("Jumlah produk chunk " + nomor + " tidak cocok");
+            }
+            Produk[] hasil = new Produk[jumlah];
+            byte[] kode = new byte[64];
+            int panjangKode = 0;
+            for (int i = 0; i < jumlah; i++) {
+                int prefiks = (int) FormatSnapshot.bacaVarint(chunk);
+                int sufiks = (int) FormatSnapshot.bacaVarint(chunk);
+                if (prefiks > panjangKode) {
+                    throw new SnapshotRusakException("Prefiks kode di chunk " + nomor + " tidak valid");
+                }
+                if (prefiks + sufiks > kode.length) {
+                    kode = Arrays.copyOf(kode, Math.max(kode.length * 2, prefiks + sufiks));
+                }
+                chunk.get(kode, prefiks, sufiks);
+                panjangKode = prefiks + sufiks;
+                int flag = chunk.get();
+                String nama = null;
+                if ((flag & FormatSnapshot.FLAG_ADA_NAMA) != 0) {
+                    byte[] b = new byte[(int) FormatSnapshot.bacaVarint(chunk)];
+                    chunk.get(b);
+                    nama = new String(b, StandardCharsets.UTF_8);
+                }
+                int indeksKategori = (int) FormatSnapshot.bacaVarint(chunk);
+                String kategori = indeksKategori == 0 ? null : kamus[indeksKategori - 1];
+                double harga = chunk.getDouble();
+                int stok = (int) FormatSnapshot.unzigzag(FormatSnapshot.bacaVarint(chunk));
+                int stokMinimum = (int) FormatSnapshot.unzigzag(FormatSnapshot.bacaVarint(chunk));
+                Produk p = new Produk(new String(kode, 0, panjangKode, StandardCharsets.UTF_8), nama, kategori,
+                        harga, stok, stokMinimum);
+                p.setAktif((flag & FormatSnapshot.FLAG_AKTIF) != 0);
+                hasil[i] = p;
+            }
+            return hasil;
+        } catch (BufferUnderflowException | IllegalStateException | IndexOutOfBoundsException
+                     | NegativeArraySizeException e) {
+            throw new SnapshotRusakException("Chunk " + nomor + " rusak: " + e);
+        }
+    }
+    private static ByteBuffer peta(FileChannel channel, long posisi, long panjang) throws IOException {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, posisi, panjang);
+        return buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    // Dilempar dari tugas paralel lalu diubah menjadi IOException oleh pemanggil
+    private static final class SnapshotRusakException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        SnapshotRusakException(String pesan) {
+            super(pesan);
+        }
+    }
+}
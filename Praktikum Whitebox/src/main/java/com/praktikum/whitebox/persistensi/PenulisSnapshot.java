@@ -0,0 +1,167 @@
+package com.praktikum.whitebox.persistensi;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+/**
+ * Menulis snapshot katalog dalam {@link FormatSnapshot}. Produk diurutkan
+ * menurut kode lalu dialirkan ke disk per chunk, sehingga memori tambahan
+ * hanya sebesar satu buffer chunk. File ditulis ke berkas sementara lalu
+ * dipindah secara atomik agar snapshot lama tidak rusak jika penulisan gagal.
+ */
+public class PenulisSnapshot {
+    private final int produkPerChunk;
+    public PenulisSnapshot() {
+        this(FormatSnapshot.PRODUK_PER_CHUNK);
+    }
+    public PenulisSnapshot(int produkPerChunk) {
+        if (produkPerChunk <= 0) {
+            throw new IllegalArgumentException("Jumlah produk per chunk harus lebih dari 0");
+        }
+        this.produkPerChunk = produkPerChunk;
+    }
+    private static final class InfoChunk {
+        long posisi;
+        int panjang;
+        int jumlah;
+        int crc;
+    }
+    public void tulis(Path tujuan, Collection<Produk> daftarProduk, Collection<Kategori> daftarKategori) throws IOException {
+        List<Produk> terurut = new ArrayList<>(daftarProduk);
+        terurut.sort(Comparator.comparing(Produk::getKode));
+        Path sementara = tujuan.resolveSibling(tujuan.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FormatSnapshot.UKURAN_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(FormatSnapshot.MAGIC).putShort(FormatSnapshot.VERSI).putShort((short) 0).flip();
+            tulisSemua(channel, header);
+            Map<String, Integer> kamus = new HashMap<>();
+            List<String> kamusUrut = new ArrayList<>();
+            List<InfoChunk> direktori = new ArrayList<>();
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            for (int awal = 0; awal < terurut.size(); awal += produkPerChunk) {
+                int akhir = Math.min(terurut.size(), awal + produkPerChunk);
+                buf.clear();
+                buf.putInt(akhir - awal);
+                byte[] kodeSebelum = new byte[0];
+                for (int i = awal; i < akhir; i++) {
+                    Produk p = terurut.get(i);
+                    buf = pastikanRuang(buf, 48 + panjangTeks(p.getKode()) + panjangTeks(p.getNama()));
+                    kodeSebelum = tulisProduk(buf, p, kodeSebelum, kamus, kamusUrut);
+                }
+                buf.flip();
+                InfoChunk info = new InfoChunk();
+                info.posisi = channel.position();
+                info.panjang = buf.remaining();
+                info.jumlah = akhir - awal;
+                crc.reset();
+                crc.update(buf.duplicate());
+                info.crc = (int) crc.getValue();
+                direktori.add(info);
+                tulisSemua(channel, buf);
+            }
+            long posisiFooter = channel.position();
+            buf.clear();
+            FormatSnapshot.tulisVarint(buf, kamusUrut.size());
+            for (String nama : kamusUrut) {
+                buf = pastikanRuang(buf, 16 + nama.length() * 3);
+                FormatSnapshot.tulisTeks(buf, nama);
+            }
+            buf = pastikanRuang(buf, 16);
+            FormatSnapshot.tulisVarint(buf, daftarKategori.size());
+            for (Kategori k : daftarKategori) {
+                buf = pastikanRuang(buf, 64 + panjangTeks(k.getKode()) + panjangTeks(k.getNama())
+                        + panjangTeks(k.getDeskripsi()) + panjangTeks(k.getKodeInduk()));
+                FormatSnapshot.tulisTeks(buf, k.getKode());
+                FormatSnapshot.tulisTeks(buf, k.getNama());
+                FormatSnapshot.tulisTeks(buf, k.getDeskripsi());
+                FormatSnapshot.tulisTeks(buf, k.getKodeInduk());
+                buf.put((byte) (k.isAktif() ? 1 : 0));
+            }
+            buf = pastikanRuang(buf, 16);
+            FormatSnapshot.tulisVarint(buf, direktori.size());
+            for (InfoChunk info : direktori) {
+                buf = pastikanRuang(buf, 20);
+                buf.putLong(info.posisi).putInt(info.panjang).putInt(info.jumlah).putInt(info.crc);
+            }
+            crc.reset();
+            crc.update(buf.duplicate().flip());
+            buf = pastikanRuang(buf, 4 + FormatSnapshot.UKURAN_TRAILER);
+            buf.putInt((int) crc.getValue());
+            buf.putLong(posisiFooter).putInt(FormatSnapshot.MAGIC);
+            buf.flip();
+            tulisSemua(channel, buf);
+            channel.force(true);
+        }
+        Files.move(sementara, tujuan, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    private static byte[] tulisProduk(ByteBuffer buf, Produk p, byte[] kodeSebelum,
+                                      Map<String, Integer> kamus, List<String> kamusUrut) {
+        byte[] kode = p.getKode().getBytes(StandardCharsets.UTF_8);
+        int prefiks = 0;
+        int batas = Math.min(kode.length, kodeSebelum.length);
+        while (prefiks < batas && kode[prefiks] == kodeSebelum[prefiks]) {
+            prefiks++;
+        }
+        FormatSnapshot.tulisVarint(buf, prefiks);
+        FormatSnapshot.tulisVarint(buf, kode.length - prefiks);
+        buf.put(kode, prefiks, kode.length - prefiks);
+        int flag = (p.isAktif() ? FormatSnapshot.FLAG_AKTIF : 0) | (p.getNama() != null ? FormatSnapshot.FLAG_ADA_NAMA : 0);
+        buf.put((byte) flag);
+        if (p.getNama() != null) {
+            byte[] nama = p.getNama().getBytes(StandardCharsets.UTF_8);
+            FormatSnapshot.tulisVarint(buf, nama.length);
+            buf.put(nama);
+        }
+        if (p.getKategori() == null) {
+            FormatSnapshot.tulisVarint(buf, 0);
+        } else {
+            Integer indeks = kamus.get(p.getKategori());
+            if (indeks == null) {
+                indeks = kamusUrut.size();
+                kamus.put(p.getKategori(), indeks);
+                kamusUrut.add(p.getKategori());
+            }
+            FormatSnapshot.tulisVarint(buf, indeks + 1L);
+        }
+        buf.putDouble(p.getHarga());
+        FormatSnapshot.tulisVarint(buf, FormatSnapshot.zigzag(p.getStok()));
+        FormatSnapshot.tulisVarint(buf, FormatSnapshot.zigzag(p.getStokMinimum()));
+        return kode;
+    }
+    // Batas atas panjang UTF-8 sebuah teks
+    private static int panjangTeks(String teks) {
+        return teks == null ? 0 : teks.length() * 3;
+    }
+    // Gandakan buffer jika sisa ruang kurang; isi yang sudah ditulis ikut disalin
+    private static ByteBuffer pastikanRuang(ByteBuffer buf, int butuh) {
+        if (buf.remaining() >= butuh) {
+            return buf;
+        }
+        ByteBuffer baru = ByteBuffer.allocateDirect(Math.max(buf.capacity() * 2, buf.position() + butuh))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.flip();
+        baru.put(buf);
+        return baru;
+    }
+    private static void tulisSemua(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.praktikum.whitebox.replikasi;
+import com.praktikum.whitebox.model.Produk;
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * Log mutasi terurut di memori dengan retensi terbatas (ring buffer). Offset
+ * naik terus mulai 0; entri tertua ditimpa setelah log penuh, dan pengikut
+ * yang tertinggal lebih jauh dari retensi harus mulai lagi dari snapshot.
+ */
+public class LogMutasi {
+    private final Mutasi[] ring;
+    private long offsetBerikut;
+    public LogMutasi(int retensi) {
+        if (retensi <= 0) {
+            throw new IllegalArgumentException("Retensi log harus lebih dari 0");
+        }
+        this.ring = new Mutasi[retensi];
+    }
+    public synchronized long getOffsetBerikut() {
+        return offsetBerikut;
+    }
+    // Offset tertua yang masih bisa dibaca
+    public synchronized long getOffsetAwal() {
+        return Math.max(0, offsetBerikut - ring.length);
+    }
+    public synchronized Mutasi tambahSimpan(Produk produk) {
+        return tambah(Mutasi.simpan(offsetBerikut, produk));
+    }
+    public synchronized Mutasi tambahHapus(String kode) {
+        return tambah(Mutasi.hapus(offsetBerikut, kode));
+    }
+    public synchronized Mutasi tambahUpdateStok(String kode, int stok) {
+        return tambah(Mutasi.updateStok(offsetBerikut, kode, stok));
+    }
+    private Mutasi tambah(Mutasi mutasi) {
+        ring[(int) (offsetBerikut % ring.length)] = mutasi;
+        offsetBerikut++;
+        notifyAll();
+        return mutasi;
+    }
+    /**
+     * Ambil paling banyak {@code maks} entri mulai {@code dari}, menunggu sampai
+     * {@code tungguMs} jika belum ada entri baru. Kembalikan null jika {@code dari}
+     * sudah keluar dari retensi (pengikut perlu snapshot).
+     */
+    public synchronized List<Mutasi> ambil(long dari, int maks, long tungguMs) throws InterruptedException {
+        long batasWaktu = System.currentTimeMillis() + tungguMs;
+        while (dari >= offsetBerikut) {
+            long sisa = batasWaktu - System.currentTimeMillis();
+            if (sisa <= 0) {
+                return new ArrayList<>();
+            }
+            wait(sisa);
+        }
+        if (dari < getOffsetAwal()) {
+            return null;
+        }
+        int n = (int) Math.min(maks, offsetBerikut - dari);
+        List<Mutasi> hasil = new ArrayList<>(n);
+        for (long o = dari; o < dari + n; o++) {
+            hasil.add(ring[(int) (o % ring.length)]);
+        }
+        return hasil;
+    }
+}
@@ -0,0 +1,101 @@
+package com.praktikum.whitebox.replikasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+/**
+ * Satu entri log mutasi RepositoryProduk beserta offset-nya. Format kabel:
+ * [byte jenis][long offset] lalu isi sesuai jenis (produk, kode, atau kode+stok).
+ */
+public final class Mutasi {
+    public static final byte SIMPAN = 1;
+    public static final byte HAPUS = 2;
+    public static final byte UPDATE_STOK = 3;
+    private final byte jenis;
+    private final long offset;
+    private final Produk produk;
+    private final String kode;
+    private final int stok;
+    private Mutasi(byte jenis, long offset, Produk produk, String kode, int stok) {
+        this.jenis = jenis;
+        this.offset = offset;
+        this.produk = produk;
+        this.kode = kode;
+        this.stok = stok;
+    }
+    // Produk disalin agar perubahan pemanggil setelah simpan tidak ikut tercatat
+    public static Mutasi simpan(long offset, Produk produk) {
+        return new Mutasi(SIMPAN, offset, salin(produk), produk.getKode(), produk.getStok());
+    }
+    public static Mutasi hapus(long offset, String kode) {
+        return new Mutasi(HAPUS, offset, null, kode, 0);
+    }
+    public static Mutasi updateStok(long offset, String kode, int stok) {
+        return new Mutasi(UPDATE_STOK, offset, null, kode, stok);
+    }
+    public byte getJenis() { return jenis; }
+    public long getOffset() { return offset; }
+    public String getKode() { return kode; }
+    public void terapkan(RepositoryProduk repository) {
+        switch (jenis) {
+            case SIMPAN: repository.simpan(salin(produk)); break;
+            case HAPUS: repository.hapus(kode); break;
+            case UPDATE_STOK: repository.updateStok(kode, stok); break;
+            default: throw new IllegalStateException("Jenis mutasi tidak dikenal: " + jenis);
+        }
+    }
+    public void tulis(DataOutputStream out) throws IOException {
+        out.writeByte(jenis);
+        out.writeLong(offset);
+        if (jenis == SIMPAN) {
+            tulisProduk(out, produk);
+        } else {
+            out.writeUTF(kode);
+            if (jenis == UPDATE_STOK) {
+                out.writeInt(stok);
+            }
+        }
+    }
+    // Dipanggil setelah byte jenis dibaca oleh pemanggil
+    public static Mutasi baca(byte jenis, DataInputStream in) throws IOException {
+        long offset = in.readLong();
+        switch (jenis) {
+            case SIMPAN: {
+                Produk p = bacaProduk(in);
+                return new Mutasi(SIMPAN, offset, p, p.getKode(), p.getStok());
+            }
+            case HAPUS: return hapus(offset, in.readUTF());
+            case UPDATE_STOK: return updateStok(offset, in.readUTF(), in.readInt());
+            default: throw new IOException("Jenis mutasi tidak dikenal: " + jenis);
+        }
+    }
+    public static void tulisProduk(DataOutputStream out, Produk p) throws IOException {
+        out.writeUTF(p.getKode());
+        tulisTeks(out, p.getNama());
+        tulisTeks(out, p.getKategori());
+        out.writeDouble(p.getHarga());
+        out.writeInt(p.getStok());
+        out.writeInt(p.getStokMinimum());
+        out.writeBoolean(p.isAktif());
+    }
+    public static Produk bacaProduk(DataInputStream in) throws IOException {
+        Produk p = new Produk(in.readUTF(), bacaTeks(in), bacaTeks(in), in.readDouble(), in.readInt(), in.readInt());
+        p.setAktif(in.readBoolean());
+        return p;
+    }
+    private static void tulisTeks(DataOutputStream out, String teks) throws IOException {
+        out.writeBoolean(teks != null);
+        if (teks != null) {
+            out.writeUTF(teks);
+        }
+    }
+    private static String bacaTeks(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+    private static Produk salin(Produk p) {
+        Produk salinan = new Produk(p.getKode(), p.getNama(), p.getKategori(), p.getHarga(), p.getStok(), p.getStokMinimum());
+        salinan.setAktif(p.isAktif());
+        return salinan;
+    }
+}
@@ -0,0 +1,45 @@
+package com.praktikum.whitebox.replikasi;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.server.ServerInventaris;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import java.io.Closeable;
+import java.io.IOException;
+/**
+ * Menjalankan satu node inventaris dengan HTTP di atas repository replikasi,
+ * sehingga beberapa JVM bisa diuji di localhost:
+ * <pre>
+ * java ... NodeReplikasi pemimpin &lt;portReplikasi&gt; &lt;portHttp&gt;
+ * java ... NodeReplikasi pengikut &lt;hostPemimpin&gt; &lt;portReplikasi&gt; &lt;portHttp&gt;
+ * </pre>
+ * Pada pengikut, endpoint penulisan dijawab 409 dengan pesan agar penulisan
+ * dikirim ke pemimpin, karena repository-nya hanya-baca.
+ */
+public class NodeReplikasi {
+    public static void main(String[] args) throws IOException {
+        RepositoryProduk repository;
+        int portHttp;
+        if (args.length == 3 && args[0].equals("pemimpin")) {
+            repository = new RepositoryPemimpin(Integer.parseInt(args[1]));
+            portHttp = Integer.parseInt(args[2]);
+        } else if (args.length == 4 && args[0].equals("pengikut")) {
+            repository = new RepositoryPengikut(args[1], Integer.parseInt(args[2]));
+            portHttp = Integer.parseInt(args[3]);
+        } else {
+            throw new IllegalArgumentException(
+                    "Pemakaian: pemimpin <portReplikasi> <portHttp> | pengikut <host> <portReplikasi> <portHttp>");
+        }
+        ServerInventaris server = new ServerInventaris(new ServiceInventaris(repository), new KalkulatorDiskon(), portHttp);
+        Closeable replikasi = (Closeable) repository;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.berhenti();
+            try {
+                replikasi.close();
+            } catch (IOException e) {
+                // Sedang dimatikan
+            }
+        }));
+        server.mulai();
+        System.out.println("Node " + args[0] + " berjalan, HTTP di port " + server.getPort());
+    }
+}
@@ -0,0 +1,22 @@
+package com.praktikum.whitebox.replikasi;
+/**
+ * Konstanta protokol replikasi pemimpin-pengikut.
+ * <pre>
+ * pengikut -> pemimpin : [int MAGIC][long idSesi][long offsetBerikut], lalu long offset yang sudah diterapkan (ack)
+ * pemimpin -> pengikut : aliran frame, masing-masing diawali byte jenis:
+ *   DENYUT   [long offsetBerikutPemimpin]
+ *   SNAPSHOT [long idSesi][long offset][int jumlah][produk...]
+ *   SIMPAN / HAPUS / UPDATE_STOK, lihat {@link Mutasi}
+ * </pre>
+ * idSesi berbeda (pemimpin dijalankan ulang) atau offset di luar retensi log
+ * membuat pemimpin mengirim snapshot penuh sebelum melanjutkan log.
+ */
+public final class ProtokolReplikasi {
+    public static final int MAGIC = 0x52504C31;
+    public static final byte DENYUT = 0;
+    public static final byte SNAPSHOT = 4;
+    public static final int MAKS_BATCH = 4096;
+    public static final long INTERVAL_DENYUT_MS = 500;
+    private ProtokolReplikasi() {
+    }
+}
@@ -0,0 +1,265 @@
+package com.praktikum.whitebox.replikasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.KriteriaProduk;
+import com.praktikum.whitebox.repository.PerubahanProduk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+/**
+ * Pemimpin replikasi: semua penulisan diterapkan ke repository lokal lalu
+ * dicatat di {@link LogMutasi} dengan urutan yang sama, dan log dialirkan ke
+ * setiap pengikut lewat TCP. Pengiriman di-batch (sampai MAKS_BATCH entri per
+ * flush) dan di-pipeline: pemimpin tidak menunggu ack sebelum batch berikutnya.
+ * <p>
+ * Penerapan dan pencatatan satu penulisan dijaga kunci bergaris per kode, jadi
+ * urutan log per kode sama dengan urutan penerapannya sementara kode lain tetap
+ * berjalan paralel. Semua mutasi menyetel keadaan (bukan delta), sehingga snapshot
+ * boleh diambil tanpa kunci: offset dibaca dulu, lalu salinan katalog yang bisa
+ * saja sudah memuat sebagian mutasi sesudah offset itu; memutar ulang mutasi
+ * tersebut menghasilkan keadaan yang sama.
+ */
+public class RepositoryPemimpin implements RepositoryProduk, Closeable {
+    private static final long JEDA_AWAL_MS = 100;
+    private static final long JEDA_MAKS_MS = 2000;
+    private static final int JUMLAH_KUNCI = 256;
+    private final RepositoryProduk lokal;
+    private final LogMutasi log;
+    // Menjaga urutan log per kode sama dengan urutan penerapan di repository lokal
+    private final ReentrantLock[] kunci = new ReentrantLock[JUMLAH_KUNCI];
+    private final long idSesi = ThreadLocalRandom.current().nextLong();
+    private final ServerSocket serverSocket;
+    private final List<Pengikut> daftarPengikut = new CopyOnWriteArrayList<>();
+    private volatile boolean berjalan = true;
+    private volatile IOException galatTerima;
+    public RepositoryPemimpin(int port) throws IOException {
+        this(new RepositoryProdukMemori(), port, 1 << 20);
+    }
+    public RepositoryPemimpin(RepositoryProduk lokal, int port, int retensiLog) throws IOException {
+        this.lokal = lokal;
+        this.log = new LogMutasi(retensiLog);
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunci[i] = new ReentrantLock();
+        }
+        this.serverSocket = new ServerSocket(port);
+        Thread.ofPlatform().daemon().name("replikasi-terima").start(this::terimaPengikut);
+    }
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    public long getOffsetBerikut() {
+        return log.getOffsetBerikut();
+    }
+    // Offset berikut yang sudah diterapkan tiap pengikut tersambung (dari ack)
+    public List<Long> getOffsetPengikut() {
+        List<Long> hasil = new ArrayList<>();
+        for (Pengikut p : daftarPengikut) {
+            hasil.add(p.offsetDiakui);
+        }
+        return hasil;
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        ReentrantLock k = kunciUntuk(produk == null ? null : produk.getKode());
+        k.lock();
+        try {
+            if (!lokal.simpan(produk)) {
+                return false;
+            }
+            log.tambahSimpan(produk);
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+    @Override
+    public boolean hapus(String kode) {
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            if (!lokal.hapus(kode)) {
+                return false;
+            }
+            log.tambahHapus(kode);
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            if (!lokal.updateStok(kode, stokBaru)) {
+                return false;
+            }
+            log.tambahUpdateStok(kode, stokBaru);
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+    private ReentrantLock kunciUntuk(String kode) {
+        int h = kode == null ? 0 : kode.hashCode();
+        return kunci[(h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1)];
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return lokal.cariByKode(kode);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return lokal.cariByNama(nama);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return lokal.cariByKategori(kategori);
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return lokal.cariProdukStokMenipis();
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return lokal.cariProdukStokHabis();
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return lokal.cariSemua();
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        return lokal.cari(kriteria);
+    }
+    @Override
+    public PerubahanProduk perubahanSejak(long versi) {
+        return lokal.perubahanSejak(versi);
+    }
+    @Override
+    public long hitungTotalStok() {
+        return lokal.hitungTotalStok();
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        return lokal.hitungTotalNilaiInventaris();
+    }
+    // Galat accept terakhir; pemimpin tetap mencoba menerima pengikut dengan jeda
+    public IOException getGalatTerima() {
+        return galatTerima;
+    }
+    @Override
+    public void close() throws IOException {
+        berjalan = false;
+        serverSocket.close();
+        for (Pengikut p : daftarPengikut) {
+            p.socket.close();
+        }
+    }
+    private void terimaPengikut() {
+        long jeda = JEDA_AWAL_MS;
+        while (berjalan && !serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Pengikut p = new Pengikut(socket);
+                daftarPengikut.add(p);
+                Thread.ofPlatform().daemon().name("replikasi-kirim-" + socket.getPort()).start(p);
+                jeda = JEDA_AWAL_MS;
+            } catch (IOException e) {
+                if (!berjalan || serverSocket.isClosed()) {
+                    return;
+                }
+                // Galat accept yang menetap (misalnya kehabisan file descriptor) tidak boleh memutar CPU
+                galatTerima = e;
+                try {
+                    Thread.sleep(jeda);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                jeda = Math.min(jeda * 2, JEDA_MAKS_MS);
+            }
+        }
+    }
+    private final class Pengikut implements Runnable {
+        private final Socket socket;
+        private volatile long offsetDiakui;
+        Pengikut(Socket socket) {
+            this.socket = socket;
+        }
+        @Override
+        public void run() {
+            try (socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+                if (in.readInt() != ProtokolReplikasi.MAGIC) {
+                    throw new IOException("Handshake replikasi tidak dikenal");
+                }
+                long sesi = in.readLong();
+                long dari = in.readLong();
+                if (sesi != idSesi) {
+                    dari = -1;
+                }
+                offsetDiakui = Math.max(0, dari);
+                Thread.ofPlatform().daemon().name("replikasi-ack-" + socket.getPort()).start(() -> bacaAck(in));
+                while (berjalan) {
+                    List<Mutasi> batch = dari < 0 || dari > log.getOffsetBerikut()
+                            ? null : log.ambil(dari, ProtokolReplikasi.MAKS_BATCH, ProtokolReplikasi.INTERVAL_DENYUT_MS);
+                    if (batch == null) {
+                        dari = kirimSnapshot(out);
+                    } else if (batch.isEmpty()) {
+                        out.writeByte(ProtokolReplikasi.DENYUT);
+                        out.writeLong(log.getOffsetBerikut());
+                    } else {
+                        for (Mutasi m : batch) {
+                            m.tulis(out);
+                        }
+                        dari += batch.size();
+                    }
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // Pengikut terputus; ia akan tersambung ulang dari offset terakhirnya
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                daftarPengikut.remove(this);
+            }
+        }
+        private long kirimSnapshot(DataOutputStream out) throws IOException {
+            // Mutasi sebelum offset sudah diterapkan saat dicatat, jadi pasti ada di salinan;
+            // mutasi sesudahnya yang ikut tersalin aman diputar ulang pengikut
+            long offset = log.getOffsetBerikut();
+            List<Produk> semua = lokal.cariSemua();
+            out.writeByte(ProtokolReplikasi.SNAPSHOT);
+            out.writeLong(idSesi);
+            out.writeLong(offset);
+            out.writeInt(semua.size());
+            for (Produk p : semua) {
+                Mutasi.tulisProduk(out, p);
+            }
+            return offset;
+        }
+        private void bacaAck(DataInputStream in) {
+            try {
+                while (true) {
+                    offsetDiakui = in.readLong();
+                }
+            } catch (IOException e) {
+                // Socket ditutup oleh salah satu sisi
+            }
+        }
+    }
+}
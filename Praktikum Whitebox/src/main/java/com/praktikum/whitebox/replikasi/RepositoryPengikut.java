@@ -0,0 +1,220 @@
+package com.praktikum.whitebox.replikasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.KriteriaProduk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+/**
+ * Pengikut replikasi: menerima snapshot dan log mutasi dari pemimpin lalu
+ * melayani pembacaan dari salinan lokal. Penulisan ditolak. Jika koneksi
+ * putus, pengikut tersambung ulang dan melanjutkan dari offset terakhir yang
+ * sudah diterapkan.
+ */
+public class RepositoryPengikut implements RepositoryProduk, Closeable {
+    private static final long JEDA_AWAL_MS = 100;
+    private static final long JEDA_MAKS_MS = 2000;
+    private final InetSocketAddress alamatPemimpin;
+    private final Thread thread;
+    private volatile RepositoryProduk lokal = new RepositoryProdukMemori();
+    private volatile long offsetPemimpin;
+    private volatile Socket socket;
+    private volatile boolean berjalan = true;
+    private volatile boolean ditahan;
+    private volatile int jumlahSnapshot;
+    private long offsetBerikut;
+    private long idSesi;
+    public RepositoryPengikut(String host, int port) {
+        this.alamatPemimpin = new InetSocketAddress(host, port);
+        this.thread = Thread.ofPlatform().daemon().name("replikasi-pengikut").start(this::jalankan);
+    }
+    // Offset log berikut yang belum diterapkan (= jumlah mutasi yang sudah diterapkan)
+    public synchronized long getOffsetBerikut() {
+        return offsetBerikut;
+    }
+    // Offset pemimpin terakhir yang diketahui, untuk memantau ketertinggalan
+    public long getOffsetPemimpin() {
+        return offsetPemimpin;
+    }
+    public boolean isTersambung() {
+        Socket s = socket;
+        return s != null && s.isConnected() && !s.isClosed();
+    }
+    // Tunggu sampai mutasi sebelum offset sudah diterapkan, untuk read-your-writes
+    public synchronized boolean tungguSampai(long offset, long tungguMs) throws InterruptedException {
+        long batasWaktu = System.currentTimeMillis() + tungguMs;
+        while (offsetBerikut < offset) {
+            long sisa = batasWaktu - System.currentTimeMillis();
+            if (sisa <= 0) {
+                return false;
+            }
+            wait(sisa);
+        }
+        return true;
+    }
+    private synchronized void terbitkan(long offset) {
+        offsetBerikut = offset;
+        notifyAll();
+    }
+    private void jalankan() {
+        long jeda = JEDA_AWAL_MS;
+        while (berjalan) {
+            try {
+                while (ditahan && berjalan) {
+                    Thread.sleep(10);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            try (Socket s = new Socket()) {
+                s.connect(alamatPemimpin, (int) JEDA_MAKS_MS);
+                s.setTcpNoDelay(true);
+                socket = s;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                long berikut = getOffsetBerikut();
+                out.writeInt(ProtokolReplikasi.MAGIC);
+                out.writeLong(idSesi);
+                out.writeLong(berikut);
+                out.flush();
+                jeda = JEDA_AWAL_MS;
+                int belumDiakui = 0;
+                while (berjalan) {
+                    byte jenis = in.readByte();
+                    if (jenis == ProtokolReplikasi.DENYUT) {
+                        offsetPemimpin = in.readLong();
+                    } else if (jenis == ProtokolReplikasi.SNAPSHOT) {
+                        berikut = terimaSnapshot(in);
+                    } else {
+                        Mutasi m = Mutasi.baca(jenis, in);
+                        if (m.getOffset() != berikut) {
+                            throw new IOException("Log tidak berurutan: " + m.getOffset() + " != " + berikut);
+                        }
+                        m.terapkan(lokal);
+                        berikut++;
+                        offsetPemimpin = Math.max(offsetPemimpin, berikut);
+                    }
+                    // Terbitkan dan kirim ack sekali per batch, bukan per mutasi
+                    if (in.available() == 0 || ++belumDiakui >= ProtokolReplikasi.MAKS_BATCH) {
+                        belumDiakui = 0;
+                        terbitkan(berikut);
+                        out.writeLong(berikut);
+                        out.flush();
+                    }
+                }
+            } catch (IOException e) {
+                if (!berjalan) {
+                    break;
+                }
+                try {
+                    Thread.sleep(jeda);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                jeda = Math.min(jeda * 2, JEDA_MAKS_MS);
+            } finally {
+                socket = null;
+            }
+        }
+    }
+    private long terimaSnapshot(DataInputStream in) throws IOException {
+        long sesi = in.readLong();
+        long offset = in.readLong();
+        int jumlah = in.readInt();
+        RepositoryProdukMemori baru = new RepositoryProdukMemori();
+        for (int i = 0; i < jumlah; i++) {
+            baru.simpan(Mutasi.bacaProduk(in));
+        }
+        // Salinan baru dipasang sekaligus; pembaca tidak melihat snapshot setengah jadi
+        lokal = baru;
+        idSesi = sesi;
+        offsetPemimpin = Math.max(offsetPemimpin, offset);
+        jumlahSnapshot++;
+        return offset;
+    }
+    // Jumlah snapshot penuh yang sudah diterima
+    public int getJumlahSnapshot() {
+        return jumlahSnapshot;
+    }
+    // Tahan penyambungan ulang (untuk pengujian ketertinggalan di luar retensi)
+    void tahanSambung(boolean tahan) {
+        ditahan = tahan;
+    }
+    // Putuskan koneksi saat ini (untuk pengujian tersambung ulang)
+    void putuskan() throws IOException {
+        Socket s = socket;
+        if (s != null) {
+            s.close();
+        }
+    }
+    @Override
+    public void close() throws IOException {
+        berjalan = false;
+        putuskan();
+        thread.interrupt();
+        try {
+            thread.join(JEDA_MAKS_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    private static UnsupportedOperationException hanyaBaca() {
+        return new UnsupportedOperationException("Pengikut hanya melayani pembacaan; kirim penulisan ke pemimpin");
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        throw hanyaBaca();
+    }
+    @Override
+    public boolean hapus(String kode) {
+        throw hanyaBaca();
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        throw hanyaBaca();
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return lokal.cariByKode(kode);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return lokal.cariByNama(nama);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return lokal.cariByKategori(kategori);
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return lokal.cariProdukStokMenipis();
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return lokal.cariProdukStokHabis();
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return lokal.cariSemua();
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        return lokal.cari(kriteria);
+    }
+    @Override
+    public long hitungTotalStok() {
+        return lokal.hitungTotalStok();
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        return lokal.hitungTotalNilaiInventaris();
+    }
+}
@@ -0,0 +1,118 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Tenggat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+/**
+ * Adapter RepositoryProduk blocking ke SPI asinkron. Setiap panggilan berjalan
+ * di virtual thread sendiri, jadi repository yang menunggu I/O hanya menahan
+ * virtual thread, bukan thread platform. Saat tenggat habis tugas yang belum
+ * mulai dibatalkan dengan TimeoutException, sedangkan tugas yang sedang berjalan
+ * diinterupsi dan future-nya baru selesai setelah repository benar-benar kembali.
+ */
+public class AdapterRepositoryAsync implements RepositoryProdukAsync, AutoCloseable {
+    private final RepositoryProduk repository;
+    private final ExecutorService executor;
+    public AdapterRepositoryAsync(RepositoryProduk repository) {
+        this(repository, Executors.newVirtualThreadPerTaskExecutor());
+    }
+    // Executor ikut ditutup oleh close()
+    public AdapterRepositoryAsync(RepositoryProduk repository, ExecutorService executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+    private <T> CompletableFuture<T> jalankan(Tenggat tenggat, Callable<T> kerja) {
+        CompletableFuture<T> hasil = new CompletableFuture<>();
+        if (tenggat.lewat()) {
+            hasil.completeExceptionally(new TimeoutException("Tenggat sudah lewat"));
+            return hasil;
+        }
+        // Diklaim oleh tugas saat mulai, atau oleh tenggat jika tugas belum sempat mulai
+        AtomicBoolean diklaim = new AtomicBoolean();
+        Future<?> tugas;
+        try {
+            tugas = executor.submit(() -> {
+                if (!diklaim.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    hasil.complete(kerja.call());
+                } catch (Throwable e) {
+                    hasil.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            hasil.completeExceptionally(e);
+            return hasil;
+        }
+        // Tenggat hanya memicu pembatalan; hasil tetap menunggu tugas benar-benar keluar
+        tenggat.terapkan(hasil.copy()).whenComplete((v, e) -> {
+            if (!(e instanceof TimeoutException)) {
+                return;
+            }
+            if (diklaim.compareAndSet(false, true)) {
+                tugas.cancel(false);
+                hasil.completeExceptionally(new TimeoutException("Tenggat habis sebelum tugas dimulai"));
+            } else {
+                tugas.cancel(true);
+            }
+        });
+        return hasil;
+    }
+    @Override
+    public CompletableFuture<Boolean> simpan(Produk produk, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.simpan(produk));
+    }
+    @Override
+    public CompletableFuture<Optional<Produk>> cariByKode(String kode, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.cariByKode(kode));
+    }
+    @Override
+    public CompletableFuture<List<Produk>> cariByNama(String nama, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.cariByNama(nama));
+    }
+    @Override
+    public CompletableFuture<List<Produk>> cariByKategori(String kategori, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.cariByKategori(kategori));
+    }
+    @Override
+    public CompletableFuture<List<Produk>> cariProdukStokMenipis(Tenggat tenggat) {
+        return jalankan(tenggat, repository::cariProdukStokMenipis);
+    }
+    @Override
+    public CompletableFuture<List<Produk>> cariProdukStokHabis(Tenggat tenggat) {
+        return jalankan(tenggat, repository::cariProdukStokHabis);
+    }
+    @Override
+    public CompletableFuture<List<Produk>> cari(KriteriaProduk kriteria, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.cari(kriteria));
+    }
+    @Override
+    public CompletableFuture<Boolean> hapus(String kode, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.hapus(kode));
+    }
+    @Override
+    public CompletableFuture<Boolean> updateStok(String kode, int stokBaru, Tenggat tenggat) {
+        return jalankan(tenggat, () -> repository.updateStok(kode, stokBaru));
+    }
+    @Override
+    public CompletableFuture<Long> hitungTotalStok(Tenggat tenggat) {
+        return jalankan(tenggat, repository::hitungTotalStok);
+    }
+    @Override
+    public CompletableFuture<Double> hitungTotalNilaiInventaris(Tenggat tenggat) {
+        return jalankan(tenggat, repository::hitungTotalNilaiInventaris);
+    }
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
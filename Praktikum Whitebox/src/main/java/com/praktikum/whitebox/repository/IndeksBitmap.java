@@ -0,0 +1,228 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.util.BitmapRingkas;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+/**
+ * Indeks bitmap atas ordinal produk: satu bitmap per status stok, per kategori,
+ * dan satu untuk produk nonaktif. Kriteria seperti "menipis AND kategori X AND
+ * aktif" dijawab dengan AND/ANDNOT bitmap sebelum satu pun produk dibaca.
+ * Ordinal produk yang dihapus dipakai ulang agar bitmap tetap padat.
+ *
+ * Tidak ada kunci global: setiap bitmap dijaga monitornya sendiri, dan
+ * pemetaan kode ke ordinal hanya dikunci saat produk baru masuk atau dihapus.
+ * Perubahan untuk kode yang sama sudah berurutan karena repository memanggil
+ * pendengar sambil memegang entri kode itu. updateStok yang tidak mengubah
+ * status tidak menyentuh bitmap sama sekali.
+ */
+public class IndeksBitmap implements IndeksProduk {
+    private final Map<StatusStok, BitmapRingkas> bitmapStatus = new EnumMap<>(StatusStok.class);
+    private final ConcurrentMap<String, BitmapRingkas> bitmapKategori = new ConcurrentHashMap<>();
+    private final BitmapRingkas tidakAktif = new BitmapRingkas();
+    private final BitmapRingkas terpakai = new BitmapRingkas();
+    private final ConcurrentMap<String, Integer> ordinalByKode = new ConcurrentHashMap<>();
+    // Dijaga kunciOrdinal
+    private final Object kunciOrdinal = new Object();
+    private String[] kodeByOrdinal = new String[64];
+    private int[] ordinalBebas = new int[16];
+    private int jumlahBebas;
+    private int ordinalBerikut;
+    public IndeksBitmap() {
+        for (StatusStok status : StatusStok.values()) {
+            bitmapStatus.put(status, new BitmapRingkas());
+        }
+    }
+    @Override
+    public void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+        String kode = baru != null ? baru.getKode() : lama.getKode();
+        Integer terdaftar = ordinalByKode.get(kode);
+        if (terdaftar == null) {
+            if (baru == null) {
+                return;
+            }
+            terdaftar = ordinalBaru(kode);
+            ubah(terpakai, terdaftar, true);
+        }
+        int ordinal = terdaftar;
+        StatusStok statusLama = lama == null ? null : StatusStok.dari(lama.getStok(), lama.getStokMinimum());
+        StatusStok statusBaru = baru == null ? null : StatusStok.dari(baru.getStok(), baru.getStokMinimum());
+        if (statusLama != statusBaru) {
+            if (statusLama != null) {
+                ubah(bitmapStatus.get(statusLama), ordinal, false);
+            }
+            if (statusBaru != null) {
+                ubah(bitmapStatus.get(statusBaru), ordinal, true);
+            }
+        }
+        String kategoriLama = lama == null ? null : lama.getNamaKategori();
+        String kategoriBaru = baru == null ? null : baru.getNamaKategori();
+        if (!Objects.equals(kategoriLama, kategoriBaru)) {
+            if (kategoriLama != null) {
+                // Bitmap kosong dibuang di dalam compute agar tidak balapan dengan penambahan
+                bitmapKategori.computeIfPresent(kategoriLama, (k, bitmap) -> {
+                    synchronized (bitmap) {
+                        bitmap.hapus(ordinal);
+                        return bitmap.kosong() ? null : bitmap;
+                    }
+                });
+            }
+            if (kategoriBaru != null) {
+                bitmapKategori.compute(kategoriBaru, (k, bitmap) -> {
+                    BitmapRingkas b = bitmap == null ? new BitmapRingkas() : bitmap;
+                    ubah(b, ordinal, true);
+                    return b;
+                });
+            }
+        }
+        boolean nonaktifLama = lama != null && !lama.isAktif();
+        boolean nonaktifBaru = baru != null && !baru.isAktif();
+        if (nonaktifLama != nonaktifBaru) {
+            ubah(tidakAktif, ordinal, nonaktifBaru);
+        }
+        if (baru == null) {
+            ubah(terpakai, ordinal, false);
+            bebaskanOrdinal(kode, ordinal);
+        }
+    }
+    private static void ubah(BitmapRingkas bitmap, int ordinal, boolean anggota) {
+        synchronized (bitmap) {
+            if (anggota) {
+                bitmap.tambah(ordinal);
+            } else {
+                bitmap.hapus(ordinal);
+            }
+        }
+    }
+    private static int kardinalitas(BitmapRingkas bitmap) {
+        synchronized (bitmap) {
+            return bitmap.kardinalitas();
+        }
+    }
+    private int ordinalBaru(String kode) {
+        synchronized (kunciOrdinal) {
+            int ordinal = jumlahBebas > 0 ? ordinalBebas[--jumlahBebas] : ordinalBerikut++;
+            if (ordinal >= kodeByOrdinal.length) {
+                kodeByOrdinal = Arrays.copyOf(kodeByOrdinal, kodeByOrdinal.length * 2);
+            }
+            kodeByOrdinal[ordinal] = kode;
+            ordinalByKode.put(kode, ordinal);
+            return ordinal;
+        }
+    }
+    private void bebaskanOrdinal(String kode, int ordinal) {
+        synchronized (kunciOrdinal) {
+            ordinalByKode.remove(kode);
+            kodeByOrdinal[ordinal] = null;
+            if (jumlahBebas == ordinalBebas.length) {
+                ordinalBebas = Arrays.copyOf(ordinalBebas, jumlahBebas * 2);
+            }
+            ordinalBebas[jumlahBebas++] = ordinal;
+        }
+    }
+    private static boolean berlaku(KriteriaProduk kriteria) {
+        return kriteria.getStatus() != null || kriteria.getKategori() != null || kriteria.getAktif() != null;
+    }
+    @Override
+    public long perkiraan(KriteriaProduk kriteria) {
+        if (!berlaku(kriteria)) {
+            return -1;
+        }
+        // Batas atas hasil AND: kardinalitas terkecil di antara bitmap yang terlibat
+        long perkiraan = Long.MAX_VALUE;
+        if (kriteria.getStatus() != null) {
+            perkiraan = kardinalitas(bitmapStatus.get(kriteria.getStatus()));
+        }
+        if (kriteria.getKategori() != null) {
+            BitmapRingkas bitmap = bitmapKategori.get(kriteria.getKategori());
+            perkiraan = Math.min(perkiraan, bitmap == null ? 0 : kardinalitas(bitmap));
+        }
+        if (Boolean.FALSE.equals(kriteria.getAktif())) {
+            perkiraan = Math.min(perkiraan, kardinalitas(tidakAktif));
+        } else if (Boolean.TRUE.equals(kriteria.getAktif())) {
+            perkiraan = Math.min(perkiraan, Math.max(0, ordinalByKode.size() - kardinalitas(tidakAktif)));
+        }
+        return perkiraan;
+    }
+    @Override
+    public void kandidat(KriteriaProduk kriteria, Predicate<String> penerima) {
+        BitmapRingkas hasil = gabungkan(kriteria);
+        if (hasil == null) {
+            return;
+        }
+        int[] ordinal = hasil.keLarik();
+        String[] kode = new String[ordinal.length];
+        synchronized (kunciOrdinal) {
+            for (int i = 0; i < ordinal.length; i++) {
+                kode[i] = kodeByOrdinal[ordinal[i]];
+            }
+        }
+        // Dikirim di luar kunci agar penerima bebas membaca repository
+        for (String k : kode) {
+            // null: produk terhapus setelah bitmap dibaca
+            if (k != null && !penerima.test(k)) {
+                return;
+            }
+        }
+    }
+    /**
+     * AND semua bitmap yang relevan menjadi bitmap lepas; null berarti hasil
+     * pasti kosong. Setiap bitmap dibaca di bawah monitornya masing-masing,
+     * jadi hasilnya konsisten-lemah terhadap penulisan yang sedang berjalan;
+     * perencana selalu mengecek ulang predikat pada kandidat.
+     */
+    private BitmapRingkas gabungkan(KriteriaProduk kriteria) {
+        BitmapRingkas hasil = null;
+        if (kriteria.getKategori() != null) {
+            BitmapRingkas kategori = bitmapKategori.get(kriteria.getKategori());
+            if (kategori == null) {
+                return null;
+            }
+            hasil = dan(null, kategori);
+        }
+        if (kriteria.getStatus() != null) {
+            hasil = dan(hasil, bitmapStatus.get(kriteria.getStatus()));
+        }
+        if (Boolean.FALSE.equals(kriteria.getAktif())) {
+            hasil = dan(hasil, tidakAktif);
+        } else if (Boolean.TRUE.equals(kriteria.getAktif())) {
+            if (hasil == null) {
+                hasil = dan(null, terpakai);
+            }
+            synchronized (tidakAktif) {
+                hasil = hasil.danTidak(tidakAktif);
+            }
+        }
+        return hasil;
+    }
+    // hasil null berarti belum ada operand: kembalikan salinan bitmap
+    private static BitmapRingkas dan(BitmapRingkas hasil, BitmapRingkas bitmap) {
+        synchronized (bitmap) {
+            return hasil == null ? bitmap.salin() : hasil.dan(bitmap);
+        }
+    }
+    // Kardinalitas bitmap per status, untuk daftar stok tanpa memindai produk
+    public int jumlahStatus(StatusStok status) {
+        return kardinalitas(bitmapStatus.get(status));
+    }
+    public long ukuranByte() {
+        long total = ukuranByte(tidakAktif) + ukuranByte(terpakai);
+        for (BitmapRingkas bitmap : bitmapStatus.values()) {
+            total += ukuranByte(bitmap);
+        }
+        for (BitmapRingkas bitmap : bitmapKategori.values()) {
+            total += ukuranByte(bitmap);
+        }
+        return total;
+    }
+    private static long ukuranByte(BitmapRingkas bitmap) {
+        synchronized (bitmap) {
+            return bitmap.ukuranByte();
+        }
+    }
+}
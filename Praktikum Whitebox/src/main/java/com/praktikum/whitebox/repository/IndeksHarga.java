@@ -0,0 +1,68 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+/**
+ * Indeks terurut atas harga, global dan per kategori, untuk kueri rentang
+ * harga. Jumlah kandidat dihitung dalam O(log n) dan penelusuran rentang
+ * berjalan dalam O(log n + k) dengan urutan HARGA_NAIK.
+ */
+public class IndeksHarga implements IndeksProduk {
+    private final SkipListTerindeks semua = new SkipListTerindeks();
+    private final ConcurrentMap<String, SkipListTerindeks> perKategori = new ConcurrentHashMap<>();
+    @Override
+    public void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+        if (lama != null && baru != null && lama.getHarga() == baru.getHarga()
+                && Objects.equals(lama.getNamaKategori(), baru.getNamaKategori())) {
+            return;
+        }
+        if (lama != null) {
+            semua.hapus(lama.getHarga(), lama.getKode());
+            if (lama.getNamaKategori() != null) {
+                SkipListTerindeks daftar = perKategori.get(lama.getNamaKategori());
+                if (daftar != null) {
+                    daftar.hapus(lama.getHarga(), lama.getKode());
+                }
+            }
+        }
+        if (baru != null) {
+            semua.tambah(baru.getHarga(), baru.getKode());
+            if (baru.getNamaKategori() != null) {
+                perKategori.computeIfAbsent(baru.getNamaKategori(), k -> new SkipListTerindeks())
+                        .tambah(baru.getHarga(), baru.getKode());
+            }
+        }
+    }
+    private SkipListTerindeks daftarUntuk(KriteriaProduk kriteria) {
+        return kriteria.getKategori() == null ? semua : perKategori.get(kriteria.getKategori());
+    }
+    @Override
+    public long perkiraan(KriteriaProduk kriteria) {
+        if (!kriteria.isRentangHarga() && kriteria.getUrutan() != UrutanProduk.HARGA_NAIK) {
+            return -1;
+        }
+        SkipListTerindeks daftar = daftarUntuk(kriteria);
+        if (daftar == null) {
+            return 0;
+        }
+        long jumlah = daftar.hitungAntara(kriteria.getHargaMin(), kriteria.getHargaMax());
+        // Tanpa predikat lain, penelusuran terurut berhenti setelah offset+limit
+        if (terurut(kriteria) && kriteria.getStatus() == null && kriteria.getAktif() == null) {
+            return Math.min(jumlah, (long) kriteria.getOffset() + kriteria.getLimit());
+        }
+        return jumlah;
+    }
+    @Override
+    public boolean terurut(KriteriaProduk kriteria) {
+        return kriteria.getUrutan() == UrutanProduk.HARGA_NAIK;
+    }
+    @Override
+    public void kandidat(KriteriaProduk kriteria, Predicate<String> penerima) {
+        SkipListTerindeks daftar = daftarUntuk(kriteria);
+        if (daftar != null) {
+            daftar.telusuri(kriteria.getHargaMin(), kriteria.getHargaMax(), penerima);
+        }
+    }
+}
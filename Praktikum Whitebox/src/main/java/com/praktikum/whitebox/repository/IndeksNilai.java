@@ -0,0 +1,76 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+/**
+ * Indeks terurut atas nilai inventaris (harga x stok), menurun. Diperbarui
+ * setiap kali harga atau stok berubah sehingga top-N berdasarkan nilai cukup
+ * membaca N entri pertama: O(log n + N), tanpa pindai maupun sort.
+ *
+ * Setiap updateStok menyentuh indeks ini, jadi isinya disimpan di
+ * ConcurrentSkipListSet tanpa kunci global: penulis untuk kode berbeda tidak
+ * saling menunggu, dan urutan per kode dijaga oleh entri repository yang
+ * sedang terkunci saat pendengar dipanggil.
+ */
+public class IndeksNilai implements IndeksProduk {
+    // Kunci disimpan negatif agar urutan naik menghasilkan nilai menurun; kode sebagai pemutus seri
+    private static final class Entri {
+        final double kunci;
+        final String kode;
+        Entri(double kunci, String kode) {
+            this.kunci = kunci;
+            this.kode = kode;
+        }
+    }
+    private static final Comparator<Entri> URUTAN = Comparator.<Entri>comparingDouble(e -> e.kunci)
+            .thenComparing(e -> e.kode);
+    private final ConcurrentSkipListSet<Entri> daftar = new ConcurrentSkipListSet<>(URUTAN);
+    // size() pada skip list konkuren O(n), jadi ukuran dicatat terpisah
+    private final AtomicInteger ukuran = new AtomicInteger();
+    private static double kunci(ProdukRingkas p) {
+        return -(p.getHarga() * p.getStok());
+    }
+    @Override
+    public void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+        if (lama != null && baru != null && Double.compare(kunci(lama), kunci(baru)) == 0) {
+            return;
+        }
+        if (lama != null && daftar.remove(new Entri(kunci(lama), lama.getKode()))) {
+            ukuran.decrementAndGet();
+        }
+        if (baru != null && daftar.add(new Entri(kunci(baru), baru.getKode()))) {
+            ukuran.incrementAndGet();
+        }
+    }
+    @Override
+    public long perkiraan(KriteriaProduk kriteria) {
+        // Hanya untuk top-N murni; filter lain lebih baik ditangani indeks masing-masing
+        if (kriteria.getUrutan() != UrutanProduk.NILAI_TURUN || kriteria.getLimit() == Integer.MAX_VALUE
+                || kriteria.getKategori() != null || kriteria.getStatus() != null || kriteria.isRentangHarga()) {
+            return -1;
+        }
+        long butuh = (long) kriteria.getOffset() + kriteria.getLimit();
+        if (kriteria.getAktif() != null) {
+            butuh *= 2;
+        }
+        return Math.min(butuh, Math.max(0, ukuran.get()));
+    }
+    @Override
+    public boolean terurut(KriteriaProduk kriteria) {
+        return true;
+    }
+    @Override
+    public void kandidat(KriteriaProduk kriteria, Predicate<String> penerima) {
+        // Iterator konsisten-lemah: kode yang nilainya turun di tengah penelusuran bisa terlihat dua kali
+        Set<String> terkirim = new HashSet<>();
+        for (Entri e : daftar) {
+            if (terkirim.add(e.kode) && !penerima.test(e.kode)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.praktikum.whitebox.repository;
+import java.util.function.Predicate;
+/**
+ * Indeks sekunder atas produk. Indeks dijaga lewat {@link PendengarProduk}
+ * dan dipakai {@link PerencanaKueri} untuk mempersempit kandidat sebelum
+ * semua predikat KriteriaProduk dievaluasi.
+ */
+public interface IndeksProduk extends PendengarProduk {
+    // Perkiraan jumlah kandidat, atau -1 jika indeks tidak bisa dipakai untuk kriteria ini
+    long perkiraan(KriteriaProduk kriteria);
+    // Kirim kode setiap kandidat sampai penerima mengembalikan false; boleh lebih banyak dari hasil akhir, tidak boleh kurang
+    void kandidat(KriteriaProduk kriteria, Predicate<String> penerima);
+    // true jika kandidat dikirim persis dalam urutan kriteria, sehingga perencana bisa berhenti setelah offset+limit
+    default boolean terurut(KriteriaProduk kriteria) {
+        return false;
+    }
+}
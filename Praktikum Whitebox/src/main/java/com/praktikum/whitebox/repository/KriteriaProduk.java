@@ -0,0 +1,159 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.StatusStok;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+/**
+ * Kriteria pencarian produk yang bisa digabung (AND), misalnya
+ * {@code KriteriaProduk.semua().kategori("Elektronik").hargaAntara(100, 500).status(StatusStok.MENIPIS).aktif(true)}.
+ * Hasil selalu terurut (default: kode) agar offset/limit deterministik.
+ */
+public final class KriteriaProduk {
+    private String kategori;
+    private double hargaMin = Double.NEGATIVE_INFINITY;
+    private double hargaMax = Double.POSITIVE_INFINITY;
+    private StatusStok status;
+    private Boolean aktif;
+    private UrutanProduk urutan = UrutanProduk.KODE;
+    private int offset;
+    private int limit = Integer.MAX_VALUE;
+    private KriteriaProduk() {
+    }
+    public static KriteriaProduk semua() {
+        return new KriteriaProduk();
+    }
+    public KriteriaProduk kategori(String kategori) {
+        this.kategori = kategori;
+        return this;
+    }
+    // Rentang harga inklusif di kedua sisi
+    public KriteriaProduk hargaAntara(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("hargaMin lebih besar dari hargaMax");
+        }
+        this.hargaMin = min;
+        this.hargaMax = max;
+        return this;
+    }
+    public KriteriaProduk status(StatusStok status) {
+        this.status = status;
+        return this;
+    }
+    public KriteriaProduk aktif(Boolean aktif) {
+        this.aktif = aktif;
+        return this;
+    }
+    public KriteriaProduk urutkan(UrutanProduk urutan) {
+        this.urutan = urutan == null ? UrutanProduk.KODE : urutan;
+        return this;
+    }
+    public KriteriaProduk lewati(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset tidak boleh negatif");
+        }
+        this.offset = offset;
+        return this;
+    }
+    public KriteriaProduk batasi(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit tidak boleh negatif");
+        }
+        this.limit = limit;
+        return this;
+    }
+    public KriteriaProduk salin() {
+        KriteriaProduk salinan = new KriteriaProduk();
+        salinan.kategori = kategori;
+        salinan.hargaMin = hargaMin;
+        salinan.hargaMax = hargaMax;
+        salinan.status = status;
+        salinan.aktif = aktif;
+        salinan.urutan = urutan;
+        salinan.offset = offset;
+        salinan.limit = limit;
+        return salinan;
+    }
+    // Getters
+    public String getKategori() { return kategori; }
+    public double getHargaMin() { return hargaMin; }
+    public double getHargaMax() { return hargaMax; }
+    public boolean isRentangHarga() {
+        return hargaMin != Double.NEGATIVE_INFINITY || hargaMax != Double.POSITIVE_INFINITY;
+    }
+    public StatusStok getStatus() { return status; }
+    public Boolean getAktif() { return aktif; }
+    public UrutanProduk getUrutan() { return urutan; }
+    public int getOffset() { return offset; }
+    public int getLimit() { return limit; }
+    public boolean cocok(Produk p) {
+        return cocok(p.getKategori(), p.getHarga(), p.getStok(), p.getStokMinimum(), p.isAktif());
+    }
+    public boolean cocok(ProdukRingkas p) {
+        return cocok(p.getNamaKategori(), p.getHarga(), p.getStok(), p.getStokMinimum(), p.isAktif());
+    }
+    private boolean cocok(String kategoriProduk, double harga, int stok, int stokMinimum, boolean aktifProduk) {
+        if (kategori != null && !kategori.equals(kategoriProduk)) {
+            return false;
+        }
+        if (harga < hargaMin || harga > hargaMax) {
+            return false;
+        }
+        if (status != null && status != StatusStok.dari(stok, stokMinimum)) {
+            return false;
+        }
+        return aktif == null || aktif == aktifProduk;
+    }
+    /**
+     * Urutkan lalu ambil halaman [offset, offset+limit). Jika halaman kecil
+     * dibanding jumlah data, dipakai heap terbatas alih-alih sort penuh.
+     */
+    public <T> List<T> halaman(List<T> cocok, Comparator<T> pembanding) {
+        long butuh = (long) offset + limit;
+        if (limit == 0 || offset >= cocok.size()) {
+            return new ArrayList<>();
+        }
+        List<T> terurut;
+        if (butuh < cocok.size() / 4) {
+            PriorityQueue<T> heap = new PriorityQueue<>((int) butuh + 1, pembanding.reversed());
+            for (T t : cocok) {
+                heap.offer(t);
+                if (heap.size() > butuh) {
+                    heap.poll();
+                }
+            }
+            terurut = new ArrayList<>(heap);
+        } else {
+            terurut = new ArrayList<>(cocok);
+        }
+        terurut.sort(pembanding);
+        int akhir = (int) Math.min(terurut.size(), butuh);
+        return offset == 0 && akhir == terurut.size()
+                ? terurut : new ArrayList<>(terurut.subList(offset, akhir));
+    }
+    public List<Produk> halamanProduk(List<Produk> cocok) {
+        return halaman(cocok, urutan.untukProduk());
+    }
+    public List<Produk> halamanRingkas(List<ProdukRingkas> cocok) {
+        List<ProdukRingkas> terpilih = halaman(cocok, urutan.untukRingkas());
+        List<Produk> hasil = new ArrayList<>(terpilih.size());
+        for (ProdukRingkas p : terpilih) {
+            hasil.add(p.keProduk());
+        }
+        return hasil;
+    }
+    @Override
+    public String toString() {
+        return "KriteriaProduk{" +
+                "kategori='" + kategori + '\'' +
+                ", harga=[" + hargaMin + ", " + hargaMax + ']' +
+                ", status=" + status +
+                ", aktif=" + aktif +
+                ", urutan=" + urutan +
+                ", offset=" + offset +
+                ", limit=" + limit +
+                '}';
+    }
+}
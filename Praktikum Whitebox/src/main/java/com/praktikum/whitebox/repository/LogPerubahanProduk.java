@@ -0,0 +1,153 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+/**
+ * Change data capture untuk katalog. Setiap mutasi produk mendapat nomor versi
+ * yang naik monoton. Log hanya menyimpan entri terakhir per kode (penghapusan
+ * sebagai tombstone), jadi ukurannya sebanding jumlah produk ditambah
+ * tombstone, bukan jumlah mutasi. Tombstone tertua dipangkas setelah melewati
+ * batas; pembaca yang tertinggal dari pemangkasan mendapat sinkron penuh.
+ *
+ * Penulis tidak memakai kunci bersama: versi diambil dari AtomicLong dan
+ * semua struktur konkuren. Perubahan untuk kode yang sama sudah berurutan
+ * karena repository memanggil pendengar sambil memegang entri kode itu.
+ * Versi yang terlihat pembaca hanya maju setelah semua versi di bawahnya
+ * selesai ditulis, sehingga tidak ada celah yang terlewat.
+ */
+public class LogPerubahanProduk implements PendengarProduk {
+    public static final int MAKS_TOMBSTONE = 100_000;
+    // Jumlah versi yang boleh sedang ditulis bersamaan sebelum penulis baru menunggu
+    private static final int UKURAN_CINCIN = 1 << 12;
+    private static final class Entri {
+        final String kode;
+        final ProdukRingkas produk;
+        Entri(String kode, ProdukRingkas produk) {
+            this.kode = kode;
+            this.produk = produk;
+        }
+    }
+    private final ConcurrentSkipListMap<Long, Entri> entriByVersi = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Long> versiByKode = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, String> tombstone = new ConcurrentSkipListMap<>();
+    // size() pada skip list konkuren O(n), jadi jumlah tombstone dicatat terpisah
+    private final AtomicInteger jumlahTombstone = new AtomicInteger();
+    private final int maksTombstone;
+    private final AtomicLong versiDiambil = new AtomicLong();
+    // Versi v yang selesai ditulis ditandai di slot v % UKURAN_CINCIN
+    private final AtomicLongArray selesai = new AtomicLongArray(UKURAN_CINCIN);
+    // Semua versi <= nilai ini sudah terlihat di entriByVersi
+    private final AtomicLong versi = new AtomicLong();
+    private final AtomicLong versiKompaksi = new AtomicLong();
+    public LogPerubahanProduk() {
+        this(MAKS_TOMBSTONE);
+    }
+    public LogPerubahanProduk(int maksTombstone) {
+        if (maksTombstone < 0) {
+            throw new IllegalArgumentException("Batas tombstone tidak boleh negatif");
+        }
+        this.maksTombstone = maksTombstone;
+    }
+    @Override
+    public void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+        String kode = baru != null ? baru.getKode() : lama.getKode();
+        long v = versiDiambil.incrementAndGet();
+        while (v - versi.get() > UKURAN_CINCIN) {
+            Thread.onSpinWait();
+        }
+        entriByVersi.put(v, new Entri(kode, baru));
+        Long sebelumnya = versiByKode.put(kode, v);
+        if (sebelumnya != null) {
+            entriByVersi.remove(sebelumnya);
+            if (tombstone.remove(sebelumnya) != null) {
+                jumlahTombstone.decrementAndGet();
+            }
+        }
+        if (baru == null) {
+            tombstone.put(v, kode);
+            if (jumlahTombstone.incrementAndGet() > maksTombstone) {
+                Map.Entry<Long, String> tertua = tombstone.pollFirstEntry();
+                if (tertua != null) {
+                    jumlahTombstone.decrementAndGet();
+                    buang(tertua.getKey(), tertua.getValue());
+                }
+            }
+        }
+        terbitkan(v);
+    }
+    // Tandai v selesai lalu majukan versi terlihat selama versi berikutnya juga sudah selesai
+    private void terbitkan(long v) {
+        selesai.set((int) (v & (UKURAN_CINCIN - 1)), v);
+        while (true) {
+            long terlihat = versi.get();
+            long berikut = terlihat + 1;
+            if (selesai.get((int) (berikut & (UKURAN_CINCIN - 1))) != berikut) {
+                return;
+            }
+            versi.compareAndSet(terlihat, berikut);
+        }
+    }
+    public long getVersi() {
+        return versi.get();
+    }
+    // Versi tombstone terbaru yang sudah dipangkas; pembaca dengan versi di bawahnya perlu sinkron penuh
+    public long getVersiKompaksi() {
+        return versiKompaksi.get();
+    }
+    public int jumlahTombstone() {
+        return jumlahTombstone.get();
+    }
+    // Buang tombstone dengan versi <= sampaiVersi, misalnya setelah semua konsumen melewatinya
+    public void kompaksi(long sampaiVersi) {
+        ConcurrentNavigableMap<Long, String> dibuang = tombstone.headMap(sampaiVersi, true);
+        Map.Entry<Long, String> e;
+        while ((e = dibuang.pollFirstEntry()) != null) {
+            jumlahTombstone.decrementAndGet();
+            buang(e.getKey(), e.getValue());
+        }
+    }
+    private void buang(long versiTombstone, String kode) {
+        // Versi kompaksi diterbitkan sebelum entri hilang, agar pembaca yang sedang memindai ikut mengulang
+        versiKompaksi.accumulateAndGet(versiTombstone, Math::max);
+        entriByVersi.remove(versiTombstone);
+        // Kode yang sudah disimpan ulang memakai versi lain dan tidak ikut terhapus
+        versiByKode.remove(kode, versiTombstone);
+    }
+    /**
+     * Produk yang berubah dan dihapus dengan versi > sejak. Pembacaan tidak
+     * mengunci penulis; jika pemangkasan terjadi di tengah pembacaan, hasil
+     * dibaca ulang agar tidak ada penghapusan yang terlewat.
+     */
+    public PerubahanProduk perubahanSejak(long sejak) {
+        if (sejak < 0) {
+            throw new IllegalArgumentException("Versi tidak boleh negatif");
+        }
+        while (true) {
+            long hingga = versi.get();
+            long kompaksi = versiKompaksi.get();
+            // Versi di depan log berarti berasal dari log lain: kirim ulang semuanya
+            boolean penuh = sejak < kompaksi || sejak > hingga;
+            List<Produk> diubah = new ArrayList<>();
+            List<String> dihapus = new ArrayList<>();
+            for (Entri e : entriByVersi.subMap(penuh ? 0 : sejak, false, hingga, true).values()) {
+                if (e.produk != null) {
+                    diubah.add(e.produk.keProduk());
+                } else if (!penuh) {
+                    dihapus.add(e.kode);
+                }
+            }
+            if (penuh || versiKompaksi.get() == kompaksi) {
+                return new PerubahanProduk(hingga, penuh, diubah, dihapus);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.ProdukRingkas;
+/**
+ * Dipanggil oleh repository setiap kali data produk berubah.
+ * lama == null berarti produk baru disimpan, baru == null berarti produk dihapus.
+ * Pemanggilan terjadi saat entri produk masih terkunci, jadi implementasi harus
+ * singkat dan tidak boleh memanggil balik repository yang sama.
+ */
+public interface PendengarProduk {
+    void produkBerubah(ProdukRingkas lama, ProdukRingkas baru);
+}
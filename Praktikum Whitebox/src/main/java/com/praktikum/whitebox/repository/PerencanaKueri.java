@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+/**
+ * Memilih indeks paling selektif untuk sebuah KriteriaProduk, lalu mengevaluasi
+ * seluruh predikat pada kandidatnya dalam satu lintasan. Tanpa indeks yang
+ * berlaku, semua produk dipindai.
+ */
+public class PerencanaKueri {
+    private final List<IndeksProduk> daftarIndeks;
+    public PerencanaKueri(List<IndeksProduk> daftarIndeks) {
+        this.daftarIndeks = daftarIndeks;
+    }
+    // Indeks terpilih untuk kriteria, null berarti pindai penuh
+    public IndeksProduk pilihIndeks(KriteriaProduk kriteria, long jumlahProduk) {
+        IndeksProduk terbaik = null;
+        long perkiraanTerbaik = jumlahProduk;
+        for (IndeksProduk indeks : daftarIndeks) {
+            long perkiraan = indeks.perkiraan(kriteria);
+            if (perkiraan >= 0 && perkiraan < perkiraanTerbaik) {
+                terbaik = indeks;
+                perkiraanTerbaik = perkiraan;
+            }
+        }
+        return terbaik;
+    }
+    public List<Produk> jalankan(KriteriaProduk kriteria, Function<String, ProdukRingkas> ambil,
+                                 Collection<ProdukRingkas> semua) {
+        List<ProdukRingkas> cocok = new ArrayList<>();
+        IndeksProduk indeks = pilihIndeks(kriteria, semua.size());
+        if (indeks == null) {
+            for (ProdukRingkas p : semua) {
+                if (kriteria.cocok(p)) {
+                    cocok.add(p);
+                }
+            }
+        } else if (indeks.terurut(kriteria)) {
+            return jalankanTerurut(kriteria, ambil, indeks);
+        } else {
+            indeks.kandidat(kriteria, kode -> {
+                ProdukRingkas p = ambil.apply(kode);
+                // Cek ulang semua predikat: indeks hanya mempersempit kandidat
+                if (p != null && kriteria.cocok(p)) {
+                    cocok.add(p);
+                }
+                return true;
+            });
+        }
+        return kriteria.halamanRingkas(cocok);
+    }
+    // Kandidat sudah terurut: lewati offset, berhenti setelah limit, tanpa sort
+    private List<Produk> jalankanTerurut(KriteriaProduk kriteria, Function<String, ProdukRingkas> ambil,
+                                         IndeksProduk indeks) {
+        List<Produk> hasil = new ArrayList<>();
+        if (kriteria.getLimit() == 0) {
+            return hasil;
+        }
+        int[] dilewati = new int[1];
+        indeks.kandidat(kriteria, kode -> {
+            ProdukRingkas p = ambil.apply(kode);
+            if (p == null || !kriteria.cocok(p)) {
+                return true;
+            }
+            if (dilewati[0] < kriteria.getOffset()) {
+                dilewati[0]++;
+                return true;
+            }
+            hasil.add(p.keProduk());
+            return hasil.size() < kriteria.getLimit();
+        });
+        return hasil;
+    }
+}
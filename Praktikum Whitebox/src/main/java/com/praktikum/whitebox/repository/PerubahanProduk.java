@@ -0,0 +1,26 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import java.util.List;
+/**
+ * Hasil perubahanSejak: produk yang berubah dan kode yang dihapus sejak versi
+ * yang diminta, urut versi naik. {@link #getVersi()} dipakai sebagai argumen
+ * permintaan berikutnya. Jika sinkronPenuh bernilai true, diubah berisi seluruh
+ * katalog dan penerima harus mengganti salinannya (tombstone yang dibutuhkan
+ * sudah dipangkas atau versi tidak dikenal).
+ */
+public final class PerubahanProduk {
+    private final long versi;
+    private final boolean sinkronPenuh;
+    private final List<Produk> diubah;
+    private final List<String> dihapus;
+    public PerubahanProduk(long versi, boolean sinkronPenuh, List<Produk> diubah, List<String> dihapus) {
+        this.versi = versi;
+        this.sinkronPenuh = sinkronPenuh;
+        this.diubah = diubah;
+        this.dihapus = dihapus;
+    }
+    public long getVersi() { return versi; }
+    public boolean isSinkronPenuh() { return sinkronPenuh; }
+    public List<Produk> getDiubah() { return diubah; }
+    public List<String> getDihapus() { return dihapus; }
+}
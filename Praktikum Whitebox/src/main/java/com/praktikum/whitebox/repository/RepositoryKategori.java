@@ -0,0 +1,14 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import java.util.List;
+import java.util.Optional;
+public interface RepositoryKategori {
+    boolean simpan(Kategori kategori);
+    Optional<Kategori> cariByKode(String kode);
+    List<Kategori> cariSubKategori(String kodeInduk);
+    List<Kategori> cariSemua();
+    boolean hapus(String kode);
+    boolean ubahStatusAktif(String kode, boolean aktif);
+    RingkasanKategori hitungRingkasan(String kode);
+}
@@ -0,0 +1,206 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+/**
+ * Repository kategori di memori dengan hierarki induk/anak dan rekap per kategori.
+ * Produk dihubungkan ke kategori lewat nama (Produk.kategori == Kategori.nama).
+ * Rekap dijaga secara inkremental: daftarkan instance ini sebagai pendengar di
+ * {@link RepositoryProdukMemori} sebelum produk dimuat. Hanya produk aktif yang
+ * dihitung, dan sub-kategori yang tidak aktif tidak ikut dijumlahkan ke induknya.
+ */
+public class RepositoryKategoriMemori implements RepositoryKategori, PendengarProduk {
+    private final Map<String, Simpul> simpulByKode = new HashMap<>();
+    private final Map<String, Simpul> simpulByNama = new HashMap<>();
+    // Total produk per nama kategori, juga untuk nama yang belum punya Kategori
+    private final Map<String, Akumulator> totalPerNama = new HashMap<>();
+    @Override
+    public synchronized boolean simpan(Kategori kategori) {
+        if (!ValidationUtils.isValidKategori(kategori)) {
+            return false;
+        }
+        Simpul simpul = simpulByKode.get(kategori.getKode());
+        Simpul pemilikNama = simpulByNama.get(kategori.getNama());
+        if (pemilikNama != null && pemilikNama != simpul) {
+            return false;
+        }
+        Simpul induk = null;
+        if (kategori.getKodeInduk() != null) {
+            induk = simpulByKode.get(kategori.getKodeInduk());
+            if (induk == null || (simpul != null && adalahTurunan(induk, simpul))) {
+                return false;
+            }
+        }
+        if (simpul == null) {
+            simpul = new Simpul(kategori.getKode());
+            simpulByKode.put(simpul.kode, simpul);
+        } else {
+            // Lepas dulu dari posisi lama, lalu pasang ulang dengan data baru
+            naik(simpul, simpul.subtree.negatif());
+            simpul.subtree.tambah(totalNama(simpul.nama).negatif());
+            simpulByNama.remove(simpul.nama);
+            if (simpul.induk != null) {
+                simpul.induk.anak.remove(simpul);
+            }
+        }
+        simpul.nama = kategori.getNama();
+        simpul.deskripsi = kategori.getDeskripsi();
+        simpul.aktif = kategori.isAktif();
+        simpul.induk = induk;
+        if (induk != null) {
+            induk.anak.add(simpul);
+        }
+        simpulByNama.put(simpul.nama, simpul);
+        simpul.subtree.tambah(totalNama(simpul.nama));
+        naik(simpul, simpul.subtree);
+        return true;
+    }
+    @Override
+    public synchronized Optional<Kategori> cariByKode(String kode) {
+        Simpul simpul = kode == null ? null : simpulByKode.get(kode);
+        return simpul == null ? Optional.empty() : Optional.of(simpul.keKategori());
+    }
+    @Override
+    public synchronized List<Kategori> cariSubKategori(String kodeInduk) {
+        List<Kategori> hasil = new ArrayList<>();
+        Simpul induk = kodeInduk == null ? null : simpulByKode.get(kodeInduk);
+        if (induk != null) {
+            for (Simpul anak : induk.anak) {
+                hasil.add(anak.keKategori());
+            }
+        }
+        return hasil;
+    }
+    @Override
+    public synchronized List<Kategori> cariSemua() {
+        List<Kategori> hasil = new ArrayList<>(simpulByKode.size());
+        for (Simpul simpul : simpulByKode.values()) {
+            hasil.add(simpul.keKategori());
+        }
+        return hasil;
+    }
+    @Override
+    public synchronized boolean hapus(String kode) {
+        Simpul simpul = kode == null ? null : simpulByKode.get(kode);
+        // Kategori yang masih punya sub-kategori tidak bisa dihapus
+        if (simpul == null || !simpul.anak.isEmpty()) {
+            return false;
+        }
+        naik(simpul, simpul.subtree.negatif());
+        if (simpul.induk != null) {
+            simpul.induk.anak.remove(simpul);
+        }
+        simpulByKode.remove(kode);
+        simpulByNama.remove(simpul.nama);
+        return true;
+    }
+    @Override
+    public synchronized boolean ubahStatusAktif(String kode, boolean aktif) {
+        Simpul simpul = kode == null ? null : simpulByKode.get(kode);
+        if (simpul == null) {
+            return false;
+        }
+        if (simpul.aktif == aktif) {
+            return true;
+        }
+        if (aktif) {
+            simpul.aktif = true;
+            naik(simpul, simpul.subtree);
+        } else {
+            naik(simpul, simpul.subtree.negatif());
+            simpul.aktif = false;
+        }
+        return true;
+    }
+    @Override
+    public synchronized RingkasanKategori hitungRingkasan(String kode) {
+        Simpul simpul = kode == null ? null : simpulByKode.get(kode);
+        if (simpul == null) {
+            return RingkasanKategori.KOSONG;
+        }
+        Akumulator a = simpul.subtree;
+        return new RingkasanKategori(a.jumlah, a.stok, a.nilai);
+    }
+    @Override
+    public synchronized void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+        if (lama != null && lama.isAktif()) {
+            terapkan(lama.getNamaKategori(), new Akumulator(-1, -lama.getStok(), -lama.hitungNilaiInventaris()));
+        }
+        if (baru != null && baru.isAktif()) {
+            terapkan(baru.getNamaKategori(), new Akumulator(1, baru.getStok(), baru.hitungNilaiInventaris()));
+        }
+    }
+    private void terapkan(String nama, Akumulator delta) {
+        if (nama == null) {
+            return;
+        }
+        totalPerNama.computeIfAbsent(nama, n -> new Akumulator(0, 0, 0.0)).tambah(delta);
+        Simpul simpul = simpulByNama.get(nama);
+        if (simpul != null) {
+            simpul.subtree.tambah(delta);
+            naik(simpul, delta);
+        }
+    }
+    // Teruskan delta ke semua leluhur selama rantai kategorinya aktif
+    private void naik(Simpul dari, Akumulator delta) {
+        Simpul s = dari;
+        while (s.aktif && s.induk != null) {
+            s = s.induk;
+            s.subtree.tambah(delta);
+        }
+    }
+    private Akumulator totalNama(String nama) {
+        Akumulator total = totalPerNama.get(nama);
+        return total == null ? new Akumulator(0, 0, 0.0) : total;
+    }
+    private static boolean adalahTurunan(Simpul calon, Simpul leluhur) {
+        for (Simpul s = calon; s != null; s = s.induk) {
+            if (s == leluhur) {
+                return true;
+            }
+        }
+        return false;
+    }
+    private static final class Akumulator {
+        long jumlah;
+        long stok;
+        double nilai;
+        Akumulator(long jumlah, long stok, double nilai) {
+            this.jumlah = jumlah;
+            this.stok = stok;
+            this.nilai = nilai;
+        }
+        void tambah(Akumulator lain) {
+            jumlah += lain.jumlah;
+            stok += lain.stok;
+            nilai += lain.nilai;
+        }
+        Akumulator negatif() {
+            return new Akumulator(-jumlah, -stok, -nilai);
+        }
+    }
+    private static final class Simpul {
+        final String kode;
+        String nama;
+        String deskripsi;
+        boolean aktif;
+        Simpul induk;
+        final List<Simpul> anak = new ArrayList<>();
+        final Akumulator subtree = new Akumulator(0, 0, 0.0);
+        Simpul(String kode) {
+            this.kode = kode;
+        }
+        Kategori keKategori() {
+            Kategori k = new Kategori(kode, nama, deskripsi);
+            k.setAktif(aktif);
+            k.setKodeInduk(induk == null ? null : induk.kode);
+            return k;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.praktikum.whitebox.repository;
 import com.praktikum.whitebox.model.Produk;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 public interface RepositoryProduk {
@@ -12,4 +13,49 @@ public interface RepositoryProduk {
     boolean hapus(String kode);
     boolean updateStok(String kode, int stokBaru);
     List<Produk> cariSemua();
+    // Pencarian gabungan; implementasi default memindai seluruh katalog
+    default List<Produk> cari(KriteriaProduk kriteria) {
+        List<Produk> cocok = new ArrayList<>();
+        for (Produk p : cariSemua()) {
+            if (kriteria.cocok(p)) {
+                cocok.add(p);
+            }
+        }
+        return kriteria.halamanProduk(cocok);
+    }
+    // Produk dengan min <= harga <= max (kategori null = semua kategori), urut harga naik
+    default List<Produk> cariByRentangHarga(String kategori, double min, double max) {
+        return cari(KriteriaProduk.semua().kategori(kategori).hargaAntara(min, max)
+                .urutkan(UrutanProduk.HARGA_NAIK));
+    }
+    // N produk dengan nilai inventaris (harga x stok) tertinggi
+    default List<Produk> cariNilaiTertinggi(int n) {
+        return cari(KriteriaProduk.semua().urutkan(UrutanProduk.NILAI_TURUN).batasi(n));
+    }
+    // Agregat atas produk aktif, aturan sama dengan ServiceInventaris
+    default long hitungTotalStok() {
+        long total = 0;
+        for (Produk p : cariSemua()) {
+            if (p.isAktif()) {
+                total += p.getStok();
+            }
+        }
+        return total;
+    }
+    default double hitungTotalNilaiInventaris() {
+        double total = 0;
+        for (Produk p : cariSemua()) {
+            if (p.isAktif()) {
+                total += p.getHarga() * p.getStok();
+            }
+        }
+        return total;
+    }
+    // Perubahan sejak versi tertentu; tanpa log versi, implementasi default selalu mengirim katalog penuh
+    default PerubahanProduk perubahanSejak(long versi) {
+        if (versi < 0) {
+            throw new IllegalArgumentException("Versi tidak boleh negatif");
+        }
+        return new PerubahanProduk(0, true, cariSemua(), List.of());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Tenggat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+/**
+ * SPI repository produk non-blocking. Semua operasi menerima Tenggat dari
+ * pemanggil; implementasi tidak boleh memulai pekerjaan yang tenggatnya sudah
+ * lewat. Future baru selesai setelah pekerjaan benar-benar berhenti: pekerjaan
+ * yang belum mulai gagal dengan TimeoutException, pekerjaan yang sedang berjalan
+ * dihentikan sebisanya dan ditunggu, karena penulisan yang sudah berjalan bisa
+ * saja tetap diterapkan. Pemanggil yang butuh batas keras menerapkan Tenggat
+ * pada salinan future.
+ */
+public interface RepositoryProdukAsync {
+    CompletableFuture<Boolean> simpan(Produk produk, Tenggat tenggat);
+    CompletableFuture<Optional<Produk>> cariByKode(String kode, Tenggat tenggat);
+    CompletableFuture<List<Produk>> cariByNama(String nama, Tenggat tenggat);
+    CompletableFuture<List<Produk>> cariByKategori(String kategori, Tenggat tenggat);
+    CompletableFuture<List<Produk>> cariProdukStokMenipis(Tenggat tenggat);
+    CompletableFuture<List<Produk>> cariProdukStokHabis(Tenggat tenggat);
+    CompletableFuture<List<Produk>> cari(KriteriaProduk kriteria, Tenggat tenggat);
+    CompletableFuture<Boolean> hapus(String kode, Tenggat tenggat);
+    CompletableFuture<Boolean> updateStok(String kode, int stokBaru, Tenggat tenggat);
+    CompletableFuture<Long> hitungTotalStok(Tenggat tenggat);
+    CompletableFuture<Double> hitungTotalNilaiInventaris(Tenggat tenggat);
+}
@@ -0,0 +1,335 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.util.SketsaCountMin;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+/**
+ * RepositoryProduk dua tingkat. Produk yang sering diakses disimpan sebagai
+ * ProdukRingkas di ConcurrentHashMap (tingkat panas); sisanya disandikan ke
+ * TingkatDingin di luar heap. Produk baru masuk tingkat dingin. Akses ke
+ * produk dingin dicatat di sketsa count-min; setelah mencapai ambangPromosi
+ * produk dipromosikan. Jika tingkat panas melewati kapasitasnya, produk
+ * dengan frekuensi terendah diturunkan sampai tersisa 90% kapasitas, lalu
+ * semua frekuensi dibagi dua agar pola akses lama memudar.
+ *
+ * Pindai (cariSemua, cariByKategori, dst.) tidak dihitung sebagai akses dan
+ * hasilnya selalu terurut kode sehingga tidak bergantung pada tingkat produk.
+ *
+ * <p>Sketsa frekuensi dibagi ke beberapa sketsa kecil menurut hash kode,
+ * masing-masing dengan kuncinya sendiri, sehingga pencatatan akses tidak
+ * melewati satu monitor global. Kode selalu jatuh ke sketsa yang sama dan
+ * tiap sketsa hanya melihat sebagian lalu lintas, jadi batas galatnya tetap
+ * sama dengan satu sketsa besar berukuran total sama. Update stok produk
+ * dingin cukup memegang read lock: stok ditulis di tempat secara atomik.
+ */
+public class RepositoryProdukBertingkat implements RepositoryProduk {
+    public static final int KAPASITAS_PANAS = 10_000;
+    public static final int AMBANG_PROMOSI = 4;
+    private static final double SISA_SETELAH_PENURUNAN = 0.9;
+    // Pangkat dua; epsilon tiap sketsa dikali jumlahnya karena lalu lintasnya terbagi
+    private static final int JUMLAH_SKETSA = 16;
+    private static final Comparator<Produk> URUT_KODE = Comparator.comparing(Produk::getKode);
+    private static final class Panas {
+        volatile ProdukRingkas produk;
+        // Hitungan perkiraan: kenaikan bersamaan boleh hilang
+        volatile int frekuensi;
+        Panas(ProdukRingkas produk, int frekuensi) {
+            this.produk = produk;
+            this.frekuensi = frekuensi;
+        }
+    }
+    private final KamusKategori kamusKategori = new KamusKategori();
+    private final Map<String, Panas> panas = new ConcurrentHashMap<>();
+    private final TingkatDingin dingin = new TingkatDingin();
+    private final SketsaCountMin[] frekuensiDingin = new SketsaCountMin[JUMLAH_SKETSA];
+    private final ReentrantLock[] kunciSketsa = new ReentrantLock[JUMLAH_SKETSA];
+    // Read lock: pembacaan, update stok dan penulisan tingkat panas; write lock: perubahan tingkat dingin dan perpindahan
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    private final int kapasitasPanas;
+    private final int ambangPromosi;
+    private long jumlahPromosi;
+    private long jumlahPenurunan;
+    public RepositoryProdukBertingkat() {
+        this(KAPASITAS_PANAS, AMBANG_PROMOSI);
+    }
+    public RepositoryProdukBertingkat(int kapasitasPanas, int ambangPromosi) {
+        if (kapasitasPanas <= 0 || ambangPromosi <= 0) {
+            throw new IllegalArgumentException("Kapasitas panas dan ambang promosi harus positif");
+        }
+        this.kapasitasPanas = kapasitasPanas;
+        this.ambangPromosi = ambangPromosi;
+        for (int i = 0; i < JUMLAH_SKETSA; i++) {
+            frekuensiDingin[i] = new SketsaCountMin(0.001 * JUMLAH_SKETSA, 0.01);
+            kunciSketsa[i] = new ReentrantLock();
+        }
+    }
+    private static void sentuh(Panas p) {
+        int f = p.frekuensi;
+        if (f < Integer.MAX_VALUE) {
+            p.frekuensi = f + 1;
+        }
+    }
+    // Catat akses ke produk dingin, kembalikan perkiraan frekuensinya
+    private long aksesDingin(String kode) {
+        int h = kode.hashCode();
+        int i = (h ^ (h >>> 16)) & (JUMLAH_SKETSA - 1);
+        kunciSketsa[i].lock();
+        try {
+            frekuensiDingin[i].tambah(kode, 1);
+            return frekuensiDingin[i].perkiraan(kode);
+        } finally {
+            kunciSketsa[i].unlock();
+        }
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        // Jalur panas tanpa kunci: nilai Panas yang sedang diturunkan pun masih benar untuk dibaca
+        Panas panasDulu = panas.get(kode);
+        if (panasDulu != null) {
+            sentuh(panasDulu);
+            return Optional.of(panasDulu.produk.keProduk());
+        }
+        Produk hasil;
+        kunci.readLock().lock();
+        try {
+            Panas p = panas.get(kode);
+            if (p != null) {
+                sentuh(p);
+                return Optional.of(p.produk.keProduk());
+            }
+            int offset = dingin.cari(kode);
+            if (offset < 0) {
+                return Optional.empty();
+            }
+            hasil = dingin.baca(offset);
+        } finally {
+            kunci.readLock().unlock();
+        }
+        if (aksesDingin(kode) >= ambangPromosi) {
+            kunci.writeLock().lock();
+            try {
+                promosikan(kode);
+            } finally {
+                kunci.writeLock().unlock();
+            }
+        }
+        return Optional.of(hasil);
+    }
+    // Dipanggil dengan write lock
+    private void promosikan(String kode) {
+        if (panas.containsKey(kode)) {
+            return;
+        }
+        int offset = dingin.cari(kode);
+        if (offset < 0) {
+            return;
+        }
+        Produk p = dingin.baca(offset);
+        dingin.hapus(kode);
+        panas.put(kode, new Panas(ProdukRingkas.dari(p, kamusKategori), ambangPromosi));
+        jumlahPromosi++;
+        if (panas.size() > kapasitasPanas) {
+            turunkanYangDingin();
+        }
+    }
+    // Dipanggil dengan write lock
+    private void turunkanYangDingin() {
+        List<Map.Entry<String, Panas>> daftar = new ArrayList<>(panas.entrySet());
+        daftar.sort(Comparator.comparingInt(e -> e.getValue().frekuensi));
+        int turun = daftar.size() - (int) (kapasitasPanas * SISA_SETELAH_PENURUNAN);
+        for (int i = 0; i < turun; i++) {
+            Map.Entry<String, Panas> e = daftar.get(i);
+            dingin.taruh(e.getValue().produk.keProduk());
+            panas.remove(e.getKey());
+            jumlahPenurunan++;
+        }
+        for (Panas p : panas.values()) {
+            p.frekuensi >>= 1;
+        }
+        for (int i = 0; i < JUMLAH_SKETSA; i++) {
+            kunciSketsa[i].lock();
+            try {
+                frekuensiDingin[i].kosongkan();
+            } finally {
+                kunciSketsa[i].unlock();
+            }
+        }
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null || !TingkatDingin.muat(produk)) {
+            return false;
+        }
+        String kode = produk.getKode();
+        kunci.writeLock().lock();
+        try {
+            Panas p = panas.get(kode);
+            if (p != null) {
+                p.produk = ProdukRingkas.dari(produk, kamusKategori);
+                sentuh(p);
+                return true;
+            }
+            dingin.taruh(produk);
+            if (aksesDingin(kode) >= ambangPromosi) {
+                promosikan(kode);
+            }
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+        kunci.readLock().lock();
+        try {
+            // computeIfPresent mengurutkan update bersamaan pada kode yang sama
+            boolean[] diubah = new boolean[1];
+            panas.computeIfPresent(kode, (k, p) -> {
+                p.produk = p.produk.denganStok(stokBaru);
+                sentuh(p);
+                diubah[0] = true;
+                return p;
+            });
+            if (diubah[0]) {
+                return true;
+            }
+            // Read lock menahan promosi, jadi produk yang tidak panas pasti ada di tingkat dingin atau tidak ada
+            if (!dingin.updateStok(kode, stokBaru)) {
+                return false;
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        if (aksesDingin(kode) >= ambangPromosi) {
+            kunci.writeLock().lock();
+            try {
+                promosikan(kode);
+            } finally {
+                kunci.writeLock().unlock();
+            }
+        }
+        return true;
+    }
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            return panas.remove(kode) != null || dingin.hapus(kode);
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+    // Semua produk dari kedua tingkat yang lolos filter, terurut kode
+    private List<Produk> pindai(Predicate<String> filterKategori, Predicate<Produk> filter) {
+        List<Produk> hasil = new ArrayList<>();
+        kunci.readLock().lock();
+        try {
+            for (Panas p : panas.values()) {
+                ProdukRingkas r = p.produk;
+                if (filterKategori.test(r.getNamaKategori())) {
+                    Produk produk = r.keProduk();
+                    if (filter.test(produk)) {
+                        hasil.add(produk);
+                    }
+                }
+            }
+            dingin.telusuri(offset -> {
+                if (filterKategori.test(dingin.kategoriDi(offset))) {
+                    Produk produk = dingin.baca(offset);
+                    if (filter.test(produk)) {
+                        hasil.add(produk);
+                    }
+                }
+            });
+        } finally {
+            kunci.readLock().unlock();
+        }
+        hasil.sort(URUT_KODE);
+        return hasil;
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return pindai(k -> true, p -> true);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return pindai(kategori::equals, p -> true);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String dicari = nama.toLowerCase(Locale.ROOT);
+        return pindai(k -> true, p -> p.getNama() != null && p.getNama().toLowerCase(Locale.ROOT).contains(dicari));
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return pindai(k -> true, Produk::isStokMenipis);
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return pindai(k -> true, Produk::isStokHabis);
+    }
+    public int getJumlahPanas() {
+        return panas.size();
+    }
+    public int getJumlahDingin() {
+        kunci.readLock().lock();
+        try {
+            return dingin.jumlah();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    public boolean isPanas(String kode) {
+        return kode != null && panas.containsKey(kode);
+    }
+    // Byte arena dan indeks tingkat dingin
+    public long ukuranByteDingin() {
+        kunci.readLock().lock();
+        try {
+            return dingin.ukuranByte();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    public long getJumlahPromosi() {
+        kunci.readLock().lock();
+        try {
+            return jumlahPromosi;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    public long getJumlahPenurunan() {
+        kunci.readLock().lock();
+        try {
+            return jumlahPenurunan;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+/**
+ * RepositoryProduk yang seluruh datanya berada di luar heap, di ByteBuffer
+ * direct. Setiap produk adalah rekaman 40 byte berukuran tetap:
+ * [double harga @0][int stok @8][int stokMinimum @12][int status @16]
+ * [int idKategori @20][long offsetTeks @24][int panjangKode @32][int panjangNama @36];
+ * kode dan nama UTF-8 berada di arena teks. Indeks kode adalah tabel open
+ * addressing di luar heap dengan slot [int hash][int id + 1]. Di heap hanya
+ * tersisa kamus kategori, daftar potongan buffer dan tumpukan id bebas,
+ * sehingga jumlah objek tidak tumbuh bersama jumlah SKU. Teks yang diganti
+ * dengan teks lebih panjang tidak diklaim ulang.
+ *
+ * Stok dibaca dan ditulis atomik lewat VarHandle, jadi updateStok dan
+ * ubahStok cukup memegang read lock; simpan dan hapus memegang write lock.
+ */
+public class RepositoryProdukLuarHeap implements RepositoryProduk {
+    private static final int UKURAN_REKAMAN = 40;
+    private static final int OFF_HARGA = 0;
+    private static final int OFF_STOK = 8;
+    private static final int OFF_MINIMUM = 12;
+    private static final int OFF_STATUS = 16;
+    private static final int OFF_KATEGORI = 20;
+    private static final int OFF_TEKS = 24;
+    private static final int OFF_PANJANG_KODE = 32;
+    private static final int OFF_PANJANG_NAMA = 36;
+    private static final int STATUS_HIDUP = 1;
+    private static final int STATUS_AKTIF = 2;
+    private static final int BIT_POTONGAN_REKAMAN = 16;
+    private static final int BIT_POTONGAN_TEKS = 22;
+    private static final int MAKS_SLOT_INDEKS = 1 << 27;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private final List<ByteBuffer> potonganRekaman = new ArrayList<>();
+    private final List<ByteBuffer> potonganTeks = new ArrayList<>();
+    private long posisiTeks;
+    private ByteBuffer indeks;
+    private int maskIndeks;
+    private int idBerikut;
+    private int[] idBebas = new int[16];
+    private int jumlahBebas;
+    private int jumlah;
+    private final List<String> namaKategori = new ArrayList<>();
+    private final Map<String, Integer> idKategori = new HashMap<>();
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    public RepositoryProdukLuarHeap() {
+        this(1 << 10);
+    }
+    // Perkiraan jumlah produk agar indeks tidak perlu dibangun ulang saat memuat
+    public RepositoryProdukLuarHeap(int perkiraanJumlah) {
+        if (perkiraanJumlah < 0) {
+            throw new IllegalArgumentException("Perkiraan jumlah tidak boleh negatif");
+        }
+        int slot = 16;
+        while (slot * 7L < perkiraanJumlah * 10L && slot < MAKS_SLOT_INDEKS) {
+            slot <<= 1;
+        }
+        alokasiIndeks(slot);
+    }
+    private static ByteBuffer direct(int ukuran) {
+        return ByteBuffer.allocateDirect(ukuran).order(ByteOrder.nativeOrder());
+    }
+    private void alokasiIndeks(int slot) {
+        indeks = direct(slot * 8);
+        maskIndeks = slot - 1;
+    }
+    private static int hash(String kode) {
+        int h = kode.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    private ByteBuffer rekaman(int id) {
+        return potonganRekaman.get(id >>> BIT_POTONGAN_REKAMAN);
+    }
+    private static int offsetRekaman(int id) {
+        return (id & ((1 << BIT_POTONGAN_REKAMAN) - 1)) * UKURAN_REKAMAN;
+    }
+    private boolean kodeSama(int id, byte[] kode) {
+        ByteBuffer r = rekaman(id);
+        int off = offsetRekaman(id);
+        if (r.getInt(off + OFF_PANJANG_KODE) != kode.length) {
+            return false;
+        }
+        long teks = r.getLong(off + OFF_TEKS);
+        ByteBuffer t = potonganTeks.get((int) (teks >>> BIT_POTONGAN_TEKS));
+        int pos = (int) (teks & ((1L << BIT_POTONGAN_TEKS) - 1));
+        for (int i = 0; i < kode.length; i++) {
+            if (t.get(pos + i) != kode[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // Slot indeks milik kode, atau -(slot kosong + 1)
+    private int cariSlot(String kode, byte[] biner) {
+        int h = hash(kode);
+        for (int i = h & maskIndeks; ; i = (i + 1) & maskIndeks) {
+            int isi = indeks.getInt(i * 8 + 4);
+            if (isi == 0) {
+                return -(i + 1);
+            }
+            if (indeks.getInt(i * 8) == h && kodeSama(isi - 1, biner)) {
+                return i;
+            }
+        }
+    }
+    // Id rekaman kode, -1 jika tidak ada; dipanggil dengan kunci
+    private int cariId(String kode) {
+        int slot = cariSlot(kode, kode.getBytes(StandardCharsets.UTF_8));
+        return slot < 0 ? -1 : indeks.getInt(slot * 8 + 4) - 1;
+    }
+    private long tulisTeks(byte[] kode, byte[] nama) {
+        int panjang = kode.length + nama.length;
+        long ukuranPotongan = 1L << BIT_POTONGAN_TEKS;
+        if ((posisiTeks & (ukuranPotongan - 1)) + panjang > ukuranPotongan) {
+            posisiTeks = (posisiTeks | (ukuranPotongan - 1)) + 1;
+        }
+        int nomor = (int) (posisiTeks >>> BIT_POTONGAN_TEKS);
+        while (potonganTeks.size() <= nomor) {
+            potonganTeks.add(direct((int) ukuranPotongan));
+        }
+        ByteBuffer t = potonganTeks.get(nomor);
+        int pos = (int) (posisiTeks & (ukuranPotongan - 1));
+        t.put(pos, kode);
+        t.put(pos + kode.length, nama);
+        long offset = posisiTeks;
+        posisiTeks += panjang;
+        return offset;
+    }
+    private String bacaTeks(long teks, int geser, int panjang) {
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] b = new byte[panjang];
+        ByteBuffer t = potonganTeks.get((int) (teks >>> BIT_POTONGAN_TEKS));
+        t.get((int) (teks & ((1L << BIT_POTONGAN_TEKS) - 1)) + geser, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+    private int idBaru() {
+        if (jumlahBebas > 0) {
+            return idBebas[--jumlahBebas];
+        }
+        int id = idBerikut++;
+        if (id >>> BIT_POTONGAN_REKAMAN >= potonganRekaman.size()) {
+            potonganRekaman.add(direct(UKURAN_REKAMAN << BIT_POTONGAN_REKAMAN));
+        }
+        return id;
+    }
+    private int idKategori(String kategori) {
+        if (kategori == null) {
+            return -1;
+        }
+        return idKategori.computeIfAbsent(kategori, k -> {
+            namaKategori.add(k);
+            return namaKategori.size() - 1;
+        });
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        byte[] kode = produk.getKode().getBytes(StandardCharsets.UTF_8);
+        byte[] nama = produk.getNama() == null ? new byte[0] : produk.getNama().getBytes(StandardCharsets.UTF_8);
+        kunci.writeLock().lock();
+        try {
+            int slot = cariSlot(produk.getKode(), kode);
+            int id;
+            if (slot >= 0) {
+                id = indeks.getInt(slot * 8 + 4) - 1;
+            } else {
+                id = idBaru();
+            }
+            ByteBuffer r = rekaman(id);
+            int off = offsetRekaman(id);
+            // Teks lama dipakai ulang jika muat, selain itu ditulis baru (teks lama menjadi sampah)
+            long teks;
+            int panjangLama = slot < 0 ? -1
+                    : r.getInt(off + OFF_PANJANG_KODE) + Math.max(0, r.getInt(off + OFF_PANJANG_NAMA));
+            if (panjangLama >= kode.length + nama.length) {
+                teks = r.getLong(off + OFF_TEKS);
+                ByteBuffer t = potonganTeks.get((int) (teks >>> BIT_POTONGAN_TEKS));
+                int pos = (int) (teks & ((1L << BIT_POTONGAN_TEKS) - 1));
+                t.put(pos, kode);
+                t.put(pos + kode.length, nama);
+            } else {
+                teks = tulisTeks(kode, nama);
+            }
+            r.putDouble(off + OFF_HARGA, produk.getHarga());
+            INT.setVolatile(r, off + OFF_STOK, produk.getStok());
+            r.putInt(off + OFF_MINIMUM, produk.getStokMinimum());
+            r.putInt(off + OFF_STATUS, STATUS_HIDUP | (produk.isAktif() ? STATUS_AKTIF : 0));
+            r.putInt(off + OFF_KATEGORI, idKategori(produk.getKategori()));
+            r.putLong(off + OFF_TEKS, teks);
+            r.putInt(off + OFF_PANJANG_KODE, kode.length);
+            r.putInt(off + OFF_PANJANG_NAMA, produk.getNama() == null ? -1 : nama.length);
+            if (slot < 0) {
+                int kosong = -slot - 1;
+                indeks.putInt(kosong * 8, hash(produk.getKode()));
+                indeks.putInt(kosong * 8 + 4, id + 1);
+                if (++jumlah * 10L > (maskIndeks + 1) * 7L) {
+                    perbesarIndeks();
+                }
+            }
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+    private void perbesarIndeks() {
+        int slotLama = maskIndeks + 1;
+        if (slotLama >= MAKS_SLOT_INDEKS) {
+            throw new IllegalStateException("Indeks luar heap penuh");
+        }
+        ByteBuffer lama = indeks;
+        alokasiIndeks(slotLama * 2);
+        for (int i = 0; i < slotLama; i++) {
+            int isi = lama.getInt(i * 8 + 4);
+            if (isi != 0) {
+                int h = lama.getInt(i * 8);
+                int j = h & maskIndeks;
+                while (indeks.getInt(j * 8 + 4) != 0) {
+                    j = (j + 1) & maskIndeks;
+                }
+                indeks.putInt(j * 8, h);
+                indeks.putInt(j * 8 + 4, isi);
+            }
+        }
+    }
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            int slot = cariSlot(kode, kode.getBytes(StandardCharsets.UTF_8));
+            if (slot < 0) {
+                return false;
+            }
+            int id = indeks.getInt(slot * 8 + 4) - 1;
+            rekaman(id).putInt(offsetRekaman(id) + OFF_STATUS, 0);
+            if (jumlahBebas == idBebas.length) {
+                idBebas = Arrays.copyOf(idBebas, jumlahBebas * 2);
+            }
+            idBebas[jumlahBebas++] = id;
+            // Geser mundur agar rantai probing tetap utuh tanpa tombstone
+            int kosong = slot;
+            for (int i = (slot + 1) & maskIndeks; indeks.getInt(i * 8 + 4) != 0; i = (i + 1) & maskIndeks) {
+                int ideal = indeks.getInt(i * 8) & maskIndeks;
+                if (((i - ideal) & maskIndeks) >= ((i - kosong) & maskIndeks)) {
+                    indeks.putInt(kosong * 8, indeks.getInt(i * 8));
+                    indeks.putInt(kosong * 8 + 4, indeks.getInt(i * 8 + 4));
+                    kosong = i;
+                }
+            }
+            indeks.putInt(kosong * 8 + 4, 0);
+            jumlah--;
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+        kunci.readLock().lock();
+        try {
+            int id = cariId(kode);
+            if (id < 0) {
+                return false;
+            }
+            INT.setVolatile(rekaman(id), offsetRekaman(id) + OFF_STOK, stokBaru);
+            return true;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    /**
+     * Tambah atau kurangi stok secara atomik (compare-and-set), tanpa
+     * read-modify-write di luar. Gagal jika produk tidak ada atau stok akan
+     * menjadi negatif.
+     */
+    public boolean ubahStok(String kode, int delta) {
+        if (kode == null) {
+            return false;
+        }
+        kunci.readLock().lock();
+        try {
+            int id = cariId(kode);
+            if (id < 0) {
+                return false;
+            }
+            ByteBuffer r = rekaman(id);
+            int off = offsetRekaman(id) + OFF_STOK;
+            while (true) {
+                int lama = (int) INT.getVolatile(r, off);
+                long baru = (long) lama + delta;
+                if (baru < 0 || baru > Integer.MAX_VALUE) {
+                    return false;
+                }
+                if (INT.compareAndSet(r, off, lama, (int) baru)) {
+                    return true;
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    private boolean hidup(ByteBuffer r, int off) {
+        return (r.getInt(off + OFF_STATUS) & STATUS_HIDUP) != 0;
+    }
+    private Produk baca(int id) {
+        ByteBuffer r = rekaman(id);
+        int off = offsetRekaman(id);
+        long teks = r.getLong(off + OFF_TEKS);
+        int panjangKode = r.getInt(off + OFF_PANJANG_KODE);
+        int idKat = r.getInt(off + OFF_KATEGORI);
+        Produk p = new Produk(bacaTeks(teks, 0, panjangKode),
+                bacaTeks(teks, panjangKode, r.getInt(off + OFF_PANJANG_NAMA)),
+                idKat < 0 ? null : namaKategori.get(idKat), r.getDouble(off + OFF_HARGA),
+                (int) INT.getVolatile(r, off + OFF_STOK), r.getInt(off + OFF_MINIMUM));
+        p.setAktif((r.getInt(off + OFF_STATUS) & STATUS_AKTIF) != 0);
+        return p;
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        kunci.readLock().lock();
+        try {
+            int id = cariId(kode);
+            return id < 0 ? Optional.empty() : Optional.of(baca(id));
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    // Saringan atas kolom tetap, dievaluasi sebelum teks didekode
+    private interface SaringanRekaman {
+        boolean cocok(ByteBuffer r, int off);
+    }
+    private List<Produk> pindai(SaringanRekaman saringan) {
+        List<Produk> hasil = new ArrayList<>();
+        kunci.readLock().lock();
+        try {
+            for (int id = 0; id < idBerikut; id++) {
+                ByteBuffer r = rekaman(id);
+                int off = offsetRekaman(id);
+                if (hidup(r, off) && saringan.cocok(r, off)) {
+                    hasil.add(baca(id));
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return hasil;
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return pindai((r, off) -> true);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        Integer id;
+        kunci.readLock().lock();
+        try {
+            id = idKategori.get(kategori);
+        } finally {
+            kunci.readLock().unlock();
+        }
+        if (id == null) {
+            return new ArrayList<>();
+        }
+        int dicari = id;
+        return pindai((r, off) -> r.getInt(off + OFF_KATEGORI) == dicari);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String dicari = nama.toLowerCase(Locale.ROOT);
+        List<Produk> hasil = new ArrayList<>();
+        for (Produk p : cariSemua()) {
+            if (p.getNama() != null && p.getNama().toLowerCase(Locale.ROOT).contains(dicari)) {
+                hasil.add(p);
+            }
+        }
+        return hasil;
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return pindai((r, off) -> {
+            int stok = (int) INT.getVolatile(r, off + OFF_STOK);
+            return stok > 0 && stok <= r.getInt(off + OFF_MINIMUM);
+        });
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return pindai((r, off) -> (int) INT.getVolatile(r, off + OFF_STOK) == 0);
+    }
+    // Agregat langsung atas kolom tetap, tanpa membuat objek Produk
+    @Override
+    public long hitungTotalStok() {
+        long total = 0;
+        kunci.readLock().lock();
+        try {
+            for (int id = 0; id < idBerikut; id++) {
+                ByteBuffer r = rekaman(id);
+                int off = offsetRekaman(id);
+                if (r.getInt(off + OFF_STATUS) == (STATUS_HIDUP | STATUS_AKTIF)) {
+                    total += (int) INT.getVolatile(r, off + OFF_STOK);
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return total;
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        double total = 0;
+        kunci.readLock().lock();
+        try {
+            for (int id = 0; id < idBerikut; id++) {
+                ByteBuffer r = rekaman(id);
+                int off = offsetRekaman(id);
+                if (r.getInt(off + OFF_STATUS) == (STATUS_HIDUP | STATUS_AKTIF)) {
+                    total += r.getDouble(off + OFF_HARGA) * (int) INT.getVolatile(r, off + OFF_STOK);
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return total;
+    }
+    public int jumlah() {
+        kunci.readLock().lock();
+        try {
+            return jumlah;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+    // Total byte ByteBuffer direct: rekaman, teks dan indeks
+    public long ukuranByteLuarHeap() {
+        kunci.readLock().lock();
+        try {
+            return (long) potonganRekaman.size() * (UKURAN_REKAMAN << BIT_POTONGAN_REKAMAN)
+                    + (long) potonganTeks.size() * (1L << BIT_POTONGAN_TEKS) + indeks.capacity();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+}
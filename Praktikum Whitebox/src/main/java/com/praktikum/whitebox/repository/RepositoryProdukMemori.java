@@ -0,0 +1,179 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.StatusStok;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+/**
+ * Implementasi RepositoryProduk di memori. Data disimpan sebagai ProdukRingkas
+ * yang immutable; setiap pembacaan mengembalikan salinan Produk baru sehingga
+ * perubahan oleh pemanggil tidak bocor ke repository.
+ */
+public class RepositoryProdukMemori implements RepositoryProduk {
+    private final ConcurrentMap<String, ProdukRingkas> produkByKode = new ConcurrentHashMap<>();
+    private final List<PendengarProduk> pendengar = new CopyOnWriteArrayList<>();
+    private final List<IndeksProduk> daftarIndeks = new CopyOnWriteArrayList<>();
+    private final PerencanaKueri perencana = new PerencanaKueri(daftarIndeks);
+    private final LogPerubahanProduk logPerubahan = new LogPerubahanProduk();
+    private final KamusKategori kamusKategori;
+    public RepositoryProdukMemori() {
+        this(new KamusKategori());
+    }
+    public RepositoryProdukMemori(KamusKategori kamusKategori) {
+        this.kamusKategori = kamusKategori;
+        tambahIndeks(new IndeksBitmap());
+        tambahIndeks(new IndeksHarga());
+        tambahIndeks(new IndeksNilai());
+        pendengar.add(logPerubahan);
+    }
+    // Indeks harus ditambahkan sebelum data dimuat, sama seperti pendengar
+    public void tambahIndeks(IndeksProduk indeks) {
+        daftarIndeks.add(indeks);
+        pendengar.add(indeks);
+    }
+    // Daftarkan pendengar sebelum data dimuat agar tidak ada perubahan yang terlewat
+    public void tambahPendengar(PendengarProduk p) {
+        pendengar.add(p);
+    }
+    public LogPerubahanProduk getLogPerubahan() {
+        return logPerubahan;
+    }
+    public KamusKategori getKamusKategori() {
+        return kamusKategori;
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        ProdukRingkas baru = ProdukRingkas.dari(produk, kamusKategori);
+        produkByKode.compute(baru.getKode(), (kode, lama) -> {
+            beritahu(lama, baru);
+            return baru;
+        });
+        return true;
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        ProdukRingkas produk = produkByKode.get(kode);
+        return produk == null ? Optional.empty() : Optional.of(produk.keProduk());
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        List<Produk> hasil = new ArrayList<>();
+        if (nama == null) {
+            return hasil;
+        }
+        String dicari = nama.toLowerCase(Locale.ROOT);
+        for (ProdukRingkas p : produkByKode.values()) {
+            if (p.getNama() != null && p.getNama().toLowerCase(Locale.ROOT).contains(dicari)) {
+                hasil.add(p.keProduk());
+            }
+        }
+        return hasil;
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return cari(KriteriaProduk.semua().kategori(kategori));
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cari(KriteriaProduk.semua().status(StatusStok.MENIPIS));
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cari(KriteriaProduk.semua().status(StatusStok.HABIS));
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        return perencana.jalankan(kriteria, produkByKode::get, produkByKode.values());
+    }
+    // Indeks yang akan dipakai untuk kriteria, null berarti pindai penuh
+    public IndeksProduk rencanaKueri(KriteriaProduk kriteria) {
+        return perencana.pilihIndeks(kriteria, produkByKode.size());
+    }
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        boolean[] dihapus = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, lama) -> {
+            beritahu(lama, null);
+            dihapus[0] = true;
+            return null;
+        });
+        return dihapus[0];
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+        boolean[] diubah = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, lama) -> {
+            ProdukRingkas baru = lama.denganStok(stokBaru);
+            beritahu(lama, baru);
+            diubah[0] = true;
+            return baru;
+        });
+        return diubah[0];
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        List<Produk> hasil = new ArrayList<>(produkByKode.size());
+        for (ProdukRingkas p : produkByKode.values()) {
+            hasil.add(p.keProduk());
+        }
+        return hasil;
+    }
+    // Salinan daftar ProdukRingkas immutable, untuk pemindaian paralel tanpa membuat Produk
+    public List<ProdukRingkas> ringkasanSemua() {
+        return new ArrayList<>(produkByKode.values());
+    }
+    // Agregat langsung atas data internal, tanpa menyalin Produk
+    @Override
+    public long hitungTotalStok() {
+        long total = 0;
+        for (ProdukRingkas p : produkByKode.values()) {
+            if (p.isAktif()) {
+                total += p.getStok();
+            }
+        }
+        return total;
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        double total = 0;
+        for (ProdukRingkas p : produkByKode.values()) {
+            if (p.isAktif()) {
+                total += p.hitungNilaiInventaris();
+            }
+        }
+        return total;
+    }
+    @Override
+    public PerubahanProduk perubahanSejak(long versi) {
+        return logPerubahan.perubahanSejak(versi);
+    }
+    public int jumlah() {
+        return produkByKode.size();
+    }
+    private void beritahu(ProdukRingkas lama, ProdukRingkas baru) {
+        for (PendengarProduk p : pendengar) {
+            p.produkBerubah(lama, baru);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.StatusStok;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+/**
+ * RepositoryProduk dengan MVCC: setiap penulisan menambah versi baru di depan
+ * rantai versi per kode. Pembaca membuka {@link SnapshotProduk} yang mematok
+ * satu versi komit dan memindai tanpa kunci, sehingga laporan konsisten walau
+ * penulis terus berjalan. Versi lama dibuang begitu tidak ada snapshot yang
+ * masih membutuhkannya.
+ *
+ * <p>Versi diterbitkan berurutan sesuai urutan alokasinya. Harga urutan ini:
+ * penulis yang tertunda (mis. dipreempsi) di antara memasang versi dan
+ * menerbitkannya menahan penerbitan semua penulis sesudahnya. Penulis yang
+ * menunggu berputar sebentar lalu parkir sampai pendahulunya membangunkannya.
+ */
+public class RepositoryProdukMvcc implements RepositoryProduk {
+    private static final int PUTARAN_MAKS = 128;
+    private static final class Versi {
+        final long versi;
+        // null berarti produk dihapus pada versi ini (tombstone)
+        final ProdukRingkas nilai;
+        volatile Versi sebelumnya;
+        Versi(long versi, ProdukRingkas nilai, Versi sebelumnya) {
+            this.versi = versi;
+            this.nilai = nilai;
+            this.sebelumnya = sebelumnya;
+        }
+    }
+    private final ConcurrentMap<String, Versi> kepala = new ConcurrentHashMap<>();
+    private final AtomicLong versiDialokasi = new AtomicLong();
+    // Semua versi <= versiTerlihat sudah terpasang; snapshot hanya mematok versi ini
+    private final AtomicLong versiTerlihat = new AtomicLong();
+    // Batas bawah versi yang boleh dipatok; dinaikkan sebelum pemangkasan
+    private final AtomicLong batasGc = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, Integer> patokan = new ConcurrentSkipListMap<>();
+    private final AtomicLong versiUsang = new AtomicLong();
+    // Penulis yang parkir menunggu giliran menerbitkan, menurut versinya
+    private final ConcurrentMap<Long, Thread> penunggu = new ConcurrentHashMap<>();
+    private final KamusKategori kamusKategori;
+    public RepositoryProdukMvcc() {
+        this(new KamusKategori());
+    }
+    public RepositoryProdukMvcc(KamusKategori kamusKategori) {
+        this.kamusKategori = kamusKategori;
+    }
+    // Buka snapshot pada versi komit terbaru; wajib ditutup agar versi lama bisa dibuang
+    public SnapshotProduk bukaSnapshot() {
+        while (true) {
+            long versi = versiTerlihat.get();
+            patokan.merge(versi, 1, Integer::sum);
+            // Dekker dengan horizon(): patokan ditulis dulu, lalu batasGc dibaca
+            if (versi >= batasGc.get()) {
+                return new SnapshotProduk(this, versi);
+            }
+            lepas(versi);
+        }
+    }
+    void lepas(long versi) {
+        patokan.computeIfPresent(versi, (k, n) -> n == 1 ? null : n - 1);
+        if (patokan.isEmpty() && versiUsang.get() > 0) {
+            bersihkan();
+        }
+    }
+    // Versi tertua yang masih mungkin dibaca snapshot mana pun
+    private long horizon() {
+        long terlihat = versiTerlihat.get();
+        batasGc.accumulateAndGet(terlihat, Math::max);
+        Map.Entry<Long, Integer> tertua = patokan.firstEntry();
+        return tertua == null ? terlihat : Math.min(terlihat, tertua.getKey());
+    }
+    ProdukRingkas baca(String kode, long versi) {
+        Versi v = kepala.get(kode);
+        while (v != null && v.versi > versi) {
+            v = v.sebelumnya;
+        }
+        return v == null ? null : v.nilai;
+    }
+    void untukSetiap(long versi, Consumer<ProdukRingkas> penerima) {
+        for (Versi v : kepala.values()) {
+            while (v != null && v.versi > versi) {
+                v = v.sebelumnya;
+            }
+            if (v != null && v.nilai != null) {
+                penerima.accept(v.nilai);
+            }
+        }
+    }
+    // Versi dialokasikan paling akhir di dalam compute agar tidak ada versi yang bocor karena exception
+    private Versi versiBaru(ProdukRingkas nilai, Versi lama) {
+        return new Versi(versiDialokasi.incrementAndGet(), nilai, lama);
+    }
+    // Versi diterbitkan berurutan: tunggu penulis dengan versi lebih kecil selesai memasang versinya
+    private void terbitkan(long versi) {
+        for (int putaran = 0; !versiTerlihat.compareAndSet(versi - 1, versi); putaran++) {
+            if (putaran < PUTARAN_MAKS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // Daftar dulu baru periksa ulang, agar penerbitan pendahulu tidak terlewat
+            penunggu.put(versi, Thread.currentThread());
+            boolean diinterupsi = false;
+            try {
+                while (versiTerlihat.get() != versi - 1) {
+                    LockSupport.park(this);
+                    // Interupsi tidak membatalkan penerbitan; tanpa dibersihkan park tidak lagi memblok
+                    diinterupsi |= Thread.interrupted();
+                }
+            } finally {
+                penunggu.remove(versi);
+                if (diinterupsi) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        Thread berikut = penunggu.get(versi + 1);
+        if (berikut != null) {
+            LockSupport.unpark(berikut);
+        }
+    }
+    private void selesaiTulis(String kode, Versi baru) {
+        terbitkan(baru.versi);
+        if (baru.sebelumnya != null) {
+            versiUsang.incrementAndGet();
+        }
+        pangkas(kode, horizon());
+    }
+    // Buang versi yang lebih tua dari versi pertama <= horizon; hapus kunci jika tinggal tombstone
+    private void pangkas(String kode, long horizon) {
+        Versi v = kepala.get(kode);
+        Versi awal = v;
+        while (v != null && v.versi > horizon) {
+            v = v.sebelumnya;
+        }
+        if (v == null) {
+            return;
+        }
+        if (v.sebelumnya != null) {
+            v.sebelumnya = null;
+            versiUsang.decrementAndGet();
+        }
+        if (v == awal && v.nilai == null) {
+            kepala.remove(kode, v);
+        }
+    }
+    // Sapu semua kunci; dipanggil otomatis saat snapshot terakhir ditutup
+    public void bersihkan() {
+        long h = horizon();
+        versiUsang.set(0);
+        for (String kode : kepala.keySet()) {
+            pangkas(kode, h);
+        }
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        ProdukRingkas nilai = ProdukRingkas.dari(produk, kamusKategori);
+        Versi baru = kepala.compute(nilai.getKode(), (kode, lama) -> versiBaru(nilai, lama));
+        selesaiTulis(nilai.getKode(), baru);
+        return true;
+    }
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        Versi[] baru = new Versi[1];
+        kepala.computeIfPresent(kode, (k, lama) -> {
+            if (lama.nilai == null) {
+                return lama;
+            }
+            baru[0] = versiBaru(null, lama);
+            return baru[0];
+        });
+        if (baru[0] == null) {
+            return false;
+        }
+        selesaiTulis(kode, baru[0]);
+        return true;
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+        Versi[] baru = new Versi[1];
+        kepala.computeIfPresent(kode, (k, lama) -> {
+            if (lama.nilai == null) {
+                return lama;
+            }
+            ProdukRingkas nilai = lama.nilai.denganStok(stokBaru);
+            baru[0] = versiBaru(nilai, lama);
+            return baru[0];
+        });
+        if (baru[0] == null) {
+            return false;
+        }
+        selesaiTulis(kode, baru[0]);
+        return true;
+    }
+    // Baca satu kode selalu melihat versi terbaru yang sudah terpasang
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        Versi v = kepala.get(kode);
+        return v == null || v.nilai == null ? Optional.empty() : Optional.of(v.nilai.keProduk());
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String dicari = nama.toLowerCase(Locale.ROOT);
+        List<Produk> hasil = new ArrayList<>();
+        try (SnapshotProduk s = bukaSnapshot()) {
+            s.untukSetiap(p -> {
+                if (p.getNama() != null && p.getNama().toLowerCase(Locale.ROOT).contains(dicari)) {
+                    hasil.add(p.keProduk());
+                }
+            });
+        }
+        return hasil;
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return cari(KriteriaProduk.semua().kategori(kategori));
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cari(KriteriaProduk.semua().status(StatusStok.MENIPIS));
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cari(KriteriaProduk.semua().status(StatusStok.HABIS));
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        try (SnapshotProduk s = bukaSnapshot()) {
+            return s.cari(kriteria);
+        }
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        try (SnapshotProduk s = bukaSnapshot()) {
+            return s.cariSemua();
+        }
+    }
+    @Override
+    public long hitungTotalStok() {
+        try (SnapshotProduk s = bukaSnapshot()) {
+            return s.hitungTotalStok();
+        }
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        try (SnapshotProduk s = bukaSnapshot()) {
+            return s.hitungTotalNilaiInventaris();
+        }
+    }
+    // Jumlah versi yang masih tersimpan untuk satu kode, untuk pengujian GC
+    int jumlahVersi(String kode) {
+        int n = 0;
+        for (Versi v = kepala.get(kode); v != null; v = v.sebelumnya) {
+            n++;
+        }
+        return n;
+    }
+    int jumlahKunci() {
+        return kepala.size();
+    }
+}
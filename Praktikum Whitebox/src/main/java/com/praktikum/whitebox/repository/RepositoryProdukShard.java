@@ -0,0 +1,156 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+/**
+ * RepositoryProduk yang membagi produk ke N shard berdasarkan hash kode.
+ * Operasi per kode diteruskan ke shard pemiliknya; pencarian dan agregat
+ * dijalankan paralel di setiap shard (scatter) pada ForkJoinPool lalu
+ * hasilnya digabung (gather).
+ */
+public class RepositoryProdukShard implements RepositoryProduk {
+    private final List<RepositoryProduk> shard;
+    private final ForkJoinPool pool;
+    // Shard RepositoryProdukMemori berbagi satu KamusKategori, dijalankan di common pool
+    public RepositoryProdukShard(int jumlahShard) {
+        this(buatShardMemori(jumlahShard), ForkJoinPool.commonPool());
+    }
+    public RepositoryProdukShard(List<? extends RepositoryProduk> shard, ForkJoinPool pool) {
+        if (shard == null || shard.isEmpty()) {
+            throw new IllegalArgumentException("Minimal satu shard");
+        }
+        this.shard = List.copyOf(shard);
+        this.pool = pool;
+    }
+    private static List<RepositoryProduk> buatShardMemori(int jumlahShard) {
+        if (jumlahShard <= 0) {
+            throw new IllegalArgumentException("Jumlah shard harus lebih dari 0");
+        }
+        KamusKategori kamus = new KamusKategori();
+        List<RepositoryProduk> daftar = new ArrayList<>(jumlahShard);
+        for (int i = 0; i < jumlahShard; i++) {
+            daftar.add(new RepositoryProdukMemori(kamus));
+        }
+        return daftar;
+    }
+    public int getJumlahShard() {
+        return shard.size();
+    }
+    public RepositoryProduk shardUntuk(String kode) {
+        int h = kode.hashCode();
+        // Sebar bit atas agar kode berurutan tidak menumpuk di shard yang sama
+        h ^= (h >>> 16);
+        h *= 0x85EBCA6B;
+        h ^= (h >>> 13);
+        return shard.get(Math.floorMod(h, shard.size()));
+    }
+    // Pendengar dipasang di setiap shard RepositoryProdukMemori
+    public void tambahPendengar(PendengarProduk p) {
+        for (RepositoryProduk s : shard) {
+            if (s instanceof RepositoryProdukMemori memori) {
+                memori.tambahPendengar(p);
+            }
+        }
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        return shardUntuk(produk.getKode()).simpan(produk);
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return kode == null ? Optional.empty() : shardUntuk(kode).cariByKode(kode);
+    }
+    @Override
+    public boolean hapus(String kode) {
+        return kode != null && shardUntuk(kode).hapus(kode);
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return kode != null && shardUntuk(kode).updateStok(kode, stokBaru);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return gabungDaftar(sebar(s -> s.cariByNama(nama)));
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return cari(KriteriaProduk.semua().kategori(kategori));
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cari(KriteriaProduk.semua().status(StatusStok.MENIPIS));
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cari(KriteriaProduk.semua().status(StatusStok.HABIS));
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return gabungDaftar(sebar(RepositoryProduk::cariSemua));
+    }
+    /**
+     * Setiap shard mengembalikan paling banyak offset+limit teratas tanpa
+     * offset, lalu hasil gabungan diurutkan ulang dan dipotong sesuai halaman.
+     */
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        long butuh = (long) kriteria.getOffset() + kriteria.getLimit();
+        KriteriaProduk perShard = kriteria.salin().lewati(0).batasi((int) Math.min(Integer.MAX_VALUE, butuh));
+        return kriteria.halamanProduk(gabungDaftar(sebar(s -> s.cari(perShard))));
+    }
+    @Override
+    public long hitungTotalStok() {
+        long total = 0;
+        for (Long bagian : sebar(RepositoryProduk::hitungTotalStok)) {
+            total += bagian;
+        }
+        return total;
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        double total = 0;
+        for (Double bagian : sebar(RepositoryProduk::hitungTotalNilaiInventaris)) {
+            total += bagian;
+        }
+        return total;
+    }
+    // Jalankan operasi di semua shard secara paralel, hasil berurutan sesuai indeks shard
+    private <T> List<T> sebar(Function<RepositoryProduk, T> operasi) {
+        if (shard.size() == 1) {
+            return List.of(operasi.apply(shard.get(0)));
+        }
+        List<ForkJoinTask<T>> tugas = new ArrayList<>(shard.size());
+        for (RepositoryProduk s : shard) {
+            tugas.add(pool.submit(() -> operasi.apply(s)));
+        }
+        // join melempar ulang RuntimeException dari shard dengan tipe yang sama
+        List<T> hasil = new ArrayList<>(shard.size());
+        for (ForkJoinTask<T> t : tugas) {
+            hasil.add(t.join());
+        }
+        return hasil;
+    }
+    private static List<Produk> gabungDaftar(List<List<Produk>> bagian) {
+        int ukuran = 0;
+        for (List<Produk> b : bagian) {
+            ukuran += b.size();
+        }
+        List<Produk> hasil = new ArrayList<>(ukuran);
+        for (List<Produk> b : bagian) {
+            hasil.addAll(b);
+        }
+        return hasil;
+    }
+}
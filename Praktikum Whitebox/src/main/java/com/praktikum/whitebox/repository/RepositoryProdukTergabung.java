@@ -0,0 +1,125 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.util.PenggabungPanggilan;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+/**
+ * Dekorator RepositoryProduk yang menggabungkan cariByKode dan cariByKategori
+ * yang bersamaan untuk kunci yang sama menjadi satu panggilan ke repository
+ * di belakangnya. Hasil bersama disimpan sebagai ProdukRingkas immutable dan
+ * setiap pemanggil menerima salinan Produk sendiri. Penulisan membuat
+ * pemuatan yang sedang berjalan tidak lagi dipakai oleh pemanggil berikutnya.
+ */
+public class RepositoryProdukTergabung implements RepositoryProduk {
+    public static final Duration BATAS_TUNGGU = Duration.ofSeconds(5);
+    private final RepositoryProduk repository;
+    private final KamusKategori kamusKategori = new KamusKategori();
+    private final PenggabungPanggilan<String, Optional<ProdukRingkas>> penggabungKode;
+    private final PenggabungPanggilan<String, List<ProdukRingkas>> penggabungKategori;
+    public RepositoryProdukTergabung(RepositoryProduk repository) {
+        this(repository, BATAS_TUNGGU);
+    }
+    public RepositoryProdukTergabung(RepositoryProduk repository, Duration batasTunggu) {
+        this.repository = repository;
+        this.penggabungKode = new PenggabungPanggilan<>(batasTunggu);
+        this.penggabungKategori = new PenggabungPanggilan<>(batasTunggu);
+    }
+    public PenggabungPanggilan<String, Optional<ProdukRingkas>> getPenggabungKode() {
+        return penggabungKode;
+    }
+    public PenggabungPanggilan<String, List<ProdukRingkas>> getPenggabungKategori() {
+        return penggabungKategori;
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        return penggabungKode.muat(kode, () -> repository.cariByKode(kode)
+                .map(p -> ProdukRingkas.dari(p, kamusKategori))).map(ProdukRingkas::keProduk);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return repository.cariByKategori(null);
+        }
+        List<ProdukRingkas> bersama = penggabungKategori.muat(kategori, () -> {
+            List<Produk> daftar = repository.cariByKategori(kategori);
+            List<ProdukRingkas> hasil = new ArrayList<>(daftar.size());
+            for (Produk p : daftar) {
+                hasil.add(ProdukRingkas.dari(p, kamusKategori));
+            }
+            return hasil;
+        });
+        List<Produk> hasil = new ArrayList<>(bersama.size());
+        for (ProdukRingkas p : bersama) {
+            hasil.add(p.keProduk());
+        }
+        return hasil;
+    }
+    // Kategori lama produk tidak diketahui tanpa membaca ulang, jadi semua kategori dilupakan
+    private void setelahTulis(String kode) {
+        penggabungKode.lupakan(kode);
+        penggabungKategori.lupakanSemua();
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        boolean hasil = repository.simpan(produk);
+        if (produk != null && produk.getKode() != null) {
+            setelahTulis(produk.getKode());
+        }
+        return hasil;
+    }
+    @Override
+    public boolean hapus(String kode) {
+        boolean hasil = repository.hapus(kode);
+        if (kode != null) {
+            setelahTulis(kode);
+        }
+        return hasil;
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        boolean hasil = repository.updateStok(kode, stokBaru);
+        if (kode != null) {
+            setelahTulis(kode);
+        }
+        return hasil;
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return repository.cariByNama(nama);
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return repository.cariProdukStokMenipis();
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return repository.cariProdukStokHabis();
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return repository.cariSemua();
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        return repository.cari(kriteria);
+    }
+    @Override
+    public long hitungTotalStok() {
+        return repository.hitungTotalStok();
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        return repository.hitungTotalNilaiInventaris();
+    }
+    @Override
+    public PerubahanProduk perubahanSejak(long versi) {
+        return repository.perubahanSejak(versi);
+    }
+}
@@ -0,0 +1,192 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.FilterCuckoo;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+/**
+ * Dekorator RepositoryProduk dengan filter cuckoo atas semua kode yang ada.
+ * cariByKode, updateStok dan hapus untuk kode yang pasti tidak ada dijawab
+ * tanpa menyentuh repository. Filter dibangun dari cariSemua() saat dibuat,
+ * lalu diperbarui oleh simpan dan hapus; jika penuh, filter dibangun ulang
+ * dengan kapasitas dua kali lipat. Semua penulisan harus lewat dekorator ini.
+ */
+public class RepositoryProdukTersaring implements RepositoryProduk {
+    public static final double TINGKAT_POSITIF_PALSU = 0.001;
+    private static final int KAPASITAS_MINIMUM = 1024;
+    private static final int JUMLAH_KUNCI = 256;
+    private final RepositoryProduk repository;
+    private final double tingkatPositifPalsu;
+    private final ReentrantLock[] kunci = new ReentrantLock[JUMLAH_KUNCI];
+    // Penulisan memegang read lock; pembangunan ulang memegang write lock
+    private final ReentrantReadWriteLock kunciBangun = new ReentrantReadWriteLock();
+    private final LongAdder jumlahDisaring = new LongAdder();
+    private volatile FilterCuckoo filter;
+    public RepositoryProdukTersaring(RepositoryProduk repository) {
+        this(repository, TINGKAT_POSITIF_PALSU);
+    }
+    public RepositoryProdukTersaring(RepositoryProduk repository, double tingkatPositifPalsu) {
+        this.repository = repository;
+        this.tingkatPositifPalsu = tingkatPositifPalsu;
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunci[i] = new ReentrantLock();
+        }
+        bangunFilter(0);
+    }
+    /**
+     * Bangun ulang filter dari snapshot cariSemua() dengan kapasitas minimal
+     * dua kali jumlah produk. Penulisan ditahan selama pembangunan; pembacaan
+     * tetap memakai filter lama yang masih benar.
+     */
+    public void bangunUlang(int kapasitasMinimum) {
+        bangunFilter(kapasitasMinimum);
+    }
+    // Privat agar konstruktor dan pembangunan ulang saat penuh tidak memanggil metode yang bisa dioverride
+    private void bangunFilter(int kapasitasMinimum) {
+        kunciBangun.writeLock().lock();
+        try {
+            List<Produk> semua = repository.cariSemua();
+            long kapasitas = Math.max(KAPASITAS_MINIMUM, Math.max(kapasitasMinimum, semua.size() * 2L));
+            FilterCuckoo baru;
+            do {
+                baru = new FilterCuckoo((int) Math.min(Integer.MAX_VALUE, kapasitas), tingkatPositifPalsu);
+                for (Produk p : semua) {
+                    if (!baru.tambah(p.getKode())) {
+                        break;
+                    }
+                }
+                kapasitas *= 2;
+            } while (baru.isPenuh() && kapasitas <= Integer.MAX_VALUE);
+            filter = baru;
+        } finally {
+            kunciBangun.writeLock().unlock();
+        }
+    }
+    public FilterCuckoo getFilter() {
+        return filter;
+    }
+    // Jumlah panggilan yang dijawab filter tanpa akses repository
+    public long getJumlahDisaring() {
+        return jumlahDisaring.sum();
+    }
+    private boolean pastiTidakAda(String kode) {
+        if (kode != null && !filter.mungkinAda(kode)) {
+            jumlahDisaring.increment();
+            return true;
+        }
+        return false;
+    }
+    private ReentrantLock kunciUntuk(String kode) {
+        int h = kode.hashCode();
+        return kunci[(h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1)];
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return repository.simpan(produk);
+        }
+        String kode = produk.getKode();
+        boolean hasil;
+        boolean penuh;
+        kunciBangun.readLock().lock();
+        try {
+            ReentrantLock k = kunciUntuk(kode);
+            k.lock();
+            try {
+                // Sidik jari masuk sebelum produk disimpan agar tidak pernah ada negatif palsu
+                boolean baru = !filter.mungkinAda(kode) || repository.cariByKode(kode).isEmpty();
+                penuh = baru && !filter.tambah(kode);
+                hasil = repository.simpan(produk);
+                if (baru && !hasil && !penuh) {
+                    filter.hapus(kode);
+                }
+            } finally {
+                k.unlock();
+            }
+        } finally {
+            kunciBangun.readLock().unlock();
+        }
+        // Read lock tidak bisa dinaikkan ke write lock, jadi pembangunan ulang dilakukan setelah dilepas
+        if (penuh) {
+            bangunFilter(filter.kapasitas() * 2);
+        }
+        return hasil;
+    }
+    @Override
+    public boolean hapus(String kode) {
+        if (pastiTidakAda(kode)) {
+            return false;
+        }
+        if (kode == null) {
+            return repository.hapus(null);
+        }
+        kunciBangun.readLock().lock();
+        try {
+            ReentrantLock k = kunciUntuk(kode);
+            k.lock();
+            try {
+                boolean dihapus = repository.hapus(kode);
+                if (dihapus) {
+                    filter.hapus(kode);
+                }
+                return dihapus;
+            } finally {
+                k.unlock();
+            }
+        } finally {
+            kunciBangun.readLock().unlock();
+        }
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (pastiTidakAda(kode)) {
+            return Optional.empty();
+        }
+        return repository.cariByKode(kode);
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (pastiTidakAda(kode)) {
+            return false;
+        }
+        return repository.updateStok(kode, stokBaru);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return repository.cariByNama(nama);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return repository.cariByKategori(kategori);
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return repository.cariProdukStokMenipis();
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return repository.cariProdukStokHabis();
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return repository.cariSemua();
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        return repository.cari(kriteria);
+    }
+    @Override
+    public long hitungTotalStok() {
+        return repository.hitungTotalStok();
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        return repository.hitungTotalNilaiInventaris();
+    }
+    @Override
+    public PerubahanProduk perubahanSejak(long versi) {
+        return repository.perubahanSejak(versi);
+    }
+}
@@ -0,0 +1,324 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+/**
+ * Lapisan write-behind di depan RepositoryProduk persisten. Seluruh katalog
+ * dimuat sekali ke RepositoryProdukMemori dan semua pembacaan dilayani dari
+ * sana. Penulisan langsung diterapkan ke memori lalu kodenya ditandai kotor;
+ * penandaan berulang untuk kode yang sama digabung sehingga seratus
+ * updateStok beruntun menjadi satu penulisan. Penulis berkala menuliskan
+ * keadaan terakhir setiap kode kotor ke repository di belakang.
+ *
+ * Jumlah kode kotor dibatasi maksKotor: penulisan kode baru menunggu sampai
+ * ada ruang (dapat terlampaui sebanyak jumlah penulis yang bersamaan).
+ *
+ * Kode yang gagal ditulis ke belakang tetap kotor tanpa menghalangi kode lain
+ * pada putaran yang sama. Putaran yang tidak berhasil menulis satu kode pun
+ * membuat putaran berikutnya ditunda dengan jeda eksponensial.
+ */
+public class RepositoryProdukTulisBelakang implements RepositoryProduk, AutoCloseable {
+    public static final Duration INTERVAL_TULIS = Duration.ofMillis(100);
+    public static final int MAKS_KOTOR = 100_000;
+    private static final int SINYAL_SETIAP = 1024;
+    private static final long JEDA_AWAL_MS = 100;
+    private static final long JEDA_MAKS_MS = 2000;
+    // Jenis penulisan tertunda; digabung ke yang paling luas
+    private enum JenisTertunda {
+        STOK,
+        PENUH;
+        static JenisTertunda gabung(JenisTertunda a, JenisTertunda b) {
+            return a == STOK && b == STOK ? STOK : PENUH;
+        }
+    }
+    private final RepositoryProduk belakang;
+    private final RepositoryProdukMemori depan = new RepositoryProdukMemori();
+    private final ConcurrentMap<String, JenisTertunda> kotor = new ConcurrentHashMap<>();
+    private final int maksKotor;
+    private final ReentrantLock kunciRuang = new ReentrantLock();
+    private final Condition adaRuang = kunciRuang.newCondition();
+    // Penulis memegang read lock; close memegang write lock agar tidak ada tulisan yang tertinggal
+    private final ReentrantReadWriteLock kunciTutup = new ReentrantReadWriteLock();
+    private final ScheduledThreadPoolExecutor penjadwal;
+    private final AtomicBoolean tulisDiminta = new AtomicBoolean();
+    private final LongAdder jumlahTulis = new LongAdder();
+    private final LongAdder jumlahTulisBelakang = new LongAdder();
+    private volatile boolean tertutup;
+    private volatile RuntimeException galatTerakhir;
+    // Jeda setelah putaran yang gagal total; penulis berkala tidak mencoba sebelum cobaLagiPada
+    private volatile long jedaMs;
+    private volatile long cobaLagiPada = System.nanoTime();
+    private volatile int ditulisTerakhir;
+    public RepositoryProdukTulisBelakang(RepositoryProduk belakang) {
+        this(belakang, INTERVAL_TULIS, MAKS_KOTOR);
+    }
+    public RepositoryProdukTulisBelakang(RepositoryProduk belakang, Duration interval, int maksKotor) {
+        if (interval.toMillis() <= 0 || maksKotor <= 0) {
+            throw new IllegalArgumentException("Interval dan batas kotor harus positif");
+        }
+        this.belakang = belakang;
+        this.maksKotor = maksKotor;
+        for (Produk p : belakang.cariSemua()) {
+            depan.simpan(p);
+        }
+        this.penjadwal = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().daemon().name("penulis-belakang").factory());
+        // Putaran tertunda karena jeda tidak perlu ditunggu saat close; close menulis sendiri
+        penjadwal.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        penjadwal.scheduleWithFixedDelay(this::tulisBerkala, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+    // Jalankan satu operasi tulis ke memori lalu tandai kodenya kotor jika berhasil
+    private boolean tulis(String kode, JenisTertunda jenis, boolean[] hasil, Runnable operasi) {
+        // Menunggu ruang di luar read lock agar close tidak tertahan penulis yang menunggu
+        tungguRuang(kode);
+        kunciTutup.readLock().lock();
+        try {
+            if (tertutup) {
+                throw new IllegalStateException("Repository write-behind sudah ditutup");
+            }
+            operasi.run();
+            if (hasil[0]) {
+                kotor.merge(kode, jenis, JenisTertunda::gabung);
+                jumlahTulis.increment();
+            }
+            return hasil[0];
+        } finally {
+            kunciTutup.readLock().unlock();
+        }
+    }
+    private void tungguRuang(String kode) {
+        if (kotor.size() < maksKotor || kotor.containsKey(kode)) {
+            return;
+        }
+        kunciRuang.lock();
+        try {
+            while (kotor.size() >= maksKotor && !kotor.containsKey(kode)) {
+                if (tertutup) {
+                    throw new IllegalStateException("Repository write-behind sudah ditutup");
+                }
+                mintaTulis();
+                adaRuang.awaitUninterruptibly();
+            }
+        } finally {
+            kunciRuang.unlock();
+        }
+    }
+    private void mintaTulis() {
+        if (!tulisDiminta.compareAndSet(false, true)) {
+            return;
+        }
+        long sisaJeda = cobaLagiPada - System.nanoTime();
+        try {
+            if (sisaJeda > 0) {
+                penjadwal.schedule(this::tulisBerkala, sisaJeda, TimeUnit.NANOSECONDS);
+            } else {
+                penjadwal.execute(this::tulisBerkala);
+            }
+        } catch (RejectedExecutionException e) {
+            // Sudah ditutup; close menuliskan sisa kode kotor
+            tulisDiminta.set(false);
+        }
+    }
+    private void beriTahuRuang() {
+        kunciRuang.lock();
+        try {
+            adaRuang.signalAll();
+        } finally {
+            kunciRuang.unlock();
+        }
+    }
+    private void tulisBerkala() {
+        // Masih dalam jeda; permintaan tulis yang tertunda tetap berlaku
+        if (System.nanoTime() - cobaLagiPada < 0) {
+            return;
+        }
+        tulisDiminta.set(false);
+        try {
+            tuliskanTertunda();
+            jedaMs = 0;
+        } catch (RuntimeException e) {
+            // Kode yang gagal tetap kotor dan dicoba lagi pada putaran berikutnya
+            galatTerakhir = e;
+            if (ditulisTerakhir > 0) {
+                jedaMs = 0;
+            } else {
+                jedaMs = Math.min(Math.max(jedaMs * 2, JEDA_AWAL_MS), JEDA_MAKS_MS);
+                cobaLagiPada = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(jedaMs);
+            }
+        }
+    }
+    /**
+     * Tuliskan keadaan terakhir setiap kode kotor ke repository di belakang.
+     * Kembalikan jumlah kode yang dituliskan. Kode yang membuat repository di
+     * belakang melempar dikembalikan ke himpunan kotor setelah putaran selesai,
+     * lalu galat pertama diteruskan.
+     */
+    public synchronized int tuliskanTertunda() {
+        int n = 0;
+        RuntimeException galat = null;
+        List<Map.Entry<String, JenisTertunda>> gagal = new ArrayList<>();
+        try {
+            for (String kode : kotor.keySet()) {
+                JenisTertunda jenis = kotor.remove(kode);
+                if (jenis == null) {
+                    continue;
+                }
+                try {
+                    tulisKeBelakang(kode, jenis);
+                } catch (RuntimeException e) {
+                    // Dikembalikan setelah iterasi agar tidak ditemui lagi pada putaran ini
+                    gagal.add(Map.entry(kode, jenis));
+                    if (galat == null) {
+                        galat = e;
+                    }
+                    continue;
+                }
+                if (++n % SINYAL_SETIAP == 0) {
+                    beriTahuRuang();
+                }
+            }
+        } finally {
+            for (Map.Entry<String, JenisTertunda> e : gagal) {
+                kotor.merge(e.getKey(), e.getValue(), JenisTertunda::gabung);
+            }
+            ditulisTerakhir = n;
+            beriTahuRuang();
+        }
+        if (galat != null) {
+            throw galat;
+        }
+        return n;
+    }
+    // Keadaan memori saat ini yang menentukan; jenis hanya memilih updateStok atau simpan
+    private void tulisKeBelakang(String kode, JenisTertunda jenis) {
+        Optional<Produk> produk = depan.cariByKode(kode);
+        if (produk.isEmpty()) {
+            belakang.hapus(kode);
+        } else if (jenis != JenisTertunda.STOK || !belakang.updateStok(kode, produk.get().getStok())) {
+            belakang.simpan(produk.get());
+        }
+        jumlahTulisBelakang.increment();
+    }
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        boolean[] hasil = new boolean[1];
+        return tulis(produk.getKode(), JenisTertunda.PENUH, hasil, () -> hasil[0] = depan.simpan(produk));
+    }
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        boolean[] hasil = new boolean[1];
+        return tulis(kode, JenisTertunda.PENUH, hasil, () -> hasil[0] = depan.hapus(kode));
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null) {
+            return false;
+        }
+        boolean[] hasil = new boolean[1];
+        return tulis(kode, JenisTertunda.STOK, hasil, () -> hasil[0] = depan.updateStok(kode, stokBaru));
+    }
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return depan.cariByKode(kode);
+    }
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return depan.cariByNama(nama);
+    }
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return depan.cariByKategori(kategori);
+    }
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return depan.cariProdukStokMenipis();
+    }
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return depan.cariProdukStokHabis();
+    }
+    @Override
+    public List<Produk> cariSemua() {
+        return depan.cariSemua();
+    }
+    @Override
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        return depan.cari(kriteria);
+    }
+    @Override
+    public long hitungTotalStok() {
+        return depan.hitungTotalStok();
+    }
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        return depan.hitungTotalNilaiInventaris();
+    }
+    @Override
+    public PerubahanProduk perubahanSejak(long versi) {
+        return depan.perubahanSejak(versi);
+    }
+    public int getJumlahKotor() {
+        return kotor.size();
+    }
+    // Penulisan yang diterima dari pemanggil
+    public long getJumlahTulis() {
+        return jumlahTulis.sum();
+    }
+    // Penulisan yang benar-benar diteruskan ke repository di belakang
+    public long getJumlahTulisBelakang() {
+        return jumlahTulisBelakang.sum();
+    }
+    public RuntimeException getGalatTerakhir() {
+        return galatTerakhir;
+    }
+    // Menolak penulisan baru, menghentikan penulis berkala, lalu menuliskan sisa kode kotor
+    @Override
+    public void close() {
+        kunciTutup.writeLock().lock();
+        try {
+            if (tertutup) {
+                return;
+            }
+            tertutup = true;
+        } finally {
+            kunciTutup.writeLock().unlock();
+        }
+        // Penulis yang menunggu ruang bangun dan melihat repository sudah ditutup
+        beriTahuRuang();
+        penjadwal.shutdown();
+        boolean diinterupsi = false;
+        while (true) {
+            try {
+                if (penjadwal.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                diinterupsi = true;
+            }
+        }
+        if (diinterupsi) {
+            Thread.currentThread().interrupt();
+        }
+        tuliskanTertunda();
+    }
+}
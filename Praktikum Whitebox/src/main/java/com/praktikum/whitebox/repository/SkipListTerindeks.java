@@ -0,0 +1,209 @@
+package com.praktikum.whitebox.repository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+/**
+ * Skip list berkunci double primitif (tanpa boxing) dengan kode produk sebagai
+ * pemutus seri, terurut naik. Setiap tautan menyimpan lebarnya sehingga jumlah
+ * entri dalam rentang kunci bisa dihitung dalam O(log n).
+ */
+public class SkipListTerindeks {
+    private static final int MAKS_LEVEL = 32;
+    private static final int UKURAN_POTONGAN = 128;
+    private static final class Simpul {
+        final double kunci;
+        final String kode;
+        final Simpul[] berikut;
+        final int[] lebar;
+        Simpul(double kunci, String kode, int level) {
+            this.kunci = kunci;
+            this.kode = kode;
+            this.berikut = new Simpul[level];
+            this.lebar = new int[level];
+        }
+    }
+    private final Simpul kepala = new Simpul(Double.NEGATIVE_INFINITY, null, MAKS_LEVEL);
+    private int level = 1;
+    private int ukuran;
+    // Urutan (kunci, kode); kode null berarti sebelum semua kode dengan kunci yang sama
+    private static int bandingkan(Simpul s, double kunci, String kode) {
+        int hasil = Double.compare(s.kunci, kunci);
+        if (hasil != 0) {
+            return hasil;
+        }
+        return kode == null ? 1 : s.kode.compareTo(kode);
+    }
+    private static int acakLevel() {
+        // Peluang naik level 1/4
+        int lv = 1;
+        long acak = ThreadLocalRandom.current().nextLong();
+        while (lv < MAKS_LEVEL && (acak & 3) == 0) {
+            lv++;
+            acak >>>= 2;
+        }
+        return lv;
+    }
+    public synchronized void tambah(double kunci, String kode) {
+        Simpul[] ubah = new Simpul[MAKS_LEVEL];
+        int[] peringkat = new int[MAKS_LEVEL];
+        Simpul x = kepala;
+        for (int i = level - 1; i >= 0; i--) {
+            peringkat[i] = i == level - 1 ? 0 : peringkat[i + 1];
+            while (x.berikut[i] != null && bandingkan(x.berikut[i], kunci, kode) < 0) {
+                peringkat[i] += x.lebar[i];
+                x = x.berikut[i];
+            }
+            ubah[i] = x;
+        }
+        Simpul y = x.berikut[0];
+        if (y != null && bandingkan(y, kunci, kode) == 0) {
+            return;
+        }
+        int lv = acakLevel();
+        if (lv > level) {
+            for (int i = level; i < lv; i++) {
+                peringkat[i] = 0;
+                ubah[i] = kepala;
+                kepala.lebar[i] = ukuran;
+            }
+            level = lv;
+        }
+        Simpul baru = new Simpul(kunci, kode, lv);
+        for (int i = 0; i < lv; i++) {
+            baru.berikut[i] = ubah[i].berikut[i];
+            ubah[i].berikut[i] = baru;
+            int jarak = peringkat[0] - peringkat[i];
+            baru.lebar[i] = ubah[i].lebar[i] - jarak;
+            ubah[i].lebar[i] = jarak + 1;
+        }
+        for (int i = lv; i < level; i++) {
+            ubah[i].lebar[i]++;
+        }
+        ukuran++;
+    }
+    public synchronized boolean hapus(double kunci, String kode) {
+        Simpul[] ubah = new Simpul[MAKS_LEVEL];
+        Simpul x = kepala;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.berikut[i] != null && bandingkan(x.berikut[i], kunci, kode) < 0) {
+                x = x.berikut[i];
+            }
+            ubah[i] = x;
+        }
+        Simpul target = x.berikut[0];
+        if (target == null || bandingkan(target, kunci, kode) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (ubah[i].berikut[i] == target) {
+                ubah[i].lebar[i] += target.lebar[i] - 1;
+                ubah[i].berikut[i] = target.berikut[i];
+            } else {
+                ubah[i].lebar[i]--;
+            }
+        }
+        while (level > 1 && kepala.berikut[level - 1] == null) {
+            level--;
+        }
+        ukuran--;
+        return true;
+    }
+    public synchronized int ukuran() {
+        return ukuran;
+    }
+    // Jumlah entri dengan kunci < batas (inklusif = false) atau <= batas (inklusif = true)
+    private int peringkatKunci(double batas, boolean inklusif) {
+        int peringkat = 0;
+        Simpul x = kepala;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.berikut[i] != null) {
+                int c = Double.compare(x.berikut[i].kunci, batas);
+                if (c < 0 || (inklusif && c == 0)) {
+                    peringkat += x.lebar[i];
+                    x = x.berikut[i];
+                } else {
+                    break;
+                }
+            }
+        }
+        return peringkat;
+    }
+    // Jumlah entri dengan min <= kunci <= max, O(log n)
+    public synchronized int hitungAntara(double min, double max) {
+        if (min > max) {
+            return 0;
+        }
+        return peringkatKunci(max, true) - peringkatKunci(min, false);
+    }
+    /**
+     * Ambil paling banyak {@code batas} kode sesudah posisi (kunci, kode), berhenti
+     * di kunci > max. Kode null berarti mulai dari entri pertama dengan kunci itu.
+     * Dipakai untuk menelusuri rentang per potongan tanpa menahan kunci monitor.
+     */
+    public synchronized int ambilSetelah(double kunci, String kode, double max, int batas,
+                                         double[] kunciKeluar, String[] kodeKeluar) {
+        Simpul x = kepala;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.berikut[i] != null && bandingkan(x.berikut[i], kunci, kode) <= 0) {
+                x = x.berikut[i];
+            }
+        }
+        // x adalah entri terakhir <= (kunci, kode); kode null tidak pernah sama persis
+        x = x.berikut[0];
+        int n = 0;
+        while (x != null && n < batas && x.kunci <= max) {
+            kunciKeluar[n] = x.kunci;
+            kodeKeluar[n] = x.kode;
+            n++;
+            x = x.berikut[0];
+        }
+        return n;
+    }
+    /**
+     * Kirim kode setiap entri dengan min <= kunci <= max secara berurutan sampai
+     * penerima mengembalikan false. Monitor hanya ditahan per potongan sehingga
+     * penerima bebas memanggil struktur lain; penulisan bersamaan terlihat
+     * secara konsisten-lemah, seperti iterator ConcurrentHashMap.
+     */
+    public void telusuri(double min, double max, Predicate<String> penerima) {
+        double[] kunciPotongan = new double[UKURAN_POTONGAN];
+        String[] kodePotongan = new String[UKURAN_POTONGAN];
+        // Kode yang kuncinya bergeser maju di antara dua potongan bisa terlihat dua kali
+        Set<String> terkirim = null;
+        double kunci = min;
+        String kode = null;
+        int n;
+        do {
+            n = ambilSetelah(kunci, kode, max, UKURAN_POTONGAN, kunciPotongan, kodePotongan);
+            for (int i = 0; i < n; i++) {
+                if (terkirim != null && !terkirim.add(kodePotongan[i])) {
+                    continue;
+                }
+                if (!penerima.test(kodePotongan[i])) {
+                    return;
+                }
+            }
+            if (n == UKURAN_POTONGAN) {
+                if (terkirim == null) {
+                    terkirim = new HashSet<>();
+                }
+                for (int i = 0; i < n; i++) {
+                    terkirim.add(kodePotongan[i]);
+                }
+                kunci = kunciPotongan[n - 1];
+                kode = kodePotongan[n - 1];
+            }
+        } while (n == UKURAN_POTONGAN);
+    }
+    // Salinan seluruh kode dalam urutan, untuk pengujian
+    synchronized List<String> semuaKode() {
+        List<String> hasil = new ArrayList<>(ukuran);
+        for (Simpul x = kepala.berikut[0]; x != null; x = x.berikut[0]) {
+            hasil.add(x.kode);
+        }
+        return hasil;
+    }
+}
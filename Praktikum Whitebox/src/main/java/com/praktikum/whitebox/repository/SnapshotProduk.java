@@ -0,0 +1,78 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+/**
+ * Pandangan baca-saja atas {@link RepositoryProdukMvcc} pada satu versi komit.
+ * Semua pembacaan lewat snapshot yang sama melihat keadaan yang identik,
+ * tanpa menahan penulis. Tutup setelah selesai (try-with-resources).
+ */
+public final class SnapshotProduk implements AutoCloseable {
+    private final RepositoryProdukMvcc repository;
+    private final long versi;
+    private boolean ditutup;
+    SnapshotProduk(RepositoryProdukMvcc repository, long versi) {
+        this.repository = repository;
+        this.versi = versi;
+    }
+    public long getVersi() {
+        return versi;
+    }
+    public Optional<Produk> cariByKode(String kode) {
+        cekTerbuka();
+        ProdukRingkas p = kode == null ? null : repository.baca(kode, versi);
+        return p == null ? Optional.empty() : Optional.of(p.keProduk());
+    }
+    public List<Produk> cariSemua() {
+        List<Produk> hasil = new ArrayList<>();
+        untukSetiap(p -> hasil.add(p.keProduk()));
+        return hasil;
+    }
+    public List<Produk> cari(KriteriaProduk kriteria) {
+        List<ProdukRingkas> cocok = new ArrayList<>();
+        untukSetiap(p -> {
+            if (kriteria.cocok(p)) {
+                cocok.add(p);
+            }
+        });
+        return kriteria.halamanRingkas(cocok);
+    }
+    // Agregat atas produk aktif, aturan sama dengan ServiceInventaris
+    public long hitungTotalStok() {
+        long[] total = new long[1];
+        untukSetiap(p -> {
+            if (p.isAktif()) {
+                total[0] += p.getStok();
+            }
+        });
+        return total[0];
+    }
+    public double hitungTotalNilaiInventaris() {
+        double[] total = new double[1];
+        untukSetiap(p -> {
+            if (p.isAktif()) {
+                total[0] += p.hitungNilaiInventaris();
+            }
+        });
+        return total[0];
+    }
+    void untukSetiap(Consumer<ProdukRingkas> penerima) {
+        cekTerbuka();
+        repository.untukSetiap(versi, penerima);
+    }
+    private void cekTerbuka() {
+        if (ditutup) {
+            throw new IllegalStateException("Snapshot sudah ditutup");
+        }
+    }
+    @Override
+    public void close() {
+        if (!ditutup) {
+            ditutup = true;
+            repository.lepas(versi);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+/**
+ * Tingkat dingin RepositoryProdukBertingkat: produk disandikan ke satu arena
+ * ByteBuffer direct (di luar heap) dan diindeks tabel open addressing int[]
+ * berisi offset + 1, sehingga per produk di heap hanya tersisa satu slot int.
+ * Rekaman: [int hash][double harga][int stok][int stokMinimum][byte aktif]
+ * [int idKategori][short n][kode][short n][nama], n = -1 untuk null, dengan
+ * panjang rekaman dibulatkan ke kelipatan 4 byte. Stok berada di offset
+ * tetap yang sejajar 4 byte sehingga diubah di tempat dengan tulis volatile;
+ * rekaman lama yang diganti atau dihapus menjadi byte mati yang dibuang saat
+ * pemadatan.
+ * Tidak thread-safe: pembacaan dan updateStok boleh bersamaan, penulisan
+ * lain (taruh, hapus) harus eksklusif.
+ */
+final class TingkatDingin {
+    private static final int OFF_HARGA = 4;
+    private static final int OFF_STOK = 12;
+    private static final int OFF_MINIMUM = 16;
+    private static final int OFF_AKTIF = 20;
+    private static final int OFF_KATEGORI = 21;
+    private static final int OFF_KODE = 25;
+    private static final int ARENA_AWAL = 1 << 16;
+    private static final int ARENA_MAKS = Integer.MAX_VALUE - 8;
+    // Akses int atomik di arena; offset harus sejajar 4 byte
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private ByteBuffer arena = ByteBuffer.allocateDirect(ARENA_AWAL).order(ByteOrder.nativeOrder());
+    private int posisiTulis;
+    private long byteMati;
+    // Slot berisi offset + 1; 0 berarti kosong
+    private int[] indeks = new int[16];
+    private int jumlah;
+    private final List<String> namaKategori = new ArrayList<>();
+    private final Map<String, Integer> idKategori = new HashMap<>();
+    private static int hash(String kode) {
+        int h = kode.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    private int slotAwal(int hash) {
+        return hash & (indeks.length - 1);
+    }
+    private boolean kodeSama(int offset, byte[] kode) {
+        int n = arena.getShort(offset + OFF_KODE);
+        if (n != kode.length) {
+            return false;
+        }
+        int awal = offset + OFF_KODE + 2;
+        for (int i = 0; i < n; i++) {
+            if (arena.get(awal + i) != kode[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // Slot indeks milik kode, atau -(slot kosong + 1) jika tidak ada
+    private int cariSlot(String kode) {
+        byte[] biner = kode.getBytes(StandardCharsets.UTF_8);
+        int h = hash(kode);
+        int mask = indeks.length - 1;
+        for (int i = slotAwal(h); ; i = (i + 1) & mask) {
+            int isi = indeks[i];
+            if (isi == 0) {
+                return -(i + 1);
+            }
+            int offset = isi - 1;
+            if (arena.getInt(offset) == h && kodeSama(offset, biner)) {
+                return i;
+            }
+        }
+    }
+    // Offset rekaman kode, -1 jika tidak ada
+    int cari(String kode) {
+        int slot = cariSlot(kode);
+        return slot < 0 ? -1 : indeks[slot] - 1;
+    }
+    int jumlah() {
+        return jumlah;
+    }
+    private static int bulatkan(int panjang) {
+        return (panjang + 3) & ~3;
+    }
+    private static boolean muatTeks(String teks) {
+        // Satu char paling banyak 3 byte UTF-8, jadi string pendek tidak perlu disandikan
+        return teks == null || teks.length() * 3 <= Short.MAX_VALUE
+                || teks.getBytes(StandardCharsets.UTF_8).length <= Short.MAX_VALUE;
+    }
+    // Panjang kode dan nama disimpan sebagai short, jadi masing-masing paling banyak 32767 byte UTF-8
+    static boolean muat(Produk p) {
+        return muatTeks(p.getKode()) && muatTeks(p.getNama());
+    }
+    void taruh(Produk p) {
+        byte[] kode = p.getKode().getBytes(StandardCharsets.UTF_8);
+        byte[] nama = p.getNama() == null ? null : p.getNama().getBytes(StandardCharsets.UTF_8);
+        if (kode.length > Short.MAX_VALUE || (nama != null && nama.length > Short.MAX_VALUE)) {
+            throw new IllegalArgumentException("Kode dan nama produk paling panjang " + Short.MAX_VALUE + " byte");
+        }
+        int slot = cariSlot(p.getKode());
+        int panjang = bulatkan(OFF_KODE + 2 + kode.length + 2 + (nama == null ? 0 : nama.length));
+        pastikanRuang(panjang);
+        if (slot >= 0) {
+            // pastikanRuang bisa memadatkan arena, jadi slot dicari ulang
+            slot = cariSlot(p.getKode());
+            byteMati += panjangRekaman(indeks[slot] - 1);
+        }
+        int offset = posisiTulis;
+        arena.putInt(offset, hash(p.getKode()));
+        arena.putDouble(offset + OFF_HARGA, p.getHarga());
+        INT.setVolatile(arena, offset + OFF_STOK, p.getStok());
+        arena.putInt(offset + OFF_MINIMUM, p.getStokMinimum());
+        arena.put(offset + OFF_AKTIF, (byte) (p.isAktif() ? 1 : 0));
+        arena.putInt(offset + OFF_KATEGORI, idKategori(p.getKategori()));
+        int pos = tulisTeks(offset + OFF_KODE, kode);
+        tulisTeks(pos, nama);
+        posisiTulis += panjang;
+        if (slot >= 0) {
+            indeks[slot] = offset + 1;
+        } else {
+            indeks[-slot - 1] = offset + 1;
+            if (++jumlah * 10L > indeks.length * 7L) {
+                bangunIndeks(indeks.length * 2);
+            }
+        }
+    }
+    private int tulisTeks(int pos, byte[] teks) {
+        if (teks == null) {
+            arena.putShort(pos, (short) -1);
+            return pos + 2;
+        }
+        arena.putShort(pos, (short) teks.length);
+        arena.put(pos + 2, teks);
+        return pos + 2 + teks.length;
+    }
+    private int idKategori(String kategori) {
+        if (kategori == null) {
+            return -1;
+        }
+        return idKategori.computeIfAbsent(kategori, k -> {
+            namaKategori.add(k);
+            return namaKategori.size() - 1;
+        });
+    }
+    boolean updateStok(String kode, int stok) {
+        int offset = cari(kode);
+        if (offset < 0) {
+            return false;
+        }
+        // Boleh bersamaan dengan pembacaan: offset rekaman tetap selama tidak ada taruh atau hapus
+        INT.setVolatile(arena, offset + OFF_STOK, stok);
+        return true;
+    }
+    boolean hapus(String kode) {
+        int slot = cariSlot(kode);
+        if (slot < 0) {
+            return false;
+        }
+        byteMati += panjangRekaman(indeks[slot] - 1);
+        // Geser mundur entri sesudahnya agar rantai probing tidak terputus (tanpa tombstone)
+        int mask = indeks.length - 1;
+        int kosong = slot;
+        for (int i = (slot + 1) & mask; indeks[i] != 0; i = (i + 1) & mask) {
+            int ideal = slotAwal(arena.getInt(indeks[i] - 1));
+            if (((i - ideal) & mask) >= ((i - kosong) & mask)) {
+                indeks[kosong] = indeks[i];
+                kosong = i;
+            }
+        }
+        indeks[kosong] = 0;
+        jumlah--;
+        return true;
+    }
+    private int panjangRekaman(int offset) {
+        int nKode = arena.getShort(offset + OFF_KODE);
+        int nNama = arena.getShort(offset + OFF_KODE + 2 + nKode);
+        return bulatkan(OFF_KODE + 2 + nKode + 2 + Math.max(0, nNama));
+    }
+    private String bacaTeks(int pos, int n) {
+        if (n < 0) {
+            return null;
+        }
+        byte[] b = new byte[n];
+        arena.get(pos, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+    String kategoriDi(int offset) {
+        int id = arena.getInt(offset + OFF_KATEGORI);
+        return id < 0 ? null : namaKategori.get(id);
+    }
+    Produk baca(int offset) {
+        int nKode = arena.getShort(offset + OFF_KODE);
+        String kode = bacaTeks(offset + OFF_KODE + 2, nKode);
+        int posNama = offset + OFF_KODE + 2 + nKode;
+        String nama = bacaTeks(posNama + 2, arena.getShort(posNama));
+        Produk p = new Produk(kode, nama, kategoriDi(offset), arena.getDouble(offset + OFF_HARGA),
+                (int) INT.getVolatile(arena, offset + OFF_STOK), arena.getInt(offset + OFF_MINIMUM));
+        p.setAktif(arena.get(offset + OFF_AKTIF) != 0);
+        return p;
+    }
+    // Kirim offset setiap rekaman hidup, urutan tidak tertentu
+    void telusuri(Consumer<Integer> penerima) {
+        for (int isi : indeks) {
+            if (isi != 0) {
+                penerima.accept(isi - 1);
+            }
+        }
+    }
+    private void pastikanRuang(int panjang) {
+        if (posisiTulis + (long) panjang <= arena.capacity()) {
+            return;
+        }
+        long hidup = posisiTulis - byteMati;
+        long butuh = hidup + panjang;
+        // Padatkan di tempat jika separuh arena mati, selain itu perbesar dua kali lipat
+        long kapasitas = byteMati * 2 >= posisiTulis && butuh <= arena.capacity()
+                ? arena.capacity() : Math.max(butuh, (long) arena.capacity() * 2);
+        if (kapasitas > ARENA_MAKS) {
+            kapasitas = ARENA_MAKS;
+            if (butuh > kapasitas) {
+                throw new IllegalStateException("Tingkat dingin penuh");
+            }
+        }
+        ByteBuffer baru = ByteBuffer.allocateDirect((int) kapasitas).order(ByteOrder.nativeOrder());
+        int tulis = 0;
+        for (int i = 0; i < indeks.length; i++) {
+            if (indeks[i] != 0) {
+                int offset = indeks[i] - 1;
+                int n = panjangRekaman(offset);
+                baru.put(tulis, arena, offset, n);
+                indeks[i] = tulis + 1;
+                tulis += n;
+            }
+        }
+        arena = baru;
+        posisiTulis = tulis;
+        byteMati = 0;
+    }
+    private void bangunIndeks(int ukuran) {
+        int[] lama = indeks;
+        indeks = new int[ukuran];
+        int mask = ukuran - 1;
+        for (int isi : lama) {
+            if (isi != 0) {
+                int i = slotAwal(arena.getInt(isi - 1));
+                while (indeks[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                indeks[i] = isi;
+            }
+        }
+    }
+    // Memori di luar heap (arena) ditambah tabel indeks di heap
+    long ukuranByte() {
+        return arena.capacity() + (long) indeks.length * Integer.BYTES;
+    }
+}
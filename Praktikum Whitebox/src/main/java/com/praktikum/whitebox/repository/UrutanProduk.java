@@ -0,0 +1,33 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import java.util.Comparator;
+// Urutan hasil KriteriaProduk; kode selalu dipakai sebagai pemutus seri
+public enum UrutanProduk {
+    KODE,
+    HARGA_NAIK,
+    HARGA_TURUN,
+    STOK_NAIK,
+    STOK_TURUN,
+    NILAI_TURUN;
+    public Comparator<Produk> untukProduk() {
+        return (a, b) -> bandingkan(a.getHarga(), a.getStok(), a.getKode(),
+                b.getHarga(), b.getStok(), b.getKode());
+    }
+    public Comparator<ProdukRingkas> untukRingkas() {
+        return (a, b) -> bandingkan(a.getHarga(), a.getStok(), a.getKode(),
+                b.getHarga(), b.getStok(), b.getKode());
+    }
+    int bandingkan(double hargaA, int stokA, String kodeA, double hargaB, int stokB, String kodeB) {
+        int hasil;
+        switch (this) {
+            case HARGA_NAIK: hasil = Double.compare(hargaA, hargaB); break;
+            case HARGA_TURUN: hasil = Double.compare(hargaB, hargaA); break;
+            case STOK_NAIK: hasil = Integer.compare(stokA, stokB); break;
+            case STOK_TURUN: hasil = Integer.compare(stokB, stokA); break;
+            case NILAI_TURUN: hasil = Double.compare(hargaB * stokB, hargaA * stokA); break;
+            default: hasil = 0;
+        }
+        return hasil != 0 ? hasil : kodeA.compareTo(kodeB);
+    }
+}
@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.server;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+/**
+ * Benchmark throughput protokol biner lewat loopback.
+ * Argumen opsional: [jumlahProduk] [jumlahBatch] [ukuranBatch] [jendelaPipeline]
+ */
+public class BenchmarkBiner {
+    public static void main(String[] args) throws IOException {
+        int jumlahProduk = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int jumlahBatch = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int ukuranBatch = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int jendela = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        for (int i = 0; i < jumlahProduk; i++) {
+            repo.simpan(new Produk(kode(i), "Produk " + i, "Umum", 1000, 1_000_000, 10));
+        }
+        // Batch disiapkan di depan agar yang diukur hanya protokol dan service
+        List<List<OperasiStok>> batches = new ArrayList<>();
+        ThreadLocalRandom acak = ThreadLocalRandom.current();
+        for (int b = 0; b < 64; b++) {
+            List<OperasiStok> batch = new ArrayList<>(ukuranBatch);
+            for (int i = 0; i < ukuranBatch; i++) {
+                String kode = kode(acak.nextInt(jumlahProduk));
+                batch.add(acak.nextBoolean() ? OperasiStok.masuk(kode, 1) : OperasiStok.keluar(kode, 1));
+            }
+            batches.add(batch);
+        }
+        try (ServerBiner server = new ServerBiner(new ServiceInventaris(repo), 0)) {
+            server.mulai();
+            try (KlienBiner klien = new KlienBiner("127.0.0.1", server.getPort())) {
+                long mulai = System.nanoTime();
+                long sukses = 0;
+                for (int b = 0; b < jumlahBatch; b++) {
+                    if (klien.getJumlahMenunggu() >= jendela) {
+                        sukses += hitungOk(klien.terima());
+                    }
+                    klien.kirim(batches.get(b & 63));
+                }
+                while (klien.getJumlahMenunggu() > 0) {
+                    sukses += hitungOk(klien.terima());
+                }
+                double detik = (System.nanoTime() - mulai) / 1e9;
+                long totalOp = (long) jumlahBatch * ukuranBatch;
+                System.out.printf("%d operasi dalam %.2f s = %.0f op/s (%d sukses)%n",
+                        totalOp, detik, totalOp / detik, sukses);
+            }
+        }
+    }
+    private static int hitungOk(byte[] status) {
+        int ok = 0;
+        for (byte s : status) {
+            if (s == ProtokolBiner.STATUS_OK) {
+                ok++;
+            }
+        }
+        return ok;
+    }
+    private static String kode(int i) {
+        return "SKU" + i;
+    }
+}
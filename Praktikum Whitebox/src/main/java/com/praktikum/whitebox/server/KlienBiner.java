@@ -0,0 +1,78 @@
+package com.praktikum.whitebox.server;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.List;
+/**
+ * Klien blocking untuk {@link ServerBiner}. Beberapa batch boleh dikirim
+ * berturut-turut (pipelining) lalu balasannya diambil dengan urutan yang sama.
+ * Jaga jumlah batch yang belum dibalas tetap wajar agar buffer socket tidak penuh.
+ * Instance ini tidak thread-safe.
+ */
+public class KlienBiner implements Closeable {
+    private final SocketChannel channel;
+    private final ByteBuffer keluar = ByteBuffer.allocateDirect(ProtokolBiner.MAKS_FRAME + 4);
+    private final ByteBuffer masuk = ByteBuffer.allocateDirect(ProtokolBiner.MAKS_FRAME + 4);
+    private final ArrayDeque<Integer> menunggu = new ArrayDeque<>();
+    private int idBerikut;
+    public KlienBiner(String host, int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+    // Kirim satu batch tanpa menunggu balasan, kembalikan id batch
+    public int kirim(List<OperasiStok> batch) throws IOException {
+        int id = idBerikut++;
+        keluar.clear();
+        ProtokolBiner.tulisPermintaan(keluar, id, batch);
+        keluar.flip();
+        while (keluar.hasRemaining()) {
+            channel.write(keluar);
+        }
+        menunggu.addLast(id);
+        return id;
+    }
+    // Ambil balasan batch tertua yang belum dibalas: satu status per operasi
+    public byte[] terima() throws IOException {
+        Integer idDiharapkan = menunggu.pollFirst();
+        if (idDiharapkan == null) {
+            throw new IllegalStateException("Tidak ada batch yang menunggu balasan");
+        }
+        while (true) {
+            masuk.flip();
+            if (masuk.remaining() >= 4) {
+                int panjang = masuk.getInt(masuk.position());
+                if (masuk.remaining() >= 4 + panjang) {
+                    masuk.getInt();
+                    int id = masuk.getInt();
+                    byte[] status = new byte[masuk.getShort() & 0xFFFF];
+                    masuk.get(status);
+                    masuk.compact();
+                    if (id != idDiharapkan) {
+                        throw new IOException("Urutan balasan tidak sesuai: " + id + " != " + idDiharapkan);
+                    }
+                    return status;
+                }
+            }
+            masuk.compact();
+            if (channel.read(masuk) < 0) {
+                throw new EOFException("Koneksi ditutup server");
+            }
+        }
+    }
+    public byte[] jalankan(List<OperasiStok> batch) throws IOException {
+        kirim(batch);
+        return terima();
+    }
+    public int getJumlahMenunggu() {
+        return menunggu.size();
+    }
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
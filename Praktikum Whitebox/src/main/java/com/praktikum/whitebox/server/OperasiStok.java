@@ -0,0 +1,24 @@
+package com.praktikum.whitebox.server;
+// Satu operasi stok di dalam batch protokol biner
+public final class OperasiStok {
+    private final byte jenis;
+    private final String kode;
+    private final int jumlah;
+    public OperasiStok(byte jenis, String kode, int jumlah) {
+        this.jenis = jenis;
+        this.kode = kode;
+        this.jumlah = jumlah;
+    }
+    public static OperasiStok masuk(String kode, int jumlah) {
+        return new OperasiStok(ProtokolBiner.OP_MASUK, kode, jumlah);
+    }
+    public static OperasiStok keluar(String kode, int jumlah) {
+        return new OperasiStok(ProtokolBiner.OP_KELUAR, kode, jumlah);
+    }
+    public static OperasiStok update(String kode, int stokBaru) {
+        return new OperasiStok(ProtokolBiner.OP_UPDATE, kode, stokBaru);
+    }
+    public byte getJenis() { return jenis; }
+    public String getKode() { return kode; }
+    public int getJumlah() { return jumlah; }
+}
@@ -0,0 +1,46 @@
+package com.praktikum.whitebox.server;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+/**
+ * Format frame protokol biner (big-endian):
+ * <pre>
+ * permintaan: [int panjang][int idBatch][u16 jumlahOp] jumlahOp x ([byte jenis][u8 panjangKode][kode ASCII][int jumlah])
+ * balasan   : [int panjang][int idBatch][u16 jumlahOp] jumlahOp x [byte status]
+ * </pre>
+ * panjang tidak menghitung 4 byte field panjang itu sendiri. Balasan dikirim
+ * dengan urutan yang sama seperti permintaan pada koneksi yang sama.
+ */
+public final class ProtokolBiner {
+    public static final byte OP_MASUK = 1;
+    public static final byte OP_KELUAR = 2;
+    public static final byte OP_UPDATE = 3;
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_DITOLAK = 1;
+    public static final byte STATUS_TIDAK_DIKENAL = 2;
+    public static final int MAKS_FRAME = 64 * 1024;
+    public static final int UKURAN_HEADER = 4 + 4 + 2;
+    // Ukuran terkecil satu operasi: jenis + panjangKode + jumlah, tanpa kode
+    static final int UKURAN_OP_MINIMUM = 1 + 1 + 4;
+    private ProtokolBiner() {
+    }
+    public static void tulisPermintaan(ByteBuffer buf, int idBatch, List<OperasiStok> batch) {
+        if (batch.size() > 0xFFFF) {
+            throw new IllegalArgumentException("Batch terlalu besar");
+        }
+        int awal = buf.position();
+        buf.putInt(0).putInt(idBatch).putShort((short) batch.size());
+        for (OperasiStok op : batch) {
+            byte[] kode = op.getKode().getBytes(StandardCharsets.US_ASCII);
+            if (kode.length > 0xFF) {
+                throw new IllegalArgumentException("Kode terlalu panjang");
+            }
+            buf.put(op.getJenis()).put((byte) kode.length).put(kode).putInt(op.getJumlah());
+        }
+        int panjang = buf.position() - awal - 4;
+        if (panjang > MAKS_FRAME) {
+            throw new IllegalArgumentException("Frame melebihi " + MAKS_FRAME + " byte");
+        }
+        buf.putInt(awal, panjang);
+    }
+}
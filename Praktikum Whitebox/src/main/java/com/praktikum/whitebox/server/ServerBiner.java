@@ -0,0 +1,194 @@
+package com.praktikum.whitebox.server;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+/**
+ * Server protokol biner (lihat {@link ProtokolBiner}) di atas NIO SocketChannel.
+ * Satu thread selector melayani semua koneksi; setiap koneksi memakai sepasang
+ * direct ByteBuffer yang dipakai ulang untuk membaca frame dan menulis balasan.
+ * Jika buffer balasan penuh, pembacaan dihentikan sampai klien mengambil balasannya;
+ * frame lengkap yang tertahan diproses begitu buffer balasan terkuras, tanpa
+ * menunggu klien mengirim byte baru.
+ */
+public class ServerBiner implements Closeable {
+    private static final int UKURAN_BUFFER = ProtokolBiner.MAKS_FRAME + 4;
+    private final ServiceInventaris serviceInventaris;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private volatile boolean berjalan = true;
+    public ServerBiner(ServiceInventaris serviceInventaris, int port) throws IOException {
+        this.serviceInventaris = serviceInventaris;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::loop, "server-biner");
+    }
+    public void mulai() {
+        thread.start();
+    }
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+    @Override
+    public void close() throws IOException {
+        berjalan = false;
+        selector.wakeup();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+    private void loop() {
+        while (berjalan) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    try {
+                        tangani(key);
+                    } catch (IOException e) {
+                        // Frame rusak atau koneksi terputus: tutup koneksi ini saja
+                        tutup(key);
+                    }
+                }
+            } catch (IOException e) {
+                berjalan = false;
+            }
+        }
+    }
+    private void tangani(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel ch = serverChannel.accept();
+            if (ch != null) {
+                ch.configureBlocking(false);
+                ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                ch.register(selector, SelectionKey.OP_READ, new Koneksi());
+            }
+            return;
+        }
+        SocketChannel ch = (SocketChannel) key.channel();
+        Koneksi k = (Koneksi) key.attachment();
+        if (key.isWritable()) {
+            flush(key, ch, k);
+        }
+        if (key.isValid() && key.isReadable()) {
+            if (ch.read(k.masuk) < 0) {
+                tutup(key);
+                return;
+            }
+        }
+        // Ulangi selama ada frame lengkap yang tertahan dan balasan sebelumnya terkirim habis;
+        // jika socket belum bisa ditulis, OP_WRITE membawa kita kembali ke sini
+        boolean tertahan;
+        do {
+            tertahan = proses(k);
+        } while (!flush(key, ch, k) && tertahan);
+    }
+    /**
+     * Proses semua frame lengkap selama masih ada ruang untuk balasannya. Kembalikan
+     * true jika berhenti karena buffer balasan penuh padahal masih ada frame lengkap.
+     */
+    private boolean proses(Koneksi k) throws IOException {
+        ByteBuffer masuk = k.masuk;
+        ByteBuffer keluar = k.keluar;
+        masuk.flip();
+        try {
+            while (masuk.remaining() >= 4) {
+                int awal = masuk.position();
+                int panjang = masuk.getInt(awal);
+                if (panjang < ProtokolBiner.UKURAN_HEADER - 4 || panjang > ProtokolBiner.MAKS_FRAME) {
+                    throw new IOException("Panjang frame tidak valid: " + panjang);
+                }
+                if (masuk.remaining() < 4 + panjang) {
+                    break;
+                }
+                int jumlahOp = masuk.getShort(awal + 8) & 0xFFFF;
+                if (keluar.remaining() < ProtokolBiner.UKURAN_HEADER + jumlahOp) {
+                    return true;
+                }
+                int akhir = awal + 4 + panjang;
+                masuk.position(awal + 4);
+                int idBatch = masuk.getInt();
+                masuk.getShort();
+                keluar.putInt(ProtokolBiner.UKURAN_HEADER - 4 + jumlahOp).putInt(idBatch).putShort((short) jumlahOp);
+                for (int i = 0; i < jumlahOp; i++) {
+                    keluar.put(jalankan(masuk, akhir, k.kode));
+                }
+                if (masuk.position() != akhir) {
+                    throw new IOException("Isi frame tidak sesuai panjang");
+                }
+            }
+            return false;
+        } finally {
+            masuk.compact();
+        }
+    }
+    private byte jalankan(ByteBuffer masuk, int akhir, byte[] kodeBuf) throws IOException {
+        if (akhir - masuk.position() < ProtokolBiner.UKURAN_OP_MINIMUM) {
+            throw new IOException("Operasi terpotong");
+        }
+        byte jenis = masuk.get();
+        int panjangKode = masuk.get() & 0xFF;
+        if (akhir - masuk.position() < panjangKode + 4) {
+            throw new IOException("Operasi terpotong");
+        }
+        masuk.get(kodeBuf, 0, panjangKode);
+        int jumlah = masuk.getInt();
+        String kode = new String(kodeBuf, 0, panjangKode, StandardCharsets.ISO_8859_1);
+        boolean berhasil;
+        switch (jenis) {
+            case ProtokolBiner.OP_MASUK: berhasil = serviceInventaris.masukStok(kode, jumlah); break;
+            case ProtokolBiner.OP_KELUAR: berhasil = serviceInventaris.keluarStok(kode, jumlah); break;
+            case ProtokolBiner.OP_UPDATE: berhasil = serviceInventaris.updateStok(kode, jumlah); break;
+            default: return ProtokolBiner.STATUS_TIDAK_DIKENAL;
+        }
+        return berhasil ? ProtokolBiner.STATUS_OK : ProtokolBiner.STATUS_DITOLAK;
+    }
+    // Kembalikan true jika masih ada balasan yang belum terkirim
+    private boolean flush(SelectionKey key, SocketChannel ch, Koneksi k) throws IOException {
+        k.keluar.flip();
+        if (k.keluar.hasRemaining()) {
+            ch.write(k.keluar);
+        }
+        boolean tersisa = k.keluar.hasRemaining();
+        k.keluar.compact();
+        // Selama balasan belum terkirim, berhenti membaca agar memori tetap terbatas
+        key.interestOps(tersisa ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        return tersisa;
+    }
+    private void tutup(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // koneksi memang sedang ditutup
+        }
+    }
+    private static final class Koneksi {
+        final ByteBuffer masuk = ByteBuffer.allocateDirect(UKURAN_BUFFER);
+        final ByteBuffer keluar = ByteBuffer.allocateDirect(UKURAN_BUFFER);
+        final byte[] kode = new byte[0xFF];
+    }
+}
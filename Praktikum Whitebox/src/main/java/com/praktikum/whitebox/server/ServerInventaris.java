@@ -0,0 +1,211 @@
+package com.praktikum.whitebox.server;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.PerubahanProduk;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import com.praktikum.whitebox.util.JsonPenulis;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/**
+ * Server HTTP inventaris berbasis com.sun.net.httpserver dengan satu virtual
+ * thread per permintaan. Semua respons berupa JSON dengan Content-Length tetap
+ * sehingga koneksi keep-alive dapat dipakai ulang oleh klien.
+ *
+ * GET  /produk/{kode}
+ * POST /produk/{kode}/masuk?jumlah=N
+ * POST /produk/{kode}/keluar?jumlah=N
+ * GET  /stok/menipis
+ * GET  /stok/habis
+ * GET  /agregat
+ * GET  /diskon?harga=H&kuantitas=K&tipe=T
+ * GET  /perubahan?sejak=V
+ */
+public class ServerInventaris {
+    private final ServiceInventaris serviceInventaris;
+    private final KalkulatorDiskon kalkulatorDiskon;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    public ServerInventaris(ServiceInventaris serviceInventaris, KalkulatorDiskon kalkulatorDiskon,
+                            int port) throws IOException {
+        this.serviceInventaris = serviceInventaris;
+        this.kalkulatorDiskon = kalkulatorDiskon;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/produk/", aman(this::tanganiProduk));
+        server.createContext("/stok/", aman(this::tanganiStok));
+        server.createContext("/agregat", aman(this::tanganiAgregat));
+        server.createContext("/diskon", aman(this::tanganiDiskon));
+        server.createContext("/perubahan", aman(this::tanganiPerubahan));
+    }
+    // Batas handler: exception tak terduga dijawab 500, bukan koneksi yang diputus
+    private static HttpHandler aman(HttpHandler handler) {
+        return ex -> {
+            try {
+                handler.handle(ex);
+            } catch (UnsupportedOperationException e) {
+                // Misalnya penulisan ke pengikut replikasi yang hanya-baca
+                if (ex.getResponseCode() == -1) {
+                    kirimGalat(ex, 409, e.getMessage() != null ? e.getMessage() : "Operasi tidak didukung node ini");
+                }
+            } catch (RuntimeException e) {
+                if (ex.getResponseCode() == -1) {
+                    kirimGalat(ex, 500, "Kesalahan internal server");
+                }
+            } finally {
+                ex.close();
+            }
+        };
+    }
+    public void mulai() {
+        server.start();
+    }
+    public void berhenti() {
+        server.stop(0);
+        executor.close();
+    }
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    private void tanganiProduk(HttpExchange ex) throws IOException {
+        String[] bagian = ex.getRequestURI().getPath().split("/");
+        // bagian[0] kosong, bagian[1] = "produk"
+        if (bagian.length == 3 && "GET".equals(ex.getRequestMethod())) {
+            Optional<Produk> produk = serviceInventaris.cariProdukByKode(bagian[2]);
+            if (produk.isEmpty()) {
+                kirimGalat(ex, 404, "Produk tidak ditemukan");
+                return;
+            }
+            kirim(ex, 200, new JsonPenulis().produk(produk.get()));
+            return;
+        }
+        if (bagian.length == 4 && "POST".equals(ex.getRequestMethod())) {
+            int jumlah;
+            try {
+                jumlah = Integer.parseInt(parameter(ex).getOrDefault("jumlah", ""));
+            } catch (NumberFormatException e) {
+                kirimGalat(ex, 400, "Parameter jumlah wajib berupa angka");
+                return;
+            }
+            boolean berhasil;
+            if ("masuk".equals(bagian[3])) {
+                berhasil = serviceInventaris.masukStok(bagian[2], jumlah);
+            } else if ("keluar".equals(bagian[3])) {
+                berhasil = serviceInventaris.keluarStok(bagian[2], jumlah);
+            } else {
+                kirimGalat(ex, 404, "Operasi tidak dikenal");
+                return;
+            }
+            kirim(ex, berhasil ? 200 : 409, new JsonPenulis().mulaiObjek()
+                    .field("kode", bagian[2]).field("berhasil", berhasil).akhiriObjek());
+            return;
+        }
+        kirimGalat(ex, 405, "Metode tidak didukung");
+    }
+    private void tanganiStok(HttpExchange ex) throws IOException {
+        if (!"GET".equals(ex.getRequestMethod())) {
+            kirimGalat(ex, 405, "Metode tidak didukung");
+            return;
+        }
+        String path = ex.getRequestURI().getPath();
+        if (path.equals("/stok/menipis")) {
+            kirim(ex, 200, new JsonPenulis(4096).mulaiObjek()
+                    .daftarProduk("produk", serviceInventaris.getProdukStokMenipis()).akhiriObjek());
+        } else if (path.equals("/stok/habis")) {
+            kirim(ex, 200, new JsonPenulis(4096).mulaiObjek()
+                    .daftarProduk("produk", serviceInventaris.getProdukStokHabis()).akhiriObjek());
+        } else {
+            kirimGalat(ex, 404, "Tidak ditemukan");
+        }
+    }
+    private void tanganiAgregat(HttpExchange ex) throws IOException {
+        kirim(ex, 200, new JsonPenulis().mulaiObjek()
+                .field("totalStok", serviceInventaris.hitungTotalStok())
+                .field("totalNilaiInventaris", serviceInventaris.hitungTotalNilaiInventaris())
+                .akhiriObjek());
+    }
+    private void tanganiDiskon(HttpExchange ex) throws IOException {
+        Map<String, String> p = parameter(ex);
+        double harga;
+        int kuantitas;
+        try {
+            harga = Double.parseDouble(p.getOrDefault("harga", ""));
+            kuantitas = Integer.parseInt(p.getOrDefault("kuantitas", ""));
+        } catch (NumberFormatException e) {
+            kirimGalat(ex, 400, "Parameter harga dan kuantitas wajib berupa angka");
+            return;
+        }
+        if (harga <= 0 || kuantitas <= 0) {
+            kirimGalat(ex, 400, "Harga dan kuantitas harus positif");
+            return;
+        }
+        String tipe = p.get("tipe");
+        double diskon = kalkulatorDiskon.hitungDiskon(harga, kuantitas, tipe);
+        double total = harga * kuantitas;
+        kirim(ex, 200, new JsonPenulis().mulaiObjek()
+                .field("totalSebelumDiskon", total)
+                .field("diskon", diskon)
+                .field("hargaSetelahDiskon", total - diskon)
+                .field("kategoriDiskon", kalkulatorDiskon.getKategoriDiskon(diskon / total))
+                .akhiriObjek());
+    }
+    private void tanganiPerubahan(HttpExchange ex) throws IOException {
+        long sejak;
+        try {
+            sejak = Long.parseLong(parameter(ex).getOrDefault("sejak", "0"));
+        } catch (NumberFormatException e) {
+            kirimGalat(ex, 400, "Parameter sejak wajib berupa angka");
+            return;
+        }
+        if (sejak < 0) {
+            kirimGalat(ex, 400, "Parameter sejak tidak boleh negatif");
+            return;
+        }
+        PerubahanProduk perubahan = serviceInventaris.perubahanSejak(sejak);
+        kirim(ex, 200, new JsonPenulis(4096).mulaiObjek()
+                .field("versi", perubahan.getVersi())
+                .field("sinkronPenuh", perubahan.isSinkronPenuh())
+                .daftarProduk("diubah", perubahan.getDiubah())
+                .daftarTeks("dihapus", perubahan.getDihapus())
+                .akhiriObjek());
+    }
+    private static Map<String, String> parameter(HttpExchange ex) {
+        Map<String, String> hasil = new HashMap<>();
+        String query = ex.getRequestURI().getRawQuery();
+        if (query == null) {
+            return hasil;
+        }
+        for (String pasangan : query.split("&")) {
+            int sama = pasangan.indexOf('=');
+            if (sama > 0) {
+                hasil.put(pasangan.substring(0, sama), pasangan.substring(sama + 1));
+            }
+        }
+        return hasil;
+    }
+    private static void kirimGalat(HttpExchange ex, int status, String pesan) throws IOException {
+        kirim(ex, status, new JsonPenulis().mulaiObjek().field("error", pesan).akhiriObjek());
+    }
+    private static void kirim(HttpExchange ex, int status, JsonPenulis json) throws IOException {
+        // Habiskan body permintaan agar koneksi bisa dipakai ulang (keep-alive)
+        try (InputStream in = ex.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        byte[] body = json.keBytes();
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
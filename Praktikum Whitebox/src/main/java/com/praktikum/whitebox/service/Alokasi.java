@@ -0,0 +1,24 @@
+package com.praktikum.whitebox.service;
+// Bagian dari satu pengeluaran stok yang diambil dari satu gudang
+public final class Alokasi {
+    private final String kodeGudang;
+    private final int jumlah;
+    public Alokasi(String kodeGudang, int jumlah) {
+        this.kodeGudang = kodeGudang;
+        this.jumlah = jumlah;
+    }
+    public String getKodeGudang() { return kodeGudang; }
+    public int getJumlah() { return jumlah; }
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Alokasi a && kodeGudang.equals(a.kodeGudang) && jumlah == a.jumlah;
+    }
+    @Override
+    public int hashCode() {
+        return kodeGudang.hashCode() * 31 + jumlah;
+    }
+    @Override
+    public String toString() {
+        return kodeGudang + "=" + jumlah;
+    }
+}
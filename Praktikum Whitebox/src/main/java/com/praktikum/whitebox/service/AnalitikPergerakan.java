@@ -0,0 +1,202 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.util.PenghitungTeratas;
+import com.praktikum.whitebox.util.SketsaCountMin;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+/**
+ * Penghitung pergerakan stok per SKU dalam jendela geser. Waktu dibagi ke
+ * ring bucket berdurasi tetap; setiap bucket punya sketsa count-min untuk
+ * stok keluar dan masuk serta ringkasan Space-Saving untuk SKU paling laku.
+ * Bucket dipakai ulang ketika ring berputar, sehingga memori tetap berapa pun
+ * jumlah SKU. Semua hitungan adalah perkiraan batas atas.
+ * <p>
+ * stokBergerak dipanggil di dalam kunci kode ServiceInventaris, jadi hanya
+ * menaruh pergerakan ke antrean tanpa kunci. Antrean dimasukkan ke sketsa saat
+ * query, atau oleh penulis yang mendapati antrean panjang dan kunci sketsa
+ * sedang bebas; penulis tidak pernah menunggu kunci tersebut.
+ */
+public class AnalitikPergerakan implements PendengarPergerakan {
+    public static final Duration DURASI_BUCKET = Duration.ofMinutes(1);
+    public static final int JUMLAH_BUCKET = 60;
+    public static final double EPSILON = 0.005;
+    public static final double DELTA = 0.01;
+    public static final int KAPASITAS_TERATAS = 256;
+    static final int BATAS_TERTUNDA = 1024;
+    private final long durasiBucketMs;
+    private final SketsaCountMin[] keluar;
+    private final SketsaCountMin[] masuk;
+    private final PenghitungTeratas[] teratas;
+    // Nomor periode yang sedang diisi setiap bucket; -1 berarti belum pernah dipakai
+    private final long[] periodeBucket;
+    private final LongSupplier jam;
+    // Sketsa, ringkasan dan periodeBucket hanya disentuh sambil memegang kunciSketsa
+    private final ReentrantLock kunciSketsa = new ReentrantLock();
+    private final ConcurrentLinkedQueue<Pergerakan> tertunda = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger jumlahTertunda = new AtomicInteger();
+    private static final class Pergerakan {
+        final String kode;
+        final int delta;
+        final long periode;
+        Pergerakan(String kode, int delta, long periode) {
+            this.kode = kode;
+            this.delta = delta;
+            this.periode = periode;
+        }
+    }
+    // Satu jam terakhir dalam bucket satu menit
+    public AnalitikPergerakan() {
+        this(DURASI_BUCKET, JUMLAH_BUCKET, EPSILON, DELTA, KAPASITAS_TERATAS, System::currentTimeMillis);
+    }
+    public AnalitikPergerakan(Duration durasiBucket, int jumlahBucket, double epsilon, double delta,
+                              int kapasitasTeratas, LongSupplier jam) {
+        if (durasiBucket.toMillis() <= 0 || jumlahBucket <= 0) {
+            throw new IllegalArgumentException("Durasi dan jumlah bucket harus positif");
+        }
+        this.durasiBucketMs = durasiBucket.toMillis();
+        this.keluar = new SketsaCountMin[jumlahBucket];
+        this.masuk = new SketsaCountMin[jumlahBucket];
+        this.teratas = new PenghitungTeratas[jumlahBucket];
+        this.periodeBucket = new long[jumlahBucket];
+        for (int i = 0; i < jumlahBucket; i++) {
+            keluar[i] = new SketsaCountMin(epsilon, delta);
+            masuk[i] = new SketsaCountMin(epsilon, delta);
+            teratas[i] = new PenghitungTeratas(kapasitasTeratas);
+            periodeBucket[i] = -1;
+        }
+        this.jam = jam;
+    }
+    @Override
+    public void stokBergerak(String kode, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        // Periode dicatat sekarang agar bucket tetap benar walau baru dimasukkan nanti
+        tertunda.add(new Pergerakan(kode, delta, Math.floorDiv(jam.getAsLong(), durasiBucketMs)));
+        if (jumlahTertunda.incrementAndGet() >= BATAS_TERTUNDA && kunciSketsa.tryLock()) {
+            try {
+                kuras();
+            } finally {
+                kunciSketsa.unlock();
+            }
+        }
+    }
+    // Masukkan antrean ke sketsa; dibatasi jumlah saat mulai agar penulis tidak terjebak menguras terus
+    private void kuras() {
+        Pergerakan p;
+        for (int n = jumlahTertunda.get(); n > 0 && (p = tertunda.poll()) != null; n--) {
+            jumlahTertunda.decrementAndGet();
+            terapkan(p.kode, p.delta, p.periode);
+        }
+    }
+    private void terapkan(String kode, int delta, long periode) {
+        int i = (int) Math.floorMod(periode, (long) periodeBucket.length);
+        // Bucket sudah dipakai periode yang lebih baru: pergerakan ini di luar jendela
+        if (periode < periodeBucket[i]) {
+            return;
+        }
+        if (periodeBucket[i] != periode) {
+            keluar[i].kosongkan();
+            masuk[i].kosongkan();
+            teratas[i].kosongkan();
+            periodeBucket[i] = periode;
+        }
+        if (delta < 0) {
+            keluar[i].tambah(kode, -(long) delta);
+            teratas[i].tambah(kode, -(long) delta);
+        } else {
+            masuk[i].tambah(kode, delta);
+        }
+    }
+    // Indeks bucket milik jendela: bucket berjalan ditambah bucket sebelumnya
+    private List<Integer> bucketDalam(Duration jendela) {
+        long n = (jendela.toMillis() + durasiBucketMs - 1) / durasiBucketMs;
+        if (n <= 0 || n > periodeBucket.length) {
+            throw new IllegalArgumentException("Jendela harus di antara 1 bucket dan "
+                    + periodeBucket.length + " bucket");
+        }
+        long sekarang = Math.floorDiv(jam.getAsLong(), durasiBucketMs);
+        List<Integer> hasil = new ArrayList<>();
+        for (int i = 0; i < periodeBucket.length; i++) {
+            if (periodeBucket[i] > sekarang - n && periodeBucket[i] <= sekarang) {
+                hasil.add(i);
+            }
+        }
+        return hasil;
+    }
+    private static List<SketsaCountMin> pilih(SketsaCountMin[] sketsa, List<Integer> bucket) {
+        List<SketsaCountMin> hasil = new ArrayList<>(bucket.size());
+        for (int i : bucket) {
+            hasil.add(sketsa[i]);
+        }
+        return hasil;
+    }
+    public long jumlahKeluar(String kode, Duration jendela) {
+        kunciSketsa.lock();
+        try {
+            kuras();
+            return SketsaCountMin.perkiraanGabungan(kode, pilih(keluar, bucketDalam(jendela)));
+        } finally {
+            kunciSketsa.unlock();
+        }
+    }
+    public long jumlahMasuk(String kode, Duration jendela) {
+        kunciSketsa.lock();
+        try {
+            kuras();
+            return SketsaCountMin.perkiraanGabungan(kode, pilih(masuk, bucketDalam(jendela)));
+        } finally {
+            kunciSketsa.unlock();
+        }
+    }
+    // Rata-rata unit keluar per menit sepanjang jendela
+    public double lajuKeluarPerMenit(String kode, Duration jendela) {
+        return jumlahKeluar(kode, jendela) * 60_000.0 / jendela.toMillis();
+    }
+    /**
+     * SKU dengan stok keluar terbanyak dalam jendela. Kandidat diambil dari
+     * ringkasan Space-Saving setiap bucket, lalu diurutkan menurut perkiraan
+     * count-min atas seluruh jendela.
+     */
+    public List<PergerakanSku> teratasKeluar(int k, Duration jendela) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k harus lebih dari 0");
+        }
+        kunciSketsa.lock();
+        try {
+            kuras();
+            return teratasKeluar(k, bucketDalam(jendela));
+        } finally {
+            kunciSketsa.unlock();
+        }
+    }
+    private List<PergerakanSku> teratasKeluar(int k, List<Integer> bucket) {
+        List<SketsaCountMin> sketsa = pilih(keluar, bucket);
+        Set<String> kandidat = new HashSet<>();
+        for (int i : bucket) {
+            kandidat.addAll(teratas[i].daftarKunci());
+        }
+        List<PergerakanSku> hasil = new ArrayList<>(kandidat.size());
+        for (String kode : kandidat) {
+            hasil.add(new PergerakanSku(kode, SketsaCountMin.perkiraanGabungan(kode, sketsa)));
+        }
+        hasil.sort(Comparator.comparingLong(PergerakanSku::getJumlah).reversed()
+                .thenComparing(PergerakanSku::getKode));
+        return hasil.size() > k ? new ArrayList<>(hasil.subList(0, k)) : hasil;
+    }
+    // Memori sketsa, tetap sejak konstruksi
+    public long ukuranByte() {
+        long total = 0;
+        for (int i = 0; i < periodeBucket.length; i++) {
+            total += keluar[i].ukuranByte() + masuk[i].ukuranByte();
+        }
+        return total;
+    }
+}
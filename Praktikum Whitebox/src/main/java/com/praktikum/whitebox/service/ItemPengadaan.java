@@ -0,0 +1,35 @@
+package com.praktikum.whitebox.service;
+// Satu baris daftar pesan ulang untuk produk yang stoknya di bawah minimum
+public final class ItemPengadaan {
+    private final String kode;
+    private final String nama;
+    private final String kategori;
+    private final String pemasok;
+    private final int stok;
+    private final int stokMinimum;
+    private final double lajuKeluarPerHari;
+    private final int jumlahPesan;
+    public ItemPengadaan(String kode, String nama, String kategori, String pemasok, int stok,
+                         int stokMinimum, double lajuKeluarPerHari, int jumlahPesan) {
+        this.kode = kode;
+        this.nama = nama;
+        this.kategori = kategori;
+        this.pemasok = pemasok;
+        this.stok = stok;
+        this.stokMinimum = stokMinimum;
+        this.lajuKeluarPerHari = lajuKeluarPerHari;
+        this.jumlahPesan = jumlahPesan;
+    }
+    public String getKode() { return kode; }
+    public String getNama() { return nama; }
+    public String getKategori() { return kategori; }
+    public String getPemasok() { return pemasok; }
+    public int getStok() { return stok; }
+    public int getStokMinimum() { return stokMinimum; }
+    public double getLajuKeluarPerHari() { return lajuKeluarPerHari; }
+    public int getJumlahPesan() { return jumlahPesan; }
+    @Override
+    public String toString() {
+        return kode + " x" + jumlahPesan;
+    }
+}
@@ -0,0 +1,78 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Gudang;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+/**
+ * Memutuskan dari gudang mana saja sebuah pengeluaran stok diambil.
+ * stok[i] adalah stok produk di gudang.get(i); pemanggil menjamin jumlah
+ * stok mencukupi. Hasil berisi jumlah yang diambil per indeks gudang dan
+ * totalnya harus sama dengan jumlah.
+ */
+@FunctionalInterface
+public interface KebijakanAlokasi {
+    int[] alokasikan(int jumlah, int[] stok, List<Gudang> gudang, double tujuanX, double tujuanY);
+    // Ambil dari gudang terdekat ke tujuan lebih dulu
+    static KebijakanAlokasi terdekat() {
+        return (jumlah, stok, gudang, x, y) -> ambilBerurutan(jumlah, stok,
+                Comparator.comparingDouble(i -> gudang.get(i).jarakKe(x, y)));
+    }
+    // Ambil dari gudang dengan stok terbesar lebih dulu
+    static KebijakanAlokasi terbesar() {
+        return (jumlah, stok, gudang, x, y) -> ambilBerurutan(jumlah, stok,
+                Comparator.comparingInt((Integer i) -> stok[i]).reversed());
+    }
+    /**
+     * Sesedikit mungkin gudang. k gudang terbesar adalah jumlah minimum; gudang
+     * terakhir dipilih yang stoknya paling pas (best fit) agar stok besar di
+     * gudang lain tidak terpecah. Seri diputus oleh jarak ke tujuan.
+     */
+    static KebijakanAlokasi pecahanTersedikit() {
+        return (jumlah, stok, gudang, x, y) -> {
+            List<Integer> urut = indeksBerstok(stok);
+            urut.sort(Comparator.comparingInt((Integer i) -> stok[i]).reversed()
+                    .thenComparingDouble(i -> gudang.get(i).jarakKe(x, y)));
+            int[] hasil = new int[stok.length];
+            int sisa = jumlah;
+            int k = 0;
+            while (stok[urut.get(k)] < sisa) {
+                hasil[urut.get(k)] = stok[urut.get(k)];
+                sisa -= stok[urut.get(k)];
+                k++;
+            }
+            int pas = urut.get(k);
+            for (int j = k + 1; j < urut.size(); j++) {
+                int kandidat = urut.get(j);
+                if (stok[kandidat] < sisa) {
+                    break;
+                }
+                if (stok[kandidat] < stok[pas]) {
+                    pas = kandidat;
+                }
+            }
+            hasil[pas] = sisa;
+            return hasil;
+        };
+    }
+    private static List<Integer> indeksBerstok(int[] stok) {
+        List<Integer> indeks = new ArrayList<>();
+        for (int i = 0; i < stok.length; i++) {
+            if (stok[i] > 0) {
+                indeks.add(i);
+            }
+        }
+        return indeks;
+    }
+    private static int[] ambilBerurutan(int jumlah, int[] stok, Comparator<Integer> urutan) {
+        List<Integer> urut = indeksBerstok(stok);
+        urut.sort(urutan);
+        int[] hasil = new int[stok.length];
+        int sisa = jumlah;
+        for (int i = 0; i < urut.size() && sisa > 0; i++) {
+            int ambil = Math.min(sisa, stok[urut.get(i)]);
+            hasil[urut.get(i)] = ambil;
+            sisa -= ambil;
+        }
+        return hasil;
+    }
+}
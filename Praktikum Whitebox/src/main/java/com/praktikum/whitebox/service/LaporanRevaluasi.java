@@ -0,0 +1,30 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.model.StatusStok;
+import java.util.Map;
+/**
+ * Hasil revaluasi katalog (nilai = harga x stok). Rincian per kategori, per
+ * status stok dan total hanya memuat produk aktif, sama dengan
+ * hitungTotalNilaiInventaris; rincian aktif/nonaktif memuat semua produk.
+ * Kategori null menjadi kunci null di perKategori.
+ */
+public final class LaporanRevaluasi {
+    private final Map<String, RingkasanKategori> perKategori;
+    private final Map<StatusStok, RingkasanKategori> perStatus;
+    private final RingkasanKategori aktif;
+    private final RingkasanKategori nonaktif;
+    private final RingkasanKategori total;
+    public LaporanRevaluasi(Map<String, RingkasanKategori> perKategori, Map<StatusStok, RingkasanKategori> perStatus,
+                            RingkasanKategori aktif, RingkasanKategori nonaktif, RingkasanKategori total) {
+        this.perKategori = perKategori;
+        this.perStatus = perStatus;
+        this.aktif = aktif;
+        this.nonaktif = nonaktif;
+        this.total = total;
+    }
+    public Map<String, RingkasanKategori> getPerKategori() { return perKategori; }
+    public Map<StatusStok, RingkasanKategori> getPerStatus() { return perStatus; }
+    public RingkasanKategori getAktif() { return aktif; }
+    public RingkasanKategori getNonaktif() { return nonaktif; }
+    public RingkasanKategori getTotal() { return total; }
+}
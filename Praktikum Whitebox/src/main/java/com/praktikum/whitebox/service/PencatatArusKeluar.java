@@ -0,0 +1,66 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.repository.PendengarProduk;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+/**
+ * Mencatat laju stok keluar per produk dari setiap penurunan stok di
+ * repository. Laju adalah rata-rata bergerak eksponensial berbasis waktu
+ * dengan jendela {@code jendelaHari}: untuk arus konstan r unit/hari nilainya
+ * menuju r. Didaftarkan sebagai PendengarProduk sebelum data dimuat.
+ */
+public class PencatatArusKeluar implements PendengarProduk {
+    public static final double JENDELA_HARI = 7;
+    private static final double MS_PER_HARI = 86_400_000.0;
+    private static final class Arus {
+        double nilai;
+        long waktuMs;
+    }
+    private final ConcurrentMap<String, Arus> arusByKode = new ConcurrentHashMap<>();
+    private final double jendelaHari;
+    private final LongSupplier jam;
+    public PencatatArusKeluar() {
+        this(JENDELA_HARI, System::currentTimeMillis);
+    }
+    public PencatatArusKeluar(double jendelaHari, LongSupplier jam) {
+        if (!(jendelaHari > 0)) {
+            throw new IllegalArgumentException("Jendela laju harus positif");
+        }
+        this.jendelaHari = jendelaHari;
+        this.jam = jam;
+    }
+    @Override
+    public void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+        if (baru == null) {
+            arusByKode.remove(lama.getKode());
+        } else if (lama != null && baru.getStok() < lama.getStok()) {
+            catat(baru.getKode(), lama.getStok() - baru.getStok());
+        }
+    }
+    // Catat stok keluar secara manual, misalnya saat mengisi riwayat dari data lama
+    public void catat(String kode, int jumlah) {
+        long sekarang = jam.getAsLong();
+        Arus arus = arusByKode.computeIfAbsent(kode, k -> new Arus());
+        synchronized (arus) {
+            arus.nilai = meluruh(arus, sekarang) + jumlah;
+            arus.waktuMs = sekarang;
+        }
+    }
+    private double meluruh(Arus arus, long sekarang) {
+        if (arus.nilai == 0) {
+            return 0;
+        }
+        double hari = Math.max(0, sekarang - arus.waktuMs) / MS_PER_HARI;
+        return arus.nilai * Math.exp(-hari / jendelaHari);
+    }
+    public double lajuPerHari(String kode) {
+        Arus arus = arusByKode.get(kode);
+        if (arus == null) {
+            return 0;
+        }
+        synchronized (arus) {
+            return meluruh(arus, jam.getAsLong()) / jendelaHari;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.praktikum.whitebox.service;
+/**
+ * Dipanggil ServiceInventaris setelah keluarStok atau masukStok berhasil,
+ * masih di dalam kunci kode tersebut. Delta negatif berarti stok keluar.
+ * Implementasi harus cepat dan tidak memanggil balik service.
+ */
+@FunctionalInterface
+public interface PendengarPergerakan {
+    void stokBergerak(String kode, int delta);
+}
@@ -0,0 +1,138 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.PerubahanProduk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+/**
+ * Perencana pesan ulang. Putaran pertama memindai seluruh katalog; putaran
+ * berikutnya hanya menghitung ulang produk yang berubah sejak putaran
+ * sebelumnya, memakai perubahanSejak dari repository. Perhitungan per produk
+ * dijalankan paralel dengan fork/join. Laju keluar terus meluruh walau produk
+ * tidak berubah, jadi setiap putaran juga menghitung ulang jumlah pesan semua
+ * item yang sudah ada dari stok yang tersimpan di item itu.
+ *
+ * Produk aktif dengan stok <= stokMinimum dipesan ulang sampai
+ * stokMinimum + laju keluar x hari cakupan, minimal sampai stok di atas
+ * minimum.
+ */
+public class PerencanaPengadaan {
+    public static final int HARI_CAKUPAN = 14;
+    public static final String TANPA_KATEGORI = "(tanpa kategori)";
+    public static final String TANPA_PEMASOK = "(tanpa pemasok)";
+    private static final int AMBANG_TUGAS = 4096;
+    private final RepositoryProduk repositoryProduk;
+    private final PencatatArusKeluar arusKeluar;
+    private final Function<Produk, String> pemasok;
+    private final int hariCakupan;
+    private final ForkJoinPool pool;
+    private final ConcurrentMap<String, ItemPengadaan> itemByKode = new ConcurrentHashMap<>();
+    private long versi;
+    public PerencanaPengadaan(RepositoryProduk repositoryProduk, PencatatArusKeluar arusKeluar) {
+        this(repositoryProduk, arusKeluar, p -> TANPA_PEMASOK, HARI_CAKUPAN, ForkJoinPool.commonPool());
+    }
+    public PerencanaPengadaan(RepositoryProduk repositoryProduk, PencatatArusKeluar arusKeluar,
+                              Function<Produk, String> pemasok, int hariCakupan, ForkJoinPool pool) {
+        if (hariCakupan <= 0) {
+            throw new IllegalArgumentException("Hari cakupan harus lebih dari 0");
+        }
+        this.repositoryProduk = repositoryProduk;
+        this.arusKeluar = arusKeluar;
+        this.pemasok = pemasok;
+        this.hariCakupan = hariCakupan;
+        this.pool = pool;
+    }
+    // Item untuk satu produk, null jika tidak perlu dipesan ulang
+    ItemPengadaan hitung(Produk p) {
+        if (!p.isAktif() || p.getStok() > p.getStokMinimum()) {
+            return null;
+        }
+        String namaPemasok = pemasok.apply(p);
+        return buatItem(p.getKode(), p.getNama(), p.getKategori() == null ? TANPA_KATEGORI : p.getKategori(),
+                namaPemasok == null ? TANPA_PEMASOK : namaPemasok, p.getStok(), p.getStokMinimum());
+    }
+    private ItemPengadaan buatItem(String kode, String nama, String kategori, String namaPemasok, int stok,
+                                   int stokMinimum) {
+        double laju = arusKeluar.lajuPerHari(kode);
+        long target = stokMinimum + (long) Math.ceil(laju * hariCakupan);
+        long pesan = Math.max(target - stok, (long) stokMinimum - stok + 1);
+        return new ItemPengadaan(kode, nama, kategori, namaPemasok, stok, stokMinimum, laju,
+                (int) Math.min(Integer.MAX_VALUE, pesan));
+    }
+    // Item yang produknya tidak berubah, dengan laju keluar terkini
+    private ItemPengadaan segarkan(ItemPengadaan item) {
+        return buatItem(item.getKode(), item.getNama(), item.getKategori(), item.getPemasok(), item.getStok(),
+                item.getStokMinimum());
+    }
+    private final class TugasHitung extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<Produk> daftar;
+        private final int awal;
+        private final int akhir;
+        TugasHitung(List<Produk> daftar, int awal, int akhir) {
+            this.daftar = daftar;
+            this.awal = awal;
+            this.akhir = akhir;
+        }
+        @Override
+        protected void compute() {
+            if (akhir - awal <= AMBANG_TUGAS) {
+                for (int i = awal; i < akhir; i++) {
+                    Produk p = daftar.get(i);
+                    ItemPengadaan item = hitung(p);
+                    if (item == null) {
+                        itemByKode.remove(p.getKode());
+                    } else {
+                        itemByKode.put(p.getKode(), item);
+                    }
+                }
+                return;
+            }
+            int tengah = (awal + akhir) >>> 1;
+            invokeAll(new TugasHitung(daftar, awal, tengah), new TugasHitung(daftar, tengah, akhir));
+        }
+    }
+    public synchronized RencanaPengadaan jalankan() {
+        PerubahanProduk perubahan = repositoryProduk.perubahanSejak(versi);
+        if (perubahan.isSinkronPenuh()) {
+            itemByKode.clear();
+        } else {
+            // Item yang ikut berubah putaran ini ditimpa lagi oleh TugasHitung
+            itemByKode.replaceAll((kode, item) -> segarkan(item));
+        }
+        List<Produk> diubah = perubahan.getDiubah();
+        if (!diubah.isEmpty()) {
+            pool.invoke(new TugasHitung(diubah, 0, diubah.size()));
+        }
+        for (String kode : perubahan.getDihapus()) {
+            itemByKode.remove(kode);
+        }
+        versi = perubahan.getVersi();
+        return kelompokkan(diubah.size() + perubahan.getDihapus().size());
+    }
+    private RencanaPengadaan kelompokkan(int jumlahDiproses) {
+        Map<String, Map<String, List<ItemPengadaan>>> kelompok = new TreeMap<>();
+        long totalUnit = 0;
+        int jumlah = 0;
+        for (ItemPengadaan item : itemByKode.values()) {
+            kelompok.computeIfAbsent(item.getKategori(), k -> new TreeMap<>())
+                    .computeIfAbsent(item.getPemasok(), k -> new ArrayList<>()).add(item);
+            totalUnit += item.getJumlahPesan();
+            jumlah++;
+        }
+        for (Map<String, List<ItemPengadaan>> perPemasok : kelompok.values()) {
+            for (List<ItemPengadaan> daftar : perPemasok.values()) {
+                daftar.sort(Comparator.comparing(ItemPengadaan::getKode));
+            }
+        }
+        return new RencanaPengadaan(kelompok, jumlah, totalUnit, jumlahDiproses);
+    }
+}
@@ -0,0 +1,16 @@
+package com.praktikum.whitebox.service;
+// Jumlah unit bergerak satu SKU dalam sebuah jendela waktu (perkiraan batas atas)
+public final class PergerakanSku {
+    private final String kode;
+    private final long jumlah;
+    public PergerakanSku(String kode, long jumlah) {
+        this.kode = kode;
+        this.jumlah = jumlah;
+    }
+    public String getKode() { return kode; }
+    public long getJumlah() { return jumlah; }
+    @Override
+    public String toString() {
+        return kode + "=" + jumlah;
+    }
+}
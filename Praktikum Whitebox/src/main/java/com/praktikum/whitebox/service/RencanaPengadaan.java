@@ -0,0 +1,25 @@
+package com.praktikum.whitebox.service;
+import java.util.List;
+import java.util.Map;
+// Hasil satu putaran perencana: item dikelompokkan per kategori lalu per pemasok, terurut
+public final class RencanaPengadaan {
+    private final Map<String, Map<String, List<ItemPengadaan>>> perKategoriPemasok;
+    private final int jumlahItem;
+    private final long totalUnit;
+    private final int jumlahDiproses;
+    public RencanaPengadaan(Map<String, Map<String, List<ItemPengadaan>>> perKategoriPemasok, int jumlahItem,
+                            long totalUnit, int jumlahDiproses) {
+        this.perKategoriPemasok = perKategoriPemasok;
+        this.jumlahItem = jumlahItem;
+        this.totalUnit = totalUnit;
+        this.jumlahDiproses = jumlahDiproses;
+    }
+    public Map<String, Map<String, List<ItemPengadaan>>> getPerKategoriPemasok() { return perKategoriPemasok; }
+    public int getJumlahItem() { return jumlahItem; }
+    public long getTotalUnit() { return totalUnit; }
+    // Jumlah produk yang dihitung ulang pada putaran ini
+    public int getJumlahDiproses() { return jumlahDiproses; }
+    public List<ItemPengadaan> item(String kategori, String pemasok) {
+        return perKategoriPemasok.getOrDefault(kategori, Map.of()).getOrDefault(pemasok, List.of());
+    }
+}
@@ -0,0 +1,238 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+/**
+ * Revaluasi seluruh katalog dalam satu lintasan paralel fork/join. Setiap
+ * daun menjumlahkan ke akumulator primitif sendiri (long untuk jumlah dan
+ * stok, double dengan penjumlahan terkompensasi Kahan untuk nilai) tanpa
+ * alokasi per produk, lalu akumulator digabung di sepanjang pohon tugas.
+ * Kategori dipetakan ke indeks lewat tabel identitas, memanfaatkan instance
+ * Kategori bersama dari KamusKategori. Instance berbeda yang bernama sama
+ * (daftar dari beberapa kamus) digabung menurut nama saat laporan disusun.
+ */
+public class RevaluasiInventaris {
+    private static final int AMBANG_TUGAS = 1 << 14;
+    private static final int AKTIF = 0;
+    private static final int NONAKTIF = 1;
+    private static final StatusStok[] STATUS = StatusStok.values();
+    private final ForkJoinPool pool;
+    public RevaluasiInventaris() {
+        this(ForkJoinPool.commonPool());
+    }
+    public RevaluasiInventaris(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    public LaporanRevaluasi hitung(RepositoryProduk repository) {
+        if (repository instanceof RepositoryProdukMemori memori) {
+            return hitung(memori.ringkasanSemua());
+        }
+        KamusKategori kamus = new KamusKategori();
+        List<Produk> semua = repository.cariSemua();
+        List<ProdukRingkas> ringkas = new ArrayList<>(semua.size());
+        for (Produk p : semua) {
+            ringkas.add(ProdukRingkas.dari(p, kamus));
+        }
+        return hitung(ringkas);
+    }
+    public LaporanRevaluasi hitung(List<ProdukRingkas> produk) {
+        Akumulator a = produk.isEmpty() ? new Akumulator() : pool.invoke(new TugasRevaluasi(produk, 0, produk.size()));
+        return a.keLaporan();
+    }
+    // Penjumlahan terkompensasi: nilai sebenarnya ~ jumlah - kompensasi
+    private static void kahan(double[] jumlah, double[] kompensasi, int i, double nilai) {
+        double y = nilai - kompensasi[i];
+        double t = jumlah[i] + y;
+        kompensasi[i] = (t - jumlah[i]) - y;
+        jumlah[i] = t;
+    }
+    private static final class Akumulator {
+        // Tabel identitas Kategori -> indeks, open addressing; slot null kosong
+        private Kategori[] kunciKategori = new Kategori[16];
+        private int[] indeksKategori = new int[16];
+        private Kategori[] kategoriByIndeks = new Kategori[8];
+        private int jumlahKategori;
+        // Indeks 0 dicadangkan untuk kategori null
+        private long[] jumlahPerKategori = new long[8];
+        private long[] stokPerKategori = new long[8];
+        private double[] nilaiPerKategori = new double[8];
+        private double[] kompPerKategori = new double[8];
+        private final long[] jumlahPerStatus = new long[STATUS.length];
+        private final long[] stokPerStatus = new long[STATUS.length];
+        private final double[] nilaiPerStatus = new double[STATUS.length];
+        private final double[] kompPerStatus = new double[STATUS.length];
+        private final long[] jumlahPerAktif = new long[2];
+        private final long[] stokPerAktif = new long[2];
+        private final double[] nilaiPerAktif = new double[2];
+        private final double[] kompPerAktif = new double[2];
+        Akumulator() {
+            jumlahKategori = 1;
+        }
+        private int indeks(Kategori k) {
+            if (k == null) {
+                return 0;
+            }
+            int mask = kunciKategori.length - 1;
+            for (int i = System.identityHashCode(k) & mask; ; i = (i + 1) & mask) {
+                Kategori ada = kunciKategori[i];
+                if (ada == k) {
+                    return indeksKategori[i];
+                }
+                if (ada == null) {
+                    return daftarkan(k, i);
+                }
+            }
+        }
+        private int daftarkan(Kategori k, int slot) {
+            int idx = jumlahKategori++;
+            if (idx == jumlahPerKategori.length) {
+                int n = idx * 2;
+                jumlahPerKategori = Arrays.copyOf(jumlahPerKategori, n);
+                stokPerKategori = Arrays.copyOf(stokPerKategori, n);
+                nilaiPerKategori = Arrays.copyOf(nilaiPerKategori, n);
+                kompPerKategori = Arrays.copyOf(kompPerKategori, n);
+                kategoriByIndeks = Arrays.copyOf(kategoriByIndeks, n);
+            }
+            kategoriByIndeks[idx] = k;
+            kunciKategori[slot] = k;
+            indeksKategori[slot] = idx;
+            if (jumlahKategori * 2 > kunciKategori.length) {
+                bangunUlangTabel(kunciKategori.length * 2);
+            }
+            return idx;
+        }
+        private void bangunUlangTabel(int ukuran) {
+            kunciKategori = new Kategori[ukuran];
+            indeksKategori = new int[ukuran];
+            int mask = ukuran - 1;
+            for (int idx = 1; idx < jumlahKategori; idx++) {
+                int i = System.identityHashCode(kategoriByIndeks[idx]) & mask;
+                while (kunciKategori[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                kunciKategori[i] = kategoriByIndeks[idx];
+                indeksKategori[i] = idx;
+            }
+        }
+        void tambah(ProdukRingkas p) {
+            int stok = p.getStok();
+            double nilai = p.getHarga() * stok;
+            int a = p.isAktif() ? AKTIF : NONAKTIF;
+            jumlahPerAktif[a]++;
+            stokPerAktif[a] += stok;
+            kahan(nilaiPerAktif, kompPerAktif, a, nilai);
+            if (!p.isAktif()) {
+                return;
+            }
+            int k = indeks(p.getKategori());
+            jumlahPerKategori[k]++;
+            stokPerKategori[k] += stok;
+            kahan(nilaiPerKategori, kompPerKategori, k, nilai);
+            StatusStok status = StatusStok.dari(stok, p.getStokMinimum());
+            if (status != null) {
+                int s = status.ordinal();
+                jumlahPerStatus[s]++;
+                stokPerStatus[s] += stok;
+                kahan(nilaiPerStatus, kompPerStatus, s, nilai);
+            }
+        }
+        // Tambahkan baris kategori i milik sumber ke baris k
+        private void tambahBaris(int k, Akumulator sumber, int i) {
+            jumlahPerKategori[k] += sumber.jumlahPerKategori[i];
+            stokPerKategori[k] += sumber.stokPerKategori[i];
+            kahan(nilaiPerKategori, kompPerKategori, k, sumber.nilaiPerKategori[i]);
+            kahan(nilaiPerKategori, kompPerKategori, k, -sumber.kompPerKategori[i]);
+        }
+        void gabung(Akumulator lain) {
+            for (int i = 0; i < lain.jumlahKategori; i++) {
+                tambahBaris(i == 0 ? 0 : indeks(lain.kategoriByIndeks[i]), lain, i);
+            }
+            for (int s = 0; s < STATUS.length; s++) {
+                jumlahPerStatus[s] += lain.jumlahPerStatus[s];
+                stokPerStatus[s] += lain.stokPerStatus[s];
+                kahan(nilaiPerStatus, kompPerStatus, s, lain.nilaiPerStatus[s]);
+                kahan(nilaiPerStatus, kompPerStatus, s, -lain.kompPerStatus[s]);
+            }
+            for (int a = 0; a < 2; a++) {
+                jumlahPerAktif[a] += lain.jumlahPerAktif[a];
+                stokPerAktif[a] += lain.stokPerAktif[a];
+                kahan(nilaiPerAktif, kompPerAktif, a, lain.nilaiPerAktif[a]);
+                kahan(nilaiPerAktif, kompPerAktif, a, -lain.kompPerAktif[a]);
+            }
+        }
+        private static RingkasanKategori ringkasan(long jumlah, long stok, double nilai, double komp) {
+            return new RingkasanKategori(jumlah, stok, nilai - komp);
+        }
+        // Dipanggil sekali di akhir: baris kategori bernama sama digabung ke baris pertamanya
+        LaporanRevaluasi keLaporan() {
+            Map<String, Integer> barisByNama = new HashMap<>();
+            for (int i = 0; i < jumlahKategori; i++) {
+                if (jumlahPerKategori[i] > 0) {
+                    Integer k = barisByNama.putIfAbsent(i == 0 ? null : kategoriByIndeks[i].getNama(), i);
+                    if (k != null) {
+                        tambahBaris(k, this, i);
+                    }
+                }
+            }
+            Map<String, RingkasanKategori> perKategori = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+            for (Map.Entry<String, Integer> e : barisByNama.entrySet()) {
+                int k = e.getValue();
+                perKategori.put(e.getKey(), ringkasan(jumlahPerKategori[k], stokPerKategori[k], nilaiPerKategori[k],
+                        kompPerKategori[k]));
+            }
+            Map<StatusStok, RingkasanKategori> perStatus = new EnumMap<>(StatusStok.class);
+            for (StatusStok status : STATUS) {
+                int s = status.ordinal();
+                perStatus.put(status, ringkasan(jumlahPerStatus[s], stokPerStatus[s], nilaiPerStatus[s],
+                        kompPerStatus[s]));
+            }
+            RingkasanKategori aktif = ringkasan(jumlahPerAktif[AKTIF], stokPerAktif[AKTIF], nilaiPerAktif[AKTIF],
+                    kompPerAktif[AKTIF]);
+            RingkasanKategori nonaktif = ringkasan(jumlahPerAktif[NONAKTIF], stokPerAktif[NONAKTIF],
+                    nilaiPerAktif[NONAKTIF], kompPerAktif[NONAKTIF]);
+            return new LaporanRevaluasi(perKategori, perStatus, aktif, nonaktif, aktif);
+        }
+    }
+    private static final class TugasRevaluasi extends RecursiveTask<Akumulator> {
+        private static final long serialVersionUID = 1L;
+        private final List<ProdukRingkas> produk;
+        private final int awal;
+        private final int akhir;
+        TugasRevaluasi(List<ProdukRingkas> produk, int awal, int akhir) {
+            this.produk = produk;
+            this.awal = awal;
+            this.akhir = akhir;
+        }
+        @Override
+        protected Akumulator compute() {
+            if (akhir - awal <= AMBANG_TUGAS) {
+                Akumulator a = new Akumulator();
+                for (int i = awal; i < akhir; i++) {
+                    a.tambah(produk.get(i));
+                }
+                return a;
+            }
+            int tengah = (awal + akhir) >>> 1;
+            TugasRevaluasi kanan = new TugasRevaluasi(produk, tengah, akhir);
+            kanan.fork();
+            Akumulator kiri = new TugasRevaluasi(produk, awal, tengah).compute();
+            kiri.gabung(kanan.join());
+            return kiri;
+        }
+    }
+}
@@ -1,39 +1,62 @@
 package com.praktikum.whitebox.service;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.PerubahanProduk;
 import com.praktikum.whitebox.repository.RepositoryProduk;
 import com.praktikum.whitebox.util.ValidationUtils;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 public class ServiceInventaris {
+    // Kunci bergaris per kode: operasi cek-lalu-ubah pada kode yang sama tidak
+    // saling menimpa (lost update / oversell) di dalam satu instance service
+    private static final int JUMLAH_KUNCI = 256;
     private final RepositoryProduk repositoryProduk;
+    private final ReentrantLock[] kunci = new ReentrantLock[JUMLAH_KUNCI];
+    private final List<PendengarPergerakan> pendengar = new CopyOnWriteArrayList<>();
     public ServiceInventaris(RepositoryProduk repositoryProduk) {
         this.repositoryProduk = repositoryProduk;
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunci[i] = new ReentrantLock();
+        }
     }
     public boolean tambahProduk(Produk produk) {
         if (!ValidationUtils.isValidProduk(produk)) {
             return false;
         }
+        ReentrantLock k = kunciUntuk(produk.getKode());
+        k.lock();
+        try {
 // Cek apakah produk dengan kode yang sama sudah ada
-        Optional<Produk> produkExist =
-                repositoryProduk.cariByKode(produk.getKode());
-        if (produkExist.isPresent()) {
-            return false;
+            Optional<Produk> produkExist =
+                    repositoryProduk.cariByKode(produk.getKode());
+            if (produkExist.isPresent()) {
+                return false;
+            }
+            return repositoryProduk.simpan(produk);
+        } finally {
+            k.unlock();
         }
-        return repositoryProduk.simpan(produk);
     }
     public boolean hapusProduk(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
             return false;
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent()) {
-            return false;
-        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (!produk.isPresent()) {
+                return false;
+            }
 // Tidak bisa hapus produk yang masih ada stoknya
-        if (produk.get().getStok() > 0) {
-            return false;
+            if (produk.get().getStok() > 0) {
+                return false;
+            }
+            return repositoryProduk.hapus(kode);
+        } finally {
+            k.unlock();
         }
-        return repositoryProduk.hapus(kode);
     }
     public Optional<Produk> cariProdukByKode(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
@@ -51,37 +74,55 @@ public class ServiceInventaris {
         if (!ValidationUtils.isValidKodeProduk(kode) || stokBaru < 0) {
             return false;
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent()) {
-            return false;
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (!produk.isPresent()) {
+                return false;
+            }
+            return repositoryProduk.updateStok(kode, stokBaru);
+        } finally {
+            k.unlock();
         }
-        return repositoryProduk.updateStok(kode, stokBaru);
     }
     public boolean keluarStok(String kode, int jumlah) {
         if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
             return false;
         }
-        Optional<Produk> produkOpt = repositoryProduk.cariByKode(kode);
-        if (!produkOpt.isPresent() || !produkOpt.get().isAktif()) {
-            return false;
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Optional<Produk> produkOpt = repositoryProduk.cariByKode(kode);
+            if (!produkOpt.isPresent() || !produkOpt.get().isAktif()) {
+                return false;
+            }
+            Produk produk = produkOpt.get();
+            if (produk.getStok() < jumlah) {
+                return false;
+            }
+            int stokBaru = produk.getStok() - jumlah;
+            return catatPergerakan(kode, -jumlah, repositoryProduk.updateStok(kode, stokBaru));
+        } finally {
+            k.unlock();
         }
-        Produk produk = produkOpt.get();
-        if (produk.getStok() < jumlah) {
-            return false;
-        }
-        int stokBaru = produk.getStok() - jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
     }
     public boolean masukStok(String kode, int jumlah) {
         if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
             return false;
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent() || !produk.get().isAktif()) {
-            return false;
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (!produk.isPresent() || !produk.get().isAktif()) {
+                return false;
+            }
+            int stokBaru = produk.get().getStok() + jumlah;
+            return catatPergerakan(kode, jumlah, repositoryProduk.updateStok(kode, stokBaru));
+        } finally {
+            k.unlock();
         }
-        int stokBaru = produk.get().getStok() + jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
     }
     public List<Produk> getProdukStokMenipis() {
         return repositoryProduk.cariProdukStokMenipis();
@@ -103,4 +144,24 @@ public class ServiceInventaris {
                 .mapToInt(Produk::getStok)
                 .sum();
     }
-}
\ No newline at end of file
+    // Delta katalog untuk sistem hilir; versi 0 berarti mulai dari awal
+    public PerubahanProduk perubahanSejak(long versi) {
+        return repositoryProduk.perubahanSejak(versi);
+    }
+    public void tambahPendengar(PendengarPergerakan p) {
+        pendengar.add(p);
+    }
+    private boolean catatPergerakan(String kode, int delta, boolean berhasil) {
+        if (berhasil) {
+            for (PendengarPergerakan p : pendengar) {
+                p.stokBergerak(kode, delta);
+            }
+        }
+        return berhasil;
+    }
+    // Reentrant, jadi subclass boleh memegangnya melintasi panggilan super
+    ReentrantLock kunciUntuk(String kode) {
+        int h = kode.hashCode();
+        return kunci[(h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1)];
+    }
+}
@@ -0,0 +1,199 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukAsync;
+import com.praktikum.whitebox.util.Tenggat;
+import com.praktikum.whitebox.util.ValidationUtils;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+/**
+ * Fasad asinkron ServiceInventaris dengan aturan bisnis yang sama. Setiap
+ * operasi membawa Tenggat yang diteruskan ke semua tahap repository. Jumlah
+ * operasi yang sedang berjalan dibatasi; operasi di atas batas langsung gagal
+ * dengan RejectedExecutionException alih-alih mengantre tanpa batas.
+ * Operasi cek-lalu-ubah pada kode yang sama dijalankan berurutan lewat rantai
+ * future, pengganti kunci bergaris di ServiceInventaris yang tidak bisa ditahan
+ * melintasi tahap asinkron.
+ */
+public class ServiceInventarisAsync {
+    public static final int MAKS_BERJALAN = 10_000;
+    public static final Duration BATAS_WAKTU = Duration.ofSeconds(5);
+    private static final int JUMLAH_ANTRIAN = 256;
+    private final RepositoryProdukAsync repositoryProduk;
+    private final Semaphore slot;
+    private final int maksBerjalan;
+    private final Duration batasWaktu;
+    // Ekor rantai operasi per garis kode; dijaga oleh monitor array ini
+    private final CompletableFuture<?>[] ekor = new CompletableFuture<?>[JUMLAH_ANTRIAN];
+    public ServiceInventarisAsync(RepositoryProdukAsync repositoryProduk) {
+        this(repositoryProduk, MAKS_BERJALAN, BATAS_WAKTU);
+    }
+    public ServiceInventarisAsync(RepositoryProdukAsync repositoryProduk, int maksBerjalan, Duration batasWaktu) {
+        if (maksBerjalan <= 0) {
+            throw new IllegalArgumentException("Batas operasi berjalan harus lebih dari 0");
+        }
+        if (batasWaktu == null || batasWaktu.isNegative() || batasWaktu.isZero()) {
+            throw new IllegalArgumentException("Batas waktu bawaan harus positif");
+        }
+        this.repositoryProduk = repositoryProduk;
+        this.maksBerjalan = maksBerjalan;
+        this.slot = new Semaphore(maksBerjalan);
+        this.batasWaktu = batasWaktu;
+    }
+    public int getJumlahBerjalan() {
+        return maksBerjalan - slot.availablePermits();
+    }
+    private Tenggat tenggatBawaan() {
+        return Tenggat.dalam(batasWaktu);
+    }
+    /**
+     * Ambil slot lalu mulai operasi. Slot dilepas saat future repository selesai, yang
+     * menurut kontrak RepositoryProdukAsync berarti pekerjaannya benar-benar berhenti,
+     * bukan saat pemanggil menyerah, agar batas tetap mencerminkan beban repository.
+     * Hanya salinan untuk pemanggil yang gagal dengan TimeoutException saat tenggat habis.
+     */
+    private <T> CompletableFuture<T> masuk(Tenggat tenggat, Supplier<CompletableFuture<T>> operasi) {
+        if (tenggat.lewat()) {
+            return CompletableFuture.failedFuture(new TimeoutException("Tenggat sudah lewat"));
+        }
+        if (!slot.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Batas " + maksBerjalan + " operasi berjalan tercapai"));
+        }
+        CompletableFuture<T> hasil;
+        try {
+            hasil = operasi.get();
+        } catch (RuntimeException e) {
+            hasil = CompletableFuture.failedFuture(e);
+        }
+        // Slot dilepas sebelum salinan pemanggil selesai, agar panggilan berikutnya yang
+        // langsung dirangkai tidak ditolak. Tenggat dipasang pada salinan, bukan pada tahap
+        // pelepas: tahap yang sudah diselesaikan orTimeout tidak menjalankan aksinya lagi
+        CompletableFuture<T> dilepas = hasil.whenComplete((v, e) -> slot.release());
+        return tenggat.terapkan(dilepas.copy());
+    }
+    // Jalankan operasi setelah operasi sebelumnya pada garis kode yang sama selesai
+    private <T> CompletableFuture<T> berurutan(String kode, Supplier<CompletableFuture<T>> operasi) {
+        int h = kode.hashCode();
+        int i = (h ^ (h >>> 16)) & (JUMLAH_ANTRIAN - 1);
+        CompletableFuture<Void> selesai = new CompletableFuture<>();
+        CompletableFuture<?> sebelumnya;
+        synchronized (ekor) {
+            sebelumnya = ekor[i];
+            ekor[i] = selesai;
+        }
+        CompletableFuture<?> giliran = sebelumnya == null ? CompletableFuture.completedFuture(null) : sebelumnya;
+        // Kegagalan operasi sebelumnya tidak boleh menghentikan antrian. Giliran
+        // berikutnya menunggu future repository asli, bukan salinan bertenggat,
+        // jadi penulisan yang masih berjalan setelah pemanggil timeout tetap ditunggu
+        CompletableFuture<T> hasil = giliran.handle((v, e) -> null).thenCompose(x -> operasi.get());
+        hasil.whenComplete((v, e) -> {
+            synchronized (ekor) {
+                if (ekor[i] == selesai) {
+                    ekor[i] = null;
+                }
+            }
+            selesai.complete(null);
+        });
+        return hasil;
+    }
+    public CompletableFuture<Boolean> tambahProduk(Produk produk) {
+        return tambahProduk(produk, tenggatBawaan());
+    }
+    public CompletableFuture<Boolean> tambahProduk(Produk produk, Tenggat tenggat) {
+        if (!ValidationUtils.isValidProduk(produk)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return masuk(tenggat, () -> berurutan(produk.getKode(), () ->
+                repositoryProduk.cariByKode(produk.getKode(), tenggat).thenCompose(ada -> ada.isPresent()
+                        ? CompletableFuture.completedFuture(false)
+                        : repositoryProduk.simpan(produk, tenggat))));
+    }
+    public CompletableFuture<Boolean> hapusProduk(String kode) {
+        return hapusProduk(kode, tenggatBawaan());
+    }
+    public CompletableFuture<Boolean> hapusProduk(String kode, Tenggat tenggat) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        // Tidak bisa hapus produk yang masih ada stoknya
+        return masuk(tenggat, () -> berurutan(kode, () ->
+                repositoryProduk.cariByKode(kode, tenggat).thenCompose(p -> p.isEmpty() || p.get().getStok() > 0
+                        ? CompletableFuture.completedFuture(false)
+                        : repositoryProduk.hapus(kode, tenggat))));
+    }
+    public CompletableFuture<Optional<Produk>> cariProdukByKode(String kode) {
+        return cariProdukByKode(kode, tenggatBawaan());
+    }
+    public CompletableFuture<Optional<Produk>> cariProdukByKode(String kode, Tenggat tenggat) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return masuk(tenggat, () -> repositoryProduk.cariByKode(kode, tenggat));
+    }
+    public CompletableFuture<List<Produk>> cariProdukByNama(String nama, Tenggat tenggat) {
+        return masuk(tenggat, () -> repositoryProduk.cariByNama(nama, tenggat));
+    }
+    public CompletableFuture<List<Produk>> cariProdukByKategori(String kategori, Tenggat tenggat) {
+        return masuk(tenggat, () -> repositoryProduk.cariByKategori(kategori, tenggat));
+    }
+    public CompletableFuture<Boolean> updateStok(String kode, int stokBaru) {
+        return updateStok(kode, stokBaru, tenggatBawaan());
+    }
+    public CompletableFuture<Boolean> updateStok(String kode, int stokBaru, Tenggat tenggat) {
+        if (!ValidationUtils.isValidKodeProduk(kode) || stokBaru < 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return masuk(tenggat, () -> berurutan(kode, () ->
+                repositoryProduk.cariByKode(kode, tenggat).thenCompose(p -> p.isEmpty()
+                        ? CompletableFuture.completedFuture(false)
+                        : repositoryProduk.updateStok(kode, stokBaru, tenggat))));
+    }
+    public CompletableFuture<Boolean> keluarStok(String kode, int jumlah) {
+        return keluarStok(kode, jumlah, tenggatBawaan());
+    }
+    public CompletableFuture<Boolean> keluarStok(String kode, int jumlah, Tenggat tenggat) {
+        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return masuk(tenggat, () -> berurutan(kode, () ->
+                repositoryProduk.cariByKode(kode, tenggat).thenCompose(p -> {
+                    if (p.isEmpty() || !p.get().isAktif() || p.get().getStok() < jumlah) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return repositoryProduk.updateStok(kode, p.get().getStok() - jumlah, tenggat);
+                })));
+    }
+    public CompletableFuture<Boolean> masukStok(String kode, int jumlah) {
+        return masukStok(kode, jumlah, tenggatBawaan());
+    }
+    public CompletableFuture<Boolean> masukStok(String kode, int jumlah, Tenggat tenggat) {
+        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return masuk(tenggat, () -> berurutan(kode, () ->
+                repositoryProduk.cariByKode(kode, tenggat).thenCompose(p -> {
+                    if (p.isEmpty() || !p.get().isAktif()) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return repositoryProduk.updateStok(kode, p.get().getStok() + jumlah, tenggat);
+                })));
+    }
+    public CompletableFuture<List<Produk>> getProdukStokMenipis(Tenggat tenggat) {
+        return masuk(tenggat, () -> repositoryProduk.cariProdukStokMenipis(tenggat));
+    }
+    public CompletableFuture<List<Produk>> getProdukStokHabis(Tenggat tenggat) {
+        return masuk(tenggat, () -> repositoryProduk.cariProdukStokHabis(tenggat));
+    }
+    public CompletableFuture<Long> hitungTotalStok(Tenggat tenggat) {
+        return masuk(tenggat, () -> repositoryProduk.hitungTotalStok(tenggat));
+    }
+    public CompletableFuture<Double> hitungTotalNilaiInventaris(Tenggat tenggat) {
+        return masuk(tenggat, () -> repositoryProduk.hitungTotalNilaiInventaris(tenggat));
+    }
+}
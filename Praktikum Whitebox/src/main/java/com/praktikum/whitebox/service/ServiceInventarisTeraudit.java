@@ -0,0 +1,63 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.audit.JenisAudit;
+import com.praktikum.whitebox.audit.LogAudit;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+/**
+ * ServiceInventaris yang mencatat setiap operasi tulis beserta hasilnya ke
+ * LogAudit setelah operasi selesai. Pada mode ASINKRON biaya tambahannya
+ * hanya satu penulisan ke ring.
+ * <p>
+ * Catatan diantrekan selagi kunci kode masih dipegang, sehingga urutan catatan
+ * per kode sama dengan urutan perubahannya. Menunggu fsync pada mode SINKRON
+ * dilakukan setelah kunci dilepas.
+ */
+public class ServiceInventarisTeraudit extends ServiceInventaris {
+    private final LogAudit logAudit;
+    public ServiceInventarisTeraudit(RepositoryProduk repositoryProduk, LogAudit logAudit) {
+        super(repositoryProduk);
+        this.logAudit = logAudit;
+    }
+    @Override
+    public boolean tambahProduk(Produk produk) {
+        return tercatat(JenisAudit.TAMBAH_PRODUK, produk == null ? null : produk.getKode(),
+                produk == null ? 0 : produk.getStok(), () -> super.tambahProduk(produk));
+    }
+    @Override
+    public boolean hapusProduk(String kode) {
+        return tercatat(JenisAudit.HAPUS_PRODUK, kode, 0, () -> super.hapusProduk(kode));
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return tercatat(JenisAudit.UPDATE_STOK, kode, stokBaru, () -> super.updateStok(kode, stokBaru));
+    }
+    @Override
+    public boolean masukStok(String kode, int jumlah) {
+        return tercatat(JenisAudit.MASUK_STOK, kode, jumlah, () -> super.masukStok(kode, jumlah));
+    }
+    @Override
+    public boolean keluarStok(String kode, int jumlah) {
+        return tercatat(JenisAudit.KELUAR_STOK, kode, jumlah, () -> super.keluarStok(kode, jumlah));
+    }
+    private boolean tercatat(JenisAudit jenis, String kode, int nilai, BooleanSupplier operasi) {
+        boolean hasil;
+        long pos;
+        // Kode null ditolak validasi tanpa menyentuh data, jadi tidak perlu kunci
+        ReentrantLock k = kode == null ? null : kunciUntuk(kode);
+        if (k != null) {
+            k.lock();
+        }
+        try {
+            hasil = operasi.getAsBoolean();
+            pos = logAudit.antrekan(jenis, kode, nilai, hasil);
+        } finally {
+            if (k != null) {
+                k.unlock();
+            }
+        }
+        logAudit.tunggu(pos);
+        return hasil;
+    }
+}
@@ -0,0 +1,275 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Gudang;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+/**
+ * Stok per gudang untuk setiap SKU. Setiap SKU menyimpan stok dan stok
+ * minimum per gudang beserta agregat total yang diperbarui inkremental,
+ * sehingga ketersediaan dan status global O(1) berapa pun jumlah gudangnya.
+ * Total stok ditulis balik ke RepositoryProduk agar indeks, laporan dan
+ * ServiceInventaris tetap melihat stok global. Semua perubahan stok produk
+ * yang dikelola per gudang harus lewat service ini.
+ * <p>
+ * Repository ditulis lebih dulu; stok per gudang baru berubah jika penulisan
+ * itu berhasil, sehingga keduanya tidak pernah berselisih. Stok repository
+ * produk yang belum dikelola per gudang tidak bisa dibagi ke gudang mana pun,
+ * jadi operasi pertama ditolak dengan IllegalStateException kecuali stok itu 0.
+ */
+public class ServiceStokGudang {
+    private final RepositoryProduk repositoryProduk;
+    private final KebijakanAlokasi kebijakanBawaan;
+    private final List<Gudang> daftarGudang = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> indeksGudang = new ConcurrentHashMap<>();
+    private final Map<String, StokSku> stokByKode = new ConcurrentHashMap<>();
+    // Dijaga monitor objek ini sendiri; larik tumbuh saat gudang baru didaftarkan
+    private static final class StokSku {
+        int[] stok = new int[0];
+        int[] stokMinimum = new int[0];
+        int total;
+        int totalMinimum;
+        // Sudah pernah ditulis ke repository lewat service ini
+        boolean dikelola;
+        void pastikan(int jumlahGudang) {
+            if (stok.length < jumlahGudang) {
+                stok = Arrays.copyOf(stok, jumlahGudang);
+                stokMinimum = Arrays.copyOf(stokMinimum, jumlahGudang);
+            }
+        }
+    }
+    public ServiceStokGudang(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, KebijakanAlokasi.pecahanTersedikit());
+    }
+    public ServiceStokGudang(RepositoryProduk repositoryProduk, KebijakanAlokasi kebijakanBawaan) {
+        this.repositoryProduk = repositoryProduk;
+        this.kebijakanBawaan = kebijakanBawaan;
+    }
+    public synchronized void tambahGudang(Gudang gudang) {
+        if (gudang == null || indeksGudang.containsKey(gudang.getKode())) {
+            throw new IllegalArgumentException("Gudang kosong atau kode sudah terdaftar");
+        }
+        daftarGudang.add(gudang);
+        indeksGudang.put(gudang.getKode(), daftarGudang.size() - 1);
+    }
+    public List<Gudang> getDaftarGudang() {
+        return List.copyOf(daftarGudang);
+    }
+    private int indeks(String kodeGudang) {
+        Integer i = kodeGudang == null ? null : indeksGudang.get(kodeGudang);
+        if (i == null) {
+            throw new IllegalArgumentException("Gudang tidak dikenal: " + kodeGudang);
+        }
+        return i;
+    }
+    // Dipanggil di bawah monitor SKU sebelum perubahan pertama
+    private void periksaStokAwal(String kode, StokSku sku) {
+        if (sku.dikelola) {
+            return;
+        }
+        int stokAwal = repositoryProduk.cariByKode(kode).map(Produk::getStok).orElse(0);
+        if (stokAwal != 0) {
+            throw new IllegalStateException("Stok " + kode + " di repository (" + stokAwal
+                    + ") belum dibagi ke gudang; kosongkan dulu lalu atur per gudang");
+        }
+    }
+    // Tulis total ke repository di bawah monitor SKU agar urutan tulis sama dengan urutan
+    // perubahan; total di memori baru diganti jika penulisan berhasil
+    private boolean tulisTotal(String kode, StokSku sku, long totalBaru) {
+        if (!repositoryProduk.updateStok(kode, (int) totalBaru)) {
+            return false;
+        }
+        sku.total = (int) totalBaru;
+        sku.dikelola = true;
+        return true;
+    }
+    /**
+     * Set stok dan stok minimum produk di satu gudang. Produk harus sudah
+     * ada di repository. Mengembalikan false jika produk tidak ada, nilai
+     * tidak valid, total melebihi int atau penulisan ke repository gagal.
+     */
+    public boolean aturStok(String kode, String kodeGudang, int stok, int stokMinimum) {
+        int g = indeks(kodeGudang);
+        if (!ValidationUtils.isValidKodeProduk(kode) || stok < 0 || stokMinimum < 0) {
+            return false;
+        }
+        if (repositoryProduk.cariByKode(kode).isEmpty()) {
+            return false;
+        }
+        StokSku sku = stokByKode.computeIfAbsent(kode, k -> new StokSku());
+        synchronized (sku) {
+            periksaStokAwal(kode, sku);
+            sku.pastikan(daftarGudang.size());
+            long total = (long) sku.total + stok - sku.stok[g];
+            long totalMinimum = (long) sku.totalMinimum + stokMinimum - sku.stokMinimum[g];
+            if (total > Integer.MAX_VALUE || totalMinimum > Integer.MAX_VALUE) {
+                return false;
+            }
+            if (!tulisTotal(kode, sku, total)) {
+                return false;
+            }
+            sku.totalMinimum = (int) totalMinimum;
+            sku.stok[g] = stok;
+            sku.stokMinimum[g] = stokMinimum;
+            return true;
+        }
+    }
+    public boolean masukStok(String kode, String kodeGudang, int jumlah) {
+        int g = indeks(kodeGudang);
+        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
+            return false;
+        }
+        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+        if (produk.isEmpty() || !produk.get().isAktif()) {
+            return false;
+        }
+        StokSku sku = stokByKode.computeIfAbsent(kode, k -> new StokSku());
+        synchronized (sku) {
+            periksaStokAwal(kode, sku);
+            if ((long) sku.total + jumlah > Integer.MAX_VALUE) {
+                return false;
+            }
+            if (!tulisTotal(kode, sku, (long) sku.total + jumlah)) {
+                return false;
+            }
+            sku.pastikan(daftarGudang.size());
+            sku.stok[g] += jumlah;
+            return true;
+        }
+    }
+    public List<Alokasi> keluarStok(String kode, int jumlah) {
+        return keluarStok(kode, jumlah, 0, 0, kebijakanBawaan);
+    }
+    /**
+     * Keluarkan stok dari beberapa gudang menurut kebijakan. Mengembalikan
+     * alokasi yang dilakukan, atau daftar kosong jika produk tidak aktif, total
+     * stok tidak mencukupi atau penulisan ke repository gagal (tidak ada gudang
+     * yang diubah).
+     */
+    public List<Alokasi> keluarStok(String kode, int jumlah, double tujuanX, double tujuanY,
+                                   KebijakanAlokasi kebijakan) {
+        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
+            return List.of();
+        }
+        StokSku sku = stokByKode.get(kode);
+        if (sku == null) {
+            return List.of();
+        }
+        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+        if (produk.isEmpty() || !produk.get().isAktif()) {
+            return List.of();
+        }
+        synchronized (sku) {
+            if (sku.total < jumlah) {
+                return List.of();
+            }
+            List<Gudang> gudang = getDaftarGudang();
+            sku.pastikan(gudang.size());
+            int[] stok = Arrays.copyOf(sku.stok, gudang.size());
+            int[] ambil = kebijakan.alokasikan(jumlah, stok, gudang, tujuanX, tujuanY);
+            periksaAlokasi(ambil, stok, jumlah);
+            if (!tulisTotal(kode, sku, (long) sku.total - jumlah)) {
+                return List.of();
+            }
+            List<Alokasi> hasil = new ArrayList<>();
+            for (int g = 0; g < ambil.length; g++) {
+                if (ambil[g] > 0) {
+                    sku.stok[g] -= ambil[g];
+                    hasil.add(new Alokasi(gudang.get(g).getKode(), ambil[g]));
+                }
+            }
+            return hasil;
+        }
+    }
+    // Kebijakan pihak ketiga tidak boleh membuat stok negatif atau salah jumlah
+    private static void periksaAlokasi(int[] ambil, int[] stok, int jumlah) {
+        if (ambil == null || ambil.length != stok.length) {
+            throw new IllegalStateException("Kebijakan alokasi mengembalikan larik tidak valid");
+        }
+        long total = 0;
+        for (int g = 0; g < ambil.length; g++) {
+            if (ambil[g] < 0 || ambil[g] > stok[g]) {
+                throw new IllegalStateException("Kebijakan alokasi melebihi stok gudang ke-" + g);
+            }
+            total += ambil[g];
+        }
+        if (total != jumlah) {
+            throw new IllegalStateException("Kebijakan alokasi mengambil " + total + " dari " + jumlah);
+        }
+    }
+    // Ketersediaan total semua gudang, O(1)
+    public int stokTersedia(String kode) {
+        StokSku sku = kode == null ? null : stokByKode.get(kode);
+        if (sku == null) {
+            return 0;
+        }
+        synchronized (sku) {
+            return sku.total;
+        }
+    }
+    public int stokDi(String kode, String kodeGudang) {
+        int g = indeks(kodeGudang);
+        StokSku sku = kode == null ? null : stokByKode.get(kode);
+        if (sku == null) {
+            return 0;
+        }
+        synchronized (sku) {
+            return g < sku.stok.length ? sku.stok[g] : 0;
+        }
+    }
+    // Status global: total stok terhadap jumlah stok minimum semua gudang, O(1)
+    public StatusStok statusGlobal(String kode) {
+        StokSku sku = kode == null ? null : stokByKode.get(kode);
+        if (sku == null) {
+            return StatusStok.HABIS;
+        }
+        synchronized (sku) {
+            return StatusStok.dari(sku.total, sku.totalMinimum);
+        }
+    }
+    public StatusStok statusDi(String kode, String kodeGudang) {
+        int g = indeks(kodeGudang);
+        StokSku sku = kode == null ? null : stokByKode.get(kode);
+        if (sku == null) {
+            return StatusStok.HABIS;
+        }
+        synchronized (sku) {
+            return g < sku.stok.length ? StatusStok.dari(sku.stok[g], sku.stokMinimum[g]) : StatusStok.HABIS;
+        }
+    }
+    public boolean isStokMenipis(String kode) {
+        return statusGlobal(kode) == StatusStok.MENIPIS;
+    }
+    public boolean isStokMenipisDi(String kode, String kodeGudang) {
+        return statusDi(kode, kodeGudang) == StatusStok.MENIPIS;
+    }
+    public boolean isStokHabis(String kode) {
+        return statusGlobal(kode) == StatusStok.HABIS;
+    }
+    public boolean isStokHabisDi(String kode, String kodeGudang) {
+        return statusDi(kode, kodeGudang) == StatusStok.HABIS;
+    }
+    // Kode produk dengan status tertentu di satu gudang; memindai semua SKU
+    public List<String> cariKodeDenganStatusDi(String kodeGudang, StatusStok status) {
+        int g = indeks(kodeGudang);
+        List<String> hasil = new ArrayList<>();
+        for (Map.Entry<String, StokSku> e : stokByKode.entrySet()) {
+            StokSku sku = e.getValue();
+            StatusStok s;
+            synchronized (sku) {
+                s = g < sku.stok.length ? StatusStok.dari(sku.stok[g], sku.stokMinimum[g]) : StatusStok.HABIS;
+            }
+            if (s == status) {
+                hasil.add(e.getKey());
+            }
+        }
+        return hasil;
+    }
+}
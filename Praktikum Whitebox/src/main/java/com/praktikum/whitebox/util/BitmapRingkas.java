@@ -0,0 +1,404 @@
+package com.praktikum.whitebox.util;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+/**
+ * Bitmap terkompresi ala Roaring untuk bilangan bulat non-negatif. Nilai
+ * dikelompokkan per 16 bit atas; tiap kelompok disimpan sebagai larik char
+ * terurut saat jarang (maks 4096 anggota, 2 byte per anggota) atau bitmap
+ * 8 KB saat padat. Tidak thread-safe; pemanggil yang menjaga kuncinya.
+ */
+public final class BitmapRingkas {
+    // Batas tukar larik -> bitmap: pada 4096 anggota keduanya sama-sama 8 KB
+    static final int BATAS_LARIK = 4096;
+    // Bitmap baru kembali ke larik jauh di bawah BATAS_LARIK, agar wadah yang
+    // anggotanya naik-turun di sekitar 4096 tidak dialokasi ulang di tiap operasi
+    static final int BATAS_KE_LARIK = BATAS_LARIK - 1024;
+    private char[] kunci = new char[4];
+    private Wadah[] wadah = new Wadah[4];
+    private int jumlahWadah;
+    private int kardinalitas;
+    public BitmapRingkas() {
+    }
+    private BitmapRingkas(int kapasitas) {
+        kunci = new char[Math.max(1, kapasitas)];
+        wadah = new Wadah[Math.max(1, kapasitas)];
+    }
+    private int cariWadah(char tinggi) {
+        return Arrays.binarySearch(kunci, 0, jumlahWadah, tinggi);
+    }
+    // true jika nilai belum ada sebelumnya
+    public boolean tambah(int nilai) {
+        cekNilai(nilai);
+        char tinggi = (char) (nilai >>> 16);
+        int i = cariWadah(tinggi);
+        if (i < 0) {
+            i = -i - 1;
+            sisipkan(i, tinggi, new WadahLarik());
+        }
+        int sebelum = wadah[i].kardinalitas();
+        wadah[i] = wadah[i].tambah((char) nilai);
+        boolean baru = wadah[i].kardinalitas() != sebelum;
+        if (baru) {
+            kardinalitas++;
+        }
+        return baru;
+    }
+    // true jika nilai ada dan dihapus
+    public boolean hapus(int nilai) {
+        if (nilai < 0) {
+            return false;
+        }
+        int i = cariWadah((char) (nilai >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        int sebelum = wadah[i].kardinalitas();
+        wadah[i] = wadah[i].hapus((char) nilai);
+        if (wadah[i].kardinalitas() == sebelum) {
+            return false;
+        }
+        kardinalitas--;
+        if (wadah[i].kardinalitas() == 0) {
+            System.arraycopy(kunci, i + 1, kunci, i, jumlahWadah - i - 1);
+            System.arraycopy(wadah, i + 1, wadah, i, jumlahWadah - i - 1);
+            wadah[--jumlahWadah] = null;
+        }
+        return true;
+    }
+    public boolean berisi(int nilai) {
+        if (nilai < 0) {
+            return false;
+        }
+        int i = cariWadah((char) (nilai >>> 16));
+        return i >= 0 && wadah[i].berisi((char) nilai);
+    }
+    public int kardinalitas() {
+        return kardinalitas;
+    }
+    public boolean kosong() {
+        return kardinalitas == 0;
+    }
+    // Salinan lepas, misalnya untuk dibaca setelah kunci pemilik dilepas
+    public BitmapRingkas salin() {
+        BitmapRingkas hasil = new BitmapRingkas(jumlahWadah);
+        for (int i = 0; i < jumlahWadah; i++) {
+            hasil.tambahWadah(kunci[i], wadah[i].salin());
+        }
+        return hasil;
+    }
+    // Irisan (AND) dua bitmap sebagai bitmap baru
+    public BitmapRingkas dan(BitmapRingkas lain) {
+        BitmapRingkas hasil = new BitmapRingkas(Math.min(jumlahWadah, lain.jumlahWadah));
+        int i = 0;
+        int j = 0;
+        while (i < jumlahWadah && j < lain.jumlahWadah) {
+            if (kunci[i] < lain.kunci[j]) {
+                i++;
+            } else if (kunci[i] > lain.kunci[j]) {
+                j++;
+            } else {
+                hasil.tambahWadah(kunci[i], wadah[i].dan(lain.wadah[j]));
+                i++;
+                j++;
+            }
+        }
+        return hasil;
+    }
+    // Selisih (AND NOT): anggota bitmap ini yang tidak ada di bitmap lain
+    public BitmapRingkas danTidak(BitmapRingkas lain) {
+        BitmapRingkas hasil = new BitmapRingkas(jumlahWadah);
+        int j = 0;
+        for (int i = 0; i < jumlahWadah; i++) {
+            while (j < lain.jumlahWadah && lain.kunci[j] < kunci[i]) {
+                j++;
+            }
+            if (j < lain.jumlahWadah && lain.kunci[j] == kunci[i]) {
+                hasil.tambahWadah(kunci[i], wadah[i].danTidak(lain.wadah[j]));
+            } else {
+                hasil.tambahWadah(kunci[i], wadah[i].salin());
+            }
+        }
+        return hasil;
+    }
+    // Kunjungi anggota secara menaik sampai penerima mengembalikan false
+    public void untukSetiap(IntPredicate penerima) {
+        for (int i = 0; i < jumlahWadah; i++) {
+            if (!wadah[i].untukSetiap(kunci[i] << 16, penerima)) {
+                return;
+            }
+        }
+    }
+    public int[] keLarik() {
+        int[] hasil = new int[kardinalitas];
+        int[] n = new int[1];
+        untukSetiap(nilai -> {
+            hasil[n[0]++] = nilai;
+            return true;
+        });
+        return hasil;
+    }
+    // Jumlah wadah berbentuk bitmap 8 KB, untuk pengujian
+    int jumlahWadahBitmap() {
+        int jumlah = 0;
+        for (int i = 0; i < jumlahWadah; i++) {
+            if (wadah[i] instanceof WadahBitmap) {
+                jumlah++;
+            }
+        }
+        return jumlah;
+    }
+    // Perkiraan memori yang dipakai isi bitmap, dalam byte
+    public long ukuranByte() {
+        long total = kunci.length * 2L + wadah.length * 8L;
+        for (int i = 0; i < jumlahWadah; i++) {
+            total += wadah[i].ukuranByte();
+        }
+        return total;
+    }
+    private void tambahWadah(char tinggi, Wadah w) {
+        if (w.kardinalitas() > 0) {
+            sisipkan(jumlahWadah, tinggi, w);
+            kardinalitas += w.kardinalitas();
+        }
+    }
+    private void sisipkan(int i, char tinggi, Wadah w) {
+        if (jumlahWadah == kunci.length) {
+            kunci = Arrays.copyOf(kunci, jumlahWadah * 2);
+            wadah = Arrays.copyOf(wadah, jumlahWadah * 2);
+        }
+        System.arraycopy(kunci, i, kunci, i + 1, jumlahWadah - i);
+        System.arraycopy(wadah, i, wadah, i + 1, jumlahWadah - i);
+        kunci[i] = tinggi;
+        wadah[i] = w;
+        jumlahWadah++;
+    }
+    private static void cekNilai(int nilai) {
+        if (nilai < 0) {
+            throw new IllegalArgumentException("Nilai bitmap tidak boleh negatif");
+        }
+    }
+    private interface Wadah {
+        int kardinalitas();
+        boolean berisi(char rendah);
+        Wadah tambah(char rendah);
+        Wadah hapus(char rendah);
+        Wadah dan(Wadah lain);
+        Wadah danTidak(Wadah lain);
+        Wadah salin();
+        boolean untukSetiap(int dasar, IntPredicate penerima);
+        long ukuranByte();
+    }
+    private static final class WadahLarik implements Wadah {
+        private char[] isi;
+        private int n;
+        WadahLarik() {
+            this(new char[4], 0);
+        }
+        WadahLarik(char[] isi, int n) {
+            this.isi = isi;
+            this.n = n;
+        }
+        @Override
+        public int kardinalitas() {
+            return n;
+        }
+        @Override
+        public boolean berisi(char rendah) {
+            return Arrays.binarySearch(isi, 0, n, rendah) >= 0;
+        }
+        @Override
+        public Wadah tambah(char rendah) {
+            int i = Arrays.binarySearch(isi, 0, n, rendah);
+            if (i >= 0) {
+                return this;
+            }
+            if (n == BATAS_LARIK) {
+                return keBitmap().tambah(rendah);
+            }
+            i = -i - 1;
+            if (n == isi.length) {
+                isi = Arrays.copyOf(isi, Math.min(BATAS_LARIK, n * 2));
+            }
+            System.arraycopy(isi, i, isi, i + 1, n - i);
+            isi[i] = rendah;
+            n++;
+            return this;
+        }
+        @Override
+        public Wadah hapus(char rendah) {
+            int i = Arrays.binarySearch(isi, 0, n, rendah);
+            if (i >= 0) {
+                System.arraycopy(isi, i + 1, isi, i, n - i - 1);
+                n--;
+            }
+            return this;
+        }
+        @Override
+        public Wadah dan(Wadah lain) {
+            char[] hasil = new char[Math.min(n, lain.kardinalitas())];
+            int m = 0;
+            if (lain instanceof WadahLarik larik) {
+                int i = 0;
+                int j = 0;
+                while (i < n && j < larik.n) {
+                    if (isi[i] < larik.isi[j]) {
+                        i++;
+                    } else if (isi[i] > larik.isi[j]) {
+                        j++;
+                    } else {
+                        hasil[m++] = isi[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    if (lain.berisi(isi[i])) {
+                        hasil[m++] = isi[i];
+                    }
+                }
+            }
+            return new WadahLarik(hasil, m);
+        }
+        @Override
+        public Wadah danTidak(Wadah lain) {
+            char[] hasil = new char[n];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                if (!lain.berisi(isi[i])) {
+                    hasil[m++] = isi[i];
+                }
+            }
+            return new WadahLarik(hasil, m);
+        }
+        @Override
+        public Wadah salin() {
+            return new WadahLarik(Arrays.copyOf(isi, n), n);
+        }
+        @Override
+        public boolean untukSetiap(int dasar, IntPredicate penerima) {
+            for (int i = 0; i < n; i++) {
+                if (!penerima.test(dasar | isi[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        @Override
+        public long ukuranByte() {
+            return 16L + isi.length * 2L;
+        }
+        private WadahBitmap keBitmap() {
+            WadahBitmap bitmap = new WadahBitmap(new long[1024], 0);
+            for (int i = 0; i < n; i++) {
+                bitmap.tambah(isi[i]);
+            }
+            return bitmap;
+        }
+    }
+    private static final class WadahBitmap implements Wadah {
+        private final long[] kata;
+        private int n;
+        WadahBitmap(long[] kata, int n) {
+            this.kata = kata;
+            this.n = n;
+        }
+        @Override
+        public int kardinalitas() {
+            return n;
+        }
+        @Override
+        public boolean berisi(char rendah) {
+            return (kata[rendah >>> 6] & (1L << rendah)) != 0;
+        }
+        @Override
+        public Wadah tambah(char rendah) {
+            long sebelum = kata[rendah >>> 6];
+            kata[rendah >>> 6] = sebelum | (1L << rendah);
+            if (sebelum != kata[rendah >>> 6]) {
+                n++;
+            }
+            return this;
+        }
+        @Override
+        public Wadah hapus(char rendah) {
+            long sebelum = kata[rendah >>> 6];
+            kata[rendah >>> 6] = sebelum & ~(1L << rendah);
+            if (sebelum != kata[rendah >>> 6]) {
+                n--;
+            }
+            return n <= BATAS_KE_LARIK ? keLarik() : this;
+        }
+        @Override
+        public Wadah dan(Wadah lain) {
+            if (lain instanceof WadahLarik) {
+                return lain.dan(this);
+            }
+            long[] b = ((WadahBitmap) lain).kata;
+            long[] hasil = new long[1024];
+            int m = 0;
+            for (int i = 0; i < 1024; i++) {
+                hasil[i] = kata[i] & b[i];
+                m += Long.bitCount(hasil[i]);
+            }
+            return rapikan(hasil, m);
+        }
+        @Override
+        public Wadah danTidak(Wadah lain) {
+            long[] hasil = kata.clone();
+            int m = n;
+            if (lain instanceof WadahBitmap bitmap) {
+                m = 0;
+                for (int i = 0; i < 1024; i++) {
+                    hasil[i] &= ~bitmap.kata[i];
+                    m += Long.bitCount(hasil[i]);
+                }
+            } else {
+                WadahLarik larik = (WadahLarik) lain;
+                for (int i = 0; i < larik.n; i++) {
+                    char c = larik.isi[i];
+                    if ((hasil[c >>> 6] & (1L << c)) != 0) {
+                        hasil[c >>> 6] &= ~(1L << c);
+                        m--;
+                    }
+                }
+            }
+            return rapikan(hasil, m);
+        }
+        @Override
+        public Wadah salin() {
+            return new WadahBitmap(kata.clone(), n);
+        }
+        @Override
+        public boolean untukSetiap(int dasar, IntPredicate penerima) {
+            for (int i = 0; i < 1024; i++) {
+                long w = kata[i];
+                while (w != 0) {
+                    if (!penerima.test(dasar | (i << 6) | Long.numberOfTrailingZeros(w))) {
+                        return false;
+                    }
+                    w &= w - 1;
+                }
+            }
+            return true;
+        }
+        @Override
+        public long ukuranByte() {
+            return 16L + 1024 * 8L;
+        }
+        private WadahLarik keLarik() {
+            char[] isi = new char[n];
+            int[] m = new int[1];
+            untukSetiap(0, nilai -> {
+                isi[m[0]++] = (char) nilai;
+                return true;
+            });
+            return new WadahLarik(isi, n);
+        }
+        // Hasil operasi himpunan adalah wadah baru, jadi bentuk terkecil yang dipilih
+        private static Wadah rapikan(long[] kata, int n) {
+            WadahBitmap bitmap = new WadahBitmap(kata, n);
+            return n <= BATAS_LARIK ? bitmap.keLarik() : bitmap;
+        }
+    }
+}
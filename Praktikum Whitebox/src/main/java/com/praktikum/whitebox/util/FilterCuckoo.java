@@ -0,0 +1,190 @@
+package com.praktikum.whitebox.util;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+/**
+ * Filter cuckoo atas kode (Fan et al.): bucket berisi 4 sidik jari, setiap
+ * kunci punya dua bucket kandidat. Tidak pernah menghasilkan negatif palsu
+ * untuk kunci yang ditambahkan dan belum dihapus; tingkat positif palsu
+ * ditentukan lebar sidik jari. Berbeda dengan filter Bloom, kunci bisa dihapus
+ * asalkan sebelumnya memang ditambahkan. Pembacaan memakai optimistic read
+ * StampedLock sehingga tidak menulis ke memori bersama.
+ */
+public class FilterCuckoo {
+    private static final int UKURAN_BUCKET = 4;
+    private static final int MAKS_TENDANG = 500;
+    private static final double MUATAN_MAKS = 0.95;
+    private static final int MAKS_BUCKET = 1 << 28;
+    // 0 berarti slot kosong
+    private final char[] slot;
+    private final int maskBucket;
+    private final int bitSidik;
+    private final int maskSidik;
+    private final StampedLock kunci = new StampedLock();
+    private int jumlah;
+    // Sekali penuh tetap penuh: sidik jari yang terdepak hilang, jadi filter harus diganti
+    private boolean penuh;
+    public FilterCuckoo(int kapasitas, double tingkatPositifPalsu) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas filter harus lebih dari 0");
+        }
+        if (!(tingkatPositifPalsu > 0 && tingkatPositifPalsu < 1)) {
+            throw new IllegalArgumentException("Tingkat positif palsu harus di antara 0 dan 1");
+        }
+        // Peluang positif palsu ~ 2 * UKURAN_BUCKET / 2^bit
+        int bit = (int) Math.ceil(Math.log(2.0 * UKURAN_BUCKET / tingkatPositifPalsu) / Math.log(2));
+        this.bitSidik = Math.max(4, Math.min(16, bit));
+        this.maskSidik = (1 << bitSidik) - 1;
+        long butuh = (long) Math.ceil(kapasitas / (UKURAN_BUCKET * MUATAN_MAKS));
+        int bucket = 1;
+        while (bucket < butuh && bucket < MAKS_BUCKET) {
+            bucket <<= 1;
+        }
+        this.maskBucket = bucket - 1;
+        this.slot = new char[bucket * UKURAN_BUCKET];
+    }
+    // FNV-1a 64-bit atas karakter lalu finalizer murmur3 agar bit tinggi tercampur
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+    private char sidik(long h) {
+        int f = (int) (h >>> 40) & maskSidik;
+        return (char) (f == 0 ? 1 : f);
+    }
+    private int alternatif(int bucket, char sidik) {
+        return (bucket ^ (sidik * 0x5bd1e995)) & maskBucket;
+    }
+    private boolean adaDi(int bucket, char sidik) {
+        int awal = bucket * UKURAN_BUCKET;
+        return slot[awal] == sidik || slot[awal + 1] == sidik || slot[awal + 2] == sidik || slot[awal + 3] == sidik;
+    }
+    private boolean taruh(int bucket, char sidik) {
+        int awal = bucket * UKURAN_BUCKET;
+        for (int i = awal; i < awal + UKURAN_BUCKET; i++) {
+            if (slot[i] == 0) {
+                slot[i] = sidik;
+                return true;
+            }
+        }
+        return false;
+    }
+    private boolean ambil(int bucket, char sidik) {
+        int awal = bucket * UKURAN_BUCKET;
+        for (int i = awal; i < awal + UKURAN_BUCKET; i++) {
+            if (slot[i] == sidik) {
+                slot[i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+    private boolean cari(int i1, int i2, char sidik) {
+        // Filter penuh tidak bisa mencatat kode baru, jadi semua kode dianggap mungkin ada
+        return penuh || adaDi(i1, sidik) || adaDi(i2, sidik);
+    }
+    public boolean mungkinAda(String kode) {
+        long h = hash(kode);
+        char sidik = sidik(h);
+        int i1 = (int) h & maskBucket;
+        int i2 = alternatif(i1, sidik);
+        long stamp = kunci.tryOptimisticRead();
+        boolean ada = cari(i1, i2, sidik);
+        if (kunci.validate(stamp)) {
+            return ada;
+        }
+        stamp = kunci.readLock();
+        try {
+            return cari(i1, i2, sidik);
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+    /**
+     * Tambahkan kode. Mengembalikan false jika filter penuh; sejak itu
+     * mungkinAda selalu true (tidak ada negatif palsu) sampai filter dibangun
+     * ulang lebih besar.
+     */
+    public boolean tambah(String kode) {
+        long h = hash(kode);
+        char sidik = sidik(h);
+        int i1 = (int) h & maskBucket;
+        long stamp = kunci.writeLock();
+        try {
+            if (penuh) {
+                return false;
+            }
+            jumlah++;
+            int i2 = alternatif(i1, sidik);
+            if (taruh(i1, sidik) || taruh(i2, sidik)) {
+                return true;
+            }
+            ThreadLocalRandom acak = ThreadLocalRandom.current();
+            int bucket = acak.nextBoolean() ? i1 : i2;
+            char dibawa = sidik;
+            for (int n = 0; n < MAKS_TENDANG; n++) {
+                int posisi = bucket * UKURAN_BUCKET + acak.nextInt(UKURAN_BUCKET);
+                char terdepak = slot[posisi];
+                slot[posisi] = dibawa;
+                dibawa = terdepak;
+                bucket = alternatif(bucket, dibawa);
+                if (taruh(bucket, dibawa)) {
+                    return true;
+                }
+            }
+            penuh = true;
+            return false;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+    // Hanya boleh dipanggil untuk kode yang pernah ditambahkan, jika tidak kode lain bisa ikut terhapus
+    public boolean hapus(String kode) {
+        long h = hash(kode);
+        char sidik = sidik(h);
+        int i1 = (int) h & maskBucket;
+        int i2 = alternatif(i1, sidik);
+        long stamp = kunci.writeLock();
+        try {
+            if (!penuh && (ambil(i1, sidik) || ambil(i2, sidik))) {
+                jumlah--;
+                return true;
+            }
+            return false;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+    public boolean isPenuh() {
+        long stamp = kunci.readLock();
+        try {
+            return penuh;
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+    public int jumlah() {
+        long stamp = kunci.readLock();
+        try {
+            return jumlah;
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+    public int kapasitas() {
+        return (int) (slot.length * MUATAN_MAKS);
+    }
+    public int getBitSidik() {
+        return bitSidik;
+    }
+    public long ukuranByte() {
+        return slot.length * 2L;
+    }
+}
@@ -0,0 +1,137 @@
+package com.praktikum.whitebox.util;
+import com.praktikum.whitebox.model.Produk;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+/**
+ * Penulis JSON sederhana tanpa refleksi. Pemanggil bertanggung jawab atas
+ * urutan mulaiObjek/akhiriObjek; koma antar elemen diatur otomatis.
+ */
+public class JsonPenulis {
+    private final StringBuilder sb;
+    private boolean perluKoma;
+    public JsonPenulis() {
+        this(256);
+    }
+    public JsonPenulis(int kapasitas) {
+        this.sb = new StringBuilder(kapasitas);
+    }
+    public JsonPenulis mulaiObjek() {
+        pemisah();
+        sb.append('{');
+        perluKoma = false;
+        return this;
+    }
+    public JsonPenulis akhiriObjek() {
+        sb.append('}');
+        perluKoma = true;
+        return this;
+    }
+    public JsonPenulis mulaiArray(String nama) {
+        nama(nama);
+        sb.append('[');
+        perluKoma = false;
+        return this;
+    }
+    public JsonPenulis akhiriArray() {
+        sb.append(']');
+        perluKoma = true;
+        return this;
+    }
+    public JsonPenulis field(String nama, String nilai) {
+        nama(nama);
+        if (nilai == null) {
+            sb.append("null");
+        } else {
+            teks(nilai);
+        }
+        perluKoma = true;
+        return this;
+    }
+    public JsonPenulis field(String nama, long nilai) {
+        nama(nama);
+        sb.append(nilai);
+        perluKoma = true;
+        return this;
+    }
+    public JsonPenulis field(String nama, double nilai) {
+        nama(nama);
+        if (Double.isFinite(nilai)) {
+            sb.append(nilai);
+        } else {
+            sb.append("null");
+        }
+        perluKoma = true;
+        return this;
+    }
+    public JsonPenulis field(String nama, boolean nilai) {
+        nama(nama);
+        sb.append(nilai);
+        perluKoma = true;
+        return this;
+    }
+    public JsonPenulis produk(Produk p) {
+        mulaiObjek();
+        field("kode", p.getKode());
+        field("nama", p.getNama());
+        field("kategori", p.getKategori());
+        field("harga", p.getHarga());
+        field("stok", p.getStok());
+        field("stokMinimum", p.getStokMinimum());
+        field("aktif", p.isAktif());
+        field("status", p.isStokHabis() ? "HABIS" : p.isStokMenipis() ? "MENIPIS" : "AMAN");
+        return akhiriObjek();
+    }
+    public JsonPenulis daftarProduk(String nama, List<Produk> daftar) {
+        mulaiArray(nama);
+        for (Produk p : daftar) {
+            produk(p);
+        }
+        return akhiriArray();
+    }
+    public JsonPenulis daftarTeks(String nama, List<String> daftar) {
+        mulaiArray(nama);
+        for (String s : daftar) {
+            pemisah();
+            teks(s);
+            perluKoma = true;
+        }
+        return akhiriArray();
+    }
+    public byte[] keBytes() {
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+    private void nama(String nama) {
+        pemisah();
+        teks(nama);
+        sb.append(':');
+    }
+    private void pemisah() {
+        if (perluKoma) {
+            sb.append(',');
+        }
+    }
+    private void teks(String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
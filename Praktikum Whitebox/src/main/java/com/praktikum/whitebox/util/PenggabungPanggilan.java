@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.util;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+/**
+ * Single-flight: untuk setiap kunci hanya satu pemuatan yang berjalan; pemanggil
+ * lain yang datang selama pemuatan itu berlangsung menunggu hasil yang sama.
+ * Hasil tidak disimpan setelah pemuatan selesai. Exception dari pemuat
+ * diteruskan ke semua penunggu; penunggu yang melewati batas tunggu mendapat
+ * CompletionException berisi TimeoutException.
+ */
+public class PenggabungPanggilan<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> berjalan = new ConcurrentHashMap<>();
+    private final long batasTungguNanos;
+    private final LongAdder jumlahMuat = new LongAdder();
+    private final LongAdder jumlahDigabung = new LongAdder();
+    public PenggabungPanggilan(Duration batasTunggu) {
+        if (batasTunggu == null || batasTunggu.isNegative() || batasTunggu.isZero()) {
+            throw new IllegalArgumentException("Batas tunggu harus positif");
+        }
+        this.batasTungguNanos = batasTunggu.toNanos();
+    }
+    public V muat(K kunci, Supplier<V> pemuat) {
+        CompletableFuture<V> baru = new CompletableFuture<>();
+        CompletableFuture<V> ada = berjalan.putIfAbsent(kunci, baru);
+        if (ada == null) {
+            jumlahMuat.increment();
+            try {
+                V nilai = pemuat.get();
+                baru.complete(nilai);
+                return nilai;
+            } catch (Throwable e) {
+                baru.completeExceptionally(e);
+                throw e;
+            } finally {
+                berjalan.remove(kunci, baru);
+            }
+        }
+        jumlahDigabung.increment();
+        try {
+            return ada.get(batasTungguNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException r) {
+                throw r;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+    // Pemanggil berikutnya untuk kunci ini memulai pemuatan baru, misalnya setelah data ditulis
+    public void lupakan(K kunci) {
+        berjalan.remove(kunci);
+    }
+    public void lupakanSemua() {
+        berjalan.clear();
+    }
+    public long getJumlahMuat() {
+        return jumlahMuat.sum();
+    }
+    public long getJumlahDigabung() {
+        return jumlahDigabung.sum();
+    }
+}
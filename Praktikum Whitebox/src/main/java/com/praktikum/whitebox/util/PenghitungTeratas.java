@@ -0,0 +1,106 @@
+package com.praktikum.whitebox.util;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * Ringkasan heavy hitter Space-Saving (Metwally et al.) dengan kapasitas
+ * tetap. Kunci dengan frekuensi di atas total / kapasitas dijamin tercatat;
+ * hitungan tidak pernah kurang dari sebenarnya dan kelebihannya paling banyak
+ * {@link #galat(String)}. Min-heap atas larik primitif, O(log kapasitas) per
+ * penambahan. Tidak thread-safe; pemanggil yang mengunci.
+ */
+public class PenghitungTeratas {
+    private final String[] kunci;
+    private final long[] hitung;
+    private final long[] galat;
+    private final Map<String, Integer> posisiByKunci;
+    private int ukuran;
+    public PenghitungTeratas(int kapasitas) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas harus lebih dari 0");
+        }
+        this.kunci = new String[kapasitas];
+        this.hitung = new long[kapasitas];
+        this.galat = new long[kapasitas];
+        this.posisiByKunci = new HashMap<>(kapasitas * 2);
+    }
+    public void tambah(String k, long jumlah) {
+        Integer pos = posisiByKunci.get(k);
+        if (pos != null) {
+            hitung[pos] += jumlah;
+            turun(pos);
+        } else if (ukuran < kunci.length) {
+            taruh(ukuran, k, jumlah, 0);
+            naik(ukuran++);
+        } else {
+            // Ganti kunci dengan hitungan terkecil; hitungannya menjadi batas galat
+            long min = hitung[0];
+            posisiByKunci.remove(kunci[0]);
+            taruh(0, k, min + jumlah, min);
+            turun(0);
+        }
+    }
+    private void taruh(int pos, String k, long h, long g) {
+        kunci[pos] = k;
+        hitung[pos] = h;
+        galat[pos] = g;
+        posisiByKunci.put(k, pos);
+    }
+    private void tukar(int a, int b) {
+        String k = kunci[a];
+        long h = hitung[a];
+        long g = galat[a];
+        taruh(a, kunci[b], hitung[b], galat[b]);
+        taruh(b, k, h, g);
+    }
+    private void naik(int pos) {
+        while (pos > 0) {
+            int induk = (pos - 1) >>> 1;
+            if (hitung[induk] <= hitung[pos]) {
+                return;
+            }
+            tukar(pos, induk);
+            pos = induk;
+        }
+    }
+    private void turun(int pos) {
+        while (true) {
+            int kiri = 2 * pos + 1;
+            if (kiri >= ukuran) {
+                return;
+            }
+            int kecil = kiri + 1 < ukuran && hitung[kiri + 1] < hitung[kiri] ? kiri + 1 : kiri;
+            if (hitung[pos] <= hitung[kecil]) {
+                return;
+            }
+            tukar(pos, kecil);
+            pos = kecil;
+        }
+    }
+    // Hitungan tercatat (batas atas), 0 jika kunci tidak sedang dipantau
+    public long perkiraan(String k) {
+        Integer pos = posisiByKunci.get(k);
+        return pos == null ? 0 : hitung[pos];
+    }
+    public long galat(String k) {
+        Integer pos = posisiByKunci.get(k);
+        return pos == null ? 0 : galat[pos];
+    }
+    // Kunci yang sedang dipantau, tanpa urutan tertentu
+    public List<String> daftarKunci() {
+        return new ArrayList<>(Arrays.asList(kunci).subList(0, ukuran));
+    }
+    public int ukuran() {
+        return ukuran;
+    }
+    public int kapasitas() {
+        return kunci.length;
+    }
+    public void kosongkan() {
+        Arrays.fill(kunci, 0, ukuran, null);
+        posisiByKunci.clear();
+        ukuran = 0;
+    }
+}
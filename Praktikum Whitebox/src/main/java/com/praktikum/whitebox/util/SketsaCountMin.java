@@ -0,0 +1,83 @@
+package com.praktikum.whitebox.util;
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Sketsa count-min (Cormode dan Muthukrishnan) atas kode. Memori tetap
+ * lebar x kedalaman long berapa pun jumlah kuncinya; perkiraan tidak pernah
+ * kurang dari jumlah sebenarnya dan dengan peluang 1 - delta kelebihannya
+ * paling banyak epsilon x total. Tidak thread-safe; pemanggil yang mengunci.
+ */
+public class SketsaCountMin {
+    private final long[] hitung;
+    private final int lebar;
+    private final int kedalaman;
+    private final int mask;
+    private long total;
+    public SketsaCountMin(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Epsilon dan delta harus di antara 0 dan 1");
+        }
+        long butuh = (long) Math.ceil(Math.E / epsilon);
+        int l = 1;
+        while (l < butuh && l < (1 << 24)) {
+            l <<= 1;
+        }
+        this.lebar = l;
+        this.mask = l - 1;
+        this.kedalaman = Math.max(1, (int) Math.ceil(Math.log(1 / delta)));
+        this.hitung = new long[lebar * kedalaman];
+    }
+    // Posisi baris ke-i dari dua hash 32-bit (Kirsch-Mitzenmacher)
+    private int posisi(long h, int baris) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        return baris * lebar + ((h1 + baris * h2) & mask);
+    }
+    public void tambah(String kunci, long jumlah) {
+        long h = FilterCuckoo.hash(kunci);
+        for (int i = 0; i < kedalaman; i++) {
+            hitung[posisi(h, i)] += jumlah;
+        }
+        total += jumlah;
+    }
+    public long perkiraan(String kunci) {
+        long h = FilterCuckoo.hash(kunci);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < kedalaman; i++) {
+            min = Math.min(min, hitung[posisi(h, i)]);
+        }
+        return min;
+    }
+    /**
+     * Perkiraan jumlah kunci atas gabungan beberapa sketsa berdimensi sama:
+     * per baris dijumlahkan dulu baru diambil minimumnya, lebih ketat daripada
+     * menjumlahkan perkiraan masing-masing sketsa.
+     */
+    public static long perkiraanGabungan(String kunci, List<SketsaCountMin> daftar) {
+        if (daftar.isEmpty()) {
+            return 0;
+        }
+        long h = FilterCuckoo.hash(kunci);
+        SketsaCountMin acuan = daftar.get(0);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < acuan.kedalaman; i++) {
+            int pos = acuan.posisi(h, i);
+            long jumlah = 0;
+            for (SketsaCountMin s : daftar) {
+                jumlah += s.hitung[pos];
+            }
+            min = Math.min(min, jumlah);
+        }
+        return min;
+    }
+    public void kosongkan() {
+        Arrays.fill(hitung, 0);
+        total = 0;
+    }
+    public long getTotal() { return total; }
+    public int getLebar() { return lebar; }
+    public int getKedalaman() { return kedalaman; }
+    public long ukuranByte() {
+        return (long) hitung.length * Long.BYTES;
+    }
+}
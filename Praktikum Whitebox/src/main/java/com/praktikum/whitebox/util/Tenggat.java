@@ -0,0 +1,49 @@
+package com.praktikum.whitebox.util;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+/**
+ * Tenggat waktu absolut berbasis System.nanoTime. Satu Tenggat diteruskan ke
+ * setiap tahap operasi asinkron sehingga operasi bertahap (baca lalu tulis)
+ * tidak melebihi batas waktu pemanggil secara keseluruhan.
+ */
+public final class Tenggat {
+    public static final Tenggat TANPA_BATAS = new Tenggat(0);
+    private final long nanoAkhir;
+    private Tenggat(long nanoAkhir) {
+        this.nanoAkhir = nanoAkhir;
+    }
+    public static Tenggat dalam(Duration durasi) {
+        if (durasi == null || durasi.isNegative()) {
+            throw new IllegalArgumentException("Durasi tenggat harus nol atau positif");
+        }
+        // Durasi di atas ~146 tahun tidak muat di long nano dan praktis tanpa batas
+        if (durasi.compareTo(Duration.ofNanos(Long.MAX_VALUE / 2)) > 0) {
+            return TANPA_BATAS;
+        }
+        return new Tenggat(System.nanoTime() + durasi.toNanos());
+    }
+    public boolean isTerbatas() {
+        return this != TANPA_BATAS;
+    }
+    public long sisaNanos() {
+        return isTerbatas() ? Math.max(0, nanoAkhir - System.nanoTime()) : Long.MAX_VALUE;
+    }
+    public boolean lewat() {
+        return isTerbatas() && nanoAkhir - System.nanoTime() <= 0;
+    }
+    // Tenggat yang lebih dulu habis
+    public Tenggat palingAwal(Tenggat lain) {
+        if (!isTerbatas()) {
+            return lain;
+        }
+        if (!lain.isTerbatas()) {
+            return this;
+        }
+        return nanoAkhir - lain.nanoAkhir <= 0 ? this : lain;
+    }
+    // Selesaikan future dengan TimeoutException jika belum selesai saat tenggat habis
+    public <T> CompletableFuture<T> terapkan(CompletableFuture<T> future) {
+        return isTerbatas() ? future.orTimeout(sisaNanos(), TimeUnit.NANOSECONDS) : future;
+    }
+}
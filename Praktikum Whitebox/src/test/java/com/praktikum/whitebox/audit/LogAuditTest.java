@@ -0,0 +1,231 @@
+package com.praktikum.whitebox.audit;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ServiceInventarisTeraudit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - LogAudit")
+public class LogAuditTest {
+    @TempDir
+    Path dir;
+    private static KonfigurasiAudit konfigurasi(ModeDurabilitas mode, KebijakanPenuh kebijakan, int kapasitas) {
+        KonfigurasiAudit k = new KonfigurasiAudit();
+        k.setMode(mode);
+        k.setKebijakanPenuh(kebijakan);
+        k.setKapasitasRing(kapasitas);
+        return k;
+    }
+    // Jalankan catat dari beberapa thread; setiap kode unik "T<thread>N<i>"
+    private static int catatParalel(LogAudit log, int jumlahThread, int perThread) throws InterruptedException {
+        AtomicInteger diterima = new AtomicInteger();
+        List<Thread> daftar = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            int id = t;
+            daftar.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (log.catat(JenisAudit.KELUAR_STOK, "T" + id + "N" + i, i, true)) {
+                        diterima.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread t : daftar) {
+            t.join();
+        }
+        return diterima.get();
+    }
+    @Test
+    @DisplayName("Semua catatan dari banyak produsen tertulis utuh dan berurutan per produsen")
+    void testBanyakProdusen() throws Exception {
+        try (LogAudit log = new LogAudit(dir, konfigurasi(ModeDurabilitas.ASINKRON, KebijakanPenuh.BLOK, 64))) {
+            assertEquals(4 * 5_000, catatParalel(log, 4, 5_000));
+        }
+        List<CatatanAudit> semua = PembacaAudit.baca(dir);
+        assertEquals(20_000, semua.size());
+        int[] berikut = new int[4];
+        for (CatatanAudit c : semua) {
+            int t = c.getKode().charAt(1) - '0';
+            assertEquals("T" + t + "N" + berikut[t], c.getKode());
+            assertEquals(berikut[t]++, c.getNilai());
+            assertEquals(JenisAudit.KELUAR_STOK, c.getJenis());
+        }
+    }
+    @Test
+    @DisplayName("Mode SINKRON: catatan sudah ada di berkas begitu catat kembali, dengan fsync berkelompok")
+    void testSinkron() throws Exception {
+        try (LogAudit log = new LogAudit(dir, konfigurasi(ModeDurabilitas.SINKRON, KebijakanPenuh.BLOK, 1024))) {
+            log.catat(JenisAudit.TAMBAH_PRODUK, "LAP001", 10, true);
+            assertEquals(1, PembacaAudit.baca(dir).size());
+            catatParalel(log, 8, 200);
+            assertEquals(1_601, PembacaAudit.baca(dir).size());
+            assertTrue(log.getJumlahFsync() <= 1_601);
+        }
+        assertThrows(IllegalArgumentException.class, () -> {
+            KonfigurasiAudit k = new KonfigurasiAudit();
+            k.setKapasitasRing(0);
+            new LogAudit(dir, k);
+        });
+    }
+    @Test
+    @DisplayName("Kebijakan BUANG menghitung catatan yang dibuang, TUMPAH tidak kehilangan apa pun")
+    void testKebijakanPenuh() throws Exception {
+        Path dirBuang = dir.resolve("buang");
+        int diterima;
+        long dibuang;
+        try (LogAudit log = new LogAudit(dirBuang, konfigurasi(ModeDurabilitas.ASINKRON, KebijakanPenuh.BUANG, 2))) {
+            diterima = catatParalel(log, 4, 5_000);
+            dibuang = log.getJumlahDibuang();
+        }
+        assertEquals(20_000, diterima + dibuang);
+        assertEquals(diterima, PembacaAudit.baca(dirBuang).size());
+        Path dirTumpah = dir.resolve("tumpah");
+        long tumpah;
+        try (LogAudit log = new LogAudit(dirTumpah, konfigurasi(ModeDurabilitas.ASINKRON, KebijakanPenuh.TUMPAH, 2))) {
+            assertEquals(20_000, catatParalel(log, 4, 5_000));
+            tumpah = log.getJumlahTumpah();
+            assertEquals(0, log.getJumlahDibuang());
+        }
+        List<CatatanAudit> semua = PembacaAudit.baca(dirTumpah);
+        assertEquals(20_000, semua.size());
+        Set<String> kode = new HashSet<>();
+        semua.forEach(c -> kode.add(c.getKode()));
+        assertEquals(20_000, kode.size());
+        assertEquals(tumpah > 0, !PembacaAudit.daftarTumpahan(dirTumpah).isEmpty());
+    }
+    @Test
+    @DisplayName("Segmen berganti menurut ukuran, ekor sobek diabaikan, pembukaan ulang memulai segmen baru")
+    void testRotasiDanEkorSobek() throws Exception {
+        KonfigurasiAudit k = konfigurasi(ModeDurabilitas.SINKRON, KebijakanPenuh.BLOK, 16);
+        k.setUkuranMaksBerkas(200);
+        try (LogAudit log = new LogAudit(dir, k)) {
+            for (int i = 0; i < 50; i++) {
+                log.catat(JenisAudit.UPDATE_STOK, "SKU" + i, i, i % 2 == 0);
+            }
+        }
+        List<Path> segmen = PembacaAudit.daftarSegmen(dir);
+        assertTrue(segmen.size() > 5);
+        Path terakhir = segmen.get(segmen.size() - 1);
+        Files.write(terakhir, new byte[]{30, 1, 2, 3}, StandardOpenOption.APPEND);
+        List<CatatanAudit> semua = PembacaAudit.baca(dir);
+        assertEquals(50, semua.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("SKU" + i, semua.get(i).getKode());
+            assertEquals(i % 2 == 0, semua.get(i).isBerhasil());
+        }
+        try (LogAudit log = new LogAudit(dir, k)) {
+            log.catat(JenisAudit.HAPUS_PRODUK, "X".repeat(100), 0, false);
+        }
+        List<Path> sesudah = PembacaAudit.daftarSegmen(dir);
+        assertEquals(segmen.size() + 1, sesudah.size());
+        assertEquals("X".repeat(CatatanAudit.MAKS_KODE), PembacaAudit.baca(dir).get(50).getKode());
+    }
+    @Test
+    @DisplayName("ServiceInventarisTeraudit mencatat kelima operasi tulis beserta hasilnya")
+    void testServiceTeraudit() throws IOException {
+        LogAudit log = new LogAudit(dir, new KonfigurasiAudit());
+        ServiceInventarisTeraudit service = new ServiceInventarisTeraudit(new RepositoryProdukMemori(), log);
+        assertTrue(service.tambahProduk(new Produk("LAP001", "Laptop", "Elektronik", 1000, 10, 2)));
+        assertTrue(service.keluarStok("LAP001", 4));
+        assertFalse(service.keluarStok("LAP001", 100));
+        assertTrue(service.masukStok("LAP001", 3));
+        assertTrue(service.updateStok("LAP001", 0));
+        assertTrue(service.hapusProduk("LAP001"));
+        log.close();
+        assertThrows(IllegalStateException.class, () -> log.catat(JenisAudit.HAPUS_PRODUK, "A", 0, true));
+        List<String> ringkas = PembacaAudit.baca(dir).stream()
+                .map(c -> c.getJenis() + ":" + c.getKode() + ":" + c.getNilai() + ":" + c.isBerhasil()).toList();
+        assertEquals(List.of("TAMBAH_PRODUK:LAP001:10:true", "KELUAR_STOK:LAP001:4:true",
+                "KELUAR_STOK:LAP001:100:false", "MASUK_STOK:LAP001:3:true", "UPDATE_STOK:LAP001:0:true",
+                "HAPUS_PRODUK:LAP001:0:true"), ringkas);
+    }
+    // Ubah stok kode-kode dari beberapa thread sekaligus lewat service teraudit
+    private static void ubahSerentak(ServiceInventarisTeraudit service, List<String> kode) throws InterruptedException {
+        List<Thread> daftar = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            daftar.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String k = kode.get(i % kode.size());
+                    switch ((id + i) % 3) {
+                        case 0 -> service.updateStok(k, id * 1000 + i);
+                        case 1 -> service.masukStok(k, 7);
+                        default -> service.keluarStok(k, 40);
+                    }
+                }
+            }));
+        }
+        for (Thread t : daftar) {
+            t.join();
+        }
+    }
+    // Memutar ulang catatan berhasil sesuai urutan baca harus menghasilkan stok akhir setiap kode
+    private static void periksaPutarUlang(Path direktori, RepositoryProdukMemori repo, List<String> kode)
+            throws IOException {
+        Map<String, Integer> stok = new HashMap<>();
+        for (CatatanAudit c : PembacaAudit.baca(direktori)) {
+            if (!c.isBerhasil()) {
+                continue;
+            }
+            String k = c.getKode();
+            switch (c.getJenis()) {
+                case TAMBAH_PRODUK, UPDATE_STOK -> stok.put(k, c.getNilai());
+                case MASUK_STOK -> stok.merge(k, c.getNilai(), Integer::sum);
+                case KELUAR_STOK -> {
+                    assertTrue(stok.get(k) >= c.getNilai(), k);
+                    stok.merge(k, -c.getNilai(), Integer::sum);
+                }
+                default -> fail("Jenis tak terduga " + c.getJenis());
+            }
+        }
+        for (String k : kode) {
+            assertEquals(repo.cariByKode(k).orElseThrow().getStok(), stok.get(k), k);
+        }
+    }
+    @Test
+    @DisplayName("Urutan catatan per kode sama dengan urutan perubahan walau ditulis serentak")
+    void testUrutanPerKode() throws Exception {
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        try (LogAudit log = new LogAudit(dir, konfigurasi(ModeDurabilitas.SINKRON, KebijakanPenuh.BLOK, 1024))) {
+            ServiceInventarisTeraudit service = new ServiceInventarisTeraudit(repo, log);
+            assertTrue(service.tambahProduk(new Produk("LAP001", "Laptop", "Elektronik", 1000, 50, 2)));
+            ubahSerentak(service, List.of("LAP001"));
+        }
+        periksaPutarUlang(dir, repo, List.of("LAP001"));
+    }
+    @Test
+    @DisplayName("TUMPAH: catatan tumpahan digabung menurut urutan ring, juga lintas pembukaan ulang")
+    void testUrutanTumpah() throws Exception {
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        List<String> kode = List.of("LAP001", "LAP002", "LAP003");
+        long tumpah = 0;
+        for (int sesi = 0; sesi < 2; sesi++) {
+            // Ring dua slot: catatan tertumpah setiap kali penulis tertinggal
+            try (LogAudit log = new LogAudit(dir, konfigurasi(ModeDurabilitas.ASINKRON, KebijakanPenuh.TUMPAH, 2))) {
+                ServiceInventarisTeraudit service = new ServiceInventarisTeraudit(repo, log);
+                if (sesi == 0) {
+                    for (String k : kode) {
+                        assertTrue(service.tambahProduk(new Produk(k, "Produk " + k, "Lain", 10, 50, 2)));
+                    }
+                }
+                ubahSerentak(service, kode);
+                tumpah += log.getJumlahTumpah();
+            }
+        }
+        periksaPutarUlang(dir, repo, kode);
+        assertEquals(tumpah > 0, !PembacaAudit.daftarTumpahan(dir).isEmpty());
+        assertTrue(PembacaAudit.daftarTumpahan(dir).size() <= 2);
+    }
+}
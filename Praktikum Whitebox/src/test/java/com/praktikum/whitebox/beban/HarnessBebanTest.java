@@ -0,0 +1,54 @@
+package com.praktikum.whitebox.beban;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("Integration Test - HarnessBeban")
+public class HarnessBebanTest {
+    private static KonfigurasiBeban konfigurasiKecil() {
+        KonfigurasiBeban k = new KonfigurasiBeban();
+        k.setJumlahProduk(1000);
+        k.setJumlahThread(4);
+        k.setDurasiDetik(0.5);
+        return k;
+    }
+    @Test
+    @DisplayName("Laju tetap menghasilkan jumlah operasi sesuai jadwal")
+    void testLajuTetap() throws InterruptedException {
+        KonfigurasiBeban k = konfigurasiKecil();
+        k.setLajuPerDetik(2000);
+        LaporanBeban laporan = new HarnessBeban(k).jalankan();
+        // 2000 op/s x 0,5 s = 1000 operasi terjadwal
+        assertEquals(1000, laporan.getTotalOperasi(), 20);
+        HistogramLatensi lookup = laporan.getLatensi(JenisOperasi.LOOKUP);
+        assertTrue(lookup.getTotal() > 0);
+        assertTrue(lookup.persentil(50) <= lookup.persentil(99));
+        assertTrue(laporan.toString().contains("LOOKUP"));
+    }
+    @Test
+    @DisplayName("Virtual thread tanpa batas laju dan porsi khusus")
+    void testVirtualThreadTanpaBatas() throws InterruptedException {
+        KonfigurasiBeban k = konfigurasiKecil();
+        k.setVirtualThread(true);
+        k.setPorsi(JenisOperasi.AGREGAT, 0);
+        k.setPorsi(JenisOperasi.QUOTE, 0);
+        LaporanBeban laporan = new HarnessBeban(k).jalankan();
+        assertTrue(laporan.getTotalOperasi() > 1000);
+        assertEquals(0, laporan.getLatensi(JenisOperasi.AGREGAT).getTotal());
+        assertEquals(laporan.getTotalOperasi() / laporan.getDurasiDetik(), laporan.getThroughputTotal(), 1e-6);
+        assertTrue(laporan.getDurasiDetik() >= 0.5);
+        assertTrue(laporan.getLayanan(JenisOperasi.MASUK).getTotal() > 0);
+    }
+    @Test
+    @DisplayName("Konfigurasi tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        KonfigurasiBeban k = konfigurasiKecil();
+        for (JenisOperasi jenis : JenisOperasi.values()) {
+            k.setPorsi(jenis, 0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new HarnessBeban(k));
+        assertThrows(IllegalArgumentException.class, () -> k.setPorsi(JenisOperasi.LOOKUP, -1));
+        KonfigurasiBeban k2 = konfigurasiKecil();
+        k2.setJumlahThread(0);
+        assertThrows(IllegalArgumentException.class, k2::validasi);
+    }
+}
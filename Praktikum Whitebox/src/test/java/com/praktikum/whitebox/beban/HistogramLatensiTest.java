@@ -0,0 +1,60 @@
+package com.praktikum.whitebox.beban;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - HistogramLatensi dan GeneratorZipf")
+public class HistogramLatensiTest {
+    @Test
+    @DisplayName("Persentil nilai kecil dicatat persis")
+    void testNilaiKecilPersis() {
+        HistogramLatensi h = new HistogramLatensi();
+        for (int i = 1; i <= 100; i++) {
+            h.catat(i);
+        }
+        assertEquals(50, h.persentil(50));
+        assertEquals(99, h.persentil(99));
+        assertEquals(100, h.persentil(100));
+        assertEquals(1, h.getMin());
+        assertEquals(50.5, h.getRataRata(), 1e-9);
+    }
+    @Test
+    @DisplayName("Presisi relatif nilai besar di bawah 2%")
+    void testPresisiRelatif() {
+        for (long v : new long[]{1_000, 123_456, 9_876_543_210L, Long.MAX_VALUE / 3}) {
+            int i = HistogramLatensi.indeks(v);
+            long atas = HistogramLatensi.batasAtas(i);
+            assertTrue(atas >= v);
+            assertTrue((atas - v) / (double) v < 0.02, "nilai " + v);
+        }
+    }
+    @Test
+    @DisplayName("Gabung histogram dan kasus kosong")
+    void testGabung() {
+        HistogramLatensi a = new HistogramLatensi();
+        HistogramLatensi b = new HistogramLatensi();
+        assertEquals(0, a.persentil(99));
+        assertEquals(0, a.getMin());
+        assertEquals(0, a.getRataRata());
+        a.catat(10);
+        b.catat(1_000_000);
+        b.catat(-5);
+        a.gabung(b);
+        assertEquals(3, a.getTotal());
+        assertEquals(0, a.getMin());
+        assertEquals(1_000_000, a.getMaks());
+        assertEquals(1_000_000, a.persentil(100));
+    }
+    @Test
+    @DisplayName("GeneratorZipf condong ke peringkat awal")
+    void testZipf() {
+        GeneratorZipf zipf = new GeneratorZipf(1000, 1.0);
+        int[] hitungan = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            hitungan[zipf.berikutnya()]++;
+        }
+        assertTrue(hitungan[0] > hitungan[1]);
+        assertTrue(hitungan[0] > 10 * hitungan[500]);
+        assertEquals(1000, zipf.ukuran());
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorZipf(0, 1));
+    }
+}
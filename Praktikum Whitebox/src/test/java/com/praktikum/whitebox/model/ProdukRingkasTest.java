@@ -0,0 +1,102 @@
+package com.praktikum.whitebox.model;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("Test Class ProdukRingkas dan KamusKategori - White Box Testing")
+public class ProdukRingkasTest {
+    private KamusKategori kamus;
+    private Produk produk;
+    @BeforeEach
+    void setUp() {
+        kamus = new KamusKategori();
+        produk = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+    }
+    @Test
+    @DisplayName("Konversi Produk -> ProdukRingkas -> Produk tidak kehilangan data")
+    void testKonversiBolakBalik() {
+        produk.setAktif(false);
+        ProdukRingkas ringkas = ProdukRingkas.dari(produk, kamus);
+        Produk hasil = ringkas.keProduk();
+        assertEquals(produk.getKode(), hasil.getKode());
+        assertEquals(produk.getNama(), hasil.getNama());
+        assertEquals(produk.getKategori(), hasil.getKategori());
+        assertEquals(produk.getHarga(), hasil.getHarga());
+        assertEquals(produk.getStok(), hasil.getStok());
+        assertEquals(produk.getStokMinimum(), hasil.getStokMinimum());
+        assertFalse(hasil.isAktif());
+    }
+    @Test
+    @DisplayName("Kategori dengan nama sama berbagi satu instance")
+    void testKategoriDiintern() {
+        Produk lain = new Produk("PROD002", "Mouse", new String("Elektronik"), 150000, 3, 1);
+        ProdukRingkas r1 = ProdukRingkas.dari(produk, kamus);
+        ProdukRingkas r2 = ProdukRingkas.dari(lain, kamus);
+        assertSame(r1.getKategori(), r2.getKategori());
+        assertEquals(1, kamus.jumlah());
+    }
+    @Test
+    @DisplayName("Kategori terdaftar dipakai ulang saat intern")
+    void testKategoriTerdaftar() {
+        Kategori elektronik = new Kategori("KTG001", "Elektronik", "Barang elektronik");
+        assertSame(elektronik, kamus.daftarkan(elektronik));
+        assertSame(elektronik, kamus.daftarkan(new Kategori("KTG009", "Elektronik", null)));
+        assertSame(elektronik, ProdukRingkas.dari(produk, kamus).getKategori());
+        assertThrows(IllegalArgumentException.class, () -> kamus.daftarkan(null));
+        assertNull(kamus.intern(null));
+    }
+    @Test
+    @DisplayName("Perubahan stok menghasilkan instance baru tanpa mengubah yang lama")
+    void testCopyOnWrite() {
+        ProdukRingkas awal = ProdukRingkas.dari(produk, kamus);
+        ProdukRingkas dikurangi = awal.kurangiStok(4);
+        ProdukRingkas ditambah = awal.tambahStok(5);
+        assertEquals(10, awal.getStok());
+        assertEquals(6, dikurangi.getStok());
+        assertEquals(15, ditambah.getStok());
+        assertSame(awal, awal.denganStok(10));
+        assertSame(awal, awal.denganAktif(true));
+        assertFalse(awal.denganAktif(false).isAktif());
+        assertEquals("Stok tidak mencukupi",
+                assertThrows(IllegalArgumentException.class, () -> awal.kurangiStok(11)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> awal.kurangiStok(0));
+        assertThrows(IllegalArgumentException.class, () -> awal.tambahStok(-1));
+        assertEquals(Integer.MAX_VALUE, awal.tambahStok(Integer.MAX_VALUE - 10).getStok());
+        assertEquals("Stok melebihi batas maksimum",
+                assertThrows(IllegalArgumentException.class, () -> awal.tambahStok(Integer.MAX_VALUE - 9)).getMessage());
+    }
+    @Test
+    @DisplayName("Update stok copy-on-write di ConcurrentMap")
+    void testUpdateDiConcurrentMap() {
+        ConcurrentMap<String, ProdukRingkas> peta = new ConcurrentHashMap<>();
+        ProdukRingkas awal = ProdukRingkas.dari(produk, kamus);
+        peta.put(awal.getKode(), awal);
+        peta.computeIfPresent("PROD001", (k, p) -> p.kurangiStok(3));
+        peta.computeIfPresent("PROD001", (k, p) -> p.tambahStok(1));
+        assertEquals(8, peta.get("PROD001").getStok());
+        assertEquals(10, awal.getStok());
+    }
+    @Test
+    @DisplayName("Status stok sama dengan Produk")
+    void testStatusStok() {
+        ProdukRingkas r = ProdukRingkas.dari(produk, kamus);
+        assertTrue(r.isStokAman());
+        assertTrue(r.denganStok(5).isStokMenipis());
+        assertTrue(r.denganStok(0).isStokHabis());
+        assertEquals(150000000.0, r.hitungNilaiInventaris());
+    }
+    @Test
+    @DisplayName("equals dan hashCode konsisten dengan Produk")
+    void testEqualsHashCode() {
+        ProdukRingkas r = ProdukRingkas.dari(produk, kamus);
+        assertEquals(produk.hashCode(), r.hashCode());
+        assertEquals(r, r.denganStok(1));
+        assertNotEquals(r, ProdukRingkas.dari(new Produk("PROD002", "X", "Y", 1, 1, 1), kamus));
+        assertNotEquals(r, null);
+        assertNotEquals(r, produk);
+        assertTrue(r.toString().contains("PROD001"));
+        assertTrue(r.toString().contains("Elektronik"));
+    }
+}
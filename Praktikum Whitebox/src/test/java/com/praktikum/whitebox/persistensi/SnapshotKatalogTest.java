@@ -0,0 +1,123 @@
+package com.praktikum.whitebox.persistensi;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - Snapshot Katalog Biner")
+public class SnapshotKatalogTest {
+    @TempDir
+    Path dir;
+    private static List<Produk> buatProduk(int jumlah) {
+        Random acak = new Random(7);
+        String[] kategori = {"Elektronik", "Pakaian", "Makanan", null};
+        List<Produk> hasil = new ArrayList<>();
+        for (int i = jumlah - 1; i >= 0; i--) {
+            Produk p = new Produk("SKU" + i, i % 11 == 0 ? null : "Produk " + i, kategori[acak.nextInt(4)],
+                    acak.nextDouble() * 1000, acak.nextInt(200) - 5, acak.nextInt(20));
+            p.setAktif(i % 3 != 0);
+            hasil.add(p);
+        }
+        hasil.add(new Produk("Ünïcode-商品", "Kopi ☕ Gayo", "Minuman", 42.5, Integer.MAX_VALUE, Integer.MIN_VALUE));
+        return hasil;
+    }
+    private static void samaPersis(Produk a, Produk b) {
+        assertEquals(a.getKode(), b.getKode());
+        assertEquals(a.getNama(), b.getNama());
+        assertEquals(a.getKategori(), b.getKategori());
+        assertEquals(a.getHarga(), b.getHarga());
+        assertEquals(a.getStok(), b.getStok());
+        assertEquals(a.getStokMinimum(), b.getStokMinimum());
+        assertEquals(a.isAktif(), b.isAktif());
+    }
+    private Path tulis(List<Produk> produk, List<Kategori> kategori) throws IOException {
+        Path berkas = dir.resolve("katalog.snap");
+        new PenulisSnapshot(100).tulis(berkas, produk, kategori);
+        return berkas;
+    }
+    @Test
+    @DisplayName("Round trip beberapa chunk, nilai null dan unicode")
+    void testRoundTrip() throws IOException {
+        List<Produk> produk = buatProduk(1234);
+        Kategori induk = new Kategori("K1", "Elektronik", null);
+        Kategori anak = new Kategori("K2", "Laptop", "Komputer ✓");
+        anak.setKodeInduk("K1");
+        anak.setAktif(false);
+        Path berkas = tulis(produk, List.of(induk, anak));
+        assertFalse(Files.exists(dir.resolve("katalog.snap.tmp")));
+        IsiSnapshot isi = new PemuatSnapshot().muat(berkas);
+        List<Produk> terurut = new ArrayList<>(produk);
+        terurut.sort(Comparator.comparing(Produk::getKode));
+        assertEquals(terurut.size(), isi.getProduk().size());
+        for (int i = 0; i < terurut.size(); i++) {
+            samaPersis(terurut.get(i), isi.getProduk().get(i));
+        }
+        assertEquals(2, isi.getKategori().size());
+        Kategori k = isi.getKategori().get(1);
+        assertEquals("K2", k.getKode());
+        assertEquals("Komputer ✓", k.getDeskripsi());
+        assertEquals("K1", k.getKodeInduk());
+        assertFalse(k.isAktif());
+        assertNull(isi.getKategori().get(0).getDeskripsi());
+        // Kamus kategori dan kode front-coded membuat record jauh lebih kecil dari teksnya
+        assertTrue(Files.size(berkas) < produk.size() * 32L, "ukuran " + Files.size(berkas));
+    }
+    @Test
+    @DisplayName("Katalog kosong dan muat ke repository")
+    void testKosongDanMuatKe() throws IOException {
+        Path berkas = tulis(List.of(), List.of());
+        IsiSnapshot isi = new PemuatSnapshot().muat(berkas);
+        assertTrue(isi.getProduk().isEmpty());
+        assertTrue(isi.getKategori().isEmpty());
+        berkas = tulis(buatProduk(500), List.of());
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        assertEquals(501, new PemuatSnapshot().muatKe(berkas, repo));
+        assertEquals(501, repo.cariSemua().size());
+        assertEquals("Kopi ☕ Gayo", repo.cariByKode("Ünïcode-商品").orElseThrow().getNama());
+    }
+    @Test
+    @DisplayName("Byte rusak di chunk atau footer terdeteksi checksum")
+    void testKorupsiTerdeteksi() throws IOException {
+        Path berkas = tulis(buatProduk(300), List.of(new Kategori("K1", "A", "B")));
+        byte[] asli = Files.readAllBytes(berkas);
+        byte[] rusak = asli.clone();
+        rusak[FormatSnapshot.UKURAN_HEADER + 40] ^= 0x10;
+        Files.write(berkas, rusak);
+        IOException e = assertThrows(IOException.class, () -> new PemuatSnapshot().muat(berkas));
+        assertTrue(e.getMessage().contains("chunk 0"), e.getMessage());
+        rusak = asli.clone();
+        rusak[rusak.length - FormatSnapshot.UKURAN_TRAILER - 6] ^= 0x01;
+        Files.write(berkas, rusak);
+        e = assertThrows(IOException.class, () -> new PemuatSnapshot().muat(berkas));
+        assertTrue(e.getMessage().contains("footer"), e.getMessage());
+        Files.write(berkas, new byte[4]);
+        assertThrows(IOException.class, () -> new PemuatSnapshot().muat(berkas));
+    }
+    @Test
+    @DisplayName("Magic dan versi yang tidak dikenal ditolak")
+    void testMagicDanVersi() throws IOException {
+        Path berkas = tulis(buatProduk(10), List.of());
+        byte[] asli = Files.readAllBytes(berkas);
+        byte[] versiBaru = asli.clone();
+        ByteBuffer.wrap(versiBaru).order(ByteOrder.LITTLE_ENDIAN).putShort(4, (short) (FormatSnapshot.VERSI + 1));
+        Files.write(berkas, versiBaru);
+        IOException e = assertThrows(IOException.class, () -> new PemuatSnapshot().muat(berkas));
+        assertTrue(e.getMessage().contains("Versi"));
+        byte[] bukanSnapshot = asli.clone();
+        bukanSnapshot[0] = 'X';
+        Files.write(berkas, bukanSnapshot);
+        assertThrows(IOException.class, () -> new PemuatSnapshot().muat(berkas));
+        assertThrows(IllegalArgumentException.class, () -> new PenulisSnapshot(0));
+    }
+}
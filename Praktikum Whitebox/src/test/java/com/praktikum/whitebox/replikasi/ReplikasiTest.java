@@ -0,0 +1,209 @@
+package com.praktikum.whitebox.replikasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.server.ServerInventaris;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("Integration Test - Replikasi pemimpin-pengikut")
+public class ReplikasiTest {
+    private static final long TUNGGU_MS = 10_000;
+    private final List<AutoCloseable> tutup = new ArrayList<>();
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable c : tutup) {
+            c.close();
+        }
+    }
+    private RepositoryPemimpin pemimpin(int retensi) throws IOException {
+        RepositoryPemimpin p = new RepositoryPemimpin(new RepositoryProdukMemori(), 0, retensi);
+        tutup.add(p);
+        return p;
+    }
+    private RepositoryPengikut pengikut(RepositoryPemimpin p) {
+        RepositoryPengikut f = new RepositoryPengikut("localhost", p.getPort());
+        tutup.add(0, f);
+        return f;
+    }
+    private static List<String> ringkas(List<Produk> daftar) {
+        return daftar.stream().sorted(Comparator.comparing(Produk::getKode))
+                .map(p -> p.getKode() + ":" + p.getStok() + ":" + p.isAktif()).toList();
+    }
+    private static void isiProduk(RepositoryPemimpin p, int dari, int sampai) {
+        for (int i = dari; i < sampai; i++) {
+            p.simpan(new Produk("SKU" + i, "Produk " + i, "Kategori " + (i % 5), 10 + i, i % 20, 5));
+        }
+    }
+    @Test
+    @DisplayName("Pengikut menerapkan log berurutan dan melayani baca lokal")
+    void testPengikutMengikutiLog() throws Exception {
+        RepositoryPemimpin p = pemimpin(1 << 16);
+        RepositoryPengikut f1 = pengikut(p);
+        RepositoryPengikut f2 = pengikut(p);
+        isiProduk(p, 0, 2000);
+        for (int i = 0; i < 2000; i += 3) {
+            p.updateStok("SKU" + i, i * 2);
+        }
+        p.hapus("SKU7");
+        Produk nonaktif = p.cariByKode("SKU8").orElseThrow();
+        nonaktif.setAktif(false);
+        p.simpan(nonaktif);
+        assertFalse(p.updateStok("TIDAK_ADA", 1));
+        long offset = p.getOffsetBerikut();
+        assertTrue(f1.tungguSampai(offset, TUNGGU_MS));
+        assertTrue(f2.tungguSampai(offset, TUNGGU_MS));
+        assertEquals(ringkas(p.cariSemua()), ringkas(f1.cariSemua()));
+        assertEquals(ringkas(p.cariSemua()), ringkas(f2.cariSemua()));
+        assertEquals(p.hitungTotalStok(), f1.hitungTotalStok());
+        assertTrue(f1.cariByKode("SKU7").isEmpty());
+        assertEquals(p.cariProdukStokHabis().size(), f2.cariProdukStokHabis().size());
+        assertEquals(offset, f1.getOffsetBerikut());
+        // Ack pengikut sampai ke pemimpin
+        long batas = System.currentTimeMillis() + TUNGGU_MS;
+        while (!p.getOffsetPengikut().stream().allMatch(o -> o == offset) && System.currentTimeMillis() < batas) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(offset, offset), p.getOffsetPengikut());
+    }
+    @Test
+    @DisplayName("Pengikut yang tertinggal di luar retensi mengejar lewat snapshot lalu log")
+    void testKejarLewatSnapshot() throws Exception {
+        RepositoryPemimpin p = pemimpin(64);
+        isiProduk(p, 0, 1000);
+        // Pengikut baru selalu mulai dari snapshot karena belum mengenal sesi pemimpin
+        RepositoryPengikut f = pengikut(p);
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        assertEquals(1000, f.cariSemua().size());
+        assertEquals(1, f.getJumlahSnapshot());
+        isiProduk(p, 1000, 1010);
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        assertEquals(1, f.getJumlahSnapshot());
+        // Sesi sama, tetapi offset pengikut sudah keluar dari retensi log saat tersambung ulang
+        f.tahanSambung(true);
+        f.putuskan();
+        long offsetPengikut = f.getOffsetBerikut();
+        isiProduk(p, 1010, 1200);
+        p.updateStok("SKU3", 99);
+        p.hapus("SKU5");
+        assertTrue(p.getOffsetBerikut() - offsetPengikut > 64);
+        f.tahanSambung(false);
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        assertEquals(2, f.getJumlahSnapshot());
+        assertEquals(99, f.cariByKode("SKU3").orElseThrow().getStok());
+        assertTrue(f.cariByKode("SKU5").isEmpty());
+        assertEquals(ringkas(p.cariSemua()), ringkas(f.cariSemua()));
+        // Setelah snapshot, log dilanjutkan tanpa snapshot baru
+        p.updateStok("SKU4", 44);
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        assertEquals(44, f.cariByKode("SKU4").orElseThrow().getStok());
+        assertEquals(2, f.getJumlahSnapshot());
+    }
+    @Test
+    @DisplayName("Snapshot yang diambil selagi penulis serentak berjalan tetap konvergen")
+    void testSnapshotSaatPenulisanSerentak() throws Exception {
+        RepositoryPemimpin p = pemimpin(1 << 16);
+        isiProduk(p, 0, 2000);
+        List<Thread> penulis = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            penulis.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 3000; i++) {
+                    int sku = (i * 7 + id * 13) % 2100;
+                    switch (i % 4) {
+                        case 0 -> p.hapus("SKU" + sku);
+                        case 1 -> p.simpan(new Produk("SKU" + sku, "Produk " + sku, "Kategori 1", 10, id, 5));
+                        default -> p.updateStok("SKU" + sku, id * 10_000 + i);
+                    }
+                }
+            }));
+        }
+        // Pengikut baru mulai dari snapshot yang diambil di tengah penulisan
+        RepositoryPengikut f = pengikut(p);
+        for (Thread t : penulis) {
+            t.join();
+        }
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        assertEquals(1, f.getJumlahSnapshot());
+        assertEquals(ringkas(p.cariSemua()), ringkas(f.cariSemua()));
+    }
+    @Test
+    @DisplayName("Pengikut tersambung ulang dan melanjutkan dari offset terakhir")
+    void testTersambungUlang() throws Exception {
+        RepositoryPemimpin p = pemimpin(1 << 16);
+        RepositoryPengikut f = pengikut(p);
+        isiProduk(p, 0, 100);
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        f.putuskan();
+        isiProduk(p, 100, 300);
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        assertEquals(300, f.cariSemua().size());
+        assertTrue(f.isTersambung());
+        // Masih dalam retensi: dilanjutkan dari log, bukan snapshot baru
+        assertEquals(1, f.getJumlahSnapshot());
+    }
+    @Test
+    @DisplayName("Pengikut menolak penulisan, lewat HTTP dengan 409")
+    void testPengikutHanyaBaca() throws Exception {
+        RepositoryPemimpin p = pemimpin(16);
+        isiProduk(p, 0, 5);
+        RepositoryPengikut f = pengikut(p);
+        assertThrows(UnsupportedOperationException.class, () -> f.simpan(new Produk()));
+        assertThrows(UnsupportedOperationException.class, () -> f.hapus("SKU1"));
+        assertThrows(UnsupportedOperationException.class, () -> f.updateStok("SKU1", 1));
+        assertThrows(IllegalArgumentException.class, () -> new LogMutasi(0));
+        assertTrue(f.tungguSampai(p.getOffsetBerikut(), TUNGGU_MS));
+        ServerInventaris server = new ServerInventaris(new ServiceInventaris(f), new KalkulatorDiskon(), 0);
+        server.mulai();
+        tutup.add(0, server::berhenti);
+        HttpResponse<String> r = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getPort() + "/produk/SKU1/keluar?jumlah=1"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(409, r.statusCode());
+        assertTrue(r.body().contains("pemimpin"), r.body());
+        assertNull(p.getGalatTerima());
+    }
+    @Test
+    @DisplayName("Pengikut di JVM terpisah mereplikasi dan melayani baca lewat HTTP")
+    void testPengikutJvmTerpisah() throws Exception {
+        RepositoryPemimpin p = pemimpin(1 << 16);
+        isiProduk(p, 0, 50);
+        int portHttp;
+        try (ServerSocket s = new ServerSocket(0)) {
+            portHttp = s.getLocalPort();
+        }
+        String kelas = Path.of(NodeReplikasi.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process proses = new ProcessBuilder(java, "-cp", kelas, NodeReplikasi.class.getName(),
+                "pengikut", "localhost", String.valueOf(p.getPort()), String.valueOf(portHttp))
+                .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        tutup.add(0, proses::destroy);
+        p.updateStok("SKU42", 4242);
+        HttpClient klien = HttpClient.newHttpClient();
+        HttpRequest permintaan = HttpRequest.newBuilder(URI.create("http://localhost:" + portHttp + "/produk/SKU42")).build();
+        String badan = "";
+        long batas = System.currentTimeMillis() + 30_000;
+        while (!badan.contains("\"stok\":4242") && System.currentTimeMillis() < batas) {
+            try {
+                badan = klien.send(permintaan, HttpResponse.BodyHandlers.ofString()).body();
+            } catch (IOException e) {
+                // JVM pengikut belum siap
+            }
+            Thread.sleep(100);
+        }
+        assertTrue(badan.contains("\"stok\":4242"), badan);
+    }
+}
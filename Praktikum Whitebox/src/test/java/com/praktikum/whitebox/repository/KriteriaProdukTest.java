@@ -0,0 +1,172 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+@DisplayName("White Box Test - KriteriaProduk dan PerencanaKueri")
+public class KriteriaProdukTest {
+    private static final String[] KATEGORI = {"Elektronik", "Pakaian", "Makanan", "Mainan"};
+    private RepositoryProdukMemori repo;
+    private RepositoryProduk naif;
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMemori();
+        Random acak = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            Produk p = new Produk("SKU" + i, "Produk " + i, KATEGORI[acak.nextInt(KATEGORI.length)],
+                    1 + acak.nextInt(1000), acak.nextInt(30), acak.nextInt(10));
+            p.setAktif(acak.nextInt(5) != 0);
+            repo.simpan(p);
+        }
+        // Pembanding: implementasi default RepositoryProduk.cari (pindai penuh)
+        naif = mock(RepositoryProduk.class, CALLS_REAL_METHODS);
+        doAnswer(inv -> repo.cariSemua()).when(naif).cariSemua();
+    }
+    private static List<String> kode(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).toList();
+    }
+    private void samaDenganPindaiPenuh(KriteriaProduk kriteria) {
+        assertEquals(kode(naif.cari(kriteria)), kode(repo.cari(kriteria)), kriteria.toString());
+    }
+    @Test
+    @DisplayName("Gabungan kategori, harga, status dan aktif sama dengan pindai penuh")
+    void testGabunganSamaDenganPindaiPenuh() {
+        for (String kategori : KATEGORI) {
+            for (StatusStok status : StatusStok.values()) {
+                samaDenganPindaiPenuh(KriteriaProduk.semua().kategori(kategori)
+                        .hargaAntara(100, 600).status(status).aktif(true));
+                samaDenganPindaiPenuh(KriteriaProduk.semua().kategori(kategori).status(status)
+                        .urutkan(UrutanProduk.NILAI_TURUN).lewati(3).batasi(7));
+            }
+        }
+        samaDenganPindaiPenuh(KriteriaProduk.semua().hargaAntara(10, 20).urutkan(UrutanProduk.HARGA_TURUN));
+        samaDenganPindaiPenuh(KriteriaProduk.semua().aktif(false).urutkan(UrutanProduk.STOK_NAIK).batasi(10));
+        samaDenganPindaiPenuh(KriteriaProduk.semua().urutkan(UrutanProduk.STOK_TURUN).lewati(1990).batasi(50));
+        samaDenganPindaiPenuh(KriteriaProduk.semua().urutkan(UrutanProduk.HARGA_NAIK).lewati(5000));
+        samaDenganPindaiPenuh(KriteriaProduk.semua().batasi(0));
+    }
+    @Test
+    @DisplayName("Perencana memilih indeks paling selektif")
+    void testPilihIndeks() {
+        assertNull(repo.rencanaKueri(KriteriaProduk.semua().urutkan(UrutanProduk.STOK_NAIK)));
+        assertInstanceOf(IndeksBitmap.class, repo.rencanaKueri(KriteriaProduk.semua().aktif(false)));
+        assertInstanceOf(IndeksBitmap.class, repo.rencanaKueri(KriteriaProduk.semua().kategori("Elektronik")));
+        assertInstanceOf(IndeksBitmap.class, repo.rencanaKueri(KriteriaProduk.semua().status(StatusStok.HABIS)));
+        // Kategori yang tidak ada: indeks bitmap menghasilkan 0 kandidat
+        assertInstanceOf(IndeksBitmap.class, repo.rencanaKueri(
+                KriteriaProduk.semua().kategori("Tidak Ada").status(StatusStok.AMAN)));
+        assertTrue(repo.cari(KriteriaProduk.semua().kategori("Tidak Ada")).isEmpty());
+    }
+    @Test
+    @DisplayName("Indeks mengikuti perubahan stok, kategori dan penghapusan")
+    void testIndeksMengikutiPerubahan() {
+        repo.simpan(new Produk("BARU1", "Baru", "Perkakas", 50, 0, 1));
+        assertEquals(List.of("BARU1"), kode(repo.cariByKategori("Perkakas")));
+        assertTrue(kode(repo.cariProdukStokHabis()).contains("BARU1"));
+        repo.updateStok("BARU1", 1);
+        assertFalse(kode(repo.cariProdukStokHabis()).contains("BARU1"));
+        assertTrue(kode(repo.cariProdukStokMenipis()).contains("BARU1"));
+        repo.simpan(new Produk("BARU1", "Baru", "Mainan", 50, 1, 1));
+        assertTrue(repo.cariByKategori("Perkakas").isEmpty());
+        repo.hapus("BARU1");
+        assertFalse(kode(repo.cariProdukStokMenipis()).contains("BARU1"));
+        assertTrue(repo.cariByKategori(null).isEmpty());
+    }
+    @Test
+    @DisplayName("Rentang harga dan top-N nilai memakai indeks terurut dan mengikuti update stok")
+    void testRentangHargaDanNilaiTertinggi() {
+        assertInstanceOf(IndeksHarga.class, repo.rencanaKueri(KriteriaProduk.semua().hargaAntara(10, 20)));
+        assertInstanceOf(IndeksHarga.class, repo.rencanaKueri(
+                KriteriaProduk.semua().kategori("Pakaian").hargaAntara(100, 150)));
+        assertInstanceOf(IndeksNilai.class, repo.rencanaKueri(
+                KriteriaProduk.semua().urutkan(UrutanProduk.NILAI_TURUN).batasi(100)));
+        for (String kategori : KATEGORI) {
+            samaDenganPindaiPenuh(KriteriaProduk.semua().kategori(kategori).hargaAntara(250, 400)
+                    .urutkan(UrutanProduk.HARGA_NAIK).lewati(2).batasi(15));
+            assertEquals(kode(naif.cariByRentangHarga(kategori, 100, 300)),
+                    kode(repo.cariByRentangHarga(kategori, 100, 300)));
+        }
+        samaDenganPindaiPenuh(KriteriaProduk.semua().urutkan(UrutanProduk.HARGA_NAIK).batasi(40).aktif(false));
+        assertEquals(kode(naif.cariNilaiTertinggi(100)), kode(repo.cariNilaiTertinggi(100)));
+        // Stok besar membuat produk naik ke posisi teratas; stok nol menurunkannya
+        String atas = repo.cariNilaiTertinggi(1).get(0).getKode();
+        repo.updateStok("SKU7", 100000);
+        assertEquals("SKU7", repo.cariNilaiTertinggi(1).get(0).getKode());
+        repo.updateStok("SKU7", 0);
+        assertEquals(atas, repo.cariNilaiTertinggi(1).get(0).getKode());
+        samaDenganPindaiPenuh(KriteriaProduk.semua().urutkan(UrutanProduk.NILAI_TURUN).lewati(10).batasi(25).aktif(true));
+        repo.hapus(atas);
+        assertEquals(kode(naif.cariNilaiTertinggi(50)), kode(repo.cariNilaiTertinggi(50)));
+        assertTrue(repo.cariByRentangHarga("Tidak Ada", 0, 1000).isEmpty());
+    }
+    @Test
+    @DisplayName("Top-N nilai tetap sama dengan pindai penuh setelah updateStok serentak")
+    void testNilaiTertinggiSetelahUpdateSerentak() throws InterruptedException {
+        List<Thread> daftar = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            daftar.add(Thread.ofPlatform().start(() -> {
+                Random acak = new Random(id);
+                for (int i = 0; i < 5_000; i++) {
+                    repo.updateStok("SKU" + (id + 4 * acak.nextInt(500)), acak.nextInt(100));
+                }
+            }));
+        }
+        for (Thread t : daftar) {
+            t.join();
+        }
+        assertEquals(kode(naif.cariNilaiTertinggi(200)), kode(repo.cariNilaiTertinggi(200)));
+        samaDenganPindaiPenuh(KriteriaProduk.semua().urutkan(UrutanProduk.NILAI_TURUN).batasi(2000));
+    }
+    @Test
+    @DisplayName("Indeks bitmap tetap sama dengan pindai penuh setelah mutasi serentak")
+    void testBitmapSetelahMutasiSerentak() throws InterruptedException {
+        List<Thread> daftar = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            daftar.add(Thread.ofPlatform().start(() -> {
+                Random acak = new Random(100 + id);
+                for (int i = 0; i < 5_000; i++) {
+                    String kode = "SKU" + (id + 4 * acak.nextInt(600));
+                    int pilihan = acak.nextInt(10);
+                    if (pilihan == 0) {
+                        repo.hapus(kode);
+                    } else if (pilihan < 3) {
+                        Produk p = new Produk(kode, "Produk", KATEGORI[acak.nextInt(KATEGORI.length)],
+                                1 + acak.nextInt(1000), acak.nextInt(30), acak.nextInt(10));
+                        p.setAktif(acak.nextBoolean());
+                        repo.simpan(p);
+                    } else {
+                        repo.updateStok(kode, acak.nextInt(12));
+                    }
+                }
+            }));
+        }
+        for (Thread t : daftar) {
+            t.join();
+        }
+        for (String kategori : KATEGORI) {
+            for (StatusStok status : StatusStok.values()) {
+                samaDenganPindaiPenuh(KriteriaProduk.semua().kategori(kategori).status(status).aktif(true));
+                samaDenganPindaiPenuh(KriteriaProduk.semua().kategori(kategori).status(status).aktif(false));
+            }
+        }
+    }
+    @Test
+    @DisplayName("Validasi parameter kriteria")
+    void testValidasi() {
+        assertThrows(IllegalArgumentException.class, () -> KriteriaProduk.semua().hargaAntara(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> KriteriaProduk.semua().lewati(-1));
+        assertThrows(IllegalArgumentException.class, () -> KriteriaProduk.semua().batasi(-1));
+        KriteriaProduk k = KriteriaProduk.semua().urutkan(null);
+        assertEquals(UrutanProduk.KODE, k.getUrutan());
+        assertFalse(k.isRentangHarga());
+        assertTrue(k.hargaAntara(1, 2).isRentangHarga());
+    }
+}
@@ -0,0 +1,155 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+@DisplayName("White Box Test - LogPerubahanProduk (change data capture)")
+public class LogPerubahanProdukTest {
+    private static List<String> kode(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).toList();
+    }
+    // Terapkan delta ke salinan hilir seperti yang dilakukan konsumen
+    private static long terapkan(Map<String, Produk> salinan, PerubahanProduk p) {
+        if (p.isSinkronPenuh()) {
+            salinan.clear();
+        }
+        for (Produk produk : p.getDiubah()) {
+            salinan.put(produk.getKode(), produk);
+        }
+        for (String kode : p.getDihapus()) {
+            salinan.remove(kode);
+        }
+        return p.getVersi();
+    }
+    @Test
+    @DisplayName("Hanya produk yang berubah dan tombstone yang dikirim, urut versi")
+    void testDeltaDanTombstone() {
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        for (int i = 0; i < 10; i++) {
+            repo.simpan(new Produk("P" + i, "Produk " + i, "Umum", 100, 10, 2));
+        }
+        PerubahanProduk awal = repo.perubahanSejak(0);
+        assertEquals(10, awal.getVersi());
+        assertEquals(10, awal.getDiubah().size());
+        assertFalse(awal.isSinkronPenuh());
+        repo.updateStok("P3", 1);
+        repo.hapus("P5");
+        repo.updateStok("P1", 7);
+        repo.updateStok("P3", 0);
+        PerubahanProduk delta = repo.perubahanSejak(awal.getVersi());
+        assertEquals(14, delta.getVersi());
+        // P3 diubah dua kali tetapi hanya keadaan terakhirnya yang dikirim
+        assertEquals(List.of("P1", "P3"), kode(delta.getDiubah()));
+        assertEquals(0, delta.getDiubah().get(1).getStok());
+        assertEquals(List.of("P5"), delta.getDihapus());
+        assertTrue(repo.perubahanSejak(14).getDiubah().isEmpty());
+        // Produk dibuat ulang menggantikan tombstone-nya
+        repo.simpan(new Produk("P5", "Kembali", "Umum", 100, 10, 2));
+        delta = repo.perubahanSejak(14);
+        assertEquals(List.of("P5"), kode(delta.getDiubah()));
+        assertTrue(delta.getDihapus().isEmpty());
+        assertEquals(0, repo.getLogPerubahan().jumlahTombstone());
+        assertThrows(IllegalArgumentException.class, () -> repo.perubahanSejak(-1));
+        // Versi dari log lain (di depan log ini) memaksa sinkron penuh
+        assertTrue(repo.perubahanSejak(1000).isSinkronPenuh());
+        assertFalse(repo.updateStok("TIDAK-ADA", 1));
+        assertEquals(15, repo.getLogPerubahan().getVersi());
+    }
+    @Test
+    @DisplayName("Kompaksi tombstone memaksa konsumen tertinggal melakukan sinkron penuh")
+    void testKompaksi() {
+        LogPerubahanProduk log = new LogPerubahanProduk(2);
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        repo.tambahPendengar(log);
+        for (int i = 0; i < 5; i++) {
+            repo.simpan(new Produk("P" + i, "Produk " + i, "Umum", 100, 10, 2));
+        }
+        repo.hapus("P0");
+        repo.hapus("P1");
+        assertEquals(0, log.getVersiKompaksi());
+        repo.hapus("P2");
+        // Batas 2 tombstone: tombstone P0 (versi 6) dipangkas
+        assertEquals(6, log.getVersiKompaksi());
+        assertEquals(2, log.jumlahTombstone());
+        PerubahanProduk tertinggal = log.perubahanSejak(5);
+        assertTrue(tertinggal.isSinkronPenuh());
+        assertEquals(List.of("P3", "P4"), kode(tertinggal.getDiubah()));
+        assertTrue(tertinggal.getDihapus().isEmpty());
+        PerubahanProduk cukup = log.perubahanSejak(6);
+        assertFalse(cukup.isSinkronPenuh());
+        assertEquals(List.of("P1", "P2"), cukup.getDihapus());
+        log.kompaksi(7);
+        assertEquals(7, log.getVersiKompaksi());
+        assertEquals(List.of("P2"), log.perubahanSejak(7).getDihapus());
+        log.kompaksi(100);
+        assertEquals(0, log.jumlahTombstone());
+        assertEquals(8, log.getVersiKompaksi());
+        assertThrows(IllegalArgumentException.class, () -> new LogPerubahanProduk(-1));
+    }
+    @Test
+    @DisplayName("Repository tanpa log versi selalu mengirim katalog penuh")
+    void testImplementasiDefault() {
+        RepositoryProduk repo = mock(RepositoryProduk.class, CALLS_REAL_METHODS);
+        doReturn(List.of(new Produk("A", "A", "Umum", 1, 1, 0))).when(repo).cariSemua();
+        PerubahanProduk p = repo.perubahanSejak(0);
+        assertTrue(p.isSinkronPenuh());
+        assertEquals(List.of("A"), kode(p.getDiubah()));
+    }
+    @Test
+    @DisplayName("Konsumen yang mengikuti delta selama penulisan konkuren berakhir identik")
+    void testKonsumenKonkuren() throws Exception {
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        LogPerubahanProduk log = new LogPerubahanProduk(50);
+        repo.tambahPendengar(log);
+        AtomicBoolean selesai = new AtomicBoolean();
+        Thread[] penulis = new Thread[4];
+        for (int t = 0; t < penulis.length; t++) {
+            penulis[t] = new Thread(() -> {
+                ThreadLocalRandom acak = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    String kode = "P" + acak.nextInt(300);
+                    switch (acak.nextInt(3)) {
+                        case 0 -> repo.hapus(kode);
+                        case 1 -> repo.updateStok(kode, acak.nextInt(100));
+                        default -> repo.simpan(new Produk(kode, "Produk", "Umum", 10, acak.nextInt(100), 5));
+                    }
+                }
+            });
+            penulis[t].start();
+        }
+        Thread pengawas = new Thread(() -> {
+            for (Thread t : penulis) {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            selesai.set(true);
+        });
+        pengawas.start();
+        Map<String, Produk> salinan = new HashMap<>();
+        long versi = 0;
+        int sinkronPenuh = 0;
+        while (!selesai.get()) {
+            PerubahanProduk p = log.perubahanSejak(versi);
+            sinkronPenuh += p.isSinkronPenuh() ? 1 : 0;
+            versi = terapkan(salinan, p);
+        }
+        versi = terapkan(salinan, log.perubahanSejak(versi));
+        assertEquals(log.getVersi(), versi);
+        Map<String, Integer> stokRepo = new HashMap<>();
+        for (Produk p : repo.cariSemua()) {
+            stokRepo.put(p.getKode(), p.getStok());
+        }
+        Map<String, Integer> stokSalinan = new HashMap<>();
+        salinan.forEach((k, p) -> stokSalinan.put(k, p.getStok()));
+        assertEquals(stokRepo, stokSalinan, "sinkron penuh: " + sinkronPenuh);
+    }
+}
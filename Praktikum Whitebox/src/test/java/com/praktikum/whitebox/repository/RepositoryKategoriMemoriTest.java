@@ -0,0 +1,125 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryKategoriMemori dan rekap hierarki")
+public class RepositoryKategoriMemoriTest {
+    private RepositoryProdukMemori repoProduk;
+    private RepositoryKategoriMemori repoKategori;
+    @BeforeEach
+    void setUp() {
+        repoProduk = new RepositoryProdukMemori();
+        repoKategori = new RepositoryKategoriMemori();
+        repoProduk.tambahPendengar(repoKategori);
+        assertTrue(repoKategori.simpan(new Kategori("KTG001", "Elektronik", "Semua elektronik")));
+        assertTrue(repoKategori.simpan(anak("KTG002", "Komputer", "KTG001")));
+        assertTrue(repoKategori.simpan(anak("KTG003", "Aksesoris", "KTG002")));
+    }
+    private static Kategori anak(String kode, String nama, String induk) {
+        Kategori k = new Kategori(kode, nama, null);
+        k.setKodeInduk(induk);
+        return k;
+    }
+    @Test
+    @DisplayName("Rekap naik ke semua leluhur")
+    void testRekapHierarki() {
+        repoProduk.simpan(new Produk("P001", "Laptop", "Komputer", 1000, 2, 1));
+        repoProduk.simpan(new Produk("P002", "Mouse", "Aksesoris", 100, 5, 1));
+        repoProduk.simpan(new Produk("P003", "TV", "Elektronik", 500, 1, 1));
+        RingkasanKategori akar = repoKategori.hitungRingkasan("KTG001");
+        assertEquals(3, akar.getJumlahProduk());
+        assertEquals(8, akar.getTotalStok());
+        assertEquals(3000.0, akar.getNilaiInventaris(), 0.0001);
+        RingkasanKategori komputer = repoKategori.hitungRingkasan("KTG002");
+        assertEquals(2, komputer.getJumlahProduk());
+        assertEquals(7, komputer.getTotalStok());
+        assertEquals(1, repoKategori.hitungRingkasan("KTG003").getJumlahProduk());
+    }
+    @Test
+    @DisplayName("Rekap diperbarui saat stok berubah dan produk dihapus")
+    void testRekapInkremental() {
+        repoProduk.simpan(new Produk("P001", "Laptop", "Komputer", 1000, 2, 1));
+        repoProduk.updateStok("P001", 7);
+        assertEquals(7, repoKategori.hitungRingkasan("KTG001").getTotalStok());
+        assertEquals(7000.0, repoKategori.hitungRingkasan("KTG002").getNilaiInventaris(), 0.0001);
+        repoProduk.hapus("P001");
+        RingkasanKategori akar = repoKategori.hitungRingkasan("KTG001");
+        assertEquals(0, akar.getJumlahProduk());
+        assertEquals(0, akar.getTotalStok());
+    }
+    @Test
+    @DisplayName("Produk tidak aktif tidak dihitung")
+    void testProdukTidakAktif() {
+        Produk p = new Produk("P001", "Laptop", "Komputer", 1000, 2, 1);
+        p.setAktif(false);
+        repoProduk.simpan(p);
+        assertEquals(0, repoKategori.hitungRingkasan("KTG002").getJumlahProduk());
+        p.setAktif(true);
+        repoProduk.simpan(p);
+        assertEquals(1, repoKategori.hitungRingkasan("KTG002").getJumlahProduk());
+    }
+    @Test
+    @DisplayName("Sub-kategori nonaktif dikeluarkan dari rekap induk")
+    void testUbahStatusAktif() {
+        repoProduk.simpan(new Produk("P001", "Laptop", "Komputer", 1000, 2, 1));
+        repoProduk.simpan(new Produk("P002", "Mouse", "Aksesoris", 100, 5, 1));
+        assertTrue(repoKategori.ubahStatusAktif("KTG002", false));
+        assertEquals(0, repoKategori.hitungRingkasan("KTG001").getJumlahProduk());
+        assertEquals(2, repoKategori.hitungRingkasan("KTG002").getJumlahProduk());
+        // Perubahan di bawah kategori nonaktif tidak bocor ke induk
+        repoProduk.updateStok("P002", 9);
+        assertEquals(0, repoKategori.hitungRingkasan("KTG001").getTotalStok());
+        assertTrue(repoKategori.ubahStatusAktif("KTG002", true));
+        assertTrue(repoKategori.ubahStatusAktif("KTG002", true));
+        assertEquals(11, repoKategori.hitungRingkasan("KTG001").getTotalStok());
+        assertTrue(repoKategori.cariByKode("KTG002").orElseThrow().isAktif());
+        assertFalse(repoKategori.ubahStatusAktif("XXX99", true));
+    }
+    @Test
+    @DisplayName("Produk yang dimuat sebelum kategori didaftarkan tetap terhitung")
+    void testKategoriDidaftarkanBelakangan() {
+        repoProduk.simpan(new Produk("P001", "Kaos", "Pakaian", 50, 4, 1));
+        assertTrue(repoKategori.simpan(anak("KTG004", "Pakaian", "KTG001")));
+        assertEquals(4, repoKategori.hitungRingkasan("KTG004").getTotalStok());
+        assertEquals(4, repoKategori.hitungRingkasan("KTG001").getTotalStok());
+    }
+    @Test
+    @DisplayName("Pindah induk memindahkan rekap")
+    void testPindahInduk() {
+        repoProduk.simpan(new Produk("P002", "Mouse", "Aksesoris", 100, 5, 1));
+        assertTrue(repoKategori.simpan(new Kategori("KTG005", "Perkakas", null)));
+        assertTrue(repoKategori.simpan(anak("KTG003", "Aksesoris", "KTG005")));
+        assertEquals(0, repoKategori.hitungRingkasan("KTG002").getTotalStok());
+        assertEquals(0, repoKategori.hitungRingkasan("KTG001").getTotalStok());
+        assertEquals(5, repoKategori.hitungRingkasan("KTG005").getTotalStok());
+        assertEquals(1, repoKategori.cariSubKategori("KTG005").size());
+        assertTrue(repoKategori.cariSubKategori("KTG002").isEmpty());
+    }
+    @Test
+    @DisplayName("Validasi simpan: induk tidak ada, siklus, nama ganda, data invalid")
+    void testSimpanGagal() {
+        assertFalse(repoKategori.simpan(anak("KTG009", "Lainnya", "TIDAKADA")));
+        assertFalse(repoKategori.simpan(anak("KTG001", "Elektronik", "KTG003")));
+        assertFalse(repoKategori.simpan(new Kategori("KTG009", "Komputer", null)));
+        assertFalse(repoKategori.simpan(new Kategori("!", "Nama", null)));
+        assertFalse(repoKategori.simpan(null));
+    }
+    @Test
+    @DisplayName("Hapus hanya untuk kategori tanpa sub-kategori")
+    void testHapus() {
+        repoProduk.simpan(new Produk("P002", "Mouse", "Aksesoris", 100, 5, 1));
+        assertFalse(repoKategori.hapus("KTG001"));
+        assertTrue(repoKategori.hapus("KTG003"));
+        assertEquals(0, repoKategori.hitungRingkasan("KTG001").getTotalStok());
+        assertSame(RingkasanKategori.KOSONG, repoKategori.hitungRingkasan("KTG003"));
+        assertFalse(repoKategori.hapus("KTG003"));
+        assertFalse(repoKategori.hapus(null));
+        assertEquals(2, repoKategori.cariSemua().size());
+        assertEquals("KTG001", repoKategori.cariByKode("KTG002").orElseThrow().getKodeInduk());
+        assertTrue(repoKategori.cariByKode(null).isEmpty());
+    }
+}
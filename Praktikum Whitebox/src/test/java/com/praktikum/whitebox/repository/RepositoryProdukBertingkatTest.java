@@ -0,0 +1,188 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryProdukBertingkat")
+public class RepositoryProdukBertingkatTest {
+    private static final String[] KATEGORI = {"Elektronik", "Pakaian", "Makanan", null};
+    private static List<String> ringkas(List<Produk> daftar) {
+        return daftar.stream().sorted(Comparator.comparing(Produk::getKode))
+                .map(p -> p.getKode() + "|" + p.getNama() + "|" + p.getKategori() + "|" + p.getHarga() + "|"
+                        + p.getStok() + "|" + p.getStokMinimum() + "|" + p.isAktif())
+                .toList();
+    }
+    private static void samaDengan(RepositoryProdukMemori acuan, RepositoryProdukBertingkat repo) {
+        assertEquals(ringkas(acuan.cariSemua()), ringkas(repo.cariSemua()));
+        for (String k : KATEGORI) {
+            assertEquals(ringkas(acuan.cariByKategori(k)), ringkas(repo.cariByKategori(k)), k);
+        }
+        assertEquals(ringkas(acuan.cariProdukStokMenipis()), ringkas(repo.cariProdukStokMenipis()));
+        assertEquals(ringkas(acuan.cariProdukStokHabis()), ringkas(repo.cariProdukStokHabis()));
+        assertEquals(ringkas(acuan.cariByNama("produk 1")), ringkas(repo.cariByNama("produk 1")));
+        assertEquals(acuan.hitungTotalStok(), repo.hitungTotalStok());
+    }
+    @Test
+    @DisplayName("Hasil sama dengan repository memori berapa pun tingkat tiap produk")
+    void testSamaDenganMemori() {
+        RepositoryProdukMemori acuan = new RepositoryProdukMemori();
+        RepositoryProdukBertingkat repo = new RepositoryProdukBertingkat(100, 3);
+        Random acak = new Random(11);
+        for (int i = 0; i < 3_000; i++) {
+            Produk p = new Produk("SKU" + i, i % 50 == 0 ? null : "Produk " + i, KATEGORI[i % KATEGORI.length],
+                    1 + acak.nextInt(500), acak.nextInt(20), 5);
+            p.setAktif(i % 7 != 0);
+            acuan.simpan(p);
+            repo.simpan(p);
+        }
+        samaDengan(acuan, repo);
+        for (int putaran = 0; putaran < 20_000; putaran++) {
+            // Akses condong: sebagian kecil SKU menerima sebagian besar akses
+            int i = acak.nextInt(10) < 8 ? acak.nextInt(150) : acak.nextInt(3_200);
+            String kode = "SKU" + i;
+            switch (acak.nextInt(10)) {
+                case 0 -> assertEquals(acuan.hapus(kode), repo.hapus(kode));
+                case 1 -> {
+                    Produk p = new Produk(kode, "Produk ubah " + putaran, KATEGORI[putaran % KATEGORI.length],
+                            10, acak.nextInt(20), 3);
+                    assertEquals(acuan.simpan(p), repo.simpan(p));
+                }
+                case 2, 3, 4 -> {
+                    int stok = acak.nextInt(30);
+                    assertEquals(acuan.updateStok(kode, stok), repo.updateStok(kode, stok));
+                }
+                default -> assertEquals(ringkas(acuan.cariByKode(kode).stream().toList()),
+                        ringkas(repo.cariByKode(kode).stream().toList()));
+            }
+        }
+        samaDengan(acuan, repo);
+        assertTrue(repo.getJumlahPromosi() > 0);
+        assertTrue(repo.getJumlahPenurunan() > 0);
+        assertTrue(repo.getJumlahPanas() <= 100);
+        assertEquals(acuan.cariSemua().size(), repo.getJumlahPanas() + repo.getJumlahDingin());
+    }
+    @Test
+    @DisplayName("Produk sering diakses naik ke tingkat panas, yang jarang diturunkan")
+    void testPromosiDanPenurunan() {
+        RepositoryProdukBertingkat repo = new RepositoryProdukBertingkat(10, 3);
+        for (int i = 0; i < 1_000; i++) {
+            repo.simpan(new Produk("SKU" + i, "Produk " + i, "Lain", 100, 10, 2));
+        }
+        assertEquals(0, repo.getJumlahPanas());
+        repo.cariByKode("SKU5");
+        assertFalse(repo.isPanas("SKU5"));
+        repo.cariByKode("SKU5");
+        assertTrue(repo.isPanas("SKU5"));
+        assertTrue(repo.updateStok("SKU5", 77));
+        assertEquals(77, repo.cariByKode("SKU5").get().getStok());
+        for (int k = 0; k < 50; k++) {
+            repo.cariByKode("SKU5");
+        }
+        // Gelombang SKU lain yang masing-masing diakses sekali lagi: SKU5 tetap panas
+        for (int i = 100; i < 200; i++) {
+            repo.cariByKode("SKU" + i);
+            repo.cariByKode("SKU" + i);
+        }
+        assertTrue(repo.getJumlahPanas() <= 10);
+        assertTrue(repo.isPanas("SKU5"));
+        assertTrue(repo.getJumlahPenurunan() > 0);
+        assertEquals(1_000, repo.cariSemua().size());
+        assertTrue(repo.hapus("SKU5"));
+        assertFalse(repo.isPanas("SKU5"));
+        assertTrue(repo.cariByKode("SKU5").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukBertingkat(0, 1));
+    }
+    @Test
+    @DisplayName("Tingkat dingin: hapus tanpa tombstone, pemadatan arena dan jejak memori ringkas")
+    void testTingkatDingin() {
+        RepositoryProdukBertingkat repo = new RepositoryProdukBertingkat(10, 1_000_000);
+        for (int i = 0; i < 20_000; i++) {
+            repo.simpan(new Produk("P" + i, "Nama " + i, "K" + (i % 5), i, i % 9, 3));
+        }
+        long ukuranPenuh = repo.ukuranByteDingin();
+        assertTrue(ukuranPenuh / 20_000 < 128, "byte per produk " + ukuranPenuh / 20_000);
+        for (int i = 0; i < 20_000; i += 2) {
+            assertTrue(repo.hapus("P" + i));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(i % 2 == 1, repo.cariByKode("P" + i).isPresent(), "P" + i);
+        }
+        // Ganti berulang: byte mati dipadatkan, arena tidak tumbuh tanpa batas
+        for (int putaran = 0; putaran < 20; putaran++) {
+            for (int i = 1; i < 20_000; i += 2) {
+                repo.simpan(new Produk("P" + i, "Nama " + i + " v" + putaran, "K" + (i % 5), i, putaran, 3));
+            }
+        }
+        assertTrue(repo.ukuranByteDingin() <= ukuranPenuh, repo.ukuranByteDingin() + " > " + ukuranPenuh);
+        assertEquals(10_000, repo.getJumlahDingin());
+        Produk p = repo.cariByKode("P4321").get();
+        assertEquals("Nama 4321 v19", p.getNama());
+        assertEquals("K1", p.getKategori());
+        assertEquals(19, p.getStok());
+        assertEquals(2_000, repo.cariByKategori("K1").size());
+    }
+    @Test
+    @DisplayName("Kode atau nama lebih dari 32767 byte ditolak tanpa merusak arena")
+    void testTeksTerlaluPanjang() {
+        RepositoryProdukBertingkat repo = new RepositoryProdukBertingkat(10, 3);
+        assertTrue(repo.simpan(new Produk("A", "Nama A", "Lain", 10, 5, 1)));
+        String panjang = "x".repeat(Short.MAX_VALUE + 1);
+        assertFalse(repo.simpan(new Produk(panjang, "Nama", "Lain", 10, 5, 1)));
+        assertFalse(repo.simpan(new Produk("B", panjang, "Lain", 10, 5, 1)));
+        // Multibyte: 11000 karakter x 3 byte melewati batas meski panjang string di bawahnya
+        assertFalse(repo.simpan(new Produk("C", "\u20ac".repeat(11_000), "Lain", 10, 5, 1)));
+        String pas = "y".repeat(Short.MAX_VALUE);
+        assertTrue(repo.simpan(new Produk("D", pas, "Lain", 10, 5, 1)));
+        assertEquals(pas, repo.cariByKode("D").get().getNama());
+        assertEquals("Nama A", repo.cariByKode("A").get().getNama());
+        assertTrue(repo.cariByKode("B").isEmpty());
+        assertEquals(2, repo.cariSemua().size());
+    }
+    @Test
+    @DisplayName("Update stok dingin bersamaan dengan pembacaan tidak pernah menghasilkan stok sobek")
+    void testUpdateStokDinginSerentak() throws Exception {
+        // Ambang tinggi: semua produk tetap dingin
+        RepositoryProdukBertingkat repo = new RepositoryProdukBertingkat(10, 1_000_000);
+        for (int i = 0; i < 100; i++) {
+            repo.simpan(new Produk("SKU" + i, "Produk " + i, "Lain", 10, 0, 1));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch mulai = new CountDownLatch(1);
+        try {
+            Future<?>[] tugas = new Future<?>[4];
+            for (int t = 0; t < 4; t++) {
+                boolean penulis = t < 2;
+                tugas[t] = pool.submit(() -> {
+                    mulai.await();
+                    for (int n = 0; n < 20_000; n++) {
+                        String kode = "SKU" + (n % 100);
+                        if (penulis) {
+                            // Hanya 0 atau Integer.MAX_VALUE yang ditulis: tulis yang sobek menghasilkan nilai lain
+                            assertTrue(repo.updateStok(kode, (n & 1) == 0 ? 0 : Integer.MAX_VALUE));
+                        } else {
+                            int stok = repo.cariByKode(kode).get().getStok();
+                            assertTrue(stok == 0 || stok == Integer.MAX_VALUE, String.valueOf(stok));
+                        }
+                    }
+                    return null;
+                });
+            }
+            mulai.countDown();
+            for (Future<?> f : tugas) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(0, repo.getJumlahPanas());
+        assertTrue(repo.updateStok("SKU7", 42));
+        assertEquals(42, repo.cariByKode("SKU7").get().getStok());
+    }
+}
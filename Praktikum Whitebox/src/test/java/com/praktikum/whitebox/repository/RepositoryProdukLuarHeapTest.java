@@ -0,0 +1,103 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryProdukLuarHeap")
+public class RepositoryProdukLuarHeapTest {
+    private static final String[] KATEGORI = {"Elektronik", "Pakaian", "Makanan", null};
+    private static List<String> ringkas(List<Produk> daftar) {
+        return daftar.stream().sorted(Comparator.comparing(Produk::getKode))
+                .map(p -> p.getKode() + "|" + p.getNama() + "|" + p.getKategori() + "|" + p.getHarga() + "|"
+                        + p.getStok() + "|" + p.getStokMinimum() + "|" + p.isAktif())
+                .toList();
+    }
+    @Test
+    @DisplayName("Hasil sama dengan repository memori setelah operasi acak")
+    void testSamaDenganMemori() {
+        RepositoryProdukMemori acuan = new RepositoryProdukMemori();
+        RepositoryProdukLuarHeap repo = new RepositoryProdukLuarHeap();
+        Random acak = new Random(5);
+        for (int putaran = 0; putaran < 30_000; putaran++) {
+            String kode = "SKU" + acak.nextInt(4_000);
+            switch (acak.nextInt(6)) {
+                case 0 -> assertEquals(acuan.hapus(kode), repo.hapus(kode));
+                case 1, 2 -> {
+                    Produk p = new Produk(kode, putaran % 30 == 0 ? null : "Produk " + "x".repeat(putaran % 9),
+                            KATEGORI[putaran % KATEGORI.length], 1 + acak.nextInt(900), acak.nextInt(15), 4);
+                    p.setAktif(putaran % 5 != 0);
+                    assertEquals(acuan.simpan(p), repo.simpan(p));
+                }
+                case 3 -> {
+                    int stok = acak.nextInt(15);
+                    assertEquals(acuan.updateStok(kode, stok), repo.updateStok(kode, stok));
+                }
+                default -> assertEquals(ringkas(acuan.cariByKode(kode).stream().toList()),
+                        ringkas(repo.cariByKode(kode).stream().toList()));
+            }
+        }
+        assertEquals(ringkas(acuan.cariSemua()), ringkas(repo.cariSemua()));
+        for (String k : KATEGORI) {
+            assertEquals(ringkas(acuan.cariByKategori(k)), ringkas(repo.cariByKategori(k)));
+        }
+        assertEquals(ringkas(acuan.cariByNama("PRODUK XX")), ringkas(repo.cariByNama("PRODUK XX")));
+        assertEquals(ringkas(acuan.cariProdukStokMenipis()), ringkas(repo.cariProdukStokMenipis()));
+        assertEquals(ringkas(acuan.cariProdukStokHabis()), ringkas(repo.cariProdukStokHabis()));
+        assertEquals(acuan.hitungTotalStok(), repo.hitungTotalStok());
+        assertEquals(acuan.hitungTotalNilaiInventaris(), repo.hitungTotalNilaiInventaris(), 1e-6);
+        assertEquals(acuan.cariSemua().size(), repo.jumlah());
+        assertFalse(repo.updateStok("SKU1", -1));
+        assertTrue(repo.cariByKategori("Tidak Ada").isEmpty());
+    }
+    @Test
+    @DisplayName("ubahStok atomik: tidak ada update hilang dan stok tidak pernah negatif")
+    void testUbahStokAtomik() throws InterruptedException {
+        RepositoryProdukLuarHeap repo = new RepositoryProdukLuarHeap();
+        // Stok awal cukup besar agar pengurangan tidak pernah ditolak, apa pun urutan thread
+        repo.simpan(new Produk("LAP001", "Laptop", "Elektronik", 100, 50_000, 5));
+        List<Thread> daftar = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int id = t;
+            daftar.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    repo.ubahStok("LAP001", id % 2 == 0 ? 3 : -1);
+                    repo.simpan(new Produk("X" + id + "N" + (i % 50), "Lain", "Lain", 1, 1, 1));
+                }
+            }));
+        }
+        for (Thread t : daftar) {
+            t.join();
+        }
+        assertEquals(50_000 + 4 * 10_000 * 3 - 4 * 10_000, repo.cariByKode("LAP001").get().getStok());
+        assertFalse(repo.ubahStok("LAP001", -1_000_000));
+        assertFalse(repo.ubahStok("TIDAK01", 1));
+        assertEquals(1 + 8 * 50, repo.jumlah());
+    }
+    @Test
+    @DisplayName("Indeks tumbuh, hapus tanpa tombstone dan id dipakai ulang")
+    void testIndeksDanIdBebas() {
+        RepositoryProdukLuarHeap repo = new RepositoryProdukLuarHeap(0);
+        for (int i = 0; i < 100_000; i++) {
+            repo.simpan(new Produk("P" + i, "Nama " + i, "K" + (i % 3), i, i % 7, 2));
+        }
+        long ukuran = repo.ukuranByteLuarHeap();
+        for (int i = 0; i < 100_000; i += 3) {
+            assertTrue(repo.hapus("P" + i));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(i % 3 != 0, repo.cariByKode("P" + i).isPresent(), "P" + i);
+        }
+        for (int i = 0; i < 100_000; i += 3) {
+            repo.simpan(new Produk("Q" + i, "Nama " + i, "K0", i, 1, 2));
+        }
+        assertEquals(100_000, repo.jumlah());
+        assertEquals(100_000, repo.cariSemua().size());
+        // Rekaman dipakai ulang: hanya arena teks yang boleh bertambah
+        assertTrue(repo.ukuranByteLuarHeap() <= ukuran + (1 << 22));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukLuarHeap(-1));
+    }
+}
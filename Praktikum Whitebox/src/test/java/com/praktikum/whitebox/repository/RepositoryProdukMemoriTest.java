@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryProdukMemori")
+public class RepositoryProdukMemoriTest {
+    private RepositoryProdukMemori repo;
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMemori();
+        repo.simpan(new Produk("P001", "Laptop Gaming", "Elektronik", 1000, 10, 5));
+        repo.simpan(new Produk("P002", "Mouse", "Elektronik", 100, 3, 5));
+        repo.simpan(new Produk("P003", "Kaos", "Pakaian", 50, 0, 2));
+    }
+    @Test
+    @DisplayName("Simpan dan cari by kode mengembalikan salinan")
+    void testCariByKodeSalinan() {
+        Produk p = repo.cariByKode("P001").orElseThrow();
+        p.setStok(999);
+        assertEquals(10, repo.cariByKode("P001").orElseThrow().getStok());
+        assertTrue(repo.cariByKode("X").isEmpty());
+        assertTrue(repo.cariByKode(null).isEmpty());
+        assertFalse(repo.simpan(null));
+        assertFalse(repo.simpan(new Produk()));
+    }
+    @Test
+    @DisplayName("Pencarian nama, kategori dan status stok")
+    void testPencarian() {
+        assertEquals(1, repo.cariByNama("laptop").size());
+        assertTrue(repo.cariByNama(null).isEmpty());
+        assertEquals(2, repo.cariByKategori("Elektronik").size());
+        assertTrue(repo.cariByKategori(null).isEmpty());
+        assertEquals("P002", repo.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("P003", repo.cariProdukStokHabis().get(0).getKode());
+        assertEquals(3, repo.cariSemua().size());
+        assertEquals(3, repo.jumlah());
+    }
+    @Test
+    @DisplayName("Update stok dan hapus")
+    void testUpdateDanHapus() {
+        assertTrue(repo.updateStok("P001", 4));
+        assertEquals(4, repo.cariByKode("P001").orElseThrow().getStok());
+        assertFalse(repo.updateStok("P001", -1));
+        assertFalse(repo.updateStok("X", 1));
+        assertFalse(repo.updateStok(null, 1));
+        assertTrue(repo.hapus("P001"));
+        assertFalse(repo.hapus("P001"));
+        assertFalse(repo.hapus(null));
+    }
+    @Test
+    @DisplayName("Pendengar menerima setiap perubahan")
+    void testPendengar() {
+        List<String> log = new ArrayList<>();
+        repo.tambahPendengar((ProdukRingkas lama, ProdukRingkas baru) ->
+                log.add((lama == null ? "-" : lama.getStok()) + ">" + (baru == null ? "-" : baru.getStok())));
+        repo.simpan(new Produk("P004", "Topi", "Pakaian", 20, 1, 1));
+        repo.updateStok("P004", 6);
+        repo.hapus("P004");
+        assertEquals(List.of("->1", "1>6", "6>-"), log);
+        assertNotNull(repo.getKamusKategori());
+    }
+}
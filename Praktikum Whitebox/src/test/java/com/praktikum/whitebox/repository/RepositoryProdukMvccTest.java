@@ -0,0 +1,180 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryProdukMvcc")
+public class RepositoryProdukMvccTest {
+    private RepositoryProdukMvcc repo;
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMvcc();
+        repo.simpan(new Produk("P001", "Laptop Gaming", "Elektronik", 1000, 10, 5));
+        repo.simpan(new Produk("P002", "Mouse", "Elektronik", 100, 3, 5));
+        repo.simpan(new Produk("P003", "Kaos", "Pakaian", 50, 0, 2));
+    }
+    @Test
+    @DisplayName("Operasi dasar sama dengan repository biasa")
+    void testOperasiDasar() {
+        assertEquals(10, repo.cariByKode("P001").orElseThrow().getStok());
+        assertEquals(1, repo.cariByNama("laptop").size());
+        assertEquals(2, repo.cariByKategori("Elektronik").size());
+        assertEquals("P002", repo.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("P003", repo.cariProdukStokHabis().get(0).getKode());
+        assertTrue(repo.updateStok("P001", 7));
+        assertFalse(repo.updateStok("P001", -1));
+        assertFalse(repo.updateStok("X", 1));
+        assertEquals(7 + 3, repo.hitungTotalStok());
+        assertEquals(7 * 1000 + 3 * 100, repo.hitungTotalNilaiInventaris(), 1e-9);
+        assertTrue(repo.hapus("P003"));
+        assertFalse(repo.hapus("P003"));
+        assertFalse(repo.updateStok("P003", 1));
+        assertTrue(repo.cariByKode("P003").isEmpty());
+        assertEquals(2, repo.cariSemua().size());
+        assertTrue(repo.simpan(new Produk("P003", "Kaos", "Pakaian", 50, 4, 2)));
+        assertEquals(4, repo.cariByKode("P003").orElseThrow().getStok());
+        assertFalse(repo.simpan(null));
+    }
+    @Test
+    @DisplayName("Snapshot tetap melihat versi yang dipatok walau ada penulisan")
+    void testIsolasiSnapshot() {
+        try (SnapshotProduk lama = repo.bukaSnapshot()) {
+            repo.updateStok("P001", 99);
+            repo.hapus("P002");
+            repo.simpan(new Produk("P004", "Topi", "Pakaian", 20, 5, 1));
+            assertEquals(10, lama.cariByKode("P001").orElseThrow().getStok());
+            assertTrue(lama.cariByKode("P002").isPresent());
+            assertTrue(lama.cariByKode("P004").isEmpty());
+            assertEquals(3, lama.cariSemua().size());
+            assertEquals(13, lama.hitungTotalStok());
+            try (SnapshotProduk baru = repo.bukaSnapshot()) {
+                assertTrue(baru.getVersi() > lama.getVersi());
+                assertEquals(99, baru.cariByKode("P001").orElseThrow().getStok());
+                assertEquals(List.of("P001", "P003", "P004"),
+                        baru.cari(KriteriaProduk.semua()).stream().map(Produk::getKode).toList());
+            }
+            // Versi lama masih dibutuhkan snapshot yang terbuka
+            assertEquals(2, repo.jumlahVersi("P001"));
+        }
+    }
+    @Test
+    @DisplayName("Versi lama dan tombstone dibuang setelah snapshot ditutup")
+    void testPengumpulanSampah() {
+        SnapshotProduk s = repo.bukaSnapshot();
+        for (int i = 0; i < 100; i++) {
+            repo.updateStok("P001", i);
+        }
+        repo.hapus("P002");
+        assertEquals(101, repo.jumlahVersi("P001"));
+        assertEquals(3, repo.jumlahKunci());
+        s.close();
+        s.close();
+        assertEquals(1, repo.jumlahVersi("P001"));
+        assertEquals(2, repo.jumlahKunci());
+        assertThrows(IllegalStateException.class, s::cariSemua);
+        // Tanpa snapshot terbuka, penulisan langsung memangkas rantai
+        repo.updateStok("P003", 1);
+        assertEquals(1, repo.jumlahVersi("P003"));
+    }
+    @Test
+    @DisplayName("Laporan konsisten saat penulis memperbarui stok terus-menerus")
+    void testLaporanKonsistenSaatDitulis() throws InterruptedException {
+        int n = 200;
+        for (int i = 0; i < n; i++) {
+            repo.simpan(new Produk(String.format("S%03d", i), "Barang", "Umum", 1, 0, 0));
+        }
+        AtomicBoolean berhenti = new AtomicBoolean();
+        AtomicLong pelanggaran = new AtomicLong();
+        // Satu penulis menaikkan putaran S000..S199 berurutan: di setiap titik komit,
+        // stok menurun (tidak naik) menurut indeks dan selisih ujung paling banyak 1
+        Thread penulis = new Thread(() -> {
+            for (int putaran = 1; !berhenti.get(); putaran++) {
+                for (int i = 0; i < n; i++) {
+                    repo.updateStok(String.format("S%03d", i), putaran);
+                }
+            }
+        });
+        // Penulis lain pada kode berbeda ikut merebut alokasi versi
+        Thread pengganggu = new Thread(() -> {
+            for (int i = 0; !berhenti.get(); i++) {
+                repo.updateStok("P001", i % 50);
+            }
+        });
+        List<Thread> pembaca = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            pembaca.add(new Thread(() -> {
+                for (int r = 0; r < 200; r++) {
+                    try (SnapshotProduk s = repo.bukaSnapshot()) {
+                        int[] stok = new int[n];
+                        for (Produk p : s.cari(KriteriaProduk.semua().kategori("Umum"))) {
+                            stok[Integer.parseInt(p.getKode().substring(1))] = p.getStok();
+                        }
+                        for (int i = 1; i < n; i++) {
+                            if (stok[i] > stok[i - 1]) {
+                                pelanggaran.incrementAndGet();
+                            }
+                        }
+                        if (stok[0] - stok[n - 1] > 1) {
+                            pelanggaran.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        penulis.start();
+        pengganggu.start();
+        pembaca.forEach(Thread::start);
+        for (Thread t : pembaca) {
+            t.join();
+        }
+        berhenti.set(true);
+        penulis.join();
+        pengganggu.join();
+        assertEquals(0, pelanggaran.get());
+        repo.bersihkan();
+        assertEquals(1, repo.jumlahVersi("S000"));
+    }
+    @Test
+    @DisplayName("Banyak penulis serentak semuanya terbit, termasuk penulis yang terinterupsi")
+    void testPenerbitanBanyakPenulis() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            int jumlahThread = 8;
+            int perThread = 5_000;
+            AtomicLong interupsiHilang = new AtomicLong();
+            List<Thread> daftar = new ArrayList<>();
+            for (int t = 0; t < jumlahThread; t++) {
+                String kode = String.format("W%03d", t);
+                repo.simpan(new Produk(kode, "Barang", "Umum", 1, 0, 0));
+                boolean terinterupsi = t == 0;
+                daftar.add(Thread.ofPlatform().start(() -> {
+                    if (terinterupsi) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 1; i <= perThread; i++) {
+                        repo.updateStok(kode, i);
+                    }
+                    if (terinterupsi && !Thread.currentThread().isInterrupted()) {
+                        interupsiHilang.incrementAndGet();
+                    }
+                }));
+            }
+            for (Thread t : daftar) {
+                t.join();
+            }
+            assertEquals(0, interupsiHilang.get());
+            try (SnapshotProduk s = repo.bukaSnapshot()) {
+                List<Produk> semua = s.cari(KriteriaProduk.semua().kategori("Umum"));
+                assertEquals(jumlahThread, semua.size());
+                for (Produk p : semua) {
+                    assertEquals(perThread, p.getStok(), p.getKode());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+@DisplayName("White Box Test - RepositoryProdukShard")
+public class RepositoryProdukShardTest {
+    private RepositoryProdukShard shard;
+    private RepositoryProdukMemori tunggal;
+    @BeforeEach
+    void setUp() {
+        shard = new RepositoryProdukShard(8);
+        tunggal = new RepositoryProdukMemori();
+        Random acak = new Random(3);
+        for (int i = 0; i < 3000; i++) {
+            Produk p = new Produk("SKU" + i, "Produk " + i, "Kategori " + (i % 7),
+                    1 + acak.nextInt(500), acak.nextInt(20), acak.nextInt(8));
+            p.setAktif(i % 9 != 0);
+            shard.simpan(p);
+            tunggal.simpan(p);
+        }
+    }
+    private static List<String> kode(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).toList();
+    }
+    private static List<String> kodeTerurut(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).sorted(Comparator.naturalOrder()).toList();
+    }
+    @Test
+    @DisplayName("Operasi per kode diarahkan ke satu shard pemilik")
+    void testRutePerKode() {
+        int berisi = 0;
+        for (int i = 0; i < 8; i++) {
+            RepositoryProduk s = shard.shardUntuk("SKU" + i);
+            assertSame(s, shard.shardUntuk("SKU" + i));
+        }
+        Set<RepositoryProduk> terpakai = new HashSet<>();
+        for (int i = 0; i < 3000; i++) {
+            terpakai.add(shard.shardUntuk("SKU" + i));
+        }
+        assertEquals(8, terpakai.size());
+        assertTrue(shard.updateStok("SKU5", 77));
+        assertEquals(77, shard.shardUntuk("SKU5").cariByKode("SKU5").orElseThrow().getStok());
+        for (RepositoryProduk s : terpakai) {
+            berisi += s.cariByKode("SKU5").isPresent() ? 1 : 0;
+        }
+        assertEquals(1, berisi);
+        assertTrue(shard.hapus("SKU5"));
+        assertFalse(shard.hapus("SKU5"));
+        assertTrue(shard.cariByKode("SKU5").isEmpty());
+        assertFalse(shard.simpan(null));
+        assertFalse(shard.updateStok(null, 1));
+        assertTrue(shard.cariByKode(null).isEmpty());
+    }
+    @Test
+    @DisplayName("Scatter-gather memberi hasil sama dengan satu repository")
+    void testScatterGatherSamaDenganTunggal() {
+        assertEquals(kodeTerurut(tunggal.cariSemua()), kodeTerurut(shard.cariSemua()));
+        assertEquals(kodeTerurut(tunggal.cariByNama("produk 12")), kodeTerurut(shard.cariByNama("produk 12")));
+        assertEquals(kode(tunggal.cariByKategori("Kategori 3")), kode(shard.cariByKategori("Kategori 3")));
+        assertEquals(kode(tunggal.cariProdukStokMenipis()), kode(shard.cariProdukStokMenipis()));
+        assertEquals(kode(tunggal.cariProdukStokHabis()), kode(shard.cariProdukStokHabis()));
+        KriteriaProduk k = KriteriaProduk.semua().status(StatusStok.AMAN).aktif(true)
+                .urutkan(UrutanProduk.NILAI_TURUN).lewati(15).batasi(40);
+        assertEquals(kode(tunggal.cari(k)), kode(shard.cari(k)));
+        assertEquals(kode(tunggal.cariNilaiTertinggi(100)), kode(shard.cariNilaiTertinggi(100)));
+        assertEquals(kode(tunggal.cariByRentangHarga("Kategori 1", 100, 200)),
+                kode(shard.cariByRentangHarga("Kategori 1", 100, 200)));
+        assertTrue(shard.cariByKategori(null).isEmpty());
+    }
+    @Test
+    @DisplayName("Agregat dihitung per shard lalu dijumlahkan")
+    void testAgregat() {
+        assertEquals(tunggal.hitungTotalStok(), shard.hitungTotalStok());
+        assertEquals(tunggal.hitungTotalNilaiInventaris(), shard.hitungTotalNilaiInventaris(), 1e-6);
+        // Implementasi default di interface memberi hasil yang sama
+        RepositoryProduk naif = mock(RepositoryProduk.class, CALLS_REAL_METHODS);
+        doAnswer(inv -> tunggal.cariSemua()).when(naif).cariSemua();
+        assertEquals(naif.hitungTotalStok(), shard.hitungTotalStok());
+        assertEquals(naif.hitungTotalNilaiInventaris(), shard.hitungTotalNilaiInventaris(), 1e-6);
+    }
+    @Test
+    @DisplayName("Galat dari shard diteruskan ke pemanggil")
+    void testGalatShardDiteruskan() {
+        RepositoryProduk rusak = mock(RepositoryProduk.class);
+        when(rusak.cariSemua()).thenThrow(new IllegalStateException("shard mati"));
+        List<RepositoryProduk> daftar = new ArrayList<>(List.of(new RepositoryProdukMemori(), rusak));
+        RepositoryProdukShard gabungan = new RepositoryProdukShard(daftar, ForkJoinPool.commonPool());
+        IllegalStateException e = assertThrows(IllegalStateException.class, gabungan::cariSemua);
+        assertTrue(e.getMessage().contains("shard mati"));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukShard(0));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukShard(List.of(), ForkJoinPool.commonPool()));
+    }
+}
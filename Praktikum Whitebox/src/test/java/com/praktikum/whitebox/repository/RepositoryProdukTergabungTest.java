@@ -0,0 +1,138 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryProdukTergabung (single-flight)")
+public class RepositoryProdukTergabungTest {
+    // Backend lambat: setiap pembacaan menunggu gerbang dan bisa dibuat gagal
+    private static class BackendLambat extends RepositoryProdukMemori {
+        volatile CountDownLatch gerbang = new CountDownLatch(1);
+        volatile RuntimeException galat;
+        final AtomicInteger panggilanKode = new AtomicInteger();
+        final AtomicInteger panggilanKategori = new AtomicInteger();
+        private void tahan() {
+            try {
+                gerbang.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (galat != null) {
+                throw galat;
+            }
+        }
+        @Override
+        public Optional<Produk> cariByKode(String kode) {
+            panggilanKode.incrementAndGet();
+            tahan();
+            return super.cariByKode(kode);
+        }
+        @Override
+        public List<Produk> cariByKategori(String kategori) {
+            panggilanKategori.incrementAndGet();
+            tahan();
+            return super.cariByKategori(kategori);
+        }
+    }
+    private BackendLambat backend;
+    private RepositoryProdukTergabung repo;
+    @BeforeEach
+    void setUp() {
+        backend = new BackendLambat();
+        backend.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 10, 5));
+        backend.simpan(new Produk("P002", "Mouse", "Elektronik", 100, 3, 5));
+        repo = new RepositoryProdukTergabung(backend);
+    }
+    private static void tungguSampai(BooleanSupplier kondisi) throws InterruptedException {
+        long batas = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!kondisi.getAsBoolean()) {
+            assertTrue(System.nanoTime() < batas, "kondisi tidak tercapai");
+            Thread.sleep(1);
+        }
+    }
+    @Test
+    @DisplayName("Badai miss cariProdukByKode menghasilkan satu panggilan backend")
+    void testBadaiMiss() throws Exception {
+        ServiceInventaris service = new ServiceInventaris(repo);
+        try (ExecutorService ex = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Optional<Produk>>> hasil = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                hasil.add(ex.submit(() -> service.cariProdukByKode("P001")));
+            }
+            tungguSampai(() -> repo.getPenggabungKode().getJumlahDigabung() == 199);
+            backend.gerbang.countDown();
+            List<Produk> produk = new ArrayList<>();
+            for (Future<Optional<Produk>> f : hasil) {
+                produk.add(f.get().orElseThrow());
+            }
+            assertEquals(1, backend.panggilanKode.get());
+            assertEquals(10, produk.get(0).getStok());
+            // Setiap pemanggil memegang salinan sendiri
+            produk.get(0).setStok(-1);
+            assertEquals(10, produk.get(1).getStok());
+            assertNotSame(produk.get(1), produk.get(2));
+        }
+        // Hasil tidak disimpan: panggilan berikutnya kembali ke backend
+        assertTrue(repo.cariByKode("P001").isPresent());
+        assertEquals(2, backend.panggilanKode.get());
+    }
+    @Test
+    @DisplayName("Kegagalan pemuat diteruskan ke semua penunggu dan tidak disimpan")
+    void testGalatDiteruskan() throws Exception {
+        backend.galat = new IllegalStateException("gudang mati");
+        try (ExecutorService ex = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Produk>>> hasil = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                hasil.add(ex.submit(() -> repo.cariByKategori("Elektronik")));
+            }
+            tungguSampai(() -> repo.getPenggabungKategori().getJumlahDigabung() == 49);
+            backend.gerbang.countDown();
+            for (Future<List<Produk>> f : hasil) {
+                ExecutionException e = assertThrows(ExecutionException.class, f::get);
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                assertEquals("gudang mati", e.getCause().getMessage());
+            }
+        }
+        assertEquals(1, backend.panggilanKategori.get());
+        backend.galat = null;
+        assertEquals(2, repo.cariByKategori("Elektronik").size());
+        assertEquals(2, backend.panggilanKategori.get());
+    }
+    @Test
+    @DisplayName("Penunggu dibatasi waktu; penulisan memulai pemuatan baru")
+    void testBatasTungguDanPenulisan() throws Exception {
+        repo = new RepositoryProdukTergabung(backend, Duration.ofMillis(50));
+        try (ExecutorService ex = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Optional<Produk>> pemimpin = ex.submit(() -> repo.cariByKode("P002"));
+            tungguSampai(() -> backend.panggilanKode.get() == 1);
+            CompletionException e = assertThrows(CompletionException.class, () -> repo.cariByKode("P002"));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertTrue(repo.updateStok("P002", 9));
+            // Pemanggil setelah penulisan tidak bergabung ke pemuatan lama
+            Future<Optional<Produk>> sesudah = ex.submit(() -> repo.cariByKode("P002"));
+            tungguSampai(() -> backend.panggilanKode.get() == 2);
+            backend.gerbang.countDown();
+            assertEquals(9, sesudah.get().orElseThrow().getStok());
+            assertTrue(pemimpin.get().isPresent());
+        }
+        assertTrue(repo.cariByKode(null).isEmpty());
+        assertTrue(repo.cariByKategori(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukTergabung(backend, Duration.ZERO));
+    }
+}
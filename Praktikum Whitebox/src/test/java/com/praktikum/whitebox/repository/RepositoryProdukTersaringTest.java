@@ -0,0 +1,105 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RepositoryProdukTersaring (filter cuckoo)")
+public class RepositoryProdukTersaringTest {
+    // Menghitung akses baca per kode ke repository di belakang filter
+    private static class RepositoryHitung extends RepositoryProdukMemori {
+        final AtomicInteger bacaKode = new AtomicInteger();
+        @Override
+        public Optional<Produk> cariByKode(String kode) {
+            bacaKode.incrementAndGet();
+            return super.cariByKode(kode);
+        }
+    }
+    private RepositoryHitung backend;
+    private RepositoryProdukTersaring repo;
+    @BeforeEach
+    void setUp() {
+        backend = new RepositoryHitung();
+        for (int i = 0; i < 500; i++) {
+            backend.simpan(new Produk("SKU" + i, "Produk " + i, "Umum", 100, 5, 1));
+        }
+        // Filter dibangun dari isi repository saat start
+        repo = new RepositoryProdukTersaring(backend);
+    }
+    @Test
+    @DisplayName("Pencarian kode yang tidak ada tidak menyentuh repository")
+    void testNegatifTanpaAkses() {
+        ServiceInventaris service = new ServiceInventaris(repo);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(service.cariProdukByKode("SKU" + i).isPresent());
+        }
+        assertEquals(500, backend.bacaKode.get());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(repo.cariByKode("TYPO" + i).isEmpty());
+            assertFalse(repo.updateStok("TYPO" + i, 1));
+        }
+        int tembus = backend.bacaKode.get() - 500;
+        assertTrue(tembus < 50, "akses repository untuk kode tidak ada: " + tembus);
+        assertTrue(repo.getJumlahDisaring() > 19_000);
+        assertFalse(repo.hapus("TYPO1"));
+    }
+    @Test
+    @DisplayName("Filter mengikuti simpan, hapus dan tambahProduk")
+    void testMengikutiPenulisan() {
+        ServiceInventaris service = new ServiceInventaris(repo);
+        assertTrue(service.tambahProduk(new Produk("BARU1", "Produk Baru", "Umum", 10, 1, 1)));
+        assertTrue(repo.getFilter().mungkinAda("BARU1"));
+        assertFalse(service.tambahProduk(new Produk("BARU1", "Produk Baru", "Umum", 10, 1, 1)));
+        // Simpan ulang kode yang sudah ada tidak menambah sidik jari
+        int jumlah = repo.getFilter().jumlah();
+        assertTrue(repo.simpan(new Produk("SKU1", "Produk 1", "Umum", 120, 5, 1)));
+        assertEquals(jumlah, repo.getFilter().jumlah());
+        assertTrue(repo.updateStok("BARU1", 0));
+        assertTrue(repo.hapus("BARU1"));
+        assertEquals(jumlah - 1, repo.getFilter().jumlah());
+        assertTrue(repo.cariByKode("BARU1").isEmpty());
+        assertFalse(repo.simpan(null));
+    }
+    @Test
+    @DisplayName("Filter penuh dibangun ulang lebih besar tanpa kehilangan kode")
+    void testTumbuh() {
+        int awal = repo.getFilter().kapasitas();
+        for (int i = 0; i < awal * 2; i++) {
+            assertTrue(repo.simpan(new Produk("N" + i, "Produk", "Umum", 1, 1, 0)));
+        }
+        assertTrue(repo.getFilter().kapasitas() > awal);
+        assertFalse(repo.getFilter().isPenuh());
+        for (int i = 0; i < awal * 2; i++) {
+            assertTrue(repo.cariByKode("N" + i).isPresent(), "N" + i);
+        }
+    }
+    @Test
+    @DisplayName("Simpan dan hapus konkuren tidak menghasilkan negatif palsu")
+    void testKonkuren() throws Exception {
+        Thread[] pekerja = new Thread[4];
+        for (int t = 0; t < pekerja.length; t++) {
+            pekerja[t] = new Thread(() -> {
+                ThreadLocalRandom acak = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    String kode = "K" + acak.nextInt(200);
+                    if (acak.nextBoolean()) {
+                        repo.simpan(new Produk(kode, "Produk", "Umum", 1, 0, 0));
+                    } else {
+                        repo.hapus(kode);
+                    }
+                }
+            });
+            pekerja[t].start();
+        }
+        for (Thread t : pekerja) {
+            t.join();
+        }
+        for (Produk p : backend.cariSemua()) {
+            assertTrue(repo.getFilter().mungkinAda(p.getKode()), p.getKode());
+        }
+    }
+}
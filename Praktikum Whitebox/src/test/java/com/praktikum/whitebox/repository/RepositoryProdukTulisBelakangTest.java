@@ -0,0 +1,177 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+@DisplayName("White Box Test - RepositoryProdukTulisBelakang")
+public class RepositoryProdukTulisBelakangTest {
+    private static final Duration LAMA = Duration.ofHours(1);
+    private RepositoryProdukMemori asli;
+    private RepositoryProduk belakang;
+    private RepositoryProdukTulisBelakang repo;
+    @BeforeEach
+    void setUp() {
+        asli = new RepositoryProdukMemori();
+        asli.simpan(new Produk("LAP001", "Laptop", "Elektronik", 10000000, 50, 5));
+        asli.simpan(new Produk("MOU001", "Mouse", "Elektronik", 100000, 0, 5));
+        belakang = spy(asli);
+    }
+    @AfterEach
+    void tearDown() {
+        if (repo != null) {
+            repo.close();
+        }
+    }
+    @Test
+    @DisplayName("Update stok beruntun pada SKU panas digabung menjadi satu penulisan")
+    void testPenggabungan() {
+        repo = new RepositoryProdukTulisBelakang(belakang, LAMA, 100);
+        for (int i = 1; i <= 10_000; i++) {
+            assertTrue(repo.updateStok("LAP001", i));
+        }
+        // Pembacaan dari memori sudah terbaru, repository belakang belum disentuh
+        assertEquals(10_000, repo.cariByKode("LAP001").get().getStok());
+        assertEquals(50, asli.cariByKode("LAP001").get().getStok());
+        verify(belakang, never()).updateStok(anyString(), anyInt());
+        assertEquals(1, repo.getJumlahKotor());
+        assertEquals(1, repo.tuliskanTertunda());
+        verify(belakang, times(1)).updateStok("LAP001", 10_000);
+        assertEquals(10_000, asli.cariByKode("LAP001").get().getStok());
+        assertEquals(10_000, repo.getJumlahTulis());
+        assertEquals(1, repo.getJumlahTulisBelakang());
+        assertEquals(0, repo.tuliskanTertunda());
+        assertFalse(repo.updateStok("TIDAK01", 5));
+        assertFalse(repo.updateStok("LAP001", -1));
+        assertEquals(0, repo.getJumlahKotor());
+    }
+    @Test
+    @DisplayName("Simpan, update dan hapus pada kode yang sama menuliskan keadaan terakhir")
+    void testKeadaanTerakhir() {
+        repo = new RepositoryProdukTulisBelakang(belakang, LAMA, 100);
+        repo.simpan(new Produk("KBD001", "Keyboard", "Elektronik", 300000, 1, 2));
+        repo.updateStok("KBD001", 9);
+        repo.updateStok("LAP001", 7);
+        Produk laptop = repo.cariByKode("LAP001").get();
+        laptop.setNama("Laptop Baru");
+        repo.simpan(laptop);
+        repo.updateStok("LAP001", 8);
+        repo.simpan(new Produk("TMP001", "Sementara", "Lain", 1, 1, 1));
+        repo.hapus("TMP001");
+        repo.hapus("MOU001");
+        assertEquals(4, repo.tuliskanTertunda());
+        assertEquals(9, asli.cariByKode("KBD001").get().getStok());
+        assertEquals("Laptop Baru", asli.cariByKode("LAP001").get().getNama());
+        assertEquals(8, asli.cariByKode("LAP001").get().getStok());
+        verify(belakang, never()).updateStok(anyString(), anyInt());
+        assertTrue(asli.cariByKode("TMP001").isEmpty());
+        assertTrue(asli.cariByKode("MOU001").isEmpty());
+        assertEquals(List.of("KBD001", "LAP001"), asli.cariSemua().stream().map(Produk::getKode).sorted().toList());
+    }
+    @Test
+    @DisplayName("Penulis berkala dan close menuliskan semua kode kotor")
+    void testBerkalaDanClose() throws InterruptedException {
+        repo = new RepositoryProdukTulisBelakang(belakang, Duration.ofMillis(5), 100);
+        repo.updateStok("LAP001", 1);
+        for (int i = 0; i < 200 && asli.cariByKode("LAP001").get().getStok() != 1; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, asli.cariByKode("LAP001").get().getStok());
+        RepositoryProdukTulisBelakang lain = new RepositoryProdukTulisBelakang(belakang, LAMA, 100);
+        lain.updateStok("MOU001", 42);
+        lain.close();
+        assertEquals(42, asli.cariByKode("MOU001").get().getStok());
+        assertThrows(IllegalStateException.class, () -> lain.updateStok("MOU001", 1));
+        assertEquals(42, lain.cariByKode("MOU001").get().getStok());
+        lain.close();
+    }
+    @Test
+    @DisplayName("Himpunan kotor penuh menahan penulis sampai penulisan membuat ruang")
+    void testTekananBalik() throws InterruptedException {
+        repo = new RepositoryProdukTulisBelakang(belakang, LAMA, 8);
+        List<Thread> penulis = new ArrayList<>();
+        AtomicBoolean lewatBatas = new AtomicBoolean();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            penulis.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    repo.simpan(new Produk("P" + id + "X" + i, "Produk", "Lain", 1, i, 1));
+                    if (repo.getJumlahKotor() > 8 + 4) {
+                        lewatBatas.set(true);
+                    }
+                }
+            }));
+        }
+        for (Thread t : penulis) {
+            t.join();
+        }
+        assertFalse(lewatBatas.get());
+        repo.tuliskanTertunda();
+        assertEquals(2 + 2_000, asli.cariSemua().size());
+    }
+    @Test
+    @DisplayName("Galat repository belakang membuat kode tetap kotor untuk dicoba lagi")
+    void testGalatBelakang() {
+        repo = new RepositoryProdukTulisBelakang(belakang, LAMA, 100);
+        repo.updateStok("LAP001", 3);
+        doThrow(new IllegalStateException("disk penuh")).doCallRealMethod().when(belakang).updateStok("LAP001", 3);
+        assertThrows(IllegalStateException.class, () -> repo.tuliskanTertunda());
+        assertEquals(1, repo.getJumlahKotor());
+        assertEquals(1, repo.tuliskanTertunda());
+        assertEquals(3, asli.cariByKode("LAP001").get().getStok());
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukTulisBelakang(belakang, LAMA, 0));
+    }
+    @Test
+    @DisplayName("Satu kode yang selalu gagal tidak menahan kode kotor lain maupun penulis")
+    void testKodeSelaluGagal() {
+        repo = new RepositoryProdukTulisBelakang(belakang, LAMA, 2);
+        doThrow(new IllegalStateException("baris rusak")).when(belakang).updateStok(eq("LAP001"), anyInt());
+        repo.updateStok("LAP001", 3);
+        repo.updateStok("MOU001", 4);
+        assertThrows(IllegalStateException.class, () -> repo.tuliskanTertunda());
+        assertEquals(4, asli.cariByKode("MOU001").get().getStok());
+        assertEquals(1, repo.getJumlahKotor());
+        // Himpunan kotor kecil: setiap kode baru memaksa putaran tulis yang tetap maju
+        for (int i = 0; i < 50; i++) {
+            assertTrue(repo.simpan(new Produk("BRG" + i, "Barang", "Lain", 1, i, 1)));
+        }
+        assertThrows(IllegalStateException.class, () -> repo.tuliskanTertunda());
+        assertEquals(2 + 50, asli.cariSemua().size());
+        assertEquals(1, repo.getJumlahKotor());
+        assertNotNull(repo.getGalatTerakhir());
+        doCallRealMethod().when(belakang).updateStok(eq("LAP001"), anyInt());
+        assertEquals(1, repo.tuliskanTertunda());
+        assertEquals(3, asli.cariByKode("LAP001").get().getStok());
+    }
+    @Test
+    @DisplayName("close tidak menggantung walau penulis menunggu ruang dari belakang yang rusak")
+    void testCloseSaatPenulisMenunggu() throws InterruptedException {
+        repo = new RepositoryProdukTulisBelakang(belakang, LAMA, 1);
+        doThrow(new IllegalStateException("disk penuh")).when(belakang).updateStok(eq("LAP001"), anyInt());
+        repo.updateStok("LAP001", 3);
+        AtomicReference<RuntimeException> galatPenulis = new AtomicReference<>();
+        Thread penulis = Thread.ofPlatform().start(() -> {
+            try {
+                repo.updateStok("MOU001", 1);
+            } catch (RuntimeException e) {
+                galatPenulis.set(e);
+            }
+        });
+        // Beri waktu beberapa putaran gagal; jeda membuatnya jarang, bukan putaran beruntun
+        Thread.sleep(500);
+        assertTrue(penulis.isAlive());
+        verify(belakang, atMost(5)).updateStok(eq("LAP001"), anyInt());
+        assertThrows(IllegalStateException.class, () -> repo.close());
+        penulis.join(5_000);
+        assertFalse(penulis.isAlive());
+        assertInstanceOf(IllegalStateException.class, galatPenulis.get());
+    }
+}
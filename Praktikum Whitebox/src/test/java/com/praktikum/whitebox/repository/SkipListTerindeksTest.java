@@ -0,0 +1,69 @@
+package com.praktikum.whitebox.repository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - SkipListTerindeks")
+public class SkipListTerindeksTest {
+    private record Entri(double kunci, String kode) {
+    }
+    private static final Comparator<Entri> URUTAN =
+            Comparator.comparingDouble(Entri::kunci).thenComparing(Entri::kode);
+    @Test
+    @DisplayName("Tambah/hapus acak sama dengan TreeSet, termasuk hitungAntara")
+    void testAcakSamaDenganTreeSet() {
+        SkipListTerindeks daftar = new SkipListTerindeks();
+        TreeSet<Entri> acuan = new TreeSet<>(URUTAN);
+        TreeMap<String, Double> kunciByKode = new TreeMap<>();
+        Random acak = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            String kode = "K" + acak.nextInt(3000);
+            Double lama = kunciByKode.remove(kode);
+            if (lama != null) {
+                assertTrue(daftar.hapus(lama, kode));
+                acuan.remove(new Entri(lama, kode));
+            }
+            if (acak.nextInt(4) != 0) {
+                double kunci = acak.nextInt(500);
+                daftar.tambah(kunci, kode);
+                acuan.add(new Entri(kunci, kode));
+                kunciByKode.put(kode, kunci);
+            }
+            if (i % 500 == 0) {
+                double a = acak.nextInt(520) - 10;
+                double b = a + acak.nextInt(200);
+                long harapan = acuan.stream().filter(e -> e.kunci() >= a && e.kunci() <= b).count();
+                assertEquals(harapan, daftar.hitungAntara(a, b));
+            }
+        }
+        assertEquals(acuan.size(), daftar.ukuran());
+        assertEquals(acuan.stream().map(Entri::kode).toList(), daftar.semuaKode());
+        assertFalse(daftar.hapus(-1, "TIDAK_ADA"));
+        assertEquals(0, daftar.hitungAntara(10, 5));
+    }
+    @Test
+    @DisplayName("Telusuri rentang lintas potongan, berurutan dan bisa berhenti")
+    void testTelusuri() {
+        SkipListTerindeks daftar = new SkipListTerindeks();
+        for (int i = 0; i < 1000; i++) {
+            // Banyak kunci kembar agar potongan terputus di tengah seri
+            daftar.tambah(i / 10, String.format("P%04d", i));
+        }
+        List<String> hasil = new ArrayList<>();
+        daftar.telusuri(20, 59, hasil::add);
+        assertEquals(400, hasil.size());
+        assertEquals("P0200", hasil.get(0));
+        assertEquals("P0599", hasil.get(399));
+        List<String> sebagian = new ArrayList<>();
+        daftar.telusuri(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, kode -> {
+            sebagian.add(kode);
+            return sebagian.size() < 3;
+        });
+        assertEquals(List.of("P0000", "P0001", "P0002"), sebagian);
+    }
+}
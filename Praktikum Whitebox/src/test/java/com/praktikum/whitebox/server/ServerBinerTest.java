@@ -0,0 +1,140 @@
+package com.praktikum.whitebox.server;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("Integration Test - ServerBiner dan KlienBiner")
+public class ServerBinerTest {
+    private RepositoryProdukMemori repo;
+    private ServerBiner server;
+    @BeforeEach
+    void setUp() throws IOException {
+        repo = new RepositoryProdukMemori();
+        repo.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 10, 5));
+        repo.simpan(new Produk("P002", "Mouse", "Elektronik", 100, 3, 5));
+        server = new ServerBiner(new ServiceInventaris(repo), 0);
+        server.mulai();
+    }
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+    @Test
+    @DisplayName("Satu batch dijalankan berurutan dengan status per operasi")
+    void testSatuBatch() throws IOException {
+        try (KlienBiner klien = new KlienBiner("127.0.0.1", server.getPort())) {
+            byte[] status = klien.jalankan(List.of(
+                    OperasiStok.keluar("P001", 4),
+                    OperasiStok.keluar("P001", 100),
+                    OperasiStok.masuk("P002", 2),
+                    OperasiStok.update("X999", 1),
+                    new OperasiStok((byte) 99, "P001", 1)));
+            assertArrayEquals(new byte[]{ProtokolBiner.STATUS_OK, ProtokolBiner.STATUS_DITOLAK,
+                    ProtokolBiner.STATUS_OK, ProtokolBiner.STATUS_DITOLAK,
+                    ProtokolBiner.STATUS_TIDAK_DIKENAL}, status);
+        }
+        assertEquals(6, repo.cariByKode("P001").orElseThrow().getStok());
+        assertEquals(5, repo.cariByKode("P002").orElseThrow().getStok());
+    }
+    @Test
+    @DisplayName("Batch pipelined dibalas sesuai urutan kirim")
+    void testPipelining() throws IOException {
+        try (KlienBiner klien = new KlienBiner("127.0.0.1", server.getPort())) {
+            List<OperasiStok> batch = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                batch.add(OperasiStok.masuk("P001", 1));
+            }
+            for (int i = 0; i < 20; i++) {
+                klien.kirim(batch);
+            }
+            assertEquals(20, klien.getJumlahMenunggu());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(500, klien.terima().length);
+            }
+            assertThrows(IllegalStateException.class, klien::terima);
+        }
+        assertEquals(10 + 20 * 500, repo.cariByKode("P001").orElseThrow().getStok());
+    }
+    @Test
+    @DisplayName("Frame yang tertahan karena buffer balasan penuh tetap diproses tanpa byte baru dari klien")
+    void testPipeliningMelebihiBufferBalasan() throws Exception {
+        int jumlahFrame = 50_000;
+        try (SocketChannel ch = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()))) {
+            AtomicReference<IOException> galatKirim = new AtomicReference<>();
+            // Balasan total ~550 KB, jauh melebihi satu buffer balasan server
+            Thread pengirim = Thread.ofPlatform().start(() -> {
+                ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+                try {
+                    for (int i = 0; i < jumlahFrame; i++) {
+                        if (buf.remaining() < 64) {
+                            buf.flip();
+                            while (buf.hasRemaining()) {
+                                ch.write(buf);
+                            }
+                            buf.clear();
+                        }
+                        ProtokolBiner.tulisPermintaan(buf, i, List.of(OperasiStok.masuk("P001", 1)));
+                    }
+                    buf.flip();
+                    while (buf.hasRemaining()) {
+                        ch.write(buf);
+                    }
+                } catch (IOException e) {
+                    galatKirim.set(e);
+                }
+            });
+            // Klien baru membaca setelah server sempat menumpuk balasan
+            Thread.sleep(200);
+            ByteBuffer balasan = ByteBuffer.allocate(ProtokolBiner.UKURAN_HEADER + 1);
+            assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+                for (int i = 0; i < jumlahFrame; i++) {
+                    balasan.clear();
+                    while (balasan.hasRemaining()) {
+                        if (ch.read(balasan) < 0) {
+                            fail("Koneksi ditutup pada balasan " + i);
+                        }
+                    }
+                    assertEquals(i, balasan.getInt(4));
+                    assertEquals(ProtokolBiner.STATUS_OK, balasan.get(ProtokolBiner.UKURAN_HEADER));
+                }
+            });
+            pengirim.join();
+            assertNull(galatKirim.get());
+        }
+        assertEquals(10 + jumlahFrame, repo.cariByKode("P001").orElseThrow().getStok());
+    }
+    @Test
+    @DisplayName("Frame rusak menutup koneksi tanpa menghentikan server")
+    void testFrameRusak() throws IOException {
+        try (SocketChannel ch = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()))) {
+            ch.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE));
+            assertEquals(-1, ch.read(ByteBuffer.allocate(16)));
+        }
+        try (KlienBiner klien = new KlienBiner("127.0.0.1", server.getPort())) {
+            assertEquals(1, klien.jalankan(List.of(OperasiStok.masuk("P002", 1))).length);
+        }
+    }
+    @Test
+    @DisplayName("Batch terlalu besar ditolak di sisi klien")
+    void testBatchTerlaluBesar() throws IOException {
+        try (KlienBiner klien = new KlienBiner("127.0.0.1", server.getPort())) {
+            List<OperasiStok> batch = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                batch.add(OperasiStok.masuk("PRODUK0001", 1));
+            }
+            assertThrows(RuntimeException.class, () -> klien.kirim(batch));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.praktikum.whitebox.server;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("Integration Test - ServerInventaris (HTTP + JSON)")
+public class ServerInventarisTest {
+    private RepositoryProdukMemori repo;
+    private ServerInventaris server;
+    private HttpClient klien;
+    @BeforeEach
+    void setUp() throws Exception {
+        repo = new RepositoryProdukMemori();
+        repo.simpan(new Produk("P001", "Laptop \"Pro\"", "Elektronik", 1000, 10, 5));
+        repo.simpan(new Produk("P002", "Mouse", "Elektronik", 100, 3, 5));
+        server = new ServerInventaris(new ServiceInventaris(repo), new KalkulatorDiskon(), 0);
+        server.mulai();
+        klien = HttpClient.newHttpClient();
+    }
+    @AfterEach
+    void tearDown() {
+        server.berhenti();
+    }
+    private HttpResponse<String> get(String path) throws Exception {
+        return klien.send(HttpRequest.newBuilder(uri(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+    private HttpResponse<String> post(String path) throws Exception {
+        return klien.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+    @Test
+    @DisplayName("GET /produk/{kode} mengembalikan JSON produk")
+    void testCariProduk() throws Exception {
+        HttpResponse<String> r = get("/produk/P001");
+        assertEquals(200, r.statusCode());
+        assertTrue(r.body().contains("\"kode\":\"P001\""));
+        assertTrue(r.body().contains("\"nama\":\"Laptop \\\"Pro\\\"\""));
+        assertTrue(r.body().contains("\"status\":\"AMAN\""));
+        assertEquals(404, get("/produk/X999").statusCode());
+    }
+    @Test
+    @DisplayName("POST masuk/keluar stok")
+    void testMasukKeluar() throws Exception {
+        assertEquals(200, post("/produk/P001/keluar?jumlah=4").statusCode());
+        assertEquals(409, post("/produk/P001/keluar?jumlah=100").statusCode());
+        assertEquals(200, post("/produk/P001/masuk?jumlah=1").statusCode());
+        assertEquals(7, repo.cariByKode("P001").orElseThrow().getStok());
+        assertEquals(404, post("/produk/P001/lain?jumlah=1").statusCode());
+        assertEquals(400, post("/produk/P001/masuk?jumlah=abc").statusCode());
+        assertEquals(400, post("/produk/P001/keluar").statusCode());
+        assertEquals(405, post("/produk/P001").statusCode());
+    }
+    @Test
+    @DisplayName("Daftar stok menipis, habis dan agregat")
+    void testDaftarDanAgregat() throws Exception {
+        assertTrue(get("/stok/menipis").body().contains("P002"));
+        assertEquals("{\"produk\":[]}", get("/stok/habis").body());
+        assertEquals(404, get("/stok/lain").statusCode());
+        assertEquals(405, post("/stok/menipis").statusCode());
+        String agregat = get("/agregat").body();
+        assertTrue(agregat.contains("\"totalStok\":13"));
+        assertTrue(agregat.contains("\"totalNilaiInventaris\":10300.0"));
+    }
+    @Test
+    @DisplayName("GET /diskon menghitung penawaran harga")
+    void testDiskon() throws Exception {
+        HttpResponse<String> r = get("/diskon?harga=100&kuantitas=10&tipe=PREMIUM");
+        assertEquals(200, r.statusCode());
+        assertTrue(r.body().contains("\"diskon\":200.0"));
+        assertTrue(r.body().contains("\"kategoriDiskon\":\"DISKON_BESAR\""));
+        assertEquals(400, get("/diskon?harga=x&kuantitas=1").statusCode());
+        assertEquals(400, get("/diskon?harga=-1&kuantitas=1").statusCode());
+    }
+    @Test
+    @DisplayName("GET /perubahan hanya mengirim delta sejak versi")
+    void testPerubahan() throws Exception {
+        String awal = get("/perubahan").body();
+        assertTrue(awal.startsWith("{\"versi\":2,\"sinkronPenuh\":false"));
+        assertTrue(awal.contains("P001") && awal.contains("P002"));
+        post("/produk/P002/masuk?jumlah=1");
+        repo.hapus("P001");
+        assertEquals(200, get("/perubahan?sejak=2").statusCode());
+        String delta = get("/perubahan?sejak=2").body();
+        assertTrue(delta.contains("\"versi\":4"));
+        assertTrue(delta.contains("\"stok\":4"));
+        assertTrue(delta.endsWith("\"dihapus\":[\"P001\"]}"));
+        assertEquals("{\"versi\":4,\"sinkronPenuh\":false,\"diubah\":[],\"dihapus\":[]}",
+                get("/perubahan?sejak=4").body());
+        assertEquals(400, get("/perubahan?sejak=x").statusCode());
+        assertEquals(400, get("/perubahan?sejak=-1").statusCode());
+    }
+    @Test
+    @DisplayName("Exception tak terduga di handler dijawab 500")
+    void testGalatInternal() throws Exception {
+        ServiceInventaris rusak = new ServiceInventaris(repo) {
+            @Override
+            public int hitungTotalStok() {
+                throw new IllegalStateException("rusak");
+            }
+        };
+        server.berhenti();
+        server = new ServerInventaris(rusak, new KalkulatorDiskon(), 0);
+        server.mulai();
+        HttpResponse<String> r = get("/agregat");
+        assertEquals(500, r.statusCode());
+        assertTrue(r.body().contains("\"error\""));
+    }
+}
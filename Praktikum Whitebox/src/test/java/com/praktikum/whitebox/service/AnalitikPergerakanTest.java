@@ -0,0 +1,95 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - AnalitikPergerakan")
+public class AnalitikPergerakanTest {
+    private static final Duration MENIT = Duration.ofMinutes(1);
+    private static final Duration JAM = Duration.ofHours(1);
+    private final AtomicLong jam = new AtomicLong(10 * 3_600_000L);
+    private AnalitikPergerakan analitik;
+    @BeforeEach
+    void setUp() {
+        analitik = new AnalitikPergerakan(MENIT, 60, 0.005, 0.01, 32, jam::get);
+    }
+    @Test
+    @DisplayName("Service meneruskan keluarStok dan masukStok yang berhasil")
+    void testDariService() {
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        ServiceInventaris service = new ServiceInventaris(repo);
+        service.tambahPendengar(analitik);
+        service.tambahProduk(new Produk("LAP001", "Laptop", "Elektronik", 1000, 100, 5));
+        assertTrue(service.keluarStok("LAP001", 7));
+        assertTrue(service.keluarStok("LAP001", 3));
+        assertTrue(service.masukStok("LAP001", 20));
+        // Gagal: stok tidak cukup, tidak tercatat
+        assertFalse(service.keluarStok("LAP001", 1000));
+        service.updateStok("LAP001", 5);
+        assertEquals(10, analitik.jumlahKeluar("LAP001", MENIT));
+        assertEquals(20, analitik.jumlahMasuk("LAP001", MENIT));
+        assertEquals(0, analitik.jumlahKeluar("MOU001", MENIT));
+    }
+    @Test
+    @DisplayName("Pencatatan serentak tidak kehilangan pergerakan")
+    void testSerentak() throws Exception {
+        List<Thread> daftar = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            daftar.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < AnalitikPergerakan.BATAS_TERTUNDA * 10; i++) {
+                    analitik.stokBergerak("SKU1", -1);
+                    analitik.stokBergerak("SKU2", 2);
+                }
+            }));
+        }
+        for (Thread t : daftar) {
+            t.join();
+        }
+        assertEquals(4L * AnalitikPergerakan.BATAS_TERTUNDA * 10, analitik.jumlahKeluar("SKU1", MENIT));
+        assertEquals(8L * AnalitikPergerakan.BATAS_TERTUNDA * 10, analitik.jumlahMasuk("SKU2", MENIT));
+        assertEquals("SKU1", analitik.teratasKeluar(1, MENIT).get(0).getKode());
+    }
+    @Test
+    @DisplayName("Jendela geser membuang bucket lama dan laju dihitung per menit")
+    void testJendelaGeser() {
+        for (int menit = 0; menit < 90; menit++) {
+            analitik.stokBergerak("SKU1", -2);
+            jam.addAndGet(MENIT.toMillis());
+        }
+        // Bucket berjalan kosong, jendela 10 menit berisi 9 bucket lengkap
+        assertEquals(18, analitik.jumlahKeluar("SKU1", Duration.ofMinutes(10)));
+        assertEquals(118, analitik.jumlahKeluar("SKU1", JAM));
+        assertEquals(118 / 60.0, analitik.lajuKeluarPerMenit("SKU1", JAM), 1e-9);
+        jam.addAndGet(2 * JAM.toMillis());
+        assertEquals(0, analitik.jumlahKeluar("SKU1", JAM));
+        assertThrows(IllegalArgumentException.class, () -> analitik.jumlahKeluar("SKU1", Duration.ofMinutes(61)));
+        assertThrows(IllegalArgumentException.class, () -> analitik.jumlahKeluar("SKU1", Duration.ZERO));
+    }
+    @Test
+    @DisplayName("Top-K mengembalikan SKU paling laku per jendela dengan memori tetap")
+    void testTeratas() {
+        long ukuranAwal = analitik.ukuranByte();
+        for (int menit = 0; menit < 30; menit++) {
+            for (int i = 0; i < 2_000; i++) {
+                analitik.stokBergerak("EKOR" + (menit * 2_000 + i), -1);
+            }
+            // Laris lama hanya di 20 menit pertama, laris baru di 10 menit terakhir
+            analitik.stokBergerak(menit < 20 ? "LAMA" : "BARU", -100);
+            analitik.stokBergerak("TETAP", -40);
+            jam.addAndGet(MENIT.toMillis());
+        }
+        List<PergerakanSku> jam1 = analitik.teratasKeluar(3, JAM);
+        assertEquals(List.of("LAMA", "TETAP", "BARU"), jam1.stream().map(PergerakanSku::getKode).toList());
+        assertTrue(jam1.get(0).getJumlah() >= 2_000);
+        List<PergerakanSku> terbaru = analitik.teratasKeluar(2, Duration.ofMinutes(10));
+        assertEquals(List.of("BARU", "TETAP"), terbaru.stream().map(PergerakanSku::getKode).toList());
+        assertEquals(ukuranAwal, analitik.ukuranByte());
+        assertThrows(IllegalArgumentException.class, () -> analitik.teratasKeluar(0, JAM));
+    }
+}
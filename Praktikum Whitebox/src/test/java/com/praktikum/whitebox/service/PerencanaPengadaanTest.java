@@ -0,0 +1,144 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - PerencanaPengadaan")
+public class PerencanaPengadaanTest {
+    private static final long HARI_MS = 86_400_000L;
+    private final AtomicLong jam = new AtomicLong(1_000_000_000L);
+    private RepositoryProdukMemori repo;
+    private PencatatArusKeluar arus;
+    private PerencanaPengadaan perencana;
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMemori();
+        arus = new PencatatArusKeluar(7, jam::get);
+        repo.tambahPendengar(arus);
+        Map<String, String> pemasok = Map.of("LAP001", "PT Sumber", "MOU001", "PT Sumber", "KAO001", "CV Tekstil");
+        perencana = new PerencanaPengadaan(repo, arus, p -> pemasok.get(p.getKode()), 14, ForkJoinPool.commonPool());
+        repo.simpan(new Produk("LAP001", "Laptop", "Elektronik", 10000000, 50, 5));
+        repo.simpan(new Produk("MOU001", "Mouse", "Elektronik", 100000, 4, 5));
+        repo.simpan(new Produk("KAO001", "Kaos", "Pakaian", 50000, 0, 10));
+        repo.simpan(new Produk("BUK001", "Buku", "Alat Tulis", 20000, 100, 10));
+    }
+    @Test
+    @DisplayName("Laju keluar menuju rata-rata harian untuk arus konstan dan meluruh tanpa arus")
+    void testLajuKeluar() {
+        assertEquals(0, arus.lajuPerHari("LAP001"));
+        for (int hari = 0; hari < 60; hari++) {
+            jam.addAndGet(HARI_MS);
+            arus.catat("LAP001", 3);
+        }
+        assertEquals(3, arus.lajuPerHari("LAP001"), 0.3);
+        jam.addAndGet(70 * HARI_MS);
+        assertTrue(arus.lajuPerHari("LAP001") < 0.01);
+        // Pengurangan stok di repository tercatat otomatis, penambahan tidak
+        repo.updateStok("BUK001", 90);
+        repo.updateStok("BUK001", 200);
+        assertEquals(10.0 / 7, arus.lajuPerHari("BUK001"), 1e-9);
+        repo.hapus("BUK001");
+        assertEquals(0, arus.lajuPerHari("BUK001"));
+        assertThrows(IllegalArgumentException.class, () -> new PencatatArusKeluar(0, jam::get));
+    }
+    @Test
+    @DisplayName("Jumlah pesan dari laju keluar dan hari cakupan, dikelompokkan per kategori dan pemasok")
+    void testRencanaDikelompokkan() {
+        // Mouse keluar 14 unit hari ini: laju 2/hari, target 5 + 28
+        repo.updateStok("MOU001", 18);
+        repo.updateStok("MOU001", 4);
+        RencanaPengadaan rencana = perencana.jalankan();
+        assertEquals(2, rencana.getJumlahItem());
+        assertEquals(4, rencana.getJumlahDiproses());
+        ItemPengadaan mouse = rencana.item("Elektronik", "PT Sumber").get(0);
+        assertEquals("MOU001", mouse.getKode());
+        assertEquals(2.0, mouse.getLajuKeluarPerHari(), 1e-9);
+        assertEquals(5 + 28 - 4, mouse.getJumlahPesan());
+        // Tanpa riwayat keluar: cukup sampai di atas minimum
+        ItemPengadaan kaos = rencana.item("Pakaian", "CV Tekstil").get(0);
+        assertEquals(11, kaos.getJumlahPesan());
+        assertEquals(29 + 11, rencana.getTotalUnit());
+        assertEquals(List.of("Elektronik", "Pakaian"), List.copyOf(rencana.getPerKategoriPemasok().keySet()));
+        assertTrue(rencana.item("Elektronik", "CV Tekstil").isEmpty());
+    }
+    @Test
+    @DisplayName("Putaran berikutnya hanya memproses produk yang berubah")
+    void testInkremental() {
+        assertEquals(2, perencana.jalankan().getJumlahItem());
+        RencanaPengadaan tanpaPerubahan = perencana.jalankan();
+        assertEquals(0, tanpaPerubahan.getJumlahDiproses());
+        assertEquals(2, tanpaPerubahan.getJumlahItem());
+        repo.updateStok("LAP001", 2);
+        repo.updateStok("KAO001", 50);
+        repo.hapus("MOU001");
+        repo.simpan(new Produk("TOP001", "Topi", null, 30000, 1, 3));
+        RencanaPengadaan rencana = perencana.jalankan();
+        assertEquals(4, rencana.getJumlahDiproses());
+        assertEquals(2, rencana.getJumlahItem());
+        ItemPengadaan laptop = rencana.item("Elektronik", "PT Sumber").get(0);
+        assertEquals("LAP001", laptop.getKode());
+        assertEquals(5 + (int) Math.ceil(48.0 / 7 * 14) - 2, laptop.getJumlahPesan());
+        assertEquals(1, rencana.item(PerencanaPengadaan.TANPA_KATEGORI, PerencanaPengadaan.TANPA_PEMASOK).size());
+        // Produk nonaktif tidak dipesan ulang
+        Produk topi = repo.cariByKode("TOP001").orElseThrow();
+        topi.setAktif(false);
+        repo.simpan(topi);
+        assertEquals(1, perencana.jalankan().getJumlahItem());
+    }
+    @Test
+    @DisplayName("Item produk yang tidak berubah tetap memakai laju keluar terkini")
+    void testLajuMeluruhTanpaPerubahan() {
+        repo.updateStok("MOU001", 18);
+        repo.updateStok("MOU001", 4);
+        ItemPengadaan awal = perencana.jalankan().item("Elektronik", "PT Sumber").get(0);
+        assertEquals(5 + 28 - 4, awal.getJumlahPesan());
+        // Sebulan tanpa arus keluar: laju meluruh walau produknya tidak berubah
+        jam.addAndGet(30 * HARI_MS);
+        RencanaPengadaan rencana = perencana.jalankan();
+        assertEquals(0, rencana.getJumlahDiproses());
+        ItemPengadaan mouse = rencana.item("Elektronik", "PT Sumber").get(0);
+        assertEquals(arus.lajuPerHari("MOU001"), mouse.getLajuKeluarPerHari(), 1e-12);
+        assertTrue(mouse.getLajuKeluarPerHari() < 0.1);
+        assertEquals(perencana.hitung(repo.cariByKode("MOU001").orElseThrow()).getJumlahPesan(), mouse.getJumlahPesan());
+        assertTrue(mouse.getJumlahPesan() < awal.getJumlahPesan());
+        assertEquals(4, mouse.getStok());
+    }
+    @Test
+    @DisplayName("Pemindaian paralel katalog besar sama dengan perhitungan berurutan")
+    void testParalelSamaDenganBerurutan() {
+        RepositoryProdukMemori besar = new RepositoryProdukMemori();
+        PencatatArusKeluar arusBesar = new PencatatArusKeluar(7, jam::get);
+        besar.tambahPendengar(arusBesar);
+        for (int i = 0; i < 50_000; i++) {
+            besar.simpan(new Produk("SKU" + i, "Produk " + i, "K" + (i % 7), 1000, 20 + i % 10, 10));
+            besar.updateStok("SKU" + i, i % 25);
+        }
+        PerencanaPengadaan paralel = new PerencanaPengadaan(besar, arusBesar, p -> "P" + p.getKode().length(),
+                14, new ForkJoinPool(4));
+        RencanaPengadaan rencana = paralel.jalankan();
+        int jumlah = 0;
+        long unit = 0;
+        for (Produk p : besar.cariSemua()) {
+            ItemPengadaan item = paralel.hitung(p);
+            if (item != null) {
+                jumlah++;
+                unit += item.getJumlahPesan();
+            }
+        }
+        assertEquals(jumlah, rencana.getJumlahItem());
+        assertEquals(unit, rencana.getTotalUnit());
+        assertEquals(50_000, rencana.getJumlahDiproses());
+    }
+    @Test
+    @DisplayName("Validasi hari cakupan")
+    void testValidasi() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PerencanaPengadaan(repo, arus, p -> null, 0, ForkJoinPool.commonPool()));
+    }
+}
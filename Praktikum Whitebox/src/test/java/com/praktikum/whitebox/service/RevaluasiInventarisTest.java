@@ -0,0 +1,134 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.KamusKategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.repository.RepositoryProdukLuarHeap;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - RevaluasiInventaris")
+public class RevaluasiInventarisTest {
+    private static final String[] KATEGORI = {"Elektronik", "Pakaian", "Makanan", "Mainan", null};
+    private RepositoryProdukMemori repo;
+    private final RevaluasiInventaris revaluasi = new RevaluasiInventaris();
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMemori();
+        Random acak = new Random(7);
+        // Cukup banyak produk agar pekerjaan dipecah ke beberapa tugas fork/join
+        for (int i = 0; i < 20_000; i++) {
+            Produk p = new Produk("SKU" + i, "Produk " + i, KATEGORI[acak.nextInt(KATEGORI.length)],
+                    1 + acak.nextInt(100_000) / 100.0, acak.nextInt(40), acak.nextInt(10));
+            p.setAktif(acak.nextInt(4) != 0);
+            repo.simpan(p);
+        }
+    }
+    private static void samaDengan(long jumlah, long stok, double nilai, RingkasanKategori r) {
+        assertEquals(jumlah, r.getJumlahProduk());
+        assertEquals(stok, r.getTotalStok());
+        assertEquals(nilai, r.getNilaiInventaris(), 1e-6);
+    }
+    @Test
+    @DisplayName("Rincian kategori, status dan aktif sama dengan penjumlahan naif")
+    void testSamaDenganPenjumlahanNaif() {
+        Map<String, long[]> hitung = new HashMap<>();
+        Map<String, BigDecimal> nilai = new HashMap<>();
+        long[] nonaktif = new long[2];
+        BigDecimal nilaiNonaktif = BigDecimal.ZERO;
+        for (Produk p : repo.cariSemua()) {
+            BigDecimal v = new BigDecimal(p.getHarga()).multiply(BigDecimal.valueOf(p.getStok()));
+            if (!p.isAktif()) {
+                nonaktif[0]++;
+                nonaktif[1] += p.getStok();
+                nilaiNonaktif = nilaiNonaktif.add(v);
+                continue;
+            }
+            StatusStok status = StatusStok.dari(p.getStok(), p.getStokMinimum());
+            for (String kunci : new String[]{"K:" + p.getKategori(), "S:" + status, "TOTAL"}) {
+                long[] h = hitung.computeIfAbsent(kunci, k -> new long[2]);
+                h[0]++;
+                h[1] += p.getStok();
+                nilai.merge(kunci, v, BigDecimal::add);
+            }
+        }
+        LaporanRevaluasi laporan = revaluasi.hitung(repo);
+        assertEquals(KATEGORI.length, laporan.getPerKategori().size());
+        assertNull(laporan.getPerKategori().keySet().iterator().next());
+        for (Map.Entry<String, RingkasanKategori> e : laporan.getPerKategori().entrySet()) {
+            String kunci = "K:" + e.getKey();
+            samaDengan(hitung.get(kunci)[0], hitung.get(kunci)[1], nilai.get(kunci).doubleValue(), e.getValue());
+        }
+        for (StatusStok status : StatusStok.values()) {
+            String kunci = "S:" + status;
+            samaDengan(hitung.get(kunci)[0], hitung.get(kunci)[1], nilai.get(kunci).doubleValue(),
+                    laporan.getPerStatus().get(status));
+        }
+        samaDengan(hitung.get("TOTAL")[0], hitung.get("TOTAL")[1], nilai.get("TOTAL").doubleValue(), laporan.getTotal());
+        samaDengan(nonaktif[0], nonaktif[1], nilaiNonaktif.doubleValue(), laporan.getNonaktif());
+        assertSame(laporan.getTotal(), laporan.getAktif());
+        assertEquals(repo.hitungTotalNilaiInventaris(), laporan.getTotal().getNilaiInventaris(), 1e-3);
+    }
+    @Test
+    @DisplayName("Repository lain dibaca lewat cariSemua dengan hasil yang sama")
+    void testRepositoryLain() {
+        RepositoryProdukLuarHeap luar = new RepositoryProdukLuarHeap();
+        for (Produk p : repo.cariSemua()) {
+            luar.simpan(p);
+        }
+        LaporanRevaluasi dariMemori = revaluasi.hitung(repo);
+        LaporanRevaluasi dariLuar = revaluasi.hitung(luar);
+        assertEquals(dariMemori.getPerKategori().keySet(), dariLuar.getPerKategori().keySet());
+        RingkasanKategori total = dariMemori.getTotal();
+        samaDengan(total.getJumlahProduk(), total.getTotalStok(), total.getNilaiInventaris(), dariLuar.getTotal());
+        RingkasanKategori kosong = revaluasi.hitung(new RepositoryProdukMemori()).getTotal();
+        samaDengan(0, 0, 0.0, kosong);
+        assertTrue(revaluasi.hitung(List.of()).getPerKategori().isEmpty());
+    }
+    @Test
+    @DisplayName("Penjumlahan Kahan tidak kehilangan nilai kecil di samping nilai besar")
+    void testPresisiKahan() {
+        KamusKategori kamus = new KamusKategori();
+        List<ProdukRingkas> daftar = new ArrayList<>();
+        // Produk besar di depan: tanpa kompensasi, setiap 0.1 hilang di samping 1e16
+        daftar.add(ProdukRingkas.dari(new Produk("BESAR", "Besar", "Emas", 1e8, 100_000_000, 0), kamus));
+        ProdukRingkas kecil = ProdukRingkas.dari(new Produk("KECIL", "Kecil", "Emas", 0.1, 1, 0), kamus);
+        for (int i = 0; i < 100_000; i++) {
+            daftar.add(kecil);
+        }
+        BigDecimal tepat = BigDecimal.ZERO;
+        double naif = 0;
+        for (ProdukRingkas p : daftar) {
+            tepat = tepat.add(new BigDecimal(p.getHarga()).multiply(BigDecimal.valueOf(p.getStok())));
+            naif += p.getHarga() * p.getStok();
+        }
+        double hasil = revaluasi.hitung(daftar).getTotal().getNilaiInventaris();
+        assertTrue(Math.abs(naif - tepat.doubleValue()) > 1_000);
+        assertEquals(tepat.doubleValue(), hasil, 2.0);
+    }
+    @Test
+    @DisplayName("Kategori bernama sama dari kamus berbeda dijumlahkan dalam satu baris")
+    void testKategoriSamaNamaBedaInstance() {
+        KamusKategori kamusA = new KamusKategori();
+        KamusKategori kamusB = new KamusKategori();
+        List<ProdukRingkas> daftar = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            Produk p = new Produk("SKU" + i, "Produk " + i, i % 2 == 0 ? "Elektronik" : "Pakaian", 10, 3, 1);
+            daftar.add(ProdukRingkas.dari(p, i % 3 == 0 ? kamusA : kamusB));
+        }
+        assertNotSame(daftar.get(0).getKategori(), daftar.get(2).getKategori());
+        LaporanRevaluasi laporan = revaluasi.hitung(daftar);
+        assertEquals(2, laporan.getPerKategori().size());
+        samaDengan(20_000, 60_000, 600_000, laporan.getPerKategori().get("Elektronik"));
+        samaDengan(20_000, 60_000, 600_000, laporan.getPerKategori().get("Pakaian"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.AdapterRepositoryAsync;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.util.Tenggat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - ServiceInventarisAsync")
+public class ServiceInventarisAsyncTest {
+    private RepositoryProdukMemori repo;
+    private AdapterRepositoryAsync adapter;
+    private ServiceInventarisAsync service;
+    // Repository yang menahan cariByKode sampai gerbang dibuka, meniru I/O lambat
+    private static class RepositoryLambat extends RepositoryProdukMemori {
+        final CountDownLatch gerbang = new CountDownLatch(1);
+        final AtomicInteger jumlahUpdate = new AtomicInteger();
+        @Override
+        public Optional<Produk> cariByKode(String kode) {
+            try {
+                gerbang.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            return super.cariByKode(kode);
+        }
+        @Override
+        public boolean updateStok(String kode, int stokBaru) {
+            jumlahUpdate.incrementAndGet();
+            return super.updateStok(kode, stokBaru);
+        }
+    }
+    // Repository yang update pertamanya mengabaikan interupsi sampai gerbang dibuka
+    private static class RepositoryBandel extends RepositoryProdukMemori {
+        final CountDownLatch gerbang = new CountDownLatch(1);
+        final CountDownLatch mulaiUpdate = new CountDownLatch(1);
+        final AtomicInteger jumlahUpdate = new AtomicInteger();
+        @Override
+        public boolean updateStok(String kode, int stokBaru) {
+            if (jumlahUpdate.incrementAndGet() == 1) {
+                mulaiUpdate.countDown();
+                boolean terinterupsi = false;
+                while (true) {
+                    try {
+                        gerbang.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        terinterupsi = true;
+                    }
+                }
+                if (terinterupsi) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.updateStok(kode, stokBaru);
+        }
+    }
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMemori();
+        repo.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 10, 5));
+        adapter = new AdapterRepositoryAsync(repo);
+        service = new ServiceInventarisAsync(adapter);
+    }
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+    }
+    private static <T> T tunggu(CompletableFuture<T> f) throws Exception {
+        return f.get(10, TimeUnit.SECONDS);
+    }
+    @Test
+    @DisplayName("Aturan bisnis sama dengan ServiceInventaris")
+    void testAturanBisnis() throws Exception {
+        assertTrue(tunggu(service.tambahProduk(new Produk("P002", "Mouse", "Elektronik", 100, 0, 5))));
+        assertFalse(tunggu(service.tambahProduk(new Produk("P002", "Mouse", "Elektronik", 100, 0, 5))));
+        assertFalse(tunggu(service.tambahProduk(null)));
+        assertTrue(tunggu(service.keluarStok("P001", 4)));
+        assertFalse(tunggu(service.keluarStok("P001", 100)));
+        assertFalse(tunggu(service.keluarStok("P001", 0)));
+        assertTrue(tunggu(service.masukStok("P001", 1)));
+        assertEquals(7, tunggu(service.cariProdukByKode("P001")).orElseThrow().getStok());
+        assertFalse(tunggu(service.hapusProduk("P001")));
+        assertTrue(tunggu(service.updateStok("P001", 0)));
+        assertTrue(tunggu(service.hapusProduk("P001")));
+        assertFalse(tunggu(service.updateStok("P001", 3)));
+        assertTrue(tunggu(service.cariProdukByKode("")).isEmpty());
+        assertEquals(List.of("P002"), tunggu(service.getProdukStokHabis(Tenggat.TANPA_BATAS))
+                .stream().map(Produk::getKode).toList());
+        assertEquals(0L, tunggu(service.hitungTotalStok(Tenggat.TANPA_BATAS)));
+        Produk nonaktif = new Produk("P003", "Lama", "Elektronik", 10, 5, 1);
+        nonaktif.setAktif(false);
+        repo.simpan(nonaktif);
+        assertFalse(tunggu(service.keluarStok("P003", 1)));
+        assertFalse(tunggu(service.masukStok("P003", 1)));
+    }
+    @Test
+    @DisplayName("Keluar stok konkuren tidak oversell")
+    void testTanpaOversell() throws Exception {
+        repo.simpan(new Produk("P100", "Kabel", "Elektronik", 10, 1000, 5));
+        List<CompletableFuture<Boolean>> hasil = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            hasil.add(service.keluarStok("P100", 1, Tenggat.TANPA_BATAS));
+        }
+        int sukses = 0;
+        for (CompletableFuture<Boolean> f : hasil) {
+            sukses += tunggu(f) ? 1 : 0;
+        }
+        assertEquals(1000, sukses);
+        assertEquals(0, repo.cariByKode("P100").orElseThrow().getStok());
+        assertEquals(0, service.getJumlahBerjalan());
+    }
+    @Test
+    @DisplayName("Tenggat diteruskan: tahap update tidak dijalankan setelah timeout")
+    void testTenggat() throws Exception {
+        RepositoryLambat lambat = new RepositoryLambat();
+        lambat.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 10, 5));
+        try (AdapterRepositoryAsync a = new AdapterRepositoryAsync(lambat)) {
+            ServiceInventarisAsync s = new ServiceInventarisAsync(a);
+            long mulai = System.nanoTime();
+            CompletableFuture<Boolean> f = s.keluarStok("P001", 1, Tenggat.dalam(Duration.ofMillis(100)));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> tunggu(f));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertTrue(System.nanoTime() - mulai < TimeUnit.SECONDS.toNanos(5));
+            // Operasi berikutnya pada kode yang sama mengantre; tenggatnya habis sebelum giliran tiba
+            CompletableFuture<Boolean> antre = s.masukStok("P001", 1, Tenggat.dalam(Duration.ofMillis(50)));
+            assertThrows(ExecutionException.class, () -> tunggu(antre));
+            lambat.gerbang.countDown();
+            assertTrue(tunggu(s.keluarStok("P001", 1)));
+            assertEquals(1, lambat.jumlahUpdate.get());
+            assertEquals(9, lambat.cariByKode("P001").orElseThrow().getStok());
+            CompletableFuture<Boolean> lewat = s.keluarStok("P001", 1, Tenggat.dalam(Duration.ZERO));
+            assertInstanceOf(TimeoutException.class, assertThrows(ExecutionException.class, () -> tunggu(lewat)).getCause());
+        }
+    }
+    @Test
+    @DisplayName("Timeout pemanggil tidak membuka giliran kode selama penulisan masih berjalan")
+    void testTimeoutMenungguPenulisan() throws Exception {
+        RepositoryBandel bandel = new RepositoryBandel();
+        bandel.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 10, 5));
+        try (AdapterRepositoryAsync a = new AdapterRepositoryAsync(bandel)) {
+            ServiceInventarisAsync s = new ServiceInventarisAsync(a);
+            CompletableFuture<Boolean> f = s.keluarStok("P001", 1, Tenggat.dalam(Duration.ofMillis(100)));
+            assertTrue(bandel.mulaiUpdate.await(10, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, assertThrows(ExecutionException.class, () -> tunggu(f)).getCause());
+            // Update pertama masih berjalan: slot belum kembali dan operasi kode yang sama menunggu
+            assertEquals(1, s.getJumlahBerjalan());
+            CompletableFuture<Boolean> berikut = s.masukStok("P001", 5, Tenggat.TANPA_BATAS);
+            Thread.sleep(200);
+            assertFalse(berikut.isDone());
+            assertEquals(1, bandel.jumlahUpdate.get());
+            bandel.gerbang.countDown();
+            assertTrue(tunggu(berikut));
+            assertEquals(14, bandel.cariByKode("P001").orElseThrow().getStok());
+            assertEquals(0, s.getJumlahBerjalan());
+        }
+    }
+    @Test
+    @DisplayName("Operasi di atas batas berjalan ditolak, slot kembali setelah selesai")
+    void testBatasBerjalan() throws Exception {
+        RepositoryLambat lambat = new RepositoryLambat();
+        lambat.simpan(new Produk("A001", "A", "Umum", 1, 1, 0));
+        try (AdapterRepositoryAsync a = new AdapterRepositoryAsync(lambat)) {
+            ServiceInventarisAsync s = new ServiceInventarisAsync(a, 2, Duration.ofSeconds(10));
+            CompletableFuture<Optional<Produk>> f1 = s.cariProdukByKode("A001");
+            CompletableFuture<Optional<Produk>> f2 = s.cariProdukByKode("A001");
+            assertEquals(2, s.getJumlahBerjalan());
+            CompletableFuture<Optional<Produk>> f3 = s.cariProdukByKode("A001");
+            assertInstanceOf(RejectedExecutionException.class, assertThrows(ExecutionException.class, () -> tunggu(f3)).getCause());
+            lambat.gerbang.countDown();
+            assertTrue(tunggu(f1).isPresent());
+            assertTrue(tunggu(f2).isPresent());
+            assertTrue(tunggu(s.cariProdukByKode("A001")).isPresent());
+            assertEquals(0, s.getJumlahBerjalan());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ServiceInventarisAsync(adapter, 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceInventarisAsync(adapter, 1, Duration.ZERO));
+    }
+    @Test
+    @DisplayName("Tenggat: validasi, tanpa batas dan paling awal")
+    void testTenggatNilai() {
+        assertThrows(IllegalArgumentException.class, () -> Tenggat.dalam(Duration.ofMillis(-1)));
+        assertFalse(Tenggat.TANPA_BATAS.lewat());
+        assertEquals(Long.MAX_VALUE, Tenggat.TANPA_BATAS.sisaNanos());
+        assertSame(Tenggat.TANPA_BATAS, Tenggat.dalam(Duration.ofDays(365L * 1000)));
+        Tenggat cepat = Tenggat.dalam(Duration.ofMillis(10));
+        Tenggat lama = Tenggat.dalam(Duration.ofHours(1));
+        assertSame(cepat, cepat.palingAwal(lama));
+        assertSame(cepat, lama.palingAwal(cepat));
+        assertSame(lama, Tenggat.TANPA_BATAS.palingAwal(lama));
+        assertTrue(Tenggat.dalam(Duration.ZERO).lewat());
+    }
+}
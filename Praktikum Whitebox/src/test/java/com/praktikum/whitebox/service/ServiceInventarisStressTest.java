@@ -0,0 +1,257 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukRingkas;
+import com.praktikum.whitebox.repository.PendengarProduk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.repository.RepositoryProdukMvcc;
+import com.praktikum.whitebox.repository.RepositoryProdukShard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Stress test gaya jcstress: banyak thread menjalankan keluarStok, masukStok,
+ * updateStok dan hapusProduk secara bersamaan terhadap repository sungguhan,
+ * lalu invariant diperiksa: stok tidak pernah negatif, stok kekal terhadap
+ * pergerakan yang berhasil, dan tidak ada produk terhapus yang masih punya stok.
+ */
+@DisplayName("Stress Test - Invariant ServiceInventaris di bawah konkurensi")
+class ServiceInventarisStressTest {
+    private static final int THREAD = 8;
+    private static final int ITERASI = 20_000;
+    private static final int JUMLAH_SKU = 16;
+    static Stream<Arguments> repositories() {
+        return Stream.of(
+                Arguments.of("RepositoryProdukMemori", (Supplier<RepositoryProduk>) RepositoryProdukMemori::new),
+                Arguments.of("RepositoryProdukShard", (Supplier<RepositoryProduk>) () -> new RepositoryProdukShard(4)),
+                Arguments.of("RepositoryProdukMvcc", (Supplier<RepositoryProduk>) RepositoryProdukMvcc::new));
+    }
+    // Pengawas memeriksa setiap perubahan di repository saat terjadi
+    private static final class Pengawas implements PendengarProduk {
+        final AtomicLong stokNegatif = new AtomicLong();
+        final AtomicLong hapusDenganStok = new AtomicLong();
+        @Override
+        public void produkBerubah(ProdukRingkas lama, ProdukRingkas baru) {
+            if (baru != null && baru.getStok() < 0) {
+                stokNegatif.incrementAndGet();
+            }
+            if (baru == null && lama != null && lama.getStok() > 0) {
+                hapusDenganStok.incrementAndGet();
+            }
+        }
+    }
+    private static Pengawas pasangPengawas(RepositoryProduk repo) {
+        Pengawas pengawas = new Pengawas();
+        if (repo instanceof RepositoryProdukMemori) {
+            ((RepositoryProdukMemori) repo).tambahPendengar(pengawas);
+        } else if (repo instanceof RepositoryProdukShard) {
+            ((RepositoryProdukShard) repo).tambahPendengar(pengawas);
+        }
+        return pengawas;
+    }
+    private static String sku(int i) {
+        return "SKU" + i;
+    }
+    private static void jalankanSerentak(int jumlahThread, Runnable tugas) throws InterruptedException {
+        CountDownLatch siap = new CountDownLatch(1);
+        List<Thread> daftar = new ArrayList<>();
+        List<Throwable> galat = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    siap.await();
+                    tugas.run();
+                } catch (Throwable e) {
+                    synchronized (galat) {
+                        galat.add(e);
+                    }
+                }
+            });
+            daftar.add(thread);
+            thread.start();
+        }
+        siap.countDown();
+        for (Thread thread : daftar) {
+            thread.join();
+        }
+        assertTrue(galat.isEmpty(), () -> "Thread gagal: " + galat);
+    }
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("keluarStok serentak tidak pernah oversell")
+    void testTidakOversell(String nama, Supplier<RepositoryProduk> pabrik) throws InterruptedException {
+        RepositoryProduk repo = pabrik.get();
+        Pengawas pengawas = pasangPengawas(repo);
+        ServiceInventaris service = new ServiceInventaris(repo);
+        int stokAwal = 5_000;
+        service.tambahProduk(new Produk("SKU0", "Barang", "Umum", 100, stokAwal, 1));
+        AtomicLong terjual = new AtomicLong();
+        jalankanSerentak(THREAD, () -> {
+            ThreadLocalRandom acak = ThreadLocalRandom.current();
+            for (int i = 0; i < ITERASI; i++) {
+                int jumlah = 1 + acak.nextInt(3);
+                if (service.keluarStok("SKU0", jumlah)) {
+                    terjual.addAndGet(jumlah);
+                }
+            }
+        });
+        int stokAkhir = repo.cariByKode("SKU0").orElseThrow().getStok();
+        assertTrue(stokAkhir >= 0);
+        assertEquals(stokAwal, stokAkhir + terjual.get(), "stok tidak kekal");
+        assertEquals(0, pengawas.stokNegatif.get());
+    }
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("masukStok dan keluarStok serentak menjaga kekekalan stok per SKU")
+    void testKekekalanStok(String nama, Supplier<RepositoryProduk> pabrik) throws InterruptedException {
+        RepositoryProduk repo = pabrik.get();
+        Pengawas pengawas = pasangPengawas(repo);
+        ServiceInventaris service = new ServiceInventaris(repo);
+        int stokAwal = 100;
+        for (int i = 0; i < JUMLAH_SKU; i++) {
+            service.tambahProduk(new Produk(sku(i), "Barang " + i, "Umum", 100, stokAwal, 1));
+        }
+        AtomicLongArray bersih = new AtomicLongArray(JUMLAH_SKU);
+        jalankanSerentak(THREAD, () -> {
+            ThreadLocalRandom acak = ThreadLocalRandom.current();
+            for (int i = 0; i < ITERASI; i++) {
+                int s = acak.nextInt(JUMLAH_SKU);
+                int jumlah = 1 + acak.nextInt(10);
+                if (acak.nextBoolean()) {
+                    if (service.masukStok(sku(s), jumlah)) {
+                        bersih.addAndGet(s, jumlah);
+                    }
+                } else if (service.keluarStok(sku(s), jumlah)) {
+                    bersih.addAndGet(s, -jumlah);
+                }
+            }
+        });
+        long totalAwal = (long) stokAwal * JUMLAH_SKU;
+        long totalBersih = 0;
+        for (int i = 0; i < JUMLAH_SKU; i++) {
+            int stok = repo.cariByKode(sku(i)).orElseThrow().getStok();
+            assertTrue(stok >= 0);
+            assertEquals(stokAwal + bersih.get(i), stok, "stok " + sku(i) + " tidak kekal");
+            totalBersih += bersih.get(i);
+        }
+        assertEquals(totalAwal + totalBersih, service.hitungTotalStok());
+        assertEquals(0, pengawas.stokNegatif.get());
+    }
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("hapusProduk serentak dengan pergerakan stok tidak menghapus produk berstok")
+    void testHapusTanpaStok(String nama, Supplier<RepositoryProduk> pabrik) throws InterruptedException {
+        RepositoryProduk repo = pabrik.get();
+        Pengawas pengawas = pasangPengawas(repo);
+        ServiceInventaris service = new ServiceInventaris(repo);
+        for (int i = 0; i < JUMLAH_SKU; i++) {
+            service.tambahProduk(new Produk(sku(i), "Barang " + i, "Umum", 100, 0, 1));
+        }
+        AtomicLongArray bersih = new AtomicLongArray(JUMLAH_SKU);
+        AtomicLongArray dihapus = new AtomicLongArray(JUMLAH_SKU);
+        jalankanSerentak(THREAD, () -> {
+            ThreadLocalRandom acak = ThreadLocalRandom.current();
+            for (int i = 0; i < ITERASI; i++) {
+                int s = acak.nextInt(JUMLAH_SKU);
+                int pilihan = acak.nextInt(10);
+                if (pilihan == 0) {
+                    if (service.hapusProduk(sku(s))) {
+                        dihapus.incrementAndGet(s);
+                    }
+                } else if (pilihan < 5) {
+                    if (service.masukStok(sku(s), 1)) {
+                        bersih.addAndGet(s, 1);
+                    }
+                } else if (service.keluarStok(sku(s), 1)) {
+                    bersih.addAndGet(s, -1);
+                }
+            }
+        });
+        assertEquals(0, pengawas.hapusDenganStok.get());
+        for (int i = 0; i < JUMLAH_SKU; i++) {
+            Optional<Produk> p = repo.cariByKode(sku(i));
+            assertTrue(dihapus.get(i) <= 1);
+            if (p.isPresent()) {
+                assertEquals(0, dihapus.get(i));
+                assertEquals(bersih.get(i), p.get().getStok());
+            } else {
+                // Produk hanya dihapus saat stoknya nol, setelah itu pergerakan ditolak
+                assertEquals(1, dihapus.get(i));
+                assertEquals(0, bersih.get(i));
+            }
+        }
+    }
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("updateStok bercampur keluarStok tidak pernah membuat stok negatif")
+    void testUpdateDanKeluar(String nama, Supplier<RepositoryProduk> pabrik) throws InterruptedException {
+        RepositoryProduk repo = pabrik.get();
+        Pengawas pengawas = pasangPengawas(repo);
+        ServiceInventaris service = new ServiceInventaris(repo);
+        for (int i = 0; i < JUMLAH_SKU; i++) {
+            service.tambahProduk(new Produk(sku(i), "Barang " + i, "Umum", 100, 10, 1));
+        }
+        jalankanSerentak(THREAD, () -> {
+            ThreadLocalRandom acak = ThreadLocalRandom.current();
+            for (int i = 0; i < ITERASI; i++) {
+                int s = acak.nextInt(JUMLAH_SKU);
+                if (acak.nextInt(4) == 0) {
+                    service.updateStok(sku(s), acak.nextInt(20));
+                } else {
+                    service.keluarStok(sku(s), 1 + acak.nextInt(5));
+                }
+            }
+        });
+        assertEquals(0, pengawas.stokNegatif.get());
+        for (int i = 0; i < JUMLAH_SKU; i++) {
+            assertTrue(repo.cariByKode(sku(i)).orElseThrow().getStok() >= 0);
+        }
+    }
+    @Test
+    @DisplayName("Laporan skalabilitas throughput terhadap jumlah thread")
+    void testLaporanSkalabilitas() throws InterruptedException {
+        RepositoryProdukMemori repo = new RepositoryProdukMemori();
+        ServiceInventaris service = new ServiceInventaris(repo);
+        int jumlahSku = 10_000;
+        for (int i = 0; i < jumlahSku; i++) {
+            service.tambahProduk(new Produk(sku(i), "Barang " + i, "Umum", 100, 1_000_000, 1));
+        }
+        int maksThread = Math.max(1, Runtime.getRuntime().availableProcessors());
+        StringBuilder laporan = new StringBuilder("thread   op/s\n");
+        for (int t = 1; t <= maksThread; t *= 2) {
+            AtomicLong operasi = new AtomicLong();
+            long batas = System.nanoTime() + 200_000_000L;
+            long mulai = System.nanoTime();
+            jalankanSerentak(t, () -> {
+                ThreadLocalRandom acak = ThreadLocalRandom.current();
+                long n = 0;
+                while (System.nanoTime() < batas) {
+                    String kode = sku(acak.nextInt(jumlahSku));
+                    if ((n & 1) == 0) {
+                        service.keluarStok(kode, 1);
+                    } else {
+                        service.masukStok(kode, 1);
+                    }
+                    n++;
+                }
+                operasi.addAndGet(n);
+            });
+            double detik = (System.nanoTime() - mulai) / 1e9;
+            laporan.append(String.format("%6d %10.0f%n", t, operasi.get() / detik));
+            assertTrue(operasi.get() > 0);
+        }
+        System.out.print(laporan);
+    }
+}
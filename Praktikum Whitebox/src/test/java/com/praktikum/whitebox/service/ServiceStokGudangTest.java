@@ -0,0 +1,170 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Gudang;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - ServiceStokGudang (stok multi gudang)")
+public class ServiceStokGudangTest {
+    private RepositoryProdukMemori repo;
+    private ServiceStokGudang service;
+    @BeforeEach
+    void setUp() {
+        repo = new RepositoryProdukMemori();
+        repo.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 0, 5));
+        service = new ServiceStokGudang(repo);
+        service.tambahGudang(new Gudang("JKT", "Jakarta", 0, 0));
+        service.tambahGudang(new Gudang("BDG", "Bandung", 3, 0));
+        service.tambahGudang(new Gudang("SBY", "Surabaya", 10, 0));
+        assertTrue(service.aturStok("P001", "JKT", 5, 2));
+        assertTrue(service.aturStok("P001", "BDG", 20, 5));
+        assertTrue(service.aturStok("P001", "SBY", 8, 3));
+    }
+    private void stokGudang(int jkt, int bdg, int sby) {
+        assertEquals(jkt, service.stokDi("P001", "JKT"));
+        assertEquals(bdg, service.stokDi("P001", "BDG"));
+        assertEquals(sby, service.stokDi("P001", "SBY"));
+        assertEquals(jkt + bdg + sby, service.stokTersedia("P001"));
+        // Total global ditulis balik ke repository
+        assertEquals(jkt + bdg + sby, repo.cariByKode("P001").orElseThrow().getStok());
+    }
+    @Test
+    @DisplayName("Agregat total mengikuti atur, masuk dan keluar stok")
+    void testAgregat() {
+        stokGudang(5, 20, 8);
+        assertTrue(service.masukStok("P001", "JKT", 3));
+        stokGudang(8, 20, 8);
+        assertTrue(service.aturStok("P001", "BDG", 1, 5));
+        stokGudang(8, 1, 8);
+        assertFalse(service.masukStok("P001", "JKT", 0));
+        assertFalse(service.masukStok("X999", "JKT", 1));
+        assertFalse(service.aturStok("X999", "JKT", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.masukStok("P001", "MDN", 1));
+        assertThrows(IllegalArgumentException.class, () -> service.tambahGudang(new Gudang("JKT", "Lagi", 1, 1)));
+        assertEquals(0, service.stokTersedia("X999"));
+    }
+    @Test
+    @DisplayName("Kebijakan terdekat dan terbesar")
+    void testTerdekatDanTerbesar() {
+        List<Alokasi> a = service.keluarStok("P001", 10, 9, 0, KebijakanAlokasi.terdekat());
+        assertEquals(List.of(new Alokasi("BDG", 2), new Alokasi("SBY", 8)), a);
+        stokGudang(5, 18, 0);
+        a = service.keluarStok("P001", 19, 0, 0, KebijakanAlokasi.terbesar());
+        assertEquals(List.of(new Alokasi("JKT", 1), new Alokasi("BDG", 18)), a);
+        stokGudang(4, 0, 0);
+    }
+    @Test
+    @DisplayName("Pecahan tersedikit memilih gudang paling pas")
+    void testPecahanTersedikit() {
+        // 7 muat di SBY (8) maupun BDG (20); SBY paling pas
+        assertEquals(List.of(new Alokasi("SBY", 7)), service.keluarStok("P001", 7));
+        stokGudang(5, 20, 1);
+        // 24: BDG penuh lalu sisa 4 dari JKT (5), bukan memecah tiga gudang
+        assertEquals(List.of(new Alokasi("JKT", 4), new Alokasi("BDG", 20)), service.keluarStok("P001", 24));
+        stokGudang(1, 0, 1);
+        // Stok tidak cukup: tidak ada gudang yang berubah
+        assertTrue(service.keluarStok("P001", 3).isEmpty());
+        stokGudang(1, 0, 1);
+        assertTrue(service.keluarStok("P001", 0).isEmpty());
+        assertTrue(service.keluarStok("X999", 1).isEmpty());
+    }
+    @Test
+    @DisplayName("Status stok per gudang dan global")
+    void testStatus() {
+        assertEquals(StatusStok.AMAN, service.statusGlobal("P001"));
+        service.keluarStok("P001", 4, 0, 0, KebijakanAlokasi.terdekat());
+        assertTrue(service.isStokMenipisDi("P001", "JKT"));
+        assertEquals(StatusStok.AMAN, service.statusDi("P001", "BDG"));
+        assertEquals(List.of("P001"), service.cariKodeDenganStatusDi("JKT", StatusStok.MENIPIS));
+        service.aturStok("P001", "SBY", 0, 3);
+        assertTrue(service.isStokHabisDi("P001", "SBY"));
+        // Global: total 21 terhadap minimum 2 + 5 + 3
+        assertFalse(service.isStokMenipis("P001"));
+        service.aturStok("P001", "BDG", 3, 5);
+        assertEquals(4, service.stokTersedia("P001"));
+        assertTrue(service.isStokMenipis("P001"));
+        assertFalse(service.isStokHabis("P001"));
+        assertTrue(service.isStokHabis("X999"));
+    }
+    @Test
+    @DisplayName("Kebijakan yang salah ditolak tanpa mengubah stok; produk nonaktif tidak bisa keluar")
+    void testKebijakanSalahDanNonaktif() {
+        KebijakanAlokasi salah = (jumlah, stok, gudang, x, y) -> new int[]{jumlah, 0, 0};
+        assertThrows(IllegalStateException.class, () -> service.keluarStok("P001", 10, 0, 0, salah));
+        stokGudang(5, 20, 8);
+        Produk p = repo.cariByKode("P001").orElseThrow();
+        p.setAktif(false);
+        repo.simpan(p);
+        assertTrue(service.keluarStok("P001", 1).isEmpty());
+        assertFalse(service.masukStok("P001", "JKT", 1));
+    }
+    @Test
+    @DisplayName("Penulisan repository yang gagal tidak mengubah stok per gudang")
+    void testPenulisanGagal() {
+        AtomicInteger gagal = new AtomicInteger();
+        RepositoryProdukMemori tolak = new RepositoryProdukMemori() {
+            @Override
+            public boolean updateStok(String kode, int stokBaru) {
+                return gagal.get() == 0 && super.updateStok(kode, stokBaru);
+            }
+        };
+        repo = tolak;
+        repo.simpan(new Produk("P001", "Laptop", "Elektronik", 1000, 0, 5));
+        service = new ServiceStokGudang(repo);
+        service.tambahGudang(new Gudang("JKT", "Jakarta", 0, 0));
+        service.tambahGudang(new Gudang("BDG", "Bandung", 3, 0));
+        service.tambahGudang(new Gudang("SBY", "Surabaya", 10, 0));
+        assertTrue(service.aturStok("P001", "JKT", 5, 2));
+        assertTrue(service.aturStok("P001", "BDG", 20, 5));
+        assertTrue(service.aturStok("P001", "SBY", 8, 3));
+        gagal.set(1);
+        assertFalse(service.aturStok("P001", "JKT", 50, 2));
+        assertFalse(service.masukStok("P001", "BDG", 3));
+        assertTrue(service.keluarStok("P001", 4).isEmpty());
+        stokGudang(5, 20, 8);
+        assertEquals(StatusStok.AMAN, service.statusDi("P001", "JKT"));
+        gagal.set(0);
+        assertFalse(service.aturStok("P001", "JKT", Integer.MAX_VALUE, 0));
+        assertFalse(service.aturStok("P001", "JKT", 5, Integer.MAX_VALUE));
+        stokGudang(5, 20, 8);
+    }
+    @Test
+    @DisplayName("Stok repository yang belum dibagi ke gudang tidak ditimpa diam-diam")
+    void testStokAwalRepository() {
+        repo.simpan(new Produk("P002", "Mouse", "Elektronik", 100, 7, 1));
+        assertThrows(IllegalStateException.class, () -> service.aturStok("P002", "JKT", 3, 0));
+        assertThrows(IllegalStateException.class, () -> service.masukStok("P002", "JKT", 3));
+        assertEquals(7, repo.cariByKode("P002").orElseThrow().getStok());
+        assertEquals(0, service.stokTersedia("P002"));
+        repo.updateStok("P002", 0);
+        assertTrue(service.aturStok("P002", "JKT", 3, 0));
+        assertTrue(service.aturStok("P002", "BDG", 4, 0));
+        assertEquals(7, repo.cariByKode("P002").orElseThrow().getStok());
+    }
+    @Test
+    @DisplayName("Keluar stok konkuren tidak oversell dan total tetap konsisten")
+    void testKonkuren() throws Exception {
+        AtomicInteger terkirim = new AtomicInteger();
+        try (ExecutorService ex = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 100; i++) {
+                ex.submit(() -> {
+                    for (Alokasi a : service.keluarStok("P001", 1)) {
+                        terkirim.addAndGet(a.getJumlah());
+                    }
+                });
+            }
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(33, terkirim.get());
+        stokGudang(0, 0, 0);
+    }
+}
@@ -0,0 +1,103 @@
+package com.praktikum.whitebox.util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.BitSet;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - BitmapRingkas")
+public class BitmapRingkasTest {
+    private static BitSet keBitSet(BitmapRingkas bitmap) {
+        BitSet hasil = new BitSet();
+        for (int nilai : bitmap.keLarik()) {
+            hasil.set(nilai);
+        }
+        return hasil;
+    }
+    @Test
+    @DisplayName("Operasi acak (jarang dan padat) sama dengan BitSet")
+    void testSamaDenganBitSet() {
+        Random acak = new Random(11);
+        BitmapRingkas a = new BitmapRingkas();
+        BitmapRingkas b = new BitmapRingkas();
+        BitSet acuanA = new BitSet();
+        BitSet acuanB = new BitSet();
+        for (int i = 0; i < 200000; i++) {
+            // Wadah 0 padat (bitmap), wadah lain jarang (larik)
+            int nilai = acak.nextBoolean() ? acak.nextInt(20000) : acak.nextInt(1 << 22);
+            boolean ubahA = acak.nextBoolean();
+            BitmapRingkas target = ubahA ? a : b;
+            BitSet acuan = ubahA ? acuanA : acuanB;
+            if (acak.nextInt(3) == 0) {
+                assertEquals(acuan.get(nilai), target.hapus(nilai));
+                acuan.clear(nilai);
+            } else {
+                assertEquals(!acuan.get(nilai), target.tambah(nilai));
+                acuan.set(nilai);
+            }
+        }
+        assertEquals(acuanA.cardinality(), a.kardinalitas());
+        assertEquals(acuanA, keBitSet(a));
+        BitSet dan = (BitSet) acuanA.clone();
+        dan.and(acuanB);
+        assertEquals(dan, keBitSet(a.dan(b)));
+        assertEquals(dan.cardinality(), a.dan(b).kardinalitas());
+        BitSet danTidak = (BitSet) acuanA.clone();
+        danTidak.andNot(acuanB);
+        assertEquals(danTidak, keBitSet(a.danTidak(b)));
+        assertEquals(danTidak.cardinality(), a.danTidak(b).kardinalitas());
+        assertTrue(a.berisi(acuanA.nextSetBit(0)));
+        assertFalse(a.berisi(acuanA.nextClearBit(0)));
+    }
+    @Test
+    @DisplayName("Wadah menjadi bitmap di atas 4096 anggota dan kembali ke larik dengan histeresis")
+    void testKonversiWadah() {
+        BitmapRingkas bitmap = new BitmapRingkas();
+        for (int i = 0; i < BitmapRingkas.BATAS_LARIK; i++) {
+            bitmap.tambah(i * 2);
+        }
+        assertEquals(0, bitmap.jumlahWadahBitmap());
+        bitmap.tambah(1);
+        assertTrue(bitmap.berisi(1));
+        assertEquals(BitmapRingkas.BATAS_LARIK + 1, bitmap.kardinalitas());
+        assertEquals(1, bitmap.jumlahWadahBitmap());
+        // Naik-turun di sekitar batas tidak mengubah bentuk wadah
+        for (int i = 0; i < 100; i++) {
+            bitmap.hapus(1);
+            bitmap.hapus(0);
+            bitmap.tambah(0);
+            bitmap.tambah(1);
+        }
+        assertEquals(1, bitmap.jumlahWadahBitmap());
+        for (int i = 0; bitmap.kardinalitas() > BitmapRingkas.BATAS_KE_LARIK + 1; i++) {
+            bitmap.hapus(i * 2);
+        }
+        assertEquals(1, bitmap.jumlahWadahBitmap());
+        long ukuranBitmap = bitmap.ukuranByte();
+        int terkecil = bitmap.keLarik()[0];
+        bitmap.hapus(terkecil);
+        assertEquals(BitmapRingkas.BATAS_KE_LARIK, bitmap.kardinalitas());
+        assertEquals(0, bitmap.jumlahWadahBitmap());
+        assertTrue(bitmap.ukuranByte() < ukuranBitmap);
+        assertFalse(bitmap.berisi(terkecil));
+        assertTrue(bitmap.berisi((BitmapRingkas.BATAS_LARIK - 1) * 2));
+    }
+    @Test
+    @DisplayName("Memori tetap kecil untuk jutaan ordinal")
+    void testMemoriJutaanOrdinal() {
+        BitmapRingkas padat = new BitmapRingkas();
+        BitmapRingkas jarang = new BitmapRingkas();
+        for (int i = 0; i < 2_000_000; i++) {
+            padat.tambah(i);
+            if (i % 100 == 0) {
+                jarang.tambah(i);
+            }
+        }
+        // Padat: ~1 bit per ordinal; jarang: ~2 byte per anggota ditambah sisa kapasitas larik
+        assertTrue(padat.ukuranByte() < 300_000, "padat " + padat.ukuranByte());
+        assertTrue(jarang.ukuranByte() < 80_000, "jarang " + jarang.ukuranByte());
+        assertEquals(20_000, padat.dan(jarang).kardinalitas());
+        assertEquals(1_980_000, padat.danTidak(jarang).kardinalitas());
+        assertThrows(IllegalArgumentException.class, () -> padat.tambah(-1));
+        assertFalse(padat.hapus(-1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.praktikum.whitebox.util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - FilterCuckoo")
+public class FilterCuckooTest {
+    @Test
+    @DisplayName("Tanpa negatif palsu dan positif palsu sesuai konfigurasi")
+    void testTingkatPositifPalsu() {
+        for (double target : new double[]{0.01, 0.001}) {
+            FilterCuckoo filter = new FilterCuckoo(100_000, target);
+            for (int i = 0; i < 100_000; i++) {
+                assertTrue(filter.tambah("SKU" + i));
+            }
+            for (int i = 0; i < 100_000; i++) {
+                assertTrue(filter.mungkinAda("SKU" + i));
+            }
+            int positifPalsu = 0;
+            for (int i = 0; i < 200_000; i++) {
+                if (filter.mungkinAda("X" + i)) {
+                    positifPalsu++;
+                }
+            }
+            double tingkat = positifPalsu / 200_000.0;
+            assertTrue(tingkat <= target * 1.5, "target " + target + " terukur " + tingkat);
+        }
+        assertEquals(13, new FilterCuckoo(10, 0.001).getBitSidik());
+        assertEquals(16, new FilterCuckoo(10, 1e-9).getBitSidik());
+    }
+    @Test
+    @DisplayName("Hapus hanya membuang kode itu sendiri")
+    void testHapus() {
+        FilterCuckoo filter = new FilterCuckoo(10_000, 0.001);
+        for (int i = 0; i < 9_000; i++) {
+            filter.tambah("P" + i);
+        }
+        for (int i = 0; i < 9_000; i += 2) {
+            assertTrue(filter.hapus("P" + i));
+        }
+        assertEquals(4_500, filter.jumlah());
+        int masihTerlihat = 0;
+        for (int i = 0; i < 9_000; i++) {
+            if (i % 2 == 1) {
+                assertTrue(filter.mungkinAda("P" + i));
+            } else if (filter.mungkinAda("P" + i)) {
+                masihTerlihat++;
+            }
+        }
+        assertTrue(masihTerlihat < 45, "positif palsu setelah hapus: " + masihTerlihat);
+        // Kode duplikat disimpan dua kali dan harus dihapus dua kali
+        filter.tambah("DUP");
+        filter.tambah("DUP");
+        filter.hapus("DUP");
+        assertTrue(filter.mungkinAda("DUP"));
+    }
+    @Test
+    @DisplayName("Filter penuh menjawab mungkin ada untuk semua kode")
+    void testPenuh() {
+        FilterCuckoo filter = new FilterCuckoo(8, 0.01);
+        int diterima = 0;
+        while (filter.tambah("K" + diterima)) {
+            diterima++;
+        }
+        assertTrue(filter.isPenuh());
+        assertTrue(diterima >= 6, "diterima " + diterima);
+        assertFalse(filter.tambah("LAIN"));
+        assertTrue(filter.mungkinAda("LAIN"));
+        assertFalse(filter.hapus("K0"));
+        assertTrue(filter.ukuranByte() > 0);
+        assertThrows(IllegalArgumentException.class, () -> new FilterCuckoo(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FilterCuckoo(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FilterCuckoo(10, 1));
+    }
+}
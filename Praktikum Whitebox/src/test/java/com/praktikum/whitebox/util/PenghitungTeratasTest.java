@@ -0,0 +1,43 @@
+package com.praktikum.whitebox.util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - PenghitungTeratas")
+public class PenghitungTeratasTest {
+    @Test
+    @DisplayName("Kunci di atas total / kapasitas selalu tercatat dengan galat terbatas")
+    void testHeavyHitter() {
+        PenghitungTeratas teratas = new PenghitungTeratas(50);
+        Map<String, Long> sebenarnya = new HashMap<>();
+        Random acak = new Random(3);
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            // 5 SKU laris masing-masing ~6%, sisanya tersebar di 50.000 SKU
+            String kode = acak.nextInt(10) < 3 ? "LARIS" + acak.nextInt(5) : "EKOR" + acak.nextInt(50_000);
+            teratas.tambah(kode, 1);
+            sebenarnya.merge(kode, 1L, Long::sum);
+            total++;
+        }
+        assertEquals(50, teratas.ukuran());
+        for (Map.Entry<String, Long> e : sebenarnya.entrySet()) {
+            long perkiraan = teratas.perkiraan(e.getKey());
+            if (e.getValue() > total / teratas.kapasitas()) {
+                assertTrue(teratas.daftarKunci().contains(e.getKey()), e.getKey());
+            }
+            if (perkiraan > 0) {
+                assertTrue(perkiraan >= e.getValue());
+                assertTrue(perkiraan - teratas.galat(e.getKey()) <= e.getValue());
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            assertTrue(teratas.daftarKunci().contains("LARIS" + i));
+        }
+        teratas.kosongkan();
+        assertEquals(0, teratas.ukuran());
+        assertEquals(0, teratas.perkiraan("LARIS0"));
+        assertThrows(IllegalArgumentException.class, () -> new PenghitungTeratas(0));
+    }
+}
@@ -0,0 +1,56 @@
+package com.praktikum.whitebox.util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+@DisplayName("White Box Test - SketsaCountMin")
+public class SketsaCountMinTest {
+    @Test
+    @DisplayName("Perkiraan tidak pernah kurang dan kelebihannya dalam batas epsilon x total")
+    void testBatasGalat() {
+        SketsaCountMin sketsa = new SketsaCountMin(0.001, 0.01);
+        assertEquals(4096, sketsa.getLebar());
+        assertEquals(5, sketsa.getKedalaman());
+        Map<String, Long> sebenarnya = new HashMap<>();
+        Random acak = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            String kode = "SKU" + acak.nextInt(20_000);
+            int n = 1 + acak.nextInt(5);
+            sketsa.tambah(kode, n);
+            sebenarnya.merge(kode, (long) n, Long::sum);
+        }
+        long batas = (long) (0.001 * sketsa.getTotal());
+        int lewatBatas = 0;
+        for (Map.Entry<String, Long> e : sebenarnya.entrySet()) {
+            long perkiraan = sketsa.perkiraan(e.getKey());
+            assertTrue(perkiraan >= e.getValue());
+            if (perkiraan - e.getValue() > batas) {
+                lewatBatas++;
+            }
+        }
+        assertTrue(lewatBatas <= sebenarnya.size() * 0.01, "lewat batas " + lewatBatas);
+        sketsa.kosongkan();
+        assertEquals(0, sketsa.perkiraan("SKU1"));
+        assertEquals(0, sketsa.getTotal());
+    }
+    @Test
+    @DisplayName("Perkiraan gabungan sama dengan satu sketsa berisi semua penambahan")
+    void testGabungan() {
+        SketsaCountMin a = new SketsaCountMin(0.01, 0.05);
+        SketsaCountMin b = new SketsaCountMin(0.01, 0.05);
+        SketsaCountMin semua = new SketsaCountMin(0.01, 0.05);
+        for (int i = 0; i < 5_000; i++) {
+            (i % 2 == 0 ? a : b).tambah("K" + (i % 700), i % 3 + 1);
+            semua.tambah("K" + (i % 700), i % 3 + 1);
+        }
+        for (int i = 0; i < 700; i++) {
+            assertEquals(semua.perkiraan("K" + i), SketsaCountMin.perkiraanGabungan("K" + i, List.of(a, b)));
+        }
+        assertEquals(0, SketsaCountMin.perkiraanGabungan("K1", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new SketsaCountMin(0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new SketsaCountMin(0.1, 1));
+    }
+}